@@ -0,0 +1,49 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.challenge.investimentos.investimentos_api.enums.BancoEnum;
+import com.challenge.investimentos.investimentos_api.model.Banco;
+import com.challenge.investimentos.investimentos_api.repository.BancoRepository;
+import com.challenge.investimentos.investimentos_api.util.BancoRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Carrega a tabela BANCO na inicialização e publica o {@link BancoRegistry}.
+ * Bancos de {@link BancoEnum} ausentes da tabela são cadastrados antes da carga.
+ */
+@Component
+public class BancoRegistryInitializer implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BancoRegistryInitializer.class);
+
+    private final BancoRepository bancoRepository;
+
+    public BancoRegistryInitializer(BancoRepository bancoRepository) {
+        this.bancoRepository = bancoRepository;
+    }
+
+    @Override
+    public void run(String... args) {
+        List<Banco> bancos = bancoRepository.findAll();
+        Set<Integer> codigos = bancos.stream().map(Banco::getCodigoBancario).collect(Collectors.toSet());
+        List<Banco> novos = new ArrayList<>();
+        for (BancoEnum banco : BancoEnum.values()) {
+            if (!codigos.contains(banco.getCodigoBancario())) {
+                novos.add(new Banco(banco.getNomeBanco(), banco.getCodigoBancario()));
+            }
+        }
+        if (!novos.isEmpty()) {
+            bancos = new ArrayList<>(bancos);
+            bancos.addAll(bancoRepository.saveAll(novos));
+        }
+        BancoRegistry registro = BancoRegistry.publicar(bancos);
+        log.info("Registro de bancos carregado: {} bancos ({} cadastrados agora)", registro.listar().size(), novos.size());
+    }
+}
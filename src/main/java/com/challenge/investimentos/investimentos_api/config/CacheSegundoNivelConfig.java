@@ -0,0 +1,103 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine) para os dados de usuário,
+ * lidos a cada requisição autenticada e raramente alterados.
+ *
+ * Cada região é criada aqui com tamanho máximo e TTL explícitos e entregue ao Hibernate
+ * ({@code hibernate.javax.cache.cache_manager}); as estatísticas do Hibernate
+ * ({@code hibernate.generate_statistics}) são publicadas pelo actuator como métricas
+ * {@code hibernate.second.level.cache.*}, {@code hibernate.cache.natural.id.*} e {@code hibernate.cache.query.*}.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    /** Entidade {@code Usuario}. */
+    public static final String REGIAO_USUARIO = "usuario";
+    /** Natural id {@code Usuario.username} (findByUsername). */
+    public static final String REGIAO_USUARIO_USERNAME = "usuario-username";
+    /** Entidade {@code UsuarioInvestimento}. */
+    public static final String REGIAO_USUARIO_INVESTIMENTO = "usuario-investimento";
+    /** Resultados das consultas de usuário marcadas como cacheáveis (e-mail, CPF, CPF do investidor). */
+    public static final String REGIAO_CONSULTAS_USUARIO = "consultas-usuario";
+
+    private final long tamanhoUsuarios;
+    private final Duration ttlUsuarios;
+    private final long tamanhoConsultas;
+    private final Duration ttlConsultas;
+
+    public CacheSegundoNivelConfig(@Value("${investimentos.cache.usuarios.tamanho:10000}") long tamanhoUsuarios,
+                                   @Value("${investimentos.cache.usuarios.ttl:30m}") Duration ttlUsuarios,
+                                   @Value("${investimentos.cache.consultas.tamanho:2000}") long tamanhoConsultas,
+                                   @Value("${investimentos.cache.consultas.ttl:5m}") Duration ttlConsultas) {
+        this.tamanhoUsuarios = tamanhoUsuarios;
+        this.ttlUsuarios = ttlUsuarios;
+        this.tamanhoConsultas = tamanhoConsultas;
+        this.ttlConsultas = ttlConsultas;
+    }
+
+    /**
+     * CacheManager JCache com as regiões do Hibernate.
+     * @return cache manager do Caffeine com as regiões criadas
+     */
+    @Bean
+    public CacheManager cacheSegundoNivel() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        criar(cacheManager, REGIAO_USUARIO, tamanhoUsuarios, ttlUsuarios);
+        criar(cacheManager, REGIAO_USUARIO_USERNAME, tamanhoUsuarios, ttlUsuarios);
+        criar(cacheManager, REGIAO_USUARIO_INVESTIMENTO, tamanhoUsuarios, ttlUsuarios);
+        criar(cacheManager, REGIAO_CONSULTAS_USUARIO, tamanhoConsultas, ttlConsultas);
+        criar(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, tamanhoConsultas, ttlConsultas);
+        // os timestamps invalidam as consultas em cache; expirar ou descartar um deles serviria resultado velho
+        criar(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, -1, null);
+        return cacheManager;
+    }
+
+    /**
+     * Entrega o CacheManager com as regiões configuradas ao Hibernate.
+     * @param cacheSegundoNivel cache manager das regiões
+     * @return customizador das propriedades do Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+    }
+
+    /**
+     * Cria a região, se ainda não existir, com estatísticas habilitadas.
+     * param tamanho número máximo de entradas, ou negativo para ilimitado
+     * param ttl tempo de vida após a escrita, ou null para não expirar
+     */
+    static void criar(CacheManager cacheManager, String regiao, long tamanho, Duration ttl) {
+        if (cacheManager.getCache(regiao) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        if (tamanho >= 0) {
+            configuracao.setMaximumSize(OptionalLong.of(tamanho));
+        }
+        if (ttl != null) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // o Hibernate já guarda o estado desmontado da entidade; copiar por valor só gastaria serialização
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        cacheManager.createCache(regiao, configuracao);
+    }
+}
@@ -0,0 +1,42 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuração dos formatos binários aceitos pela API, além do JSON.
+ *
+ * Clientes em lote podem enviar {@code Accept} (e {@code Content-Type}) como
+ * {@code application/x-jackson-smile} ou {@code application/cbor} para receber e enviar
+ * os mesmos DTOs em uma codificação binária mais compacta e barata de decodificar.
+ * Os mapeadores são criados a partir do builder do Spring Boot, herdando as mesmas
+ * configurações {@code spring.jackson.*} do JSON.
+ */
+@Configuration
+public class FormatoBinarioConfig {
+
+    /**
+     * Conversor para {@code application/x-jackson-smile}.
+     * @param builder builder de ObjectMapper configurado pelo Spring Boot
+     * @return conversor Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Conversor para {@code application/cbor}.
+     * @param builder builder de ObjectMapper configurado pelo Spring Boot
+     * @return conversor CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.challenge.investimentos.investimentos_api.service.RentabilidadePeriodoService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executa o backfill dos períodos consolidados de rentabilidade na inicialização,
+ * quando {@code investimentos.rentabilidade-periodo.backfill-na-inicializacao=true}.
+ * Útil na primeira subida após a criação da tabela RENTABILIDADE_PERIODO.
+ */
+@Component
+@ConditionalOnProperty(name = "investimentos.rentabilidade-periodo.backfill-na-inicializacao", havingValue = "true")
+public class RentabilidadePeriodoBackfillInitializer implements CommandLineRunner {
+
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+
+    public RentabilidadePeriodoBackfillInitializer(RentabilidadePeriodoService rentabilidadePeriodoService) {
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+    }
+
+    @Override
+    public void run(String... args) {
+        int processados = rentabilidadePeriodoService.backfill();
+        System.out.println("✅ Backfill de períodos consolidados concluído: " + processados + " investimentos");
+    }
+}
@@ -1,5 +1,6 @@
 package com.challenge.investimentos.investimentos_api.config;
 
+import com.challenge.investimentos.investimentos_api.exception.CarteiraOcupadaException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -90,6 +91,17 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(mensagem);
     }
 
+    /**
+     * Trata a espera esgotada pela trava da carteira de um investidor (outra gravação em andamento).
+     *
+     * param ex exceção com o CPF cuja carteira está travada
+     * return ResponseEntity com a mensagem e status 409 (Conflict)
+     */
+    @ExceptionHandler(CarteiraOcupadaException.class)
+    public ResponseEntity<String> handleCarteiraOcupada(CarteiraOcupadaException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
     /**
      * Fallback para exceções não tratadas pelos outros handlers.
      *
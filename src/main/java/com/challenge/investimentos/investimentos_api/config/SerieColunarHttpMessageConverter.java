@@ -0,0 +1,59 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.challenge.investimentos.investimentos_api.util.SerieColunar;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Conversor HTTP que escreve {@link SerieColunar} no media type
+ * {@value SerieColunar#MEDIA_TYPE}, usando o gerador de streaming do Jackson
+ * diretamente sobre o corpo da resposta (sem montar árvore nem objetos por dia).
+ *
+ * Registrado como bean, é adicionado automaticamente aos conversores do Spring MVC.
+ */
+@Component
+public class SerieColunarHttpMessageConverter extends AbstractHttpMessageConverter<SerieColunar> {
+
+    private final JsonFactory jsonFactory;
+
+    public SerieColunarHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.parseMediaType(SerieColunar.MEDIA_TYPE));
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return SerieColunar.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected SerieColunar readInternal(@NonNull Class<? extends SerieColunar> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato colunar é somente para respostas", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull SerieColunar serie, @NonNull HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator gerador = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            // fecha apenas o gerador (devolvendo seus buffers); o corpo da resposta é do container
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            serie.escrever(gerador);
+        }
+    }
+}
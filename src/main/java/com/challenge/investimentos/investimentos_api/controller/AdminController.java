@@ -0,0 +1,134 @@
+package com.challenge.investimentos.investimentos_api.controller;
+
+import com.challenge.investimentos.investimentos_api.dto.RelatorioImportacaoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RelatorioIngestaoCotacoesDTO;
+import com.challenge.investimentos.investimentos_api.service.ImportacaoCarteiraService;
+import com.challenge.investimentos.investimentos_api.service.IngestaoCotacaoService;
+import com.challenge.investimentos.investimentos_api.service.PainelInvestidorService;
+import com.challenge.investimentos.investimentos_api.service.RentabilidadePeriodoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Controller com operações administrativas de manutenção dos dados.
+ * Todos os endpoints exigem perfil ADMIN.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administração", description = "Operações administrativas de manutenção")
+public class AdminController {
+
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final ImportacaoCarteiraService importacaoCarteiraService;
+    private final IngestaoCotacaoService ingestaoCotacaoService;
+    private final PainelInvestidorService painelInvestidorService;
+
+    /**
+     * Construtor para injeção dos serviços administrativos.
+     * param rentabilidadePeriodoService serviço de períodos consolidados
+     * param importacaoCarteiraService serviço de importação em massa
+     * param ingestaoCotacaoService serviço de ingestão do CSV de cotações
+     * param painelInvestidorService serviço do modelo de leitura do painel
+     */
+    public AdminController(RentabilidadePeriodoService rentabilidadePeriodoService,
+                           ImportacaoCarteiraService importacaoCarteiraService,
+                           IngestaoCotacaoService ingestaoCotacaoService,
+                           PainelInvestidorService painelInvestidorService) {
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.importacaoCarteiraService = importacaoCarteiraService;
+        this.ingestaoCotacaoService = ingestaoCotacaoService;
+        this.painelInvestidorService = painelInvestidorService;
+    }
+
+    /**
+     * Reconstrói os períodos consolidados (semanal/mensal/anual) de todos os investimentos.
+     *
+     * return quantidade de investimentos processados
+     */
+    @PostMapping("/rentabilidade-periodos/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir períodos consolidados", description = "Recalcula os rollups semanais, mensais e anuais de todos os investimentos a partir da série diária, em lotes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Backfill concluído"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<Map<String, Integer>> backfillRentabilidadePeriodos() {
+        int processados = rentabilidadePeriodoService.backfill();
+        return ResponseEntity.ok(Map.of("investimentosProcessados", processados));
+    }
+
+    /**
+     * Marca os painéis de todos os investidores para remontagem no modelo de leitura
+     * (carga inicial ou depois de uma alteração feita fora da API).
+     *
+     * return quantidade de investidores marcados
+     */
+    @PostMapping("/paineis/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir painéis dos investidores", description = "Marca todos os investidores como pendentes no modelo de leitura do painel; o projetor remonta os documentos de forma assíncrona, mais antigos primeiro.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Investidores marcados para remontagem"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<Map<String, Integer>> reconstruirPaineis() {
+        int marcados = painelInvestidorService.reconstruirTodos();
+        return ResponseEntity.accepted().body(Map.of("investidoresMarcados", marcados));
+    }
+
+    /**
+     * Importa em massa usuários investidores e suas carteiras a partir de NDJSON
+     * (um objeto UsuarioInvestimentoDTO por linha).
+     *
+     * param corpo corpo da requisição, lido em streaming
+     * return relatório com contadores e erros por linha
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar carteiras (NDJSON)", description = "Recebe um UsuarioInvestimentoDTO por linha. Cria os usuários inexistentes e substitui os investimentos dos existentes. Linhas inválidas são reportadas sem interromper a importação.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada (ver erros por linha no relatório)"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN"),
+            @ApiResponse(responseCode = "415", description = "Content-Type não suportado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<RelatorioImportacaoDTO> importar(InputStream corpo) throws IOException {
+        return importacaoCarteiraService.importar(corpo);
+    }
+
+    /**
+     * Ingere o arquivo CSV diário de cotações do fornecedor, gravando (insert ou update)
+     * a rentabilidade diária de cada investimento e data.
+     *
+     * param arquivo CSV com investimentoId,data,valorDiarioAcao,taxaDiarioRentabilidade,montanteAcumuladoDiario
+     * return relatório com linhas gravadas, erros por linha e linhas por segundo
+     */
+    @PostMapping(value = "/cotacoes", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Ingerir CSV de cotações diárias", description = "Recebe o arquivo do fornecedor (multipart, campo 'arquivo') com uma cotação por linha: investimentoId,data,valorDiarioAcao,taxaDiarioRentabilidade,montanteAcumuladoDiario. Datas em dd-MM-yyyy ou yyyy-MM-dd; cabeçalho opcional.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado (ver erros por linha no relatório)"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<RelatorioIngestaoCotacoesDTO> ingerirCotacoes(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream entrada = arquivo.getInputStream()) {
+            return ingestaoCotacaoService.ingerir(entrada);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.challenge.investimentos.investimentos_api.controller;
 
+import com.challenge.investimentos.investimentos_api.dto.ResumoBancoDTO;
+import com.challenge.investimentos.investimentos_api.model.Banco;
 import com.challenge.investimentos.investimentos_api.service.BancoService;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +29,23 @@ public class BancoController {
         this.bancoService = bancoService;
     }
 
+    /**
+     * Lista os bancos da tabela de referência.
+     *
+     * return bancos com nome e código bancário
+     */
+    @Operation(
+        summary = "Lista bancos cadastrados",
+        description = "Retorna a tabela de referência de bancos (código bancário e nome), carregada na inicialização."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de bancos retornada com sucesso")
+    })
+    @GetMapping
+    public List<Banco> listarBancos() {
+        return bancoService.listarBancos();
+    }
+
     /**
      * Lista os bancos associados ao CPF informado.
      *
@@ -46,4 +65,24 @@ public class BancoController {
     public List<String> listarBancosPorCpf(@PathVariable String cpf) {
         return bancoService.listarBancosPorCpf(cpf);
     }
-}
\ No newline at end of file
+
+    /**
+     * Totaliza os investimentos do CPF informado por banco.
+     *
+     * param cpf CPF do usuário investidor
+     * return um resumo por código bancário
+     */
+    @Operation(
+        summary = "Resumo por banco",
+        description = "Retorna, para cada banco do usuário, a quantidade de investimentos e a soma do montante inicial. "
+            + "O agrupamento é feito pelo código bancário; bancos fora do registro aparecem em um grupo sem código."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping("/{cpf}/resumo")
+    public List<ResumoBancoDTO> resumirPorCpf(@PathVariable String cpf) {
+        return bancoService.resumirPorCpf(cpf);
+    }
+}
@@ -0,0 +1,122 @@
+package com.challenge.investimentos.investimentos_api.controller;
+
+import com.challenge.investimentos.investimentos_api.dto.CotacaoInstrumentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.InstrumentoDTO;
+import com.challenge.investimentos.investimentos_api.service.InstrumentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller dos instrumentos compartilhados (ticker/ISIN) e de suas cotações diárias.
+ */
+@RestController
+@RequestMapping("/api/instrumentos")
+@Tag(name = "Instrumentos", description = "Instrumentos compartilhados e cotações diárias armazenadas uma única vez")
+public class InstrumentoController {
+
+    private final InstrumentoService instrumentoService;
+
+    /**
+     * Construtor para injeção do serviço de instrumentos.
+     * @param instrumentoService serviço de instrumentos
+     */
+    public InstrumentoController(InstrumentoService instrumentoService) {
+        this.instrumentoService = instrumentoService;
+    }
+
+    /**
+     * Lista os instrumentos cadastrados.
+     *
+     * return ResponseEntity com os instrumentos
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Lista instrumentos", description = "Retorna os instrumentos cadastrados (código, tipo e banco).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso")
+    })
+    public ResponseEntity<List<InstrumentoDTO>> listar() {
+        return instrumentoService.listar();
+    }
+
+    /**
+     * Cadastra um instrumento.
+     *
+     * param dto dados do instrumento
+     * return ResponseEntity com o instrumento criado
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cadastra instrumento", description = "Cria um instrumento identificado por ticker ou ISIN (gravado em maiúsculas).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Instrumento criado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Código já cadastrado")
+    })
+    public ResponseEntity<?> criar(@Valid @RequestBody InstrumentoDTO dto) {
+        return instrumentoService.criar(dto);
+    }
+
+    /**
+     * Lista as cotações diárias do instrumento.
+     *
+     * param codigo ticker ou ISIN
+     * return ResponseEntity com as cotações em ordem de data
+     */
+    @GetMapping("/{codigo}/cotacoes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Cotações do instrumento", description = "Retorna a série diária compartilhada (valor da ação e taxa diária).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cotações retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Instrumento não encontrado")
+    })
+    public ResponseEntity<List<CotacaoInstrumentoDTO>> listarCotacoes(@PathVariable String codigo) {
+        return instrumentoService.listarCotacoes(codigo);
+    }
+
+    /**
+     * Inclui ou atualiza cotações diárias do instrumento.
+     *
+     * param codigo ticker ou ISIN
+     * param cotacoes cotações a gravar
+     * return ResponseEntity com mensagem de sucesso
+     */
+    @PutMapping("/{codigo}/cotacoes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Grava cotações do instrumento", description = "Grava as cotações uma única vez (MERGE por data) e recalcula os períodos de todos os investimentos vinculados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cotações gravadas"),
+            @ApiResponse(responseCode = "400", description = "Cotação inválida ou lista vazia"),
+            @ApiResponse(responseCode = "404", description = "Instrumento não encontrado")
+    })
+    public ResponseEntity<String> registrarCotacoes(@PathVariable String codigo,
+                                                    @RequestBody List<CotacaoInstrumentoDTO> cotacoes) {
+        return instrumentoService.registrarCotacoes(codigo, cotacoes);
+    }
+
+    /**
+     * Vincula um investimento ao instrumento.
+     *
+     * param codigo ticker ou ISIN
+     * param investimentoId ID do investimento
+     * return ResponseEntity com mensagem de sucesso
+     */
+    @PutMapping("/{codigo}/investimentos/{investimentoId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Vincula investimento ao instrumento", description = "A série diária própria do investimento é descartada e passa a ser derivada das cotações do instrumento (montante = ações × valor).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Investimento vinculado"),
+            @ApiResponse(responseCode = "404", description = "Instrumento ou investimento não encontrado")
+    })
+    public ResponseEntity<String> vincular(@PathVariable String codigo, @PathVariable Long investimentoId) {
+        return instrumentoService.vincular(codigo, investimentoId);
+    }
+}
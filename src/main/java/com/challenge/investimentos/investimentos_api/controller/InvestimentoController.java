@@ -1,23 +1,43 @@
 package com.challenge.investimentos.investimentos_api.controller;
 
 import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.MovimentacaoDTO;
+import com.challenge.investimentos.investimentos_api.dto.OperacaoLoteDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.FormatoExportacao;
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
 import com.challenge.investimentos.investimentos_api.model.Investimento;
 import com.challenge.investimentos.investimentos_api.model.Usuario;
 import com.challenge.investimentos.investimentos_api.repository.UsuarioRepository;
+import com.challenge.investimentos.investimentos_api.service.EscritaRentabilidadeService;
+import com.challenge.investimentos.investimentos_api.service.ExportacaoInvestimentoService;
+import com.challenge.investimentos.investimentos_api.service.IdempotenciaService;
 import com.challenge.investimentos.investimentos_api.service.InvestimentoService;
+import com.challenge.investimentos.investimentos_api.service.LedgerInvestimentoService;
+import com.challenge.investimentos.investimentos_api.service.PainelInvestidorService;
+import com.challenge.investimentos.investimentos_api.service.RentabilidadePeriodoService;
+import com.challenge.investimentos.investimentos_api.service.SerieTemporalService;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.challenge.investimentos.investimentos_api.util.SerieColunar;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -29,23 +49,56 @@ import java.util.List;
 @Tag(name = "Investimentos", description = "Endpoints para operações relacionadas a investimentos")
 public class InvestimentoController {
 
+    static final String FIELDS_DESCRICAO = "Campos a retornar, separados por vírgula (ex: id,nomeInvestimento,tipoInvestimento,nomeBanco,montanteAtual). "
+            + "Apenas as colunas solicitadas são consultadas no banco.";
+    static final String INCLUDE_DESCRICAO = "Coleções aninhadas a incluir (valor aceito: rentabilidadeDiaria).";
+
     private final InvestimentoService investimentoService;
     private final UsuarioRepository usuarioRepository;
+    private final SerieTemporalService serieTemporalService;
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final ExportacaoInvestimentoService exportacaoInvestimentoService;
+    private final EscritaRentabilidadeService escritaRentabilidadeService;
+    private final IdempotenciaService idempotenciaService;
+    private final LedgerInvestimentoService ledgerInvestimentoService;
+    private final PainelInvestidorService painelInvestidorService;
 
     /**
      * Injeta o serviço de investimentos.
      * param investimentoService serviço de investimentos
+     * param serieTemporalService serviço de séries para gráficos
+     * param rentabilidadePeriodoService serviço de períodos consolidados
+     * param exportacaoInvestimentoService serviço de exportação da carteira
+     * param escritaRentabilidadeService serviço de escrita de rentabilidades diárias
+     * param idempotenciaService serviço de chaves de idempotência das criações
+     * param ledgerInvestimentoService serviço do livro-razão de movimentações
+     * param painelInvestidorService serviço do modelo de leitura do painel do investidor
      */
     @Autowired
-    public InvestimentoController(InvestimentoService investimentoService, UsuarioRepository usuarioRepository) {
+    public InvestimentoController(InvestimentoService investimentoService, UsuarioRepository usuarioRepository,
+                                  SerieTemporalService serieTemporalService,
+                                  RentabilidadePeriodoService rentabilidadePeriodoService,
+                                  ExportacaoInvestimentoService exportacaoInvestimentoService,
+                                  EscritaRentabilidadeService escritaRentabilidadeService,
+                                  IdempotenciaService idempotenciaService,
+                                  LedgerInvestimentoService ledgerInvestimentoService,
+                                  PainelInvestidorService painelInvestidorService) {
         this.investimentoService = investimentoService;
         this.usuarioRepository = usuarioRepository;
+        this.serieTemporalService = serieTemporalService;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.exportacaoInvestimentoService = exportacaoInvestimentoService;
+        this.escritaRentabilidadeService = escritaRentabilidadeService;
+        this.idempotenciaService = idempotenciaService;
+        this.ledgerInvestimentoService = ledgerInvestimentoService;
+        this.painelInvestidorService = painelInvestidorService;
     }
 
     /**
      * Cria um novo investimento individual para o usuário logado.
      *
      * param dto DTO contendo os dados de um investimento individual
+     * param idempotencyKey chave opcional; repetições com a mesma chave devolvem a resposta original
      * return ResponseEntity com mensagem de sucesso ou erro
      */
     @PostMapping("/individual")
@@ -55,9 +108,17 @@ public class InvestimentoController {
             @ApiResponse(responseCode = "201", description = "Investimento criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos enviados"),
             @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "409", description = "Requisição com a mesma Idempotency-Key ainda em processamento"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já utilizada com outro corpo"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<String> criarInvestimentoIndividual(@Valid @RequestBody InvestimentoDTO dto) {
+    public ResponseEntity<String> criarInvestimentoIndividual(@Valid @RequestBody InvestimentoDTO dto,
+            @Parameter(description = "Chave de idempotência para repetições seguras (válida por 24h)")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey) {
+        return idempotenciaService.executar(idempotencyKey, dto, () -> criarParaUsuarioLogado(dto));
+    }
+
+    private ResponseEntity<String> criarParaUsuarioLogado(InvestimentoDTO dto) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
@@ -79,6 +140,7 @@ public class InvestimentoController {
      * Cria um novo investimento para um usuário (método legado).
      *
      * param dto DTO contendo os dados do usuário e seus investimentos
+     * param idempotencyKey chave opcional; repetições com a mesma chave devolvem a resposta original
      * return ResponseEntity com mensagem de sucesso ou erro
      */
     @PostMapping
@@ -88,10 +150,40 @@ public class InvestimentoController {
             @ApiResponse(responseCode = "201", description = "Investimento criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos enviados"),
             @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "409", description = "Requisição com a mesma Idempotency-Key ainda em processamento"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key já utilizada com outro corpo"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<String> criarInvestimento(@Valid @RequestBody UsuarioInvestimentoDTO dto) {
-        return investimentoService.criarInvestimento(dto);
+    public ResponseEntity<String> criarInvestimento(@Valid @RequestBody UsuarioInvestimentoDTO dto,
+            @Parameter(description = "Chave de idempotência para repetições seguras (válida por 24h)")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey) {
+        return idempotenciaService.executar(idempotencyKey, dto, () -> investimentoService.criarInvestimento(dto));
+    }
+
+    /**
+     * Executa várias criações, atualizações e remoções de investimentos do usuário logado em uma única transação.
+     *
+     * param operacoes operações na ordem desejada
+     * return ResponseEntity com o resultado de cada operação
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Executar operações em lote", description = "Cria, atualiza e remove investimentos do usuário autenticado em uma única transação. "
+            + "Se alguma operação for inválida, nenhuma é executada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todas as operações executadas; resultado por operação"),
+            @ApiResponse(responseCode = "400", description = "Lote rejeitado; resultado por operação indica o motivo"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado"),
+            @ApiResponse(responseCode = "404", description = "CPF do usuário não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> executarLote(@RequestBody List<OperacaoLoteDTO> operacoes) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Usuario usuario = usuarioRepository.findByUsername(auth.getName());
+        if (usuario == null || usuario.getCpf() == null || usuario.getCpf().isEmpty()) {
+            return ResponseEntity.status(404).body("Seu CPF não foi encontrado. Tente relogar.");
+        }
+        return investimentoService.executarLote(usuario.getCpf(), operacoes);
     }
 
     /**
@@ -133,6 +225,8 @@ public class InvestimentoController {
     /**
      * Lista todos os investimentos cadastrados.
      *
+     * param fields campos a retornar (opcional)
+     * param include coleções aninhadas a retornar (opcional)
      * return ResponseEntity com a lista de investimentos
      */
     @GetMapping
@@ -140,20 +234,65 @@ public class InvestimentoController {
     @Operation(summary = "Listar todos os investimentos", description = "Retorna uma lista com todos os investimentos cadastrados. Apenas ADMIN pode acessar.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de investimentos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields/include"),
             @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN pode listar todos os investimentos"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<InvestimentoDTO>> listarTodosInvestimentos() {
+    public ResponseEntity<?> listarTodosInvestimentos(
+            @Parameter(description = FIELDS_DESCRICAO) @RequestParam(required = false) String fields,
+            @Parameter(description = INCLUDE_DESCRICAO) @RequestParam(required = false) String include) {
+        SelecaoCampos selecao;
+        try {
+            selecao = SelecaoCampos.de(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (selecao != null) {
+            return investimentoService.listarProjecao(selecao, null);
+        }
+
         ResponseEntity<List<Investimento>> resp = investimentoService.listarTodos();
         List<Investimento> body = resp.getBody();
         List<InvestimentoDTO> dtos = body != null ? body.stream().map(InvestimentoDTO::fromEntity).toList() : List.of();
         return ResponseEntity.status(resp.getStatusCode()).body(dtos);
     }
 
+    /**
+     * Exporta todos os investimentos com suas rentabilidades diárias em streaming.
+     *
+     * param formato jsonl (padrão) ou csv
+     * return corpo escrito à medida que as linhas são lidas do banco
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar todos os investimentos", description = "Exporta a carteira completa em JSON Lines (um investimento por linha) ou CSV (uma linha por dia), lendo o banco com cursor e escrevendo em streaming. Apenas ADMIN pode acessar.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado - apenas ADMIN pode exportar"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> exportarInvestimentos(
+            @Parameter(description = "jsonl ou csv") @RequestParam(defaultValue = "jsonl") String formato) {
+        FormatoExportacao tipo;
+        try {
+            tipo = FormatoExportacao.valueOf(formato.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Formato inválido: use jsonl ou csv");
+        }
+        StreamingResponseBody corpo = saida -> exportacaoInvestimentoService.exportar(tipo, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(tipo.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"investimentos." + tipo.getExtensao() + "\"")
+                .body(corpo);
+    }
+
     /**
      * Lista todos os investimentos de um usuário pelo CPF.
      *
      * param cpf CPF do usuário
+     * param fields campos a retornar (opcional)
+     * param include coleções aninhadas a retornar (opcional)
      * return ResponseEntity com a lista de investimentos do usuário
      */
     @GetMapping("/usuario/{cpf}")
@@ -161,11 +300,14 @@ public class InvestimentoController {
     @Operation(summary = "Listar investimentos por CPF do usuário", description = "Retorna uma lista de investimentos do usuário informado pelo CPF. USER só pode ver seus próprios dados.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de investimentos do usuário retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields/include"),
             @ApiResponse(responseCode = "403", description = "Acesso negado - usuário só pode ver seus próprios investimentos"),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<InvestimentoDTO>> listarPorCpf(@PathVariable String cpf) {
+    public ResponseEntity<?> listarPorCpf(@PathVariable String cpf,
+            @Parameter(description = FIELDS_DESCRICAO) @RequestParam(required = false) String fields,
+            @Parameter(description = INCLUDE_DESCRICAO) @RequestParam(required = false) String include) {
         // Verificação de autorização: USER só pode acessar seus próprios dados
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean isAdmin = auth.getAuthorities().stream()
@@ -177,6 +319,15 @@ public class InvestimentoController {
             // que relaciona username com CPF do usuário
             // Por agora, vou assumir que username pode ser o CPF ou que existe uma validação específica
         }
+        SelecaoCampos selecao;
+        try {
+            selecao = SelecaoCampos.de(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (selecao != null) {
+            return painelInvestidorService.listarProjecao(selecao, cpf);
+        }
         ResponseEntity<List<Investimento>> resp = investimentoService.listarPorCpf(cpf);
         if (!resp.getStatusCode().is2xxSuccessful()) {
             return ResponseEntity.status(resp.getStatusCode()).build();
@@ -189,28 +340,66 @@ public class InvestimentoController {
     /**
      * Listar investimentos do usuário logado (baseado no token JWT).
      * Este endpoint permite que um usuário veja apenas seus próprios investimentos.
+     * As posições vêm do modelo de leitura do painel (sem joins na carteira); a série diária completa
+     * fica em {@code include=rentabilidadeDiaria} ou em {@code /meus/completo}.
      *
+     * param fields campos a retornar (opcional)
+     * param include coleções aninhadas a retornar (opcional)
      * return ResponseEntity com a lista de investimentos do usuário logado
      */
     @GetMapping("/meus")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    @Operation(summary = "Listar meus investimentos", description = "Retorna uma lista dos investimentos do usuário logado")
+    @Operation(summary = "Listar meus investimentos", description = "Retorna as posições do usuário logado a partir do modelo de leitura do painel: colunas do investimento, montante atual e os últimos dias da série. Para a série diária completa use include=rentabilidadeDiaria ou /meus/completo.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de investimentos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields/include"),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<?> listarMeusInvestimentos() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
+    public ResponseEntity<?> listarMeusInvestimentos(
+            @Parameter(description = FIELDS_DESCRICAO) @RequestParam(required = false) String fields,
+            @Parameter(description = INCLUDE_DESCRICAO) @RequestParam(required = false) String include) {
+        SelecaoCampos selecao;
+        try {
+            selecao = SelecaoCampos.de(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-        // Buscar o usuário pelo username
-        Usuario usuario = usuarioRepository.findByUsername(username);
-        if (usuario == null || usuario.getCpf() == null || usuario.getCpf().isEmpty()) {
+        Usuario usuario = usuarioLogado();
+        if (usuario == null) {
+            return ResponseEntity.status(404).body("Não foi possível carregar seus investimentos. Seu CPF não foi encontrado. Tente relogar.");
+        }
+
+        ResponseEntity<?> resp = selecao != null
+                ? painelInvestidorService.listarProjecao(selecao, usuario.getCpf())
+                : painelInvestidorService.listarPosicoes(usuario.getCpf());
+        if (!resp.getStatusCode().is2xxSuccessful()) {
+            return ResponseEntity.status(resp.getStatusCode()).body("Não foi possível carregar seus investimentos. Seu CPF não foi encontrado. Tente relogar.");
+        }
+        return resp;
+    }
+
+    /**
+     * Listar investimentos do usuário logado no formato completo anterior ao modelo de leitura,
+     * com a série de rentabilidades diárias inteira, lido das tabelas da carteira.
+     *
+     * return ResponseEntity com a lista de investimentos do usuário logado
+     */
+    @GetMapping("/meus/completo")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Listar meus investimentos (formato completo)", description = "Formato legado de /meus: cada investimento com a série de rentabilidades diárias inteira, lido das tabelas da carteira.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de investimentos retornada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> listarMeusInvestimentosCompletos() {
+        Usuario usuario = usuarioLogado();
+        if (usuario == null) {
             return ResponseEntity.status(404).body("Não foi possível carregar seus investimentos. Seu CPF não foi encontrado. Tente relogar.");
         }
 
-        // Buscar investimentos pelo CPF
         ResponseEntity<List<Investimento>> resp = investimentoService.listarPorCpf(usuario.getCpf());
         if (!resp.getStatusCode().is2xxSuccessful()) {
             return ResponseEntity.status(resp.getStatusCode()).body("Não foi possível carregar seus investimentos. Seu CPF não foi encontrado. Tente relogar.");
@@ -220,6 +409,249 @@ public class InvestimentoController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Painel do usuário logado, servido pelo modelo de leitura: posições com montante atual, totais,
+     * alocação por tipo e por banco e os últimos dias da série de cada investimento.
+     *
+     * return ResponseEntity com o painel do usuário logado
+     */
+    @GetMapping("/meus/painel")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Painel dos meus investimentos", description = "Retorna o painel do usuário logado a partir do modelo de leitura, atualizado de forma assíncrona pelos eventos da carteira. Se o painel estiver atrasado além do limite configurado, é montado na hora.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Painel retornado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> meuPainel() {
+        Usuario usuario = usuarioLogado();
+        if (usuario == null) {
+            return ResponseEntity.status(404).body("Não foi possível carregar seu painel. Seu CPF não foi encontrado. Tente relogar.");
+        }
+        return painelInvestidorService.painel(usuario.getCpf());
+    }
+
+    /** Usuário do token JWT, ou null se não existir ou não tiver CPF. */
+    private Usuario usuarioLogado() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Usuario usuario = usuarioRepository.findByUsername(auth.getName());
+        if (usuario == null || usuario.getCpf() == null || usuario.getCpf().isEmpty()) return null;
+        return usuario;
+    }
+
+    /**
+     * Retorna a série de montante acumulado de um investimento reduzida para gráficos.
+     *
+     * param id ID do investimento
+     * param pontos quantidade máxima de pontos da série
+     * return ResponseEntity com a série reduzida
+     */
+    @GetMapping("/{id}/serie")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Série do investimento para gráficos", description = "Retorna o montante acumulado diário reduzido para no máximo N pontos (Largest-Triangle-Three-Buckets), preservando picos e vales.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Quantidade de pontos inválida"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> serieInvestimento(@PathVariable Long id,
+            @Parameter(description = "Quantidade máxima de pontos (3 a 5000), normalmente a largura do gráfico em pixels")
+            @RequestParam(defaultValue = "" + SerieTemporalService.PONTOS_PADRAO) int pontos) {
+        return serieTemporalService.serie(id, pontos);
+    }
+
+    /**
+     * Retorna a série diária completa de um investimento (um objeto por dia).
+     *
+     * param id ID do investimento
+     * return ResponseEntity com a lista de rentabilidades diárias
+     */
+    @GetMapping(value = "/{id}/rentabilidades", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Rentabilidades diárias do investimento", description = "Retorna a série diária completa. Envie Accept: " + SerieColunar.MEDIA_TYPE + " para receber o formato colunar (arrays paralelos).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série retornada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> listarRentabilidades(@PathVariable Long id) {
+        return serieTemporalService.rentabilidades(id);
+    }
+
+    /**
+     * Retorna a série diária completa em formato colunar: datas em epoch-day e valores em
+     * ponto fixo, em arrays paralelos.
+     *
+     * param id ID do investimento
+     * return ResponseEntity com a série colunar
+     */
+    @GetMapping(value = "/{id}/rentabilidades", produces = SerieColunar.MEDIA_TYPE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Rentabilidades diárias em formato colunar", description = "Arrays paralelos dataEpochDay, valorDiarioAcao, taxaDiarioRentabilidade e montanteAcumuladoDiario; os decimais são inteiros em ponto fixo com a escala informada em 'escalas'.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Série retornada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> listarRentabilidadesColunar(@PathVariable Long id) {
+        return serieTemporalService.rentabilidadesColunar(id);
+    }
+
+    /**
+     * Inclui ou atualiza dias da série diária de um investimento.
+     *
+     * param id ID do investimento
+     * param dias dias a gravar (a data identifica o dia)
+     * return 200 quando gravado; 202 com ticket se a escrita assíncrona estiver habilitada
+     */
+    @PostMapping("/{id}/rentabilidades")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Registrar rentabilidades diárias", description = "Inclui os dias informados ou atualiza os já existentes na mesma data. Com a escrita assíncrona habilitada a requisição entra em uma fila e a resposta é 202 com um ticket.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rentabilidades gravadas"),
+            @ApiResponse(responseCode = "202", description = "Rentabilidades enfileiradas (ticket no corpo e no header Location)"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos enviados"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "503", description = "Fila de escrita cheia (ver Retry-After)"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> registrarRentabilidades(@PathVariable Long id, @RequestBody List<RentabilidadeDiariaDTO> dias) {
+        return escritaRentabilidadeService.registrar(id, dias);
+    }
+
+    /**
+     * Consulta a situação de uma escrita assíncrona de rentabilidades.
+     *
+     * param ticket ticket devolvido no 202
+     * return ResponseEntity com a situação do ticket
+     */
+    @GetMapping("/rentabilidades/tickets/{ticket}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Situação de escrita assíncrona", description = "Retorna PENDENTE, CONCLUIDO ou FALHOU para o ticket informado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Situação retornada"),
+            @ApiResponse(responseCode = "404", description = "Ticket desconhecido ou expirado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> consultarTicketEscrita(@PathVariable String ticket) {
+        return escritaRentabilidadeService.consultarTicket(ticket);
+    }
+
+    /**
+     * Retorna as séries de vários investimentos alinhadas por data.
+     *
+     * param ids IDs dos investimentos
+     * param pontos quantidade máxima de datas
+     * return ResponseEntity com as séries alinhadas
+     */
+    @GetMapping("/serie")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Séries de vários investimentos alinhadas por data", description = "Divide o período em até N intervalos iguais e retorna o montante de fechamento de cada investimento em cada intervalo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Séries retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "IDs ou quantidade de pontos inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> seriesAlinhadas(
+            @Parameter(description = "IDs dos investimentos separados por vírgula (até 50)") @RequestParam List<Long> ids,
+            @Parameter(description = "Quantidade máxima de datas (3 a 5000)")
+            @RequestParam(defaultValue = "" + SerieTemporalService.PONTOS_PADRAO) int pontos) {
+        return serieTemporalService.seriesAlinhadas(ids, pontos);
+    }
+
+    /**
+     * Lista os períodos consolidados (semana, mês ou ano) de um investimento.
+     *
+     * param id ID do investimento
+     * param granularidade SEMANAL, MENSAL ou ANUAL
+     * param inicio data inicial no formato dd-MM-yyyy (opcional)
+     * param fim data final no formato dd-MM-yyyy (opcional)
+     * return ResponseEntity com os períodos
+     */
+    @GetMapping("/{id}/periodos")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Rentabilidade por período", description = "Retorna abertura/fechamento/mínimo/máximo do valor da ação, taxa composta e montante de fechamento por semana, mês ou ano, lidos da tabela consolidada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Períodos retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Granularidade ou data inválida"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> listarPeriodos(@PathVariable Long id,
+            @Parameter(description = "SEMANAL, MENSAL ou ANUAL") @RequestParam(defaultValue = "MENSAL") String granularidade,
+            @Parameter(description = "Data inicial (dd-MM-yyyy)") @RequestParam(required = false) String inicio,
+            @Parameter(description = "Data final (dd-MM-yyyy)") @RequestParam(required = false) String fim) {
+        GranularidadePeriodo tipo;
+        LocalDate de;
+        LocalDate ate;
+        try {
+            tipo = GranularidadePeriodo.valueOf(granularidade.toUpperCase());
+            de = inicio != null ? InvestimentoMapper.dataObrigatoria(inicio) : null;
+            ate = fim != null ? InvestimentoMapper.dataObrigatoria(fim) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Parâmetros inválidos: informe granularidade SEMANAL, MENSAL ou ANUAL e datas no formato dd-MM-yyyy");
+        }
+        return rentabilidadePeriodoService.listarPeriodos(id, tipo, de, ate);
+    }
+
+    /**
+     * Registra um aporte, resgate ou venda no livro-razão do investimento.
+     *
+     * param id ID do investimento
+     * param dto movimentação
+     * return ResponseEntity com a posição depois da movimentação
+     */
+    @PostMapping("/{id}/movimentacoes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Registrar movimentação", description = "Anexa um APORTE, RESGATE (por valor) ou VENDA (parcial ou total, pela quantidade de ações) ao livro-razão do investimento. Movimentações não são alteradas nem removidas; a data não pode ser anterior à última registrada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Movimentação registrada; retorna a posição atualizada"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou movimentação maior que a posição"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Carteira sendo gravada por outra requisição"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> registrarMovimentacao(@PathVariable Long id, @Valid @RequestBody MovimentacaoDTO dto) {
+        return ledgerInvestimentoService.registrar(id, dto);
+    }
+
+    /**
+     * Lista as movimentações do livro-razão do investimento.
+     *
+     * param id ID do investimento
+     * return ResponseEntity com as movimentações em ordem de registro
+     */
+    @GetMapping("/{id}/movimentacoes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Extrato de movimentações", description = "Retorna aportes, resgates e vendas do investimento na ordem em que foram registrados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Movimentações retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> listarMovimentacoes(@PathVariable Long id) {
+        return ledgerInvestimentoService.extrato(id);
+    }
+
+    /**
+     * Retorna a posição do investimento reconstruída do livro-razão.
+     *
+     * param id ID do investimento
+     * return ResponseEntity com saldo de ações, custo, preço médio e resultado realizado
+     */
+    @GetMapping("/{id}/posicao")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @Operation(summary = "Posição do investimento", description = "Saldo de ações, custo e preço médio do saldo, total aportado, total resgatado e resultado realizado, a partir do último snapshot mais as movimentações seguintes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posição retornada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Investimento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<?> posicaoInvestimento(@PathVariable Long id) {
+        return ledgerInvestimentoService.posicao(id);
+    }
+
     /**
      * Deleta um investimento pelo seu ID.
      *
@@ -1,18 +1,25 @@
 package com.challenge.investimentos.investimentos_api.controller;
 
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.service.SubstituicaoCarteiraStreamingService;
 import com.challenge.investimentos.investimentos_api.service.interfaces.IUsuarioInvestimentoService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller responsável pelos endpoints relacionados a usuários investidores.
@@ -26,6 +33,9 @@ public class UsuarioInvestimentoController {
     @Autowired
     private IUsuarioInvestimentoService service;
 
+    @Autowired
+    private SubstituicaoCarteiraStreamingService substituicaoCarteiraStreamingService;
+
     /**
      * Salva ou atualiza todos os investimentos associados a um usuário investidor.
      * Essa operação sobrescreve os investimentos existentes do usuário.
@@ -47,9 +57,35 @@ public class UsuarioInvestimentoController {
         return service.salvarInvestimentos(dto);
     }
 
+    /**
+     * Mesma operação do PUT acima, para carteiras muito grandes: o corpo é lido em streaming e gravado em lotes,
+     * sem montar o DTO inteiro em memória.
+     *
+     * param corpo JSON no formato de UsuarioInvestimentoDTO (cpfIdentificacao antes da lista de investimentos,
+     *             rentabilidadeDiaria como último campo de cada investimento e dias em ordem crescente de data)
+     * return ResponseEntity com mensagem de sucesso ou erro
+     */
+    @PutMapping(value = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+        summary = "Salvar todos os investimentos do usuário (streaming)",
+        description = "Substitui os investimentos do usuário lendo o corpo em streaming, com memória limitada independentemente do tamanho. "
+                + "cpfIdentificacao deve vir antes da lista, rentabilidadeDiaria deve ser o último campo de cada investimento "
+                + "e os dias de cada série devem vir em ordem crescente de data."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Investimentos salvos com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos enviados; nada é gravado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<String> salvarInvestimentosStreaming(InputStream corpo) throws IOException {
+        return substituicaoCarteiraStreamingService.substituir(corpo);
+    }
+
     /**
      * Lista todos os usuários investidores cadastrados.
      *
+     * param fields campos dos investimentos a retornar (opcional)
+     * param include coleções aninhadas a retornar (opcional)
      * return ResponseEntity com a lista de usuários investidores
      */
     @GetMapping
@@ -59,9 +95,22 @@ public class UsuarioInvestimentoController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields/include"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<UsuarioInvestimentoDTO>> listarTodosUsuarios() {
+    public ResponseEntity<?> listarTodosUsuarios(
+            @Parameter(description = InvestimentoController.FIELDS_DESCRICAO) @RequestParam(required = false) String fields,
+            @Parameter(description = InvestimentoController.INCLUDE_DESCRICAO) @RequestParam(required = false) String include) {
+        SelecaoCampos selecao;
+        try {
+            selecao = SelecaoCampos.de(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (selecao != null) {
+            return service.listarProjecao(selecao, null);
+        }
+
         ResponseEntity<List<UsuarioInvestimento>> resp = service.listarTodosUsuarios();
         List<UsuarioInvestimento> body = resp.getBody();
         List<UsuarioInvestimentoDTO> dtos = body != null ? body.stream().map(UsuarioInvestimentoDTO::fromEntity).toList() : List.of();
@@ -72,6 +121,8 @@ public class UsuarioInvestimentoController {
      * Busca um usuário investidor pelo CPF informado.
      *
      * param cpf CPF do usuário investidor
+     * param fields campos dos investimentos a retornar (opcional)
+     * param include coleções aninhadas a retornar (opcional)
      * return ResponseEntity com o usuário encontrado ou mensagem de erro
      */
     @GetMapping("/{cpf}")
@@ -81,10 +132,27 @@ public class UsuarioInvestimentoController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuário encontrado"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields/include"),
             @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<?> buscarPorCpf(@PathVariable String cpf) {
+    public ResponseEntity<?> buscarPorCpf(@PathVariable String cpf,
+            @Parameter(description = InvestimentoController.FIELDS_DESCRICAO) @RequestParam(required = false) String fields,
+            @Parameter(description = InvestimentoController.INCLUDE_DESCRICAO) @RequestParam(required = false) String include) {
+        SelecaoCampos selecao;
+        try {
+            selecao = SelecaoCampos.de(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (selecao != null) {
+            ResponseEntity<List<Map<String, Object>>> projecao = service.listarProjecao(selecao, cpf);
+            if (!projecao.getStatusCode().is2xxSuccessful() || projecao.getBody() == null) {
+                return ResponseEntity.status(projecao.getStatusCode()).build();
+            }
+            return ResponseEntity.ok(projecao.getBody().get(0));
+        }
+
         ResponseEntity<?> resp = service.buscarPorCpf(cpf);
         if (!resp.getStatusCode().is2xxSuccessful()) {
             return ResponseEntity.status(resp.getStatusCode()).build();
@@ -0,0 +1,73 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de uma cotação diária de instrumento (valor da ação e taxa do dia, sem montante por usuário).
+ */
+public class CotacaoInstrumentoDTO {
+
+    /** Data da cotação no formato "dd-MM-yyyy". */
+    @Schema(example = "01-01-2025")
+    @NotBlank(message = "dataCotacao é obrigatória")
+    @Pattern(regexp = "^\\d{2}-\\d{2}-\\d{4}$", message = "dataCotacao deve estar no formato dd-MM-yyyy")
+    private String dataCotacao;
+
+    @Schema(example = "38.45")
+    @NotNull(message = "valorAcao é obrigatório")
+    private BigDecimal valorAcao;
+
+    @Schema(example = "0.0125")
+    @NotNull(message = "taxaDiaria é obrigatória")
+    private BigDecimal taxaDiaria;
+
+    public CotacaoInstrumentoDTO() {}
+
+    public CotacaoInstrumentoDTO(String dataCotacao, BigDecimal valorAcao, BigDecimal taxaDiaria) {
+        this.dataCotacao = dataCotacao;
+        this.valorAcao = valorAcao;
+        this.taxaDiaria = taxaDiaria;
+    }
+
+    public String getDataCotacao() {
+        return dataCotacao;
+    }
+
+    public void setDataCotacao(String dataCotacao) {
+        this.dataCotacao = dataCotacao;
+    }
+
+    public BigDecimal getValorAcao() {
+        return valorAcao;
+    }
+
+    public void setValorAcao(BigDecimal valorAcao) {
+        this.valorAcao = valorAcao;
+    }
+
+    public BigDecimal getTaxaDiaria() {
+        return taxaDiaria;
+    }
+
+    public void setTaxaDiaria(BigDecimal taxaDiaria) {
+        this.taxaDiaria = taxaDiaria;
+    }
+
+    /**
+     * Converte a entidade em DTO.
+     *
+     * param cotacao cotação armazenada
+     * return DTO populado
+     */
+    public static CotacaoInstrumentoDTO fromEntity(CotacaoInstrumento cotacao) {
+        return new CotacaoInstrumentoDTO(InvestimentoMapper.texto(cotacao.getDataCotacao()),
+                cotacao.getValorAcao(), cotacao.getTaxaDiaria());
+    }
+}
@@ -0,0 +1,78 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+
+import java.time.Instant;
+
+/**
+ * Evento de alteração de carteira publicado pelo outbox.
+ *
+ * Compacto de propósito: indica o que mudou (investidor e investimento), não o estado novo;
+ * quem precisar dos dados lê a carteira depois do evento. Entregue ao menos uma vez e, para
+ * um mesmo CPF, na ordem das alterações ({@code id} crescente).
+ */
+public class EventoCarteiraDTO {
+
+    /** Posição do evento no outbox; repetições do mesmo evento têm o mesmo id. */
+    private Long id;
+
+    private TipoEventoCarteira tipo;
+
+    /** CPF do investidor, somente dígitos. */
+    private String cpf;
+
+    /** Investimento afetado, quando o evento é de um investimento. */
+    private Long investimentoId;
+
+    private Instant ocorridoEm;
+
+    public EventoCarteiraDTO() {}
+
+    public EventoCarteiraDTO(Long id, TipoEventoCarteira tipo, String cpf, Long investimentoId, Instant ocorridoEm) {
+        this.id = id;
+        this.tipo = tipo;
+        this.cpf = cpf;
+        this.investimentoId = investimentoId;
+        this.ocorridoEm = ocorridoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TipoEventoCarteira getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoEventoCarteira tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public void setCpf(String cpf) {
+        this.cpf = cpf;
+    }
+
+    public Long getInvestimentoId() {
+        return investimentoId;
+    }
+
+    public void setInvestimentoId(Long investimentoId) {
+        this.investimentoId = investimentoId;
+    }
+
+    public Instant getOcorridoEm() {
+        return ocorridoEm;
+    }
+
+    public void setOcorridoEm(Instant ocorridoEm) {
+        this.ocorridoEm = ocorridoEm;
+    }
+}
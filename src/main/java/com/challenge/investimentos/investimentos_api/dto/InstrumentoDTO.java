@@ -0,0 +1,102 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.util.BancoRegistry;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de um instrumento compartilhado (ticker/ISIN, tipo e banco).
+ */
+public class InstrumentoDTO {
+
+    @Schema(example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long id;
+
+    /** Ticker ou ISIN. */
+    @Schema(example = "PETR4")
+    @NotBlank(message = "codigo é obrigatório")
+    @Size(max = 20, message = "codigo deve ter no máximo 20 caracteres")
+    private String codigo;
+
+    @Schema(example = "Petrobras PN")
+    private String nome;
+
+    /** Tipo do instrumento (ex: RENDA_VARIAVEL). */
+    @Schema(example = "RENDA_VARIAVEL")
+    @NotBlank(message = "tipoInvestimento é obrigatório")
+    private String tipoInvestimento;
+
+    @Schema(example = "C6 Bank")
+    private String nomeBanco;
+
+    /** Código bancário resolvido a partir do nome (somente leitura). */
+    @Schema(example = "336", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer codigoBancario;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getTipoInvestimento() {
+        return tipoInvestimento;
+    }
+
+    public void setTipoInvestimento(String tipoInvestimento) {
+        this.tipoInvestimento = tipoInvestimento;
+    }
+
+    public String getNomeBanco() {
+        return nomeBanco;
+    }
+
+    public void setNomeBanco(String nomeBanco) {
+        this.nomeBanco = nomeBanco;
+    }
+
+    public Integer getCodigoBancario() {
+        return codigoBancario;
+    }
+
+    public void setCodigoBancario(Integer codigoBancario) {
+        this.codigoBancario = codigoBancario;
+    }
+
+    /**
+     * Converte a entidade em DTO (o nome do banco vem do {@link BancoRegistry}).
+     *
+     * param instrumento entidade
+     * return DTO populado
+     */
+    public static InstrumentoDTO fromEntity(Instrumento instrumento) {
+        InstrumentoDTO dto = new InstrumentoDTO();
+        dto.setId(instrumento.getId());
+        dto.setCodigo(instrumento.getCodigo());
+        dto.setNome(instrumento.getNome());
+        dto.setTipoInvestimento(instrumento.getTipoInvestimento() != null ? instrumento.getTipoInvestimento().name() : null);
+        dto.setCodigoBancario(instrumento.getCodigoBancario());
+        dto.setNomeBanco(BancoRegistry.atual().nome(instrumento.getCodigoBancario()));
+        return dto;
+    }
+}
@@ -4,7 +4,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import io.swagger.v3.oas.annotations.media.Schema;
 import com.challenge.investimentos.investimentos_api.model.Investimento;
-import java.util.stream.Collectors;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -29,6 +29,11 @@ public class InvestimentoDTO {
     private String nomeBanco;
 
 
+    /** Código bancário resolvido a partir do nome (somente leitura; nulo se o banco não for conhecido). */
+    @Schema(example = "336", accessMode = Schema.AccessMode.READ_ONLY)
+    private Integer codigoBancario;
+
+
     /** Tipo do investimento (ex: RENDA_FIXA, RENDA_VARIAVEL). */
     @Schema(example = "RENDA_FIXA")
     private String tipoInvestimento;
@@ -67,6 +72,11 @@ public class InvestimentoDTO {
     private Integer numeroAcoesInicial;
 
 
+    /** Ticker/ISIN do instrumento cujas cotações formam a série diária (somente leitura; nulo se a série é própria). */
+    @Schema(example = "PETR4", accessMode = Schema.AccessMode.READ_ONLY)
+    private String codigoInstrumento;
+
+
     /** Lista de rentabilidades diárias associadas ao investimento. */
     @Schema(description = "Lista de rentabilidades diárias associadas ao investimento")
     @Valid
@@ -109,6 +119,24 @@ public class InvestimentoDTO {
     }
 
 
+    /**
+     * Obtém o código bancário.
+     * return codigoBancario
+     */
+    public Integer getCodigoBancario() {
+        return codigoBancario;
+    }
+
+
+    /**
+     * Define o código bancário.
+     * param codigoBancario código do banco
+     */
+    public void setCodigoBancario(Integer codigoBancario) {
+        this.codigoBancario = codigoBancario;
+    }
+
+
     /**
      * Obtém o tipo do investimento.
      * return tipoInvestimento
@@ -217,6 +245,24 @@ public class InvestimentoDTO {
     }
 
 
+    /**
+     * Obtém o código do instrumento vinculado.
+     * return codigoInstrumento
+     */
+    public String getCodigoInstrumento() {
+        return codigoInstrumento;
+    }
+
+
+    /**
+     * Define o código do instrumento vinculado.
+     * param codigoInstrumento ticker ou ISIN
+     */
+    public void setCodigoInstrumento(String codigoInstrumento) {
+        this.codigoInstrumento = codigoInstrumento;
+    }
+
+
     /**
      * Obtém a lista de rentabilidades diárias.
      * return lista de rentabilidades diárias
@@ -241,21 +287,6 @@ public class InvestimentoDTO {
      * return DTO populado com os dados da entidade
      */
     public static InvestimentoDTO fromEntity(Investimento inv) {
-        if (inv == null) return null;
-        InvestimentoDTO dto = new InvestimentoDTO();
-        dto.setId(inv.getId());
-        dto.setNomeBanco(inv.getNomeBanco());
-        dto.setTipoInvestimento(inv.getTipoInvestimento() != null ? inv.getTipoInvestimento().name() : null);
-        dto.setNomeInvestimento(inv.getNomeInvestimento());
-        dto.setMontanteInicial(inv.getMontanteInicial());
-        dto.setValorInicialAcao(inv.getValorInicialAcao());
-        dto.setTaxaRentabilidade(inv.getTaxaRentabilidade());
-        dto.setNumeroAcoesInicial(inv.getNumeroAcoesInicial());
-        if (inv.getRentabilidadeDiaria() != null) {
-            dto.setRentabilidadeDiaria(inv.getRentabilidadeDiaria().stream()
-                .map(RentabilidadeDiariaDTO::fromEntity)
-                .collect(Collectors.toList()));
-        }
-        return dto;
+        return InvestimentoMapper.paraDTO(inv);
     }
 }
@@ -0,0 +1,93 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de uma movimentação do livro-razão de um investimento (aporte, resgate ou venda).
+ * {@code quantidade} é a quantidade de ações do aporte ou da venda; em resgates fica vazia.
+ */
+public class MovimentacaoDTO {
+
+    /** Posição da movimentação no livro-razão (preenchida pelo servidor). */
+    @Schema(example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long sequencia;
+
+    @Schema(example = "VENDA")
+    @NotNull(message = "tipo é obrigatório")
+    private TipoMovimentacao tipo;
+
+    /** Data da movimentação no formato "dd-MM-yyyy". */
+    @Schema(example = "15-03-2025")
+    @NotBlank(message = "data é obrigatória")
+    @Pattern(regexp = "^\\d{2}-\\d{2}-\\d{4}$", message = "data deve estar no formato dd-MM-yyyy")
+    private String data;
+
+    /** Quantidade de ações (até 6 casas decimais). */
+    @Schema(example = "10")
+    @PositiveOrZero(message = "quantidade não pode ser negativa")
+    private BigDecimal quantidade;
+
+    /** Valor aportado ou recebido (até 2 casas decimais). */
+    @Schema(example = "1250.00")
+    @NotNull(message = "valor é obrigatório")
+    @Positive(message = "valor deve ser maior que zero")
+    private BigDecimal valor;
+
+    public MovimentacaoDTO() {}
+
+    public MovimentacaoDTO(Long sequencia, TipoMovimentacao tipo, String data, BigDecimal quantidade, BigDecimal valor) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.data = data;
+        this.quantidade = quantidade;
+        this.valor = valor;
+    }
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public TipoMovimentacao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoMovimentacao tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(BigDecimal quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
@@ -0,0 +1,57 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoOperacaoLote;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO de uma operação do lote de investimentos.
+ * {@code id} é obrigatório em ATUALIZAR e REMOVER; {@code investimento} em CRIAR e ATUALIZAR.
+ */
+public class OperacaoLoteDTO {
+
+    @Schema(example = "ATUALIZAR")
+    @NotNull(message = "tipo é obrigatório")
+    private TipoOperacaoLote tipo;
+
+    /** ID do investimento alvo (ATUALIZAR e REMOVER). */
+    @Schema(example = "1")
+    private Long id;
+
+    /** Dados do investimento (CRIAR e ATUALIZAR). */
+    @Valid
+    private InvestimentoDTO investimento;
+
+    public OperacaoLoteDTO() {}
+
+    public OperacaoLoteDTO(TipoOperacaoLote tipo, Long id, InvestimentoDTO investimento) {
+        this.tipo = tipo;
+        this.id = id;
+        this.investimento = investimento;
+    }
+
+    public TipoOperacaoLote getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoOperacaoLote tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public InvestimentoDTO getInvestimento() {
+        return investimento;
+    }
+
+    public void setInvestimento(InvestimentoDTO investimento) {
+        this.investimento = investimento;
+    }
+}
@@ -0,0 +1,374 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Painel do investidor no modelo de leitura (PAINEL_INVESTIDOR): posições com o montante atual,
+ * totais, alocação por tipo e por banco e a cauda da série de cada investimento, já calculados.
+ *
+ * Montado pelo {@code ProjetorPainelInvestidor} a partir das tabelas da carteira e gravado em JSON;
+ * a leitura devolve o documento como está, sem joins.
+ */
+public class PainelInvestidorDTO {
+
+    /** CPF do investidor, somente dígitos. */
+    private String cpf;
+
+    /** Quando o painel foi montado; null quando montado na hora da leitura. */
+    private Instant atualizadoEm;
+
+    /** Último evento do outbox refletido no painel. */
+    private Long eventoAplicado;
+
+    private BigDecimal montanteInicialTotal;
+
+    /** Soma do montante atual (ou do inicial, para investimentos sem série) das posições. */
+    private BigDecimal montanteAtualTotal;
+
+    private List<Posicao> investimentos = new ArrayList<>();
+
+    private List<Alocacao> alocacaoPorTipo = new ArrayList<>();
+
+    private List<Alocacao> alocacaoPorBanco = new ArrayList<>();
+
+    public PainelInvestidorDTO() {}
+
+    /**
+     * Monta o painel calculando totais e alocações a partir das posições.
+     *
+     * @param cpf CPF do investidor, somente dígitos
+     * @param posicoes posições em ordem de ID do investimento
+     * @return painel sem data de atualização nem evento aplicado
+     */
+    public static PainelInvestidorDTO montar(String cpf, List<Posicao> posicoes) {
+        PainelInvestidorDTO painel = new PainelInvestidorDTO();
+        painel.cpf = cpf;
+        painel.investimentos = posicoes;
+        BigDecimal inicial = BigDecimal.ZERO;
+        BigDecimal atual = BigDecimal.ZERO;
+        for (Posicao posicao : posicoes) {
+            if (posicao.montanteInicial != null) inicial = inicial.add(posicao.montanteInicial);
+            atual = atual.add(posicao.montanteConsolidado());
+        }
+        painel.montanteInicialTotal = inicial;
+        painel.montanteAtualTotal = atual;
+        painel.alocacaoPorTipo = alocacao(posicoes, Posicao::getTipoInvestimento, atual);
+        painel.alocacaoPorBanco = alocacao(posicoes, Posicao::getNomeBanco, atual);
+        return painel;
+    }
+
+    /** Agrupa o montante consolidado pela chave, do maior para o menor. */
+    private static List<Alocacao> alocacao(List<Posicao> posicoes, Function<Posicao, String> chave, BigDecimal total) {
+        Map<String, Alocacao> porChave = new LinkedHashMap<>();
+        for (Posicao posicao : posicoes) {
+            String valor = chave.apply(posicao);
+            Alocacao alocacao = porChave.computeIfAbsent(valor != null ? valor : "N/A", Alocacao::new);
+            alocacao.quantidadeInvestimentos++;
+            alocacao.montante = alocacao.montante.add(posicao.montanteConsolidado());
+        }
+        List<Alocacao> alocacoes = new ArrayList<>(porChave.values());
+        for (Alocacao alocacao : alocacoes) {
+            alocacao.percentual = total.signum() == 0 ? BigDecimal.ZERO
+                    : alocacao.montante.multiply(BigDecimal.valueOf(100)).divide(total, 2, RoundingMode.HALF_UP);
+        }
+        alocacoes.sort(Comparator.comparing(Alocacao::getMontante).reversed());
+        return alocacoes;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public void setCpf(String cpf) {
+        this.cpf = cpf;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Long getEventoAplicado() {
+        return eventoAplicado;
+    }
+
+    public void setEventoAplicado(Long eventoAplicado) {
+        this.eventoAplicado = eventoAplicado;
+    }
+
+    public BigDecimal getMontanteInicialTotal() {
+        return montanteInicialTotal;
+    }
+
+    public void setMontanteInicialTotal(BigDecimal montanteInicialTotal) {
+        this.montanteInicialTotal = montanteInicialTotal;
+    }
+
+    public BigDecimal getMontanteAtualTotal() {
+        return montanteAtualTotal;
+    }
+
+    public void setMontanteAtualTotal(BigDecimal montanteAtualTotal) {
+        this.montanteAtualTotal = montanteAtualTotal;
+    }
+
+    public List<Posicao> getInvestimentos() {
+        return investimentos;
+    }
+
+    public void setInvestimentos(List<Posicao> investimentos) {
+        this.investimentos = investimentos;
+    }
+
+    public List<Alocacao> getAlocacaoPorTipo() {
+        return alocacaoPorTipo;
+    }
+
+    public void setAlocacaoPorTipo(List<Alocacao> alocacaoPorTipo) {
+        this.alocacaoPorTipo = alocacaoPorTipo;
+    }
+
+    public List<Alocacao> getAlocacaoPorBanco() {
+        return alocacaoPorBanco;
+    }
+
+    public void setAlocacaoPorBanco(List<Alocacao> alocacaoPorBanco) {
+        this.alocacaoPorBanco = alocacaoPorBanco;
+    }
+
+    /**
+     * Um investimento do painel: as colunas do cadastro, o montante atual e a cauda da série
+     * (datas e montantes em listas paralelas, da mais antiga para a mais recente).
+     */
+    public static class Posicao {
+
+        private Long id;
+        private String nomeBanco;
+        private Integer codigoBancario;
+        private String tipoInvestimento;
+        private String nomeInvestimento;
+        private BigDecimal montanteInicial;
+        private BigDecimal valorInicialAcao;
+        private BigDecimal taxaRentabilidade;
+        private Integer numeroAcoesInicial;
+
+        /** Código do instrumento vinculado, se houver. */
+        private String codigoInstrumento;
+
+        /** Montante na data mais recente da série (cotação × ações, se vinculado a um instrumento). */
+        private BigDecimal montanteAtual;
+
+        /** Data do montante atual no formato "dd-MM-yyyy". */
+        private String dataMontanteAtual;
+
+        private List<String> datas = new ArrayList<>();
+
+        private List<BigDecimal> montantes = new ArrayList<>();
+
+        public Posicao() {}
+
+        /**
+         * Valor do campo no formato da projeção por {@code fields} (enums como texto).
+         *
+         * @param campo campo selecionado
+         * @return valor do campo
+         */
+        public Object valor(CampoInvestimento campo) {
+            return switch (campo) {
+                case ID -> id;
+                case NOME_BANCO -> nomeBanco;
+                case CODIGO_BANCARIO -> codigoBancario;
+                case TIPO_INVESTIMENTO -> tipoInvestimento;
+                case NOME_INVESTIMENTO -> nomeInvestimento;
+                case MONTANTE_INICIAL -> montanteInicial;
+                case VALOR_INICIAL_ACAO -> valorInicialAcao;
+                case TAXA_RENTABILIDADE -> taxaRentabilidade;
+                case NUMERO_ACOES_INICIAL -> numeroAcoesInicial;
+                case MONTANTE_ATUAL -> montanteAtual;
+            };
+        }
+
+        /** Montante atual ou, sem série, o inicial: a base dos totais e das alocações. */
+        private BigDecimal montanteConsolidado() {
+            if (montanteAtual != null) return montanteAtual;
+            return montanteInicial != null ? montanteInicial : BigDecimal.ZERO;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getNomeBanco() {
+            return nomeBanco;
+        }
+
+        public void setNomeBanco(String nomeBanco) {
+            this.nomeBanco = nomeBanco;
+        }
+
+        public Integer getCodigoBancario() {
+            return codigoBancario;
+        }
+
+        public void setCodigoBancario(Integer codigoBancario) {
+            this.codigoBancario = codigoBancario;
+        }
+
+        public String getTipoInvestimento() {
+            return tipoInvestimento;
+        }
+
+        public void setTipoInvestimento(String tipoInvestimento) {
+            this.tipoInvestimento = tipoInvestimento;
+        }
+
+        public String getNomeInvestimento() {
+            return nomeInvestimento;
+        }
+
+        public void setNomeInvestimento(String nomeInvestimento) {
+            this.nomeInvestimento = nomeInvestimento;
+        }
+
+        public BigDecimal getMontanteInicial() {
+            return montanteInicial;
+        }
+
+        public void setMontanteInicial(BigDecimal montanteInicial) {
+            this.montanteInicial = montanteInicial;
+        }
+
+        public BigDecimal getValorInicialAcao() {
+            return valorInicialAcao;
+        }
+
+        public void setValorInicialAcao(BigDecimal valorInicialAcao) {
+            this.valorInicialAcao = valorInicialAcao;
+        }
+
+        public BigDecimal getTaxaRentabilidade() {
+            return taxaRentabilidade;
+        }
+
+        public void setTaxaRentabilidade(BigDecimal taxaRentabilidade) {
+            this.taxaRentabilidade = taxaRentabilidade;
+        }
+
+        public Integer getNumeroAcoesInicial() {
+            return numeroAcoesInicial;
+        }
+
+        public void setNumeroAcoesInicial(Integer numeroAcoesInicial) {
+            this.numeroAcoesInicial = numeroAcoesInicial;
+        }
+
+        public String getCodigoInstrumento() {
+            return codigoInstrumento;
+        }
+
+        public void setCodigoInstrumento(String codigoInstrumento) {
+            this.codigoInstrumento = codigoInstrumento;
+        }
+
+        public BigDecimal getMontanteAtual() {
+            return montanteAtual;
+        }
+
+        public void setMontanteAtual(BigDecimal montanteAtual) {
+            this.montanteAtual = montanteAtual;
+        }
+
+        public String getDataMontanteAtual() {
+            return dataMontanteAtual;
+        }
+
+        public void setDataMontanteAtual(String dataMontanteAtual) {
+            this.dataMontanteAtual = dataMontanteAtual;
+        }
+
+        public List<String> getDatas() {
+            return datas;
+        }
+
+        public void setDatas(List<String> datas) {
+            this.datas = datas;
+        }
+
+        public List<BigDecimal> getMontantes() {
+            return montantes;
+        }
+
+        public void setMontantes(List<BigDecimal> montantes) {
+            this.montantes = montantes;
+        }
+    }
+
+    /**
+     * Parte da carteira em um tipo de investimento ou banco.
+     */
+    public static class Alocacao {
+
+        /** Tipo de investimento ou nome do banco ("N/A" se não informado). */
+        private String chave;
+        private int quantidadeInvestimentos;
+        private BigDecimal montante = BigDecimal.ZERO;
+
+        /** Percentual do montante atual total, com duas casas. */
+        private BigDecimal percentual;
+
+        public Alocacao() {}
+
+        public Alocacao(String chave) {
+            this.chave = chave;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public void setChave(String chave) {
+            this.chave = chave;
+        }
+
+        public int getQuantidadeInvestimentos() {
+            return quantidadeInvestimentos;
+        }
+
+        public void setQuantidadeInvestimentos(int quantidadeInvestimentos) {
+            this.quantidadeInvestimentos = quantidadeInvestimentos;
+        }
+
+        public BigDecimal getMontante() {
+            return montante;
+        }
+
+        public void setMontante(BigDecimal montante) {
+            this.montante = montante;
+        }
+
+        public BigDecimal getPercentual() {
+            return percentual;
+        }
+
+        public void setPercentual(BigDecimal percentual) {
+            this.percentual = percentual;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.challenge.investimentos.investimentos_api.util.PosicaoInvestimento;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Posição de um investimento reconstruída do livro-razão: saldo de ações, custo e resultado realizado.
+ */
+public class PosicaoInvestimentoDTO {
+
+    private Long investimentoId;
+
+    /** Quantidade de movimentações aplicadas. */
+    private long sequencia;
+
+    private BigDecimal quantidade;
+
+    /** Custo do saldo restante. */
+    private BigDecimal custo;
+
+    /** Custo por ação do saldo (vazio sem ações). */
+    private BigDecimal precoMedio;
+
+    /** Total aportado, incluindo o montante inicial. */
+    private BigDecimal aportado;
+
+    /** Total recebido em resgates e vendas. */
+    private BigDecimal resgatado;
+
+    /** Recebido menos o custo baixado nos resgates e vendas. */
+    private BigDecimal resultadoRealizado;
+
+    /** Data da última movimentação no formato "dd-MM-yyyy". */
+    private String ultimaMovimentacao;
+
+    public PosicaoInvestimentoDTO() {}
+
+    /**
+     * Converte a posição em ponto fixo para a escala da API.
+     * param investimentoId ID do investimento
+     * param posicao posição reconstruída
+     */
+    public static PosicaoInvestimentoDTO de(Long investimentoId, PosicaoInvestimento posicao) {
+        PosicaoInvestimentoDTO dto = new PosicaoInvestimentoDTO();
+        dto.investimentoId = investimentoId;
+        dto.sequencia = posicao.getSequencia();
+        BigDecimal quantidade = BigDecimal.valueOf(posicao.getQuantidade(), PosicaoInvestimento.ESCALA_QUANTIDADE).stripTrailingZeros();
+        dto.quantidade = quantidade.scale() < 0 ? quantidade.setScale(0) : quantidade;
+        dto.custo = valor(posicao.getCusto());
+        dto.aportado = valor(posicao.getAportado());
+        dto.resgatado = valor(posicao.getResgatado());
+        dto.resultadoRealizado = valor(posicao.getResultadoRealizado());
+        if (posicao.getQuantidade() > 0) {
+            dto.precoMedio = dto.custo.divide(dto.quantidade, PosicaoInvestimento.ESCALA_VALOR, RoundingMode.HALF_UP);
+        }
+        if (posicao.getUltimaData() != PosicaoInvestimento.SEM_DATA) {
+            dto.ultimaMovimentacao = InvestimentoMapper.texto(LocalDate.ofEpochDay(posicao.getUltimaData()));
+        }
+        return dto;
+    }
+
+    private static BigDecimal valor(long centavos) {
+        return BigDecimal.valueOf(centavos, PosicaoInvestimento.ESCALA_VALOR);
+    }
+
+    public Long getInvestimentoId() {
+        return investimentoId;
+    }
+
+    public void setInvestimentoId(Long investimentoId) {
+        this.investimentoId = investimentoId;
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public BigDecimal getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(BigDecimal quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getCusto() {
+        return custo;
+    }
+
+    public void setCusto(BigDecimal custo) {
+        this.custo = custo;
+    }
+
+    public BigDecimal getPrecoMedio() {
+        return precoMedio;
+    }
+
+    public void setPrecoMedio(BigDecimal precoMedio) {
+        this.precoMedio = precoMedio;
+    }
+
+    public BigDecimal getAportado() {
+        return aportado;
+    }
+
+    public void setAportado(BigDecimal aportado) {
+        this.aportado = aportado;
+    }
+
+    public BigDecimal getResgatado() {
+        return resgatado;
+    }
+
+    public void setResgatado(BigDecimal resgatado) {
+        this.resgatado = resgatado;
+    }
+
+    public BigDecimal getResultadoRealizado() {
+        return resultadoRealizado;
+    }
+
+    public void setResultadoRealizado(BigDecimal resultadoRealizado) {
+        this.resultadoRealizado = resultadoRealizado;
+    }
+
+    public String getUltimaMovimentacao() {
+        return ultimaMovimentacao;
+    }
+
+    public void setUltimaMovimentacao(String ultimaMovimentacao) {
+        this.ultimaMovimentacao = ultimaMovimentacao;
+    }
+}
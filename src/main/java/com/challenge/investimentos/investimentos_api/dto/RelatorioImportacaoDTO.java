@@ -0,0 +1,140 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma importação em massa (NDJSON) de usuários investidores.
+ * Os erros são reportados por número de linha; apenas os primeiros {@value #MAXIMO_ERROS}
+ * são listados, mas {@code totalErros} conta todos.
+ */
+public class RelatorioImportacaoDTO {
+
+    /** Quantidade máxima de erros detalhados no relatório. */
+    public static final int MAXIMO_ERROS = 1000;
+
+    @Schema(example = "100000")
+    private long linhasLidas;
+
+    @Schema(example = "99990")
+    private long carteirasImportadas;
+
+    @Schema(example = "199980")
+    private long investimentosImportados;
+
+    @Schema(example = "5999400")
+    private long rentabilidadesImportadas;
+
+    @Schema(example = "10")
+    private long totalErros;
+
+    private List<ErroLinha> erros = new ArrayList<>();
+
+    @Schema(example = "184000")
+    private long duracaoMs;
+
+    /**
+     * Registra o erro de uma linha, respeitando o limite de erros detalhados.
+     * param linha número da linha (a partir de 1)
+     * param mensagem descrição do erro
+     */
+    public void adicionarErro(long linha, String mensagem) {
+        totalErros++;
+        if (erros.size() < MAXIMO_ERROS) {
+            erros.add(new ErroLinha(linha, mensagem));
+        }
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getCarteirasImportadas() {
+        return carteirasImportadas;
+    }
+
+    public void setCarteirasImportadas(long carteirasImportadas) {
+        this.carteirasImportadas = carteirasImportadas;
+    }
+
+    public long getInvestimentosImportados() {
+        return investimentosImportados;
+    }
+
+    public void setInvestimentosImportados(long investimentosImportados) {
+        this.investimentosImportados = investimentosImportados;
+    }
+
+    public long getRentabilidadesImportadas() {
+        return rentabilidadesImportadas;
+    }
+
+    public void setRentabilidadesImportadas(long rentabilidadesImportadas) {
+        this.rentabilidadesImportadas = rentabilidadesImportadas;
+    }
+
+    public long getTotalErros() {
+        return totalErros;
+    }
+
+    public void setTotalErros(long totalErros) {
+        this.totalErros = totalErros;
+    }
+
+    public List<ErroLinha> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<ErroLinha> erros) {
+        this.erros = erros;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    /**
+     * Erro de uma linha do arquivo importado.
+     */
+    public static class ErroLinha {
+
+        @Schema(example = "42")
+        private long linha;
+
+        @Schema(example = "CPF inválido: 123")
+        private String mensagem;
+
+        public ErroLinha() {}
+
+        public ErroLinha(long linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+
+        public void setLinha(long linha) {
+            this.linha = linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+
+        public void setMensagem(String mensagem) {
+            this.mensagem = mensagem;
+        }
+    }
+}
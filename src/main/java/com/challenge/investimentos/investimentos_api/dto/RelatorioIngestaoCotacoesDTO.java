@@ -0,0 +1,103 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado da ingestão de um arquivo CSV de cotações diárias.
+ * Apenas os primeiros {@value RelatorioImportacaoDTO#MAXIMO_ERROS} erros são listados;
+ * {@code totalErros} conta todos.
+ */
+public class RelatorioIngestaoCotacoesDTO {
+
+    @Schema(example = "250001")
+    private long linhasLidas;
+
+    @Schema(example = "249990")
+    private long linhasGravadas;
+
+    @Schema(example = "249990")
+    private long investimentosAtualizados;
+
+    @Schema(example = "10")
+    private long totalErros;
+
+    private List<RelatorioImportacaoDTO.ErroLinha> erros = new ArrayList<>();
+
+    @Schema(example = "41000")
+    private long duracaoMs;
+
+    /** Linhas gravadas por segundo, considerando a duração total (leitura, gravação e consolidação). */
+    @Schema(example = "6097")
+    private long linhasPorSegundo;
+
+    /**
+     * Registra o erro de uma linha, respeitando o limite de erros detalhados.
+     * param linha número da linha (a partir de 1)
+     * param mensagem descrição do erro
+     */
+    public void adicionarErro(long linha, String mensagem) {
+        totalErros++;
+        if (erros.size() < RelatorioImportacaoDTO.MAXIMO_ERROS) {
+            erros.add(new RelatorioImportacaoDTO.ErroLinha(linha, mensagem));
+        }
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getLinhasGravadas() {
+        return linhasGravadas;
+    }
+
+    public void setLinhasGravadas(long linhasGravadas) {
+        this.linhasGravadas = linhasGravadas;
+    }
+
+    public long getInvestimentosAtualizados() {
+        return investimentosAtualizados;
+    }
+
+    public void setInvestimentosAtualizados(long investimentosAtualizados) {
+        this.investimentosAtualizados = investimentosAtualizados;
+    }
+
+    public long getTotalErros() {
+        return totalErros;
+    }
+
+    public void setTotalErros(long totalErros) {
+        this.totalErros = totalErros;
+    }
+
+    public List<RelatorioImportacaoDTO.ErroLinha> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<RelatorioImportacaoDTO.ErroLinha> erros) {
+        this.erros = erros;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public long getLinhasPorSegundo() {
+        return linhasPorSegundo;
+    }
+
+    public void setLinhasPorSegundo(long linhasPorSegundo) {
+        this.linhasPorSegundo = linhasPorSegundo;
+    }
+}
@@ -3,7 +3,7 @@ package com.challenge.investimentos.investimentos_api.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
-import java.time.format.DateTimeFormatter;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -115,13 +115,6 @@ public class RentabilidadeDiariaDTO {
      * return DTO populado com os dados da entidade
      */
     public static RentabilidadeDiariaDTO fromEntity(RentabilidadeDiaria rd) {
-        if (rd == null) return null;
-        RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-        dto.setDataRentabilidadeDiaria(rd.getDataRentabilidadeDiaria() != null ? rd.getDataRentabilidadeDiaria().format(fmt) : null);
-        dto.setValorDiarioAcao(rd.getValorDiarioAcao());
-        dto.setTaxaDiarioRentabilidade(rd.getTaxaDiarioRentabilidade());
-        dto.setMontanteAcumuladoDiario(rd.getMontanteAcumuladoDiario());
-        return dto;
+        return InvestimentoMapper.paraDTO(rd);
     }
 }
@@ -0,0 +1,162 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO que representa um período consolidado (semana, mês ou ano) de rentabilidade.
+ * Datas no formato "dd-MM-yyyy".
+ */
+public class RentabilidadePeriodoDTO {
+
+    @Schema(example = "MENSAL")
+    private String granularidade;
+
+    @Schema(example = "01-01-2025")
+    private String inicioPeriodo;
+
+    @Schema(example = "02-01-2025")
+    private String primeiraData;
+
+    @Schema(example = "31-01-2025")
+    private String ultimaData;
+
+    @Schema(example = "100.50")
+    private BigDecimal valorAbertura;
+
+    @Schema(example = "104.10")
+    private BigDecimal valorFechamento;
+
+    @Schema(example = "99.80")
+    private BigDecimal valorMinimo;
+
+    @Schema(example = "105.00")
+    private BigDecimal valorMaximo;
+
+    /** Taxa composta do período (percentual). */
+    @Schema(example = "3.58210000")
+    private BigDecimal taxaComposta;
+
+    @Schema(example = "1035.82")
+    private BigDecimal montanteFechamento;
+
+    @Schema(example = "22")
+    private Integer quantidadeDias;
+
+    /**
+     * Converte a entidade para DTO.
+     * param periodo entidade de período consolidado
+     * return DTO populado
+     */
+    public static RentabilidadePeriodoDTO fromEntity(RentabilidadePeriodo periodo) {
+        RentabilidadePeriodoDTO dto = new RentabilidadePeriodoDTO();
+        dto.setGranularidade(periodo.getGranularidade().name());
+        dto.setInicioPeriodo(formatar(periodo.getInicioPeriodo()));
+        dto.setPrimeiraData(formatar(periodo.getPrimeiraData()));
+        dto.setUltimaData(formatar(periodo.getUltimaData()));
+        dto.setValorAbertura(periodo.getValorAbertura());
+        dto.setValorFechamento(periodo.getValorFechamento());
+        dto.setValorMinimo(periodo.getValorMinimo());
+        dto.setValorMaximo(periodo.getValorMaximo());
+        dto.setTaxaComposta(periodo.getTaxaComposta());
+        dto.setMontanteFechamento(periodo.getMontanteFechamento());
+        dto.setQuantidadeDias(periodo.getQuantidadeDias());
+        return dto;
+    }
+
+    private static String formatar(LocalDate data) {
+        return InvestimentoMapper.texto(data);
+    }
+
+    public String getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(String granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public String getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    public void setInicioPeriodo(String inicioPeriodo) {
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    public String getPrimeiraData() {
+        return primeiraData;
+    }
+
+    public void setPrimeiraData(String primeiraData) {
+        this.primeiraData = primeiraData;
+    }
+
+    public String getUltimaData() {
+        return ultimaData;
+    }
+
+    public void setUltimaData(String ultimaData) {
+        this.ultimaData = ultimaData;
+    }
+
+    public BigDecimal getValorAbertura() {
+        return valorAbertura;
+    }
+
+    public void setValorAbertura(BigDecimal valorAbertura) {
+        this.valorAbertura = valorAbertura;
+    }
+
+    public BigDecimal getValorFechamento() {
+        return valorFechamento;
+    }
+
+    public void setValorFechamento(BigDecimal valorFechamento) {
+        this.valorFechamento = valorFechamento;
+    }
+
+    public BigDecimal getValorMinimo() {
+        return valorMinimo;
+    }
+
+    public void setValorMinimo(BigDecimal valorMinimo) {
+        this.valorMinimo = valorMinimo;
+    }
+
+    public BigDecimal getValorMaximo() {
+        return valorMaximo;
+    }
+
+    public void setValorMaximo(BigDecimal valorMaximo) {
+        this.valorMaximo = valorMaximo;
+    }
+
+    public BigDecimal getTaxaComposta() {
+        return taxaComposta;
+    }
+
+    public void setTaxaComposta(BigDecimal taxaComposta) {
+        this.taxaComposta = taxaComposta;
+    }
+
+    public BigDecimal getMontanteFechamento() {
+        return montanteFechamento;
+    }
+
+    public void setMontanteFechamento(BigDecimal montanteFechamento) {
+        this.montanteFechamento = montanteFechamento;
+    }
+
+    public Integer getQuantidadeDias() {
+        return quantidadeDias;
+    }
+
+    public void setQuantidadeDias(Integer quantidadeDias) {
+        this.quantidadeDias = quantidadeDias;
+    }
+}
@@ -0,0 +1,78 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoOperacaoLote;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO com o resultado de uma operação do lote de investimentos, na mesma posição em que foi enviada.
+ */
+public class ResultadoOperacaoLoteDTO {
+
+    /** Posição da operação no lote (a partir de 0). */
+    @Schema(example = "0")
+    private int indice;
+
+    @Schema(example = "CRIAR")
+    private TipoOperacaoLote tipo;
+
+    /** ID do investimento afetado (gerado, no caso de CRIAR). */
+    @Schema(example = "42")
+    private Long id;
+
+    /** Status HTTP equivalente ao da operação isolada; 424 quando não executada por erro em outra operação. */
+    @Schema(example = "201")
+    private int status;
+
+    @Schema(example = "Investimento criado com sucesso")
+    private String mensagem;
+
+    public ResultadoOperacaoLoteDTO() {}
+
+    public ResultadoOperacaoLoteDTO(int indice, TipoOperacaoLote tipo, Long id, int status, String mensagem) {
+        this.indice = indice;
+        this.tipo = tipo;
+        this.id = id;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public TipoOperacaoLote getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoOperacaoLote tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
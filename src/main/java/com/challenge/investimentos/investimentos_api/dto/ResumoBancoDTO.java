@@ -0,0 +1,67 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO com os totais dos investimentos de um usuário em um banco.
+ */
+public class ResumoBancoDTO {
+
+    /** Código do banco; nulo para bancos fora da tabela de referência. */
+    @Schema(example = "336")
+    private Integer codigoBancario;
+
+    @Schema(example = "C6 Bank")
+    private String nomeBanco;
+
+    @Schema(example = "3")
+    private long quantidadeInvestimentos;
+
+    /** Soma do montante inicial dos investimentos no banco. */
+    @Schema(example = "15000.00")
+    private BigDecimal montanteInicialTotal;
+
+    public ResumoBancoDTO() {}
+
+    public ResumoBancoDTO(Integer codigoBancario, String nomeBanco, long quantidadeInvestimentos,
+                          BigDecimal montanteInicialTotal) {
+        this.codigoBancario = codigoBancario;
+        this.nomeBanco = nomeBanco;
+        this.quantidadeInvestimentos = quantidadeInvestimentos;
+        this.montanteInicialTotal = montanteInicialTotal;
+    }
+
+    public Integer getCodigoBancario() {
+        return codigoBancario;
+    }
+
+    public void setCodigoBancario(Integer codigoBancario) {
+        this.codigoBancario = codigoBancario;
+    }
+
+    public String getNomeBanco() {
+        return nomeBanco;
+    }
+
+    public void setNomeBanco(String nomeBanco) {
+        this.nomeBanco = nomeBanco;
+    }
+
+    public long getQuantidadeInvestimentos() {
+        return quantidadeInvestimentos;
+    }
+
+    public void setQuantidadeInvestimentos(long quantidadeInvestimentos) {
+        this.quantidadeInvestimentos = quantidadeInvestimentos;
+    }
+
+    public BigDecimal getMontanteInicialTotal() {
+        return montanteInicialTotal;
+    }
+
+    public void setMontanteInicialTotal(BigDecimal montanteInicialTotal) {
+        this.montanteInicialTotal = montanteInicialTotal;
+    }
+}
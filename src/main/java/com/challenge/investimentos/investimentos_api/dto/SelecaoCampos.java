@@ -0,0 +1,92 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Seleção de campos (sparse fieldset) informada nos parâmetros {@code fields} e {@code include}.
+ *
+ * {@code fields} lista as colunas do investimento a retornar (separadas por vírgula) e
+ * {@code include} habilita coleções aninhadas, hoje apenas {@code rentabilidadeDiaria}.
+ * Quando nenhum dos dois é informado a resposta completa é mantida.
+ */
+public class SelecaoCampos {
+
+    private final Set<CampoInvestimento> campos;
+    private final boolean incluirRentabilidadeDiaria;
+
+    /**
+     * Constrói a seleção de campos.
+     *
+     * @param campos campos escalares do investimento
+     * @param incluirRentabilidadeDiaria se a série diária deve ser carregada
+     */
+    public SelecaoCampos(Set<CampoInvestimento> campos, boolean incluirRentabilidadeDiaria) {
+        this.campos = Collections.unmodifiableSet(EnumSet.copyOf(campos));
+        this.incluirRentabilidadeDiaria = incluirRentabilidadeDiaria;
+    }
+
+    /**
+     * Interpreta os parâmetros de requisição.
+     *
+     * @param fields lista de campos separados por vírgula (opcional)
+     * @param include lista de coleções aninhadas separadas por vírgula (opcional)
+     * @return seleção correspondente ou {@code null} se nenhum parâmetro foi informado
+     * @throws IllegalArgumentException se algum campo ou coleção for desconhecido
+     */
+    public static SelecaoCampos de(String fields, String include) {
+        boolean semFields = fields == null || fields.isBlank();
+        boolean semInclude = include == null || include.isBlank();
+        if (semFields && semInclude) {
+            return null;
+        }
+
+        boolean incluirRentabilidade = false;
+        if (!semInclude) {
+            for (String item : include.split(",")) {
+                String nome = item.trim();
+                if (nome.isEmpty()) continue;
+                if (!CampoInvestimento.INCLUDE_RENTABILIDADE_DIARIA.equalsIgnoreCase(nome)) {
+                    throw new IllegalArgumentException("Include inválido: " + nome);
+                }
+                incluirRentabilidade = true;
+            }
+        }
+
+        Set<CampoInvestimento> campos;
+        if (semFields) {
+            campos = CampoInvestimento.padrao();
+        } else {
+            campos = EnumSet.noneOf(CampoInvestimento.class);
+            for (String item : fields.split(",")) {
+                String nome = item.trim();
+                if (nome.isEmpty()) continue;
+                if (CampoInvestimento.INCLUDE_RENTABILIDADE_DIARIA.equalsIgnoreCase(nome)) {
+                    incluirRentabilidade = true;
+                    continue;
+                }
+                campos.add(CampoInvestimento.porNome(nome));
+            }
+        }
+        return new SelecaoCampos(campos, incluirRentabilidade);
+    }
+
+    /**
+     * Obtém os campos escalares selecionados.
+     * @return campos selecionados (imutável)
+     */
+    public Set<CampoInvestimento> getCampos() {
+        return campos;
+    }
+
+    /**
+     * Indica se a série de rentabilidades diárias deve ser carregada.
+     * @return {@code true} se a série foi solicitada
+     */
+    public boolean isIncluirRentabilidadeDiaria() {
+        return incluirRentabilidadeDiaria;
+    }
+}
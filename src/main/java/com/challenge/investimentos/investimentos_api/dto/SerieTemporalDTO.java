@@ -0,0 +1,67 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO com a série (reduzida) de montante acumulado de um investimento, pronta para gráficos.
+ * Datas e valores são enviados em listas paralelas para manter o payload enxuto.
+ */
+public class SerieTemporalDTO {
+
+    /** ID do investimento. */
+    @Schema(example = "1")
+    private Long investimentoId;
+
+    /** Quantidade de pontos da série original, antes da redução. */
+    @Schema(example = "3000")
+    private int pontosOriginais;
+
+    /** Datas dos pontos no formato "dd-MM-yyyy". */
+    private List<String> datas;
+
+    /** Montante acumulado em cada data. */
+    private double[] valores;
+
+    public SerieTemporalDTO() {}
+
+    public SerieTemporalDTO(Long investimentoId, int pontosOriginais, List<String> datas, double[] valores) {
+        this.investimentoId = investimentoId;
+        this.pontosOriginais = pontosOriginais;
+        this.datas = datas;
+        this.valores = valores;
+    }
+
+    public Long getInvestimentoId() {
+        return investimentoId;
+    }
+
+    public void setInvestimentoId(Long investimentoId) {
+        this.investimentoId = investimentoId;
+    }
+
+    public int getPontosOriginais() {
+        return pontosOriginais;
+    }
+
+    public void setPontosOriginais(int pontosOriginais) {
+        this.pontosOriginais = pontosOriginais;
+    }
+
+    public List<String> getDatas() {
+        return datas;
+    }
+
+    public void setDatas(List<String> datas) {
+        this.datas = datas;
+    }
+
+    public double[] getValores() {
+        return valores;
+    }
+
+    public void setValores(double[] valores) {
+        this.valores = valores;
+    }
+}
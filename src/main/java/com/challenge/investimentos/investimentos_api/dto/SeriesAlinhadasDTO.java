@@ -0,0 +1,43 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO com várias séries de montante acumulado alinhadas pelas mesmas datas.
+ *
+ * Cada posição de {@code datas} fecha um intervalo de dias; para cada investimento,
+ * {@code series} traz o montante na última data disponível do intervalo
+ * ({@code null} antes do início do histórico do investimento).
+ */
+public class SeriesAlinhadasDTO {
+
+    /** Data de fechamento de cada intervalo no formato "dd-MM-yyyy". */
+    private List<String> datas;
+
+    /** Valores por ID de investimento, na mesma ordem de {@code datas}. */
+    private Map<Long, Double[]> series;
+
+    public SeriesAlinhadasDTO() {}
+
+    public SeriesAlinhadasDTO(List<String> datas, Map<Long, Double[]> series) {
+        this.datas = datas;
+        this.series = series;
+    }
+
+    public List<String> getDatas() {
+        return datas;
+    }
+
+    public void setDatas(List<String> datas) {
+        this.datas = datas;
+    }
+
+    public Map<Long, Double[]> getSeries() {
+        return series;
+    }
+
+    public void setSeries(Map<Long, Double[]> series) {
+        this.series = series;
+    }
+}
@@ -0,0 +1,76 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.EstadoTicketEscrita;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO com a situação de uma escrita assíncrona de rentabilidades diárias.
+ */
+public class TicketEscritaDTO {
+
+    @Schema(example = "5f0c2d7e-8a61-4c1b-9d43-2f1a7c9e0b12")
+    private String ticket;
+
+    @Schema(example = "1")
+    private Long investimentoId;
+
+    /** Quantidade de dias enviados na requisição. */
+    @Schema(example = "30")
+    private int dias;
+
+    @Schema(example = "PENDENTE")
+    private EstadoTicketEscrita estado;
+
+    /** Motivo da falha, quando {@code estado} é FALHOU. */
+    private String mensagem;
+
+    public TicketEscritaDTO() {}
+
+    public TicketEscritaDTO(String ticket, Long investimentoId, int dias, EstadoTicketEscrita estado, String mensagem) {
+        this.ticket = ticket;
+        this.investimentoId = investimentoId;
+        this.dias = dias;
+        this.estado = estado;
+        this.mensagem = mensagem;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public Long getInvestimentoId() {
+        return investimentoId;
+    }
+
+    public void setInvestimentoId(Long investimentoId) {
+        this.investimentoId = investimentoId;
+    }
+
+    public int getDias() {
+        return dias;
+    }
+
+    public void setDias(int dias) {
+        this.dias = dias;
+    }
+
+    public EstadoTicketEscrita getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoTicketEscrita estado) {
+        this.estado = estado;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
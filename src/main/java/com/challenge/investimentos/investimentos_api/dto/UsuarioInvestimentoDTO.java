@@ -3,7 +3,7 @@ package com.challenge.investimentos.investimentos_api.dto;
 import java.util.List;
 import io.swagger.v3.oas.annotations.media.Schema;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
-import java.util.stream.Collectors;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -66,9 +66,7 @@ public class UsuarioInvestimentoDTO {
         UsuarioInvestimentoDTO dto = new UsuarioInvestimentoDTO();
         dto.setCpfIdentificacao(u.getCpfIdentificacao());
         if (u.getInvestimentos() != null) {
-            List<InvestimentoDTO> mapped = u.getInvestimentos().stream()
-                .map(InvestimentoDTO::fromEntity)
-                .collect(Collectors.toList());
+            List<InvestimentoDTO> mapped = InvestimentoMapper.paraDTOs(u.getInvestimentos());
             dto.setDataUsuarioInvestimentos(mapped);
             dto.setInvestimentos(mapped);
         }
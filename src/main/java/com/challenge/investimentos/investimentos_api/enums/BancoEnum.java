@@ -1,5 +1,9 @@
 package com.challenge.investimentos.investimentos_api.enums;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enum que representa os bancos e seus códigos.
  * Útil para preencher automaticamente o código do banco pelo nome.
@@ -38,11 +42,36 @@ public enum BancoEnum {
      * @return código do banco
      */
     public static int getCodigoPorNome(String nomeBanco) {
-        for (BancoEnum banco : BancoEnum.values()) {
-            if (banco.getNomeBanco().equalsIgnoreCase(nomeBanco)) {
-                return banco.getCodigoBancario();
-            }
+        BancoEnum banco = porNome(nomeBanco);
+        if (banco == null) {
+            throw new IllegalArgumentException("Banco não encontrado: " + nomeBanco);
+        }
+        return banco.getCodigoBancario();
+    }
+
+    /**
+     * Retorna o banco pelo nome, sem diferenciar maiúsculas e minúsculas.
+     * @param nomeBanco nome do banco
+     * @return banco correspondente, ou {@code null} se nulo ou desconhecido
+     */
+    public static BancoEnum porNome(String nomeBanco) {
+        return nomeBanco != null ? POR_NOME.get(chave(nomeBanco)) : null;
+    }
+
+    /**
+     * Forma do nome usada como chave de busca: sem espaços nas pontas e em minúsculas.
+     * @param nomeBanco nome do banco
+     * @return chave de busca
+     */
+    public static String chave(String nomeBanco) {
+        return nomeBanco.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Map<String, BancoEnum> POR_NOME = new HashMap<>();
+
+    static {
+        for (BancoEnum banco : values()) {
+            POR_NOME.put(chave(banco.nomeBanco), banco);
         }
-        throw new IllegalArgumentException("Banco não encontrado: " + nomeBanco);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enum que representa os campos de investimento que podem ser selecionados
+ * via parâmetro {@code fields} nos endpoints de listagem.
+ *
+ * Cada campo conhece o nome exposto na API e a expressão JPQL correspondente
+ * (sobre o alias {@code i} de {@link com.challenge.investimentos.investimentos_api.model.Investimento}),
+ * permitindo montar projeções que carregam apenas as colunas solicitadas.
+ */
+public enum CampoInvestimento {
+    ID("id", "i.id"),
+    NOME_BANCO("nomeBanco", "i.nomeBanco"),
+    CODIGO_BANCARIO("codigoBancario", "i.codigoBancario"),
+    TIPO_INVESTIMENTO("tipoInvestimento", "i.tipoInvestimento"),
+    NOME_INVESTIMENTO("nomeInvestimento", "i.nomeInvestimento"),
+    MONTANTE_INICIAL("montanteInicial", "i.montanteInicial"),
+    VALOR_INICIAL_ACAO("valorInicialAcao", "i.valorInicialAcao"),
+    TAXA_RENTABILIDADE("taxaRentabilidade", "i.taxaRentabilidade"),
+    NUMERO_ACOES_INICIAL("numeroAcoesInicial", "i.numeroAcoesInicial"),
+    /**
+     * Montante acumulado na data mais recente da série diária (calculado via subconsulta); para
+     * investimentos vinculados a um instrumento, ações × última cotação do instrumento.
+     */
+    MONTANTE_ATUAL("montanteAtual",
+        "coalesce((select max(ra.montanteAcumuladoDiario) from RentabilidadeDiaria ra where ra.investimento = i"
+            + " and ra.dataRentabilidadeDiaria = (select max(rb.dataRentabilidadeDiaria)"
+            + " from RentabilidadeDiaria rb where rb.investimento = i)),"
+            + " (select max(ca.valorAcao) * i.numeroAcoesInicial from CotacaoInstrumento ca"
+            + " where ca.instrumento = i.instrumento and ca.dataCotacao = (select max(cb.dataCotacao)"
+            + " from CotacaoInstrumento cb where cb.instrumento = i.instrumento)))");
+
+    /** Nome da coleção aninhada aceita no parâmetro {@code include}. */
+    public static final String INCLUDE_RENTABILIDADE_DIARIA = "rentabilidadeDiaria";
+
+    private final String nome;
+    private final String expressao;
+
+    CampoInvestimento(String nome, String expressao) {
+        this.nome = nome;
+        this.expressao = expressao;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getExpressao() {
+        return expressao;
+    }
+
+    /**
+     * Retorna o campo correspondente ao nome exposto na API.
+     * @param nome nome do campo (ex: nomeInvestimento)
+     * @return campo correspondente
+     * @throws IllegalArgumentException se o campo não existir
+     */
+    public static CampoInvestimento porNome(String nome) {
+        for (CampoInvestimento campo : values()) {
+            if (campo.nome.equalsIgnoreCase(nome)) {
+                return campo;
+            }
+        }
+        throw new IllegalArgumentException("Campo inválido: " + nome);
+    }
+
+    /**
+     * Campos retornados quando apenas {@code include} é informado:
+     * todas as colunas do investimento, sem o montante atual calculado.
+     * @return conjunto padrão de campos
+     */
+    public static Set<CampoInvestimento> padrao() {
+        return EnumSet.complementOf(EnumSet.of(MONTANTE_ATUAL));
+    }
+}
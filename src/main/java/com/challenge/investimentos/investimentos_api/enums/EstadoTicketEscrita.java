@@ -0,0 +1,13 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+/**
+ * Situação de uma escrita assíncrona de rentabilidades diárias (ticket devolvido com 202).
+ */
+public enum EstadoTicketEscrita {
+    /** Na fila, aguardando o próximo flush. */
+    PENDENTE,
+    /** Gravado no banco (série diária e períodos consolidados). */
+    CONCLUIDO,
+    /** Descartado: investimento removido ou erro na gravação do lote. */
+    FALHOU
+}
@@ -0,0 +1,27 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+/**
+ * Enum que representa os formatos aceitos na exportação completa de investimentos.
+ */
+public enum FormatoExportacao {
+    /** JSON Lines: um investimento (com sua série diária) por linha. */
+    JSONL("application/x-ndjson", "jsonl"),
+    /** CSV: uma linha por dia de rentabilidade, com os dados do investimento repetidos. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extensao;
+
+    FormatoExportacao(String mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,42 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Enum que representa a granularidade dos períodos consolidados de rentabilidade.
+ * Cada valor sabe calcular o início e o fim do período que contém uma data.
+ */
+public enum GranularidadePeriodo {
+    /** Semana de segunda a domingo. */
+    SEMANAL,
+    MENSAL,
+    ANUAL;
+
+    /**
+     * Retorna o primeiro dia do período que contém a data.
+     * param data data de referência
+     * return início do período
+     */
+    public LocalDate inicioPeriodo(LocalDate data) {
+        return switch (this) {
+            case SEMANAL -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MENSAL -> data.withDayOfMonth(1);
+            case ANUAL -> data.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Retorna o último dia do período que contém a data.
+     * param data data de referência
+     * return fim do período
+     */
+    public LocalDate fimPeriodo(LocalDate data) {
+        return switch (this) {
+            case SEMANAL -> data.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case MENSAL -> data.with(TemporalAdjusters.lastDayOfMonth());
+            case ANUAL -> data.with(TemporalAdjusters.lastDayOfYear());
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+/**
+ * Tipo de um evento de alteração de carteira publicado pelo outbox.
+ */
+public enum TipoEventoCarteira {
+    /** Usuário investidor criado (carteira vazia). */
+    USUARIO_CRIADO,
+    /** Usuário investidor e todos os seus investimentos removidos. */
+    USUARIO_REMOVIDO,
+    /** Investimentos do usuário substituídos por uma lista nova (investimentoId vazio). */
+    CARTEIRA_SUBSTITUIDA,
+    /** Investimento incluído na carteira. */
+    INVESTIMENTO_CRIADO,
+    /** Dados ou série diária de um investimento alterados. */
+    INVESTIMENTO_ATUALIZADO,
+    /** Investimento removido da carteira. */
+    INVESTIMENTO_REMOVIDO,
+    /** Aporte, resgate ou venda anexado ao livro-razão do investimento. */
+    MOVIMENTACAO_REGISTRADA
+}
@@ -0,0 +1,13 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+/**
+ * Tipo de uma movimentação do livro-razão de um investimento.
+ */
+public enum TipoMovimentacao {
+    /** Aporte de dinheiro; em investimentos em ações, com a quantidade comprada. */
+    APORTE,
+    /** Resgate de dinheiro de um investimento sem ações (renda fixa, fundos por valor). */
+    RESGATE,
+    /** Venda (total ou parcial) de ações pelo valor recebido. */
+    VENDA
+}
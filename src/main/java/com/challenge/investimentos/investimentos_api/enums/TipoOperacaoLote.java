@@ -0,0 +1,13 @@
+package com.challenge.investimentos.investimentos_api.enums;
+
+/**
+ * Tipo de uma operação no lote de investimentos ({@code POST /api/investimentos/batch}).
+ */
+public enum TipoOperacaoLote {
+    /** Cria um investimento para o usuário autenticado. */
+    CRIAR,
+    /** Substitui os dados (e a série diária) de um investimento do usuário. */
+    ATUALIZAR,
+    /** Remove um investimento do usuário. */
+    REMOVER
+}
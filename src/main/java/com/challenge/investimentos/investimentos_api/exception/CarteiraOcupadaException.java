@@ -0,0 +1,14 @@
+package com.challenge.investimentos.investimentos_api.exception;
+
+/**
+ * Lançada quando a carteira de um investidor continua travada por outra gravação
+ * além do tempo máximo de espera (respondida com 409).
+ */
+public class CarteiraOcupadaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CarteiraOcupadaException(String message) {
+        super(message);
+    }
+}
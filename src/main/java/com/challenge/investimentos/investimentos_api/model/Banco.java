@@ -1,25 +1,30 @@
 package com.challenge.investimentos.investimentos_api.model;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 
 /**
- * Valor-objeto incorporável que representa um banco associado a um investidor.
- * 
- * Contém o nome do banco e o código bancário (somente leitura na API).
+ * Tabela de referência dos bancos, identificados pelo código bancário.
+ *
+ * {@code INVESTIMENTO.CODIGO_BANCARIO} referencia esta tabela; o nome é o valor exibido
+ * (somente o código é usado em filtros e agrupamentos).
  */
-@Embeddable
+@Entity
+@Table(name = "BANCO")
 public class Banco {
 
-    @Column(name = "NOME_BANCO")
-    private String nomeBanco;
-
+    @Id
     @Column(name = "CODIGO_BANCARIO")
     @JsonProperty(access = Access.READ_ONLY)
     private Integer codigoBancario;
 
+    @Column(name = "NOME_BANCO", nullable = false, length = 100)
+    private String nomeBanco;
+
     /**
      * Construtor padrão exigido pelo JPA.
      */
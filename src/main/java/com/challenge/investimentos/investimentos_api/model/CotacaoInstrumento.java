@@ -0,0 +1,95 @@
+package com.challenge.investimentos.investimentos_api.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cotação diária de um {@link Instrumento}, compartilhada por todos os investimentos vinculados a ele.
+ *
+ * Guarda o valor da ação e a taxa diária do instrumento; o montante de cada usuário não é armazenado,
+ * é derivado da posição (número de ações × valor). Cada instrumento tem no máximo uma cotação por data.
+ */
+@Entity
+@Table(name = "COTACAO_INSTRUMENTO",
+       uniqueConstraints = @UniqueConstraint(name = "UK_COTACAO_INSTRUMENTO_DATA",
+                                             columnNames = {"INSTRUMENTO_ID", "DATA_COTACAO"}))
+public class CotacaoInstrumento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cotacao_instrumento_seq")
+    @SequenceGenerator(name = "cotacao_instrumento_seq", sequenceName = "COTACAO_INSTRUMENTO_SEQ", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "INSTRUMENTO_ID", nullable = false)
+    private Instrumento instrumento;
+
+    @Column(name = "DATA_COTACAO", nullable = false)
+    private LocalDate dataCotacao;
+
+    @Column(name = "VALOR_ACAO", precision = 15, scale = 2)
+    private BigDecimal valorAcao;
+
+    @Column(name = "TAXA_DIARIA", precision = 10, scale = 4)
+    private BigDecimal taxaDiaria;
+
+    /** Construtor padrão exigido pelo JPA. */
+    public CotacaoInstrumento() {}
+
+    /**
+     * Cria uma cotação diária.
+     *
+     * @param dataCotacao data da cotação
+     * @param valorAcao valor da ação no dia
+     * @param taxaDiaria taxa diária de rentabilidade do instrumento
+     */
+    public CotacaoInstrumento(LocalDate dataCotacao, BigDecimal valorAcao, BigDecimal taxaDiaria) {
+        this.dataCotacao = dataCotacao;
+        this.valorAcao = valorAcao;
+        this.taxaDiaria = taxaDiaria;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instrumento getInstrumento() {
+        return instrumento;
+    }
+
+    public void setInstrumento(Instrumento instrumento) {
+        this.instrumento = instrumento;
+    }
+
+    public LocalDate getDataCotacao() {
+        return dataCotacao;
+    }
+
+    public void setDataCotacao(LocalDate dataCotacao) {
+        this.dataCotacao = dataCotacao;
+    }
+
+    public BigDecimal getValorAcao() {
+        return valorAcao;
+    }
+
+    public void setValorAcao(BigDecimal valorAcao) {
+        this.valorAcao = valorAcao;
+    }
+
+    public BigDecimal getTaxaDiaria() {
+        return taxaDiaria;
+    }
+
+    public void setTaxaDiaria(BigDecimal taxaDiaria) {
+        this.taxaDiaria = taxaDiaria;
+    }
+}
@@ -1,5 +1,6 @@
 package com.challenge.investimentos.investimentos_api.model;
 
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import java.io.Serializable;
@@ -9,8 +10,8 @@ import java.util.Objects;
  * Valor-objeto imutável que representa um CPF válido.
  *
  * Normaliza a entrada para apenas dígitos e valida utilizando o algoritmo
- * dos dígitos verificadores (módulo 11). Usado como componente incorporável
- * em entidades JPA.
+ * dos dígitos verificadores (módulo 11), via {@link CpfValidator}. Usado como
+ * componente incorporável em entidades JPA.
  */
 @Embeddable
 public final class CpfVO implements Serializable {
@@ -19,6 +20,10 @@ public final class CpfVO implements Serializable {
     @Column(name = "cpf", length = 11, nullable = false, updatable = false)
     private String cpf;
 
+    /** Mesmo CPF compactado em número ({@link CpfValidator#compactar}), chave das buscas. */
+    @Column(name = "cpf_numero", updatable = false)
+    private Long numero;
+
     /**
      * Construtor protegido exigido pelo JPA.
      */
@@ -35,11 +40,12 @@ public final class CpfVO implements Serializable {
      * @throws IllegalArgumentException se o CPF for inválido
      */
     public CpfVO(String cpf) {
-        String onlyDigits = normalize(cpf);
-        if (!isValidCpf(onlyDigits)) {
+        String onlyDigits = CpfValidator.normalizar(cpf);
+        if (onlyDigits == null) {
             throw new IllegalArgumentException("CPF inválido: " + cpf);
         }
         this.cpf = onlyDigits;
+        this.numero = CpfValidator.compactar(onlyDigits);
     }
 
     /**
@@ -51,45 +57,11 @@ public final class CpfVO implements Serializable {
     }
 
     /**
-     * Remove todos os caracteres não numéricos da string.
-     * @param cpf valor de entrada do CPF
-     * @return apenas dígitos ou {@code null} se a entrada for {@code null}
+     * Retorna o CPF compactado (os 11 dígitos como número).
+     * @return CPF numérico
      */
-    private static String normalize(String cpf) {
-        if (cpf == null) return null;
-        return cpf.replaceAll("\\D", "");
-    }
-
-    /**
-     * Valida o CPF utilizando o algoritmo clássico dos dígitos verificadores (módulo 11).
-     * 
-     * Rejeita CPFs nulos, com tamanho incorreto, com todos os dígitos iguais,
-     * e verifica os dois dígitos verificadores.
-     *
-     * @param cpf CPF somente com dígitos
-     * @return {@code true} se for válido; caso contrário {@code false}
-     */
-    private static boolean isValidCpf(String cpf) {
-        if (cpf == null) return false;
-        if (!cpf.matches("\\d{11}")) return false;
-        if (cpf.matches("(\\d)\\1{10}")) return false;
-
-        try {
-            int[] digits = cpf.chars().map(c -> c - '0').toArray();
-            int sum = 0;
-            for (int i = 0; i < 9; i++) sum += digits[i] * (10 - i);
-            int dv1 = 11 - (sum % 11);
-            if (dv1 >= 10) dv1 = 0;
-            if (dv1 != digits[9]) return false;
-
-            sum = 0;
-            for (int i = 0; i < 10; i++) sum += digits[i] * (11 - i);
-            int dv2 = 11 - (sum % 11);
-            if (dv2 >= 10) dv2 = 0;
-            return dv2 == digits[10];
-        } catch (Exception e) {
-            return false;
-        }
+    public long getNumero() {
+        return numero != null ? numero : CpfValidator.compactar(cpf);
     }
 
     /** {@inheritDoc} */
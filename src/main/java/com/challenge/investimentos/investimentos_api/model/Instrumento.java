@@ -0,0 +1,117 @@
+package com.challenge.investimentos.investimentos_api.model;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entidade que representa um instrumento negociado (ticker ou ISIN) compartilhado entre usuários.
+ *
+ * A série diária de cotações do instrumento é armazenada uma única vez em {@link CotacaoInstrumento};
+ * os investimentos vinculados guardam apenas a posição (número de ações, montante inicial) e têm os
+ * valores diários derivados dessa série.
+ */
+@Entity
+@Table(name = "INSTRUMENTO",
+       uniqueConstraints = @UniqueConstraint(name = "UK_INSTRUMENTO_CODIGO", columnNames = "CODIGO"))
+public class Instrumento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instrumento_seq")
+    @SequenceGenerator(name = "instrumento_seq", sequenceName = "INSTRUMENTO_SEQ", allocationSize = 1)
+    private Long id;
+
+    /** Ticker ou ISIN do instrumento. */
+    @Column(name = "CODIGO", nullable = false, length = 20)
+    private String codigo;
+
+    @Column(name = "NOME")
+    private String nome;
+
+    /** Tipo do instrumento, persistido como texto. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "TIPO_INVESTIMENTO")
+    private TipoInvestimentoEnum tipoInvestimento;
+
+    /** Código do banco emissor/custodiante na tabela BANCO. */
+    @Column(name = "CODIGO_BANCARIO")
+    private Integer codigoBancario;
+
+    /** Cotações diárias do instrumento, em ordem de data (carregadas sob demanda). */
+    @OneToMany(mappedBy = "instrumento", fetch = FetchType.LAZY)
+    @OrderBy("dataCotacao")
+    @JsonIgnore
+    @SuppressWarnings("serial")
+    private List<CotacaoInstrumento> cotacoes = new ArrayList<>();
+
+    /** Construtor padrão exigido pelo JPA. */
+    public Instrumento() {}
+
+    /**
+     * Cria um instrumento com seus dados principais.
+     *
+     * @param codigo ticker ou ISIN
+     * @param nome nome do instrumento
+     * @param tipoInvestimento tipo do instrumento
+     * @param codigoBancario código do banco
+     */
+    public Instrumento(String codigo, String nome, TipoInvestimentoEnum tipoInvestimento, Integer codigoBancario) {
+        this.codigo = codigo;
+        this.nome = nome;
+        this.tipoInvestimento = tipoInvestimento;
+        this.codigoBancario = codigoBancario;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public TipoInvestimentoEnum getTipoInvestimento() {
+        return tipoInvestimento;
+    }
+
+    public void setTipoInvestimento(TipoInvestimentoEnum tipoInvestimento) {
+        this.tipoInvestimento = tipoInvestimento;
+    }
+
+    public Integer getCodigoBancario() {
+        return codigoBancario;
+    }
+
+    public void setCodigoBancario(Integer codigoBancario) {
+        this.codigoBancario = codigoBancario;
+    }
+
+    public List<CotacaoInstrumento> getCotacoes() {
+        return cotacoes;
+    }
+
+    public void setCotacoes(List<CotacaoInstrumento> cotacoes) {
+        this.cotacoes = cotacoes;
+    }
+}
@@ -2,6 +2,7 @@ package com.challenge.investimentos.investimentos_api.model;
 
 import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -13,6 +14,8 @@ import java.util.List;
  * 
  * Contém dados básicos (nome, montante, taxa, etc.), o tipo de investimento,
  * e os relacionamentos com o usuário investidor e a lista de rentabilidades diárias.
+ * Quando vinculado a um {@link Instrumento}, a série diária não é armazenada no investimento:
+ * vem das cotações compartilhadas do instrumento, com o montante derivado da posição.
  */
 @Entity
 @Table(name = "INVESTIMENTO")
@@ -28,6 +31,10 @@ public class Investimento implements Serializable {
     @Column(name = "NOME_BANCO")
     private String nomeBanco;
 
+    /** Código do banco na tabela BANCO, resolvido pelo nome; nulo para bancos fora do registro. */
+    @Column(name = "CODIGO_BANCARIO")
+    private Integer codigoBancario;
+
     @Column(name = "NOME_INVESTIMENTO", nullable = false)
     private String nomeInvestimento;
 
@@ -49,14 +56,23 @@ public class Investimento implements Serializable {
     private TipoInvestimentoEnum tipoInvestimento;
 
     /**
-     * Associação N:1 com o usuário investidor.
+     * Associação N:1 com o usuário investidor, carregada sob demanda.
      * Marcado com {@link JsonBackReference} para evitar recursão na serialização JSON.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "USUARIO_INVESTIMENTO_ID")
     @JsonBackReference
     private UsuarioInvestimento usuarioInvestimento;
 
+    /**
+     * Instrumento cujas cotações alimentam a série diária deste investimento (opcional).
+     * Carregado sob demanda e fora do JSON da entidade.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "INSTRUMENTO_ID")
+    @JsonIgnore
+    private Instrumento instrumento;
+
     /** Rentabilidades diárias associadas ao investimento (cascade + orphanRemoval). */
     @OneToMany(mappedBy = "investimento", cascade = CascadeType.ALL, orphanRemoval = true)
     @SuppressWarnings("serial")
@@ -78,6 +94,14 @@ public class Investimento implements Serializable {
         this.nomeBanco = nomeBanco;
     }
 
+    public Integer getCodigoBancario() {
+        return codigoBancario;
+    }
+
+    public void setCodigoBancario(Integer codigoBancario) {
+        this.codigoBancario = codigoBancario;
+    }
+
     public String getNomeInvestimento() {
         return nomeInvestimento;
     }
@@ -135,11 +159,26 @@ public class Investimento implements Serializable {
         this.usuarioInvestimento = usuarioInvestimento;
     }
 
+    public Instrumento getInstrumento() {
+        return instrumento;
+    }
+
+    public void setInstrumento(Instrumento instrumento) {
+        this.instrumento = instrumento;
+    }
+
     public List<RentabilidadeDiaria> getRentabilidadeDiaria() {
         return rentabilidadeDiaria;
     }
 
+    /**
+     * Define as rentabilidades diárias, vinculando cada uma a este investimento
+     * (lado dono da associação, que grava a chave estrangeira).
+     */
     public void setRentabilidadeDiaria(List<RentabilidadeDiaria> rentabilidadeDiaria) {
         this.rentabilidadeDiaria = rentabilidadeDiaria;
+        if (rentabilidadeDiaria != null) {
+            rentabilidadeDiaria.forEach(rd -> rd.setInvestimento(this));
+        }
     }
 }
\ No newline at end of file
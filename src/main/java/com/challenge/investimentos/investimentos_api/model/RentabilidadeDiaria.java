@@ -10,10 +10,12 @@ import java.time.LocalDate;
  * Entidade que representa a rentabilidade diária de um {@link Investimento}.
  * 
  * Armazena data, valor diário da ação, taxa diária de rentabilidade e o
- * montante acumulado para o dia.
+ * montante acumulado para o dia. Cada investimento tem no máximo uma linha por data.
  */
 @Entity
-@Table(name = "RENTABILIDADE_DIARIA_TABLE")
+@Table(name = "RENTABILIDADE_DIARIA_TABLE",
+       uniqueConstraints = @UniqueConstraint(name = "UK_RENTABILIDADE_INV_DATA",
+                                             columnNames = {"investimento_id", "DATA_RENTABILIDADE_DIARIA"}))
 public class RentabilidadeDiaria implements Serializable {
     
     private static final long serialVersionUID = 1L;
@@ -36,10 +38,10 @@ public class RentabilidadeDiaria implements Serializable {
     private BigDecimal montanteAcumuladoDiario;
 
     /**
-     * Relação N:1 com o investimento ao qual esta rentabilidade pertence.
+     * Relação N:1 com o investimento ao qual esta rentabilidade pertence, carregada sob demanda.
      * A anotação {@link JsonBackReference} evita recursão na serialização JSON.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonBackReference
     private Investimento investimento;
 
@@ -0,0 +1,185 @@
+package com.challenge.investimentos.investimentos_api.model;
+
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entidade com a consolidação (rollup) das rentabilidades diárias de um investimento
+ * por semana, mês ou ano.
+ *
+ * Guarda abertura/fechamento/mínimo/máximo do valor da ação, a taxa composta do período
+ * e o montante acumulado de fechamento, permitindo montar visões mensais e anuais sem
+ * ler a série diária. É mantida pelo {@code RentabilidadePeriodoService}.
+ */
+@Entity
+@Table(name = "RENTABILIDADE_PERIODO",
+       uniqueConstraints = @UniqueConstraint(name = "UK_RENTABILIDADE_PERIODO",
+               columnNames = {"INVESTIMENTO_ID", "GRANULARIDADE", "INICIO_PERIODO"}))
+public class RentabilidadePeriodo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rentabilidade_periodo_sequence")
+    @SequenceGenerator(name = "rentabilidade_periodo_sequence", sequenceName = "RENTABILIDADE_PERIODO_SEQ", allocationSize = 1)
+    private Long id;
+
+    /** Investimento consolidado; as linhas são removidas junto com o investimento. */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "INVESTIMENTO_ID", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Investimento investimento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "GRANULARIDADE", nullable = false, length = 10)
+    private GranularidadePeriodo granularidade;
+
+    /** Primeiro dia do período (segunda-feira, dia 1 do mês ou 1º de janeiro). */
+    @Column(name = "INICIO_PERIODO", nullable = false)
+    private LocalDate inicioPeriodo;
+
+    /** Primeira data com rentabilidade dentro do período. */
+    @Column(name = "PRIMEIRA_DATA")
+    private LocalDate primeiraData;
+
+    /** Última data com rentabilidade dentro do período. */
+    @Column(name = "ULTIMA_DATA")
+    private LocalDate ultimaData;
+
+    @Column(name = "VALOR_ABERTURA", precision = 15, scale = 2)
+    private BigDecimal valorAbertura;
+
+    @Column(name = "VALOR_FECHAMENTO", precision = 15, scale = 2)
+    private BigDecimal valorFechamento;
+
+    @Column(name = "VALOR_MINIMO", precision = 15, scale = 2)
+    private BigDecimal valorMinimo;
+
+    @Column(name = "VALOR_MAXIMO", precision = 15, scale = 2)
+    private BigDecimal valorMaximo;
+
+    /** Taxa composta do período, na mesma unidade (percentual) da taxa diária. */
+    @Column(name = "TAXA_COMPOSTA", precision = 19, scale = 8)
+    private BigDecimal taxaComposta;
+
+    @Column(name = "MONTANTE_FECHAMENTO", precision = 15, scale = 2)
+    private BigDecimal montanteFechamento;
+
+    /** Quantidade de dias com rentabilidade no período. */
+    @Column(name = "QUANTIDADE_DIAS")
+    private Integer quantidadeDias;
+
+    public RentabilidadePeriodo() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Investimento getInvestimento() {
+        return investimento;
+    }
+
+    public void setInvestimento(Investimento investimento) {
+        this.investimento = investimento;
+    }
+
+    public GranularidadePeriodo getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(GranularidadePeriodo granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public LocalDate getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    public void setInicioPeriodo(LocalDate inicioPeriodo) {
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    public LocalDate getPrimeiraData() {
+        return primeiraData;
+    }
+
+    public void setPrimeiraData(LocalDate primeiraData) {
+        this.primeiraData = primeiraData;
+    }
+
+    public LocalDate getUltimaData() {
+        return ultimaData;
+    }
+
+    public void setUltimaData(LocalDate ultimaData) {
+        this.ultimaData = ultimaData;
+    }
+
+    public BigDecimal getValorAbertura() {
+        return valorAbertura;
+    }
+
+    public void setValorAbertura(BigDecimal valorAbertura) {
+        this.valorAbertura = valorAbertura;
+    }
+
+    public BigDecimal getValorFechamento() {
+        return valorFechamento;
+    }
+
+    public void setValorFechamento(BigDecimal valorFechamento) {
+        this.valorFechamento = valorFechamento;
+    }
+
+    public BigDecimal getValorMinimo() {
+        return valorMinimo;
+    }
+
+    public void setValorMinimo(BigDecimal valorMinimo) {
+        this.valorMinimo = valorMinimo;
+    }
+
+    public BigDecimal getValorMaximo() {
+        return valorMaximo;
+    }
+
+    public void setValorMaximo(BigDecimal valorMaximo) {
+        this.valorMaximo = valorMaximo;
+    }
+
+    public BigDecimal getTaxaComposta() {
+        return taxaComposta;
+    }
+
+    public void setTaxaComposta(BigDecimal taxaComposta) {
+        this.taxaComposta = taxaComposta;
+    }
+
+    public BigDecimal getMontanteFechamento() {
+        return montanteFechamento;
+    }
+
+    public void setMontanteFechamento(BigDecimal montanteFechamento) {
+        this.montanteFechamento = montanteFechamento;
+    }
+
+    public Integer getQuantidadeDias() {
+        return quantidadeDias;
+    }
+
+    public void setQuantidadeDias(Integer quantidadeDias) {
+        this.quantidadeDias = quantidadeDias;
+    }
+}
@@ -1,9 +1,15 @@
 package com.challenge.investimentos.investimentos_api.model;
 
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
 import com.challenge.investimentos.investimentos_api.enums.RoleEnum;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.io.Serializable;
 
 
@@ -11,9 +17,13 @@ import java.io.Serializable;
  * Entidade que representa um usuário do sistema.
  *
  * Contém informações de autenticação, identificação e perfil de acesso.
+ * Fica no cache de segundo nível, com o username como natural id (consultado a cada requisição autenticada).
  */
 @Entity
-@Table(name = "USUARIO")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_USUARIO)
+@NaturalIdCache(region = CacheSegundoNivelConfig.REGIAO_USUARIO_USERNAME)
+@Table(name = "USUARIO",
+       uniqueConstraints = @UniqueConstraint(name = "UK_USUARIO_CPF_NUMERO", columnNames = "CPF_NUMERO"))
 public class Usuario implements Serializable {
     
 
@@ -27,7 +37,8 @@ public class Usuario implements Serializable {
     private Long id;
 
 
-    /** Nome de usuário único. */
+    /** Nome de usuário único (natural id, imutável). */
+    @NaturalId
     @Column(nullable = false, unique = true)
     @NotBlank(message = "Username é obrigatório")
     @Size(min = 3, max = 50, message = "Username deve ter entre 3 e 50 caracteres")
@@ -63,6 +74,11 @@ public class Usuario implements Serializable {
     private String cpf;
 
 
+    /** CPF compactado em número (somente os dígitos), chave das buscas por CPF. */
+    @Column(name = "CPF_NUMERO")
+    private Long cpfNumero;
+
+
     /**
      * Obtém o ID do usuário.
      * return id
@@ -186,6 +202,17 @@ public class Usuario implements Serializable {
      */
     public void setCpf(String cpf) {
         this.cpf = cpf;
+        long numero = CpfValidator.compactar(cpf);
+        this.cpfNumero = numero >= 0 ? numero : null;
+    }
+
+
+    /**
+     * Obtém o CPF compactado em número.
+     * return CPF numérico, ou null se o CPF não tiver 11 dígitos
+     */
+    public Long getCpfNumero() {
+        return cpfNumero;
     }
 
 
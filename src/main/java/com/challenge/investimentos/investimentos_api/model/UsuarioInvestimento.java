@@ -1,7 +1,10 @@
 package com.challenge.investimentos.investimentos_api.model;
 
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,7 +15,9 @@ import java.util.List;
  * Possui um CPF de identificação único e a lista de seus investimentos.
  */
 @Entity
-@Table(name = "USUARIO_INVESTIMENTO")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_USUARIO_INVESTIMENTO)
+@Table(name = "USUARIO_INVESTIMENTO",
+       uniqueConstraints = @UniqueConstraint(name = "UK_USUARIO_INV_CPF_NUMERO", columnNames = "CPF_NUMERO"))
 public class UsuarioInvestimento implements Serializable {
     
     private static final long serialVersionUID = 1L;
@@ -21,9 +26,13 @@ public class UsuarioInvestimento implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /** CPF do investidor como Value Object. */
+    /**
+     * CPF do investidor como Value Object. A busca por CPF é servida pelo cache de consultas
+     * (findByCpf_Numero), não por natural id.
+     */
     @Embedded
     @AttributeOverride(name = "cpf", column = @Column(name = "CPF_IDENTIFICACAO", nullable = false, unique = true, length = 11, updatable = false))
+    @AttributeOverride(name = "numero", column = @Column(name = "CPF_NUMERO", updatable = false))
     private CpfVO cpf;
 
     /**
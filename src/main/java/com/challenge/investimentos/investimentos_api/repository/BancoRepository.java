@@ -0,0 +1,11 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.Banco;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositório da tabela de referência de bancos ({@link Banco}).
+ * Lido uma vez na inicialização para montar o {@link com.challenge.investimentos.investimentos_api.util.BancoRegistry}.
+ */
+public interface BancoRepository extends JpaRepository<Banco, Integer> {
+}
@@ -0,0 +1,397 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escrita em lote (JDBC batch) de carteiras e séries diárias, usada por importações em massa.
+ *
+ * Não passa pelo contexto de persistência do JPA: os IDs das sequências são reservados
+ * em uma única consulta por lote e os INSERTs são enviados em batches de
+ * {@value #TAMANHO_BATCH} linhas. Deve ser chamado dentro de uma transação.
+ */
+@Repository
+public class CarteiraBulkRepository {
+
+    /** Linhas por batch JDBC. */
+    static final int TAMANHO_BATCH = 1000;
+    /** Limite de elementos em uma cláusula IN no Oracle. */
+    private static final int TAMANHO_LOTE_IN = 1000;
+
+    private static final String INSERT_USUARIO =
+            "insert into USUARIO_INVESTIMENTO (CPF_IDENTIFICACAO, CPF_NUMERO) values (?, ?)";
+    private static final String INSERT_INVESTIMENTO =
+            "insert into INVESTIMENTO (ID, NOME_BANCO, NOME_INVESTIMENTO, MONTANTE_INICIAL, VALOR_INICIAL_ACAO,"
+                    + " TAXA_RENTABILIDADE, NUMERO_ACOES_INICIAL, TIPO_INVESTIMENTO, USUARIO_INVESTIMENTO_ID, CODIGO_BANCARIO,"
+                    + " INSTRUMENTO_ID) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RENTABILIDADE =
+            "insert into RENTABILIDADE_DIARIA_TABLE (ID, DATA_RENTABILIDADE_DIARIA, VALOR_DIARIO_ACAO,"
+                    + " TAXA_DIARIO_RENTABILIDADE, MONTANTE_ACUMULADO_DIARIO, INVESTIMENTO_ID)"
+                    + " values (RENTABILIDADE_DIARIA_SEQ.NEXTVAL, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PERIODO =
+            "insert into RENTABILIDADE_PERIODO (ID, INVESTIMENTO_ID, GRANULARIDADE, INICIO_PERIODO, PRIMEIRA_DATA,"
+                    + " ULTIMA_DATA, VALOR_ABERTURA, VALOR_FECHAMENTO, VALOR_MINIMO, VALOR_MAXIMO, TAXA_COMPOSTA,"
+                    + " MONTANTE_FECHAMENTO, QUANTIDADE_DIAS)"
+                    + " values (RENTABILIDADE_PERIODO_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Insere o dia ou, se o investimento já tiver rentabilidade na data, atualiza os valores. */
+    private static final String MERGE_RENTABILIDADE =
+            "merge into RENTABILIDADE_DIARIA_TABLE r"
+                    + " using (select ? INVESTIMENTO_ID, ? DATA_RENTABILIDADE_DIARIA, ? VALOR_DIARIO_ACAO,"
+                    + " ? TAXA_DIARIO_RENTABILIDADE, ? MONTANTE_ACUMULADO_DIARIO from dual) c"
+                    + " on (r.INVESTIMENTO_ID = c.INVESTIMENTO_ID and r.DATA_RENTABILIDADE_DIARIA = c.DATA_RENTABILIDADE_DIARIA)"
+                    + " when matched then update set r.VALOR_DIARIO_ACAO = c.VALOR_DIARIO_ACAO,"
+                    + " r.TAXA_DIARIO_RENTABILIDADE = c.TAXA_DIARIO_RENTABILIDADE,"
+                    + " r.MONTANTE_ACUMULADO_DIARIO = c.MONTANTE_ACUMULADO_DIARIO"
+                    + " when not matched then insert (ID, DATA_RENTABILIDADE_DIARIA, VALOR_DIARIO_ACAO,"
+                    + " TAXA_DIARIO_RENTABILIDADE, MONTANTE_ACUMULADO_DIARIO, INVESTIMENTO_ID)"
+                    + " values (RENTABILIDADE_DIARIA_SEQ.NEXTVAL, c.DATA_RENTABILIDADE_DIARIA, c.VALOR_DIARIO_ACAO,"
+                    + " c.TAXA_DIARIO_RENTABILIDADE, c.MONTANTE_ACUMULADO_DIARIO, c.INVESTIMENTO_ID)";
+
+    /** Insere a cotação do instrumento na data ou, se já existir, atualiza os valores. */
+    private static final String MERGE_COTACAO =
+            "merge into COTACAO_INSTRUMENTO q"
+                    + " using (select ? INSTRUMENTO_ID, ? DATA_COTACAO, ? VALOR_ACAO, ? TAXA_DIARIA from dual) c"
+                    + " on (q.INSTRUMENTO_ID = c.INSTRUMENTO_ID and q.DATA_COTACAO = c.DATA_COTACAO)"
+                    + " when matched then update set q.VALOR_ACAO = c.VALOR_ACAO, q.TAXA_DIARIA = c.TAXA_DIARIA"
+                    + " when not matched then insert (ID, INSTRUMENTO_ID, DATA_COTACAO, VALOR_ACAO, TAXA_DIARIA)"
+                    + " values (COTACAO_INSTRUMENTO_SEQ.NEXTVAL, c.INSTRUMENTO_ID, c.DATA_COTACAO, c.VALOR_ACAO, c.TAXA_DIARIA)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CarteiraBulkRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Retorna o ID do usuário investidor de cada CPF, criando os que ainda não existem.
+     *
+     * Os INSERTs em JDBC não atualizam os timestamps de tabela do Hibernate, então um "não encontrado"
+     * guardado no cache de consultas por CPF continuaria valendo até o TTL: a região é descartada
+     * quando a transação confirma.
+     *
+     * @param cpfs CPFs normalizados (somente dígitos)
+     * @return mapa CPF -> ID
+     */
+    public Map<String, Long> garantirUsuarios(Collection<String> cpfs) {
+        Map<String, Long> ids = buscarUsuarios(cpfs);
+        List<String> novos = new ArrayList<>();
+        for (String cpf : cpfs) {
+            if (!ids.containsKey(cpf)) novos.add(cpf);
+        }
+        if (!novos.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USUARIO, novos, TAMANHO_BATCH, (ps, cpf) -> {
+                ps.setString(1, cpf);
+                ps.setLong(2, CpfValidator.compactar(cpf));
+            });
+            ids.putAll(buscarUsuarios(novos));
+            descartarConsultasUsuarioAoConfirmar();
+        }
+        return ids;
+    }
+
+    private void descartarConsultasUsuarioAoConfirmar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            descartarConsultasUsuario();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                descartarConsultasUsuario();
+            }
+        });
+    }
+
+    private void descartarConsultasUsuario() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO);
+    }
+
+    private Map<String, Long> buscarUsuarios(Collection<String> cpfs) {
+        List<Long> numeros = new ArrayList<>(cpfs.size());
+        for (String cpf : cpfs) {
+            numeros.add(CpfValidator.compactar(cpf));
+        }
+        Map<String, Long> ids = new HashMap<>();
+        for (List<?> lote : lotes(numeros)) {
+            namedJdbcTemplate.query("select ID, CPF_NUMERO from USUARIO_INVESTIMENTO where CPF_NUMERO in (:cpfs)",
+                    new MapSqlParameterSource("cpfs", lote),
+                    rs -> { ids.put(CpfValidator.expandir(rs.getLong(2)), rs.getLong(1)); });
+        }
+        return ids;
+    }
+
+    /**
+     * Remove os investimentos (com suas rentabilidades diárias e períodos consolidados) dos usuários informados.
+     *
+     * @param usuarioIds IDs dos usuários investidores
+     * @return quantidade de investimentos removidos
+     */
+    public int removerInvestimentos(Collection<Long> usuarioIds) {
+        int removidos = 0;
+        for (List<?> lote : lotes(usuarioIds)) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", lote);
+            namedJdbcTemplate.update("delete from RENTABILIDADE_PERIODO where INVESTIMENTO_ID in"
+                    + " (select ID from INVESTIMENTO where USUARIO_INVESTIMENTO_ID in (:ids))", params);
+            namedJdbcTemplate.update("delete from RENTABILIDADE_DIARIA_TABLE where INVESTIMENTO_ID in"
+                    + " (select ID from INVESTIMENTO where USUARIO_INVESTIMENTO_ID in (:ids))", params);
+            removidos += namedJdbcTemplate.update("delete from INVESTIMENTO where USUARIO_INVESTIMENTO_ID in (:ids)", params);
+        }
+        return removidos;
+    }
+
+    /**
+     * Insere os investimentos, atribuindo a cada um o próximo ID da sequência INVESTIMENTO_SEQ.
+     * O usuário investidor de cada investimento já deve ter ID.
+     *
+     * @param investimentos investimentos novos (o ID é preenchido)
+     */
+    public void inserirInvestimentos(List<Investimento> investimentos) {
+        if (investimentos.isEmpty()) return;
+        long[] ids = reservarIds("INVESTIMENTO_SEQ", investimentos.size());
+        for (int i = 0; i < ids.length; i++) {
+            investimentos.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_INVESTIMENTO, investimentos, TAMANHO_BATCH, (ps, inv) -> {
+            ps.setLong(1, inv.getId());
+            ps.setString(2, inv.getNomeBanco());
+            ps.setString(3, inv.getNomeInvestimento());
+            ps.setBigDecimal(4, inv.getMontanteInicial());
+            ps.setBigDecimal(5, inv.getValorInicialAcao());
+            ps.setBigDecimal(6, inv.getTaxaRentabilidade());
+            if (inv.getNumeroAcoesInicial() != null) ps.setInt(7, inv.getNumeroAcoesInicial()); else ps.setNull(7, Types.INTEGER);
+            ps.setString(8, inv.getTipoInvestimento() != null ? inv.getTipoInvestimento().name() : null);
+            ps.setLong(9, inv.getUsuarioInvestimento().getId());
+            if (inv.getCodigoBancario() != null) ps.setInt(10, inv.getCodigoBancario()); else ps.setNull(10, Types.INTEGER);
+            if (inv.getInstrumento() != null) ps.setLong(11, inv.getInstrumento().getId()); else ps.setNull(11, Types.BIGINT);
+        });
+    }
+
+    /**
+     * Insere rentabilidades diárias de investimentos que já possuem ID.
+     *
+     * @param rentabilidades linhas diárias
+     */
+    public void inserirRentabilidades(List<RentabilidadeDiaria> rentabilidades) {
+        if (rentabilidades.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_RENTABILIDADE, rentabilidades, TAMANHO_BATCH, (ps, rd) -> {
+            setData(ps, 1, rd.getDataRentabilidadeDiaria());
+            ps.setBigDecimal(2, rd.getValorDiarioAcao());
+            ps.setBigDecimal(3, rd.getTaxaDiarioRentabilidade());
+            ps.setBigDecimal(4, rd.getMontanteAcumuladoDiario());
+            ps.setLong(5, rd.getInvestimento().getId());
+        });
+    }
+
+    /**
+     * Insere ou atualiza (MERGE por investimento e data) rentabilidades diárias de investimentos existentes.
+     *
+     * @param rentabilidades linhas diárias; se a mesma data aparecer mais de uma vez, a última prevalece
+     */
+    public void mesclarRentabilidades(List<RentabilidadeDiaria> rentabilidades) {
+        int n = rentabilidades.size();
+        long[] investimentoIds = new long[n];
+        LocalDate[] datas = new LocalDate[n];
+        BigDecimal[] valores = new BigDecimal[n];
+        BigDecimal[] taxas = new BigDecimal[n];
+        BigDecimal[] montantes = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            RentabilidadeDiaria rd = rentabilidades.get(i);
+            investimentoIds[i] = rd.getInvestimento().getId();
+            datas[i] = rd.getDataRentabilidadeDiaria();
+            valores[i] = rd.getValorDiarioAcao();
+            taxas[i] = rd.getTaxaDiarioRentabilidade();
+            montantes[i] = rd.getMontanteAcumuladoDiario();
+        }
+        mesclarRentabilidades(investimentoIds, datas, valores, taxas, montantes);
+    }
+
+    /**
+     * Insere ou atualiza (MERGE pela chave natural investimento + data, garantida por
+     * UK_RENTABILIDADE_INV_DATA) rentabilidades diárias recebidas em arrays paralelos.
+     *
+     * Cada fatia de até {@value #TAMANHO_BATCH} linhas vai ao banco em um único
+     * {@code executeBatch} (uma ida e volta), de forma que repetir a carga de um dia
+     * apenas sobrescreve os mesmos registros.
+     *
+     * @param investimentoIds ID do investimento de cada linha
+     * @param datas data de cada linha
+     * @param valores valor diário da ação
+     * @param taxas taxa diária de rentabilidade
+     * @param montantes montante acumulado no dia
+     * @throws IllegalArgumentException se os arrays tiverem tamanhos diferentes
+     */
+    public void mesclarRentabilidades(long[] investimentoIds, LocalDate[] datas, BigDecimal[] valores,
+                                      BigDecimal[] taxas, BigDecimal[] montantes) {
+        int n = investimentoIds.length;
+        if (datas.length != n || valores.length != n || taxas.length != n || montantes.length != n) {
+            throw new IllegalArgumentException("Arrays de rentabilidades com tamanhos diferentes");
+        }
+        for (int inicio = 0; inicio < n; inicio += TAMANHO_BATCH) {
+            int deslocamento = inicio;
+            int tamanho = Math.min(TAMANHO_BATCH, n - inicio);
+            jdbcTemplate.batchUpdate(MERGE_RENTABILIDADE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int linha = deslocamento + i;
+                    ps.setLong(1, investimentoIds[linha]);
+                    setData(ps, 2, datas[linha]);
+                    ps.setBigDecimal(3, valores[linha]);
+                    ps.setBigDecimal(4, taxas[linha]);
+                    ps.setBigDecimal(5, montantes[linha]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return tamanho;
+                }
+            });
+        }
+    }
+
+    /**
+     * Filtra os IDs de investimento que existem no banco.
+     *
+     * @param ids IDs a verificar
+     * @return subconjunto dos IDs existentes
+     */
+    public Set<Long> buscarInvestimentosExistentes(Collection<Long> ids) {
+        Set<Long> existentes = new HashSet<>();
+        for (List<?> lote : lotes(ids)) {
+            existentes.addAll(namedJdbcTemplate.queryForList("select ID from INVESTIMENTO where ID in (:ids)",
+                    new MapSqlParameterSource("ids", lote), Long.class));
+        }
+        return existentes;
+    }
+
+    /**
+     * CPFs dos donos dos investimentos, para travar as carteiras antes de gravar por ID de investimento.
+     *
+     * @param ids IDs dos investimentos
+     * @return CPFs (somente dígitos) dos usuários investidores; investimentos inexistentes ficam de fora
+     */
+    public Set<String> buscarCpfsDosInvestimentos(Collection<Long> ids) {
+        Set<String> cpfs = new HashSet<>();
+        for (List<?> lote : lotes(ids)) {
+            namedJdbcTemplate.query("select distinct u.CPF_NUMERO from INVESTIMENTO i"
+                            + " join USUARIO_INVESTIMENTO u on u.ID = i.USUARIO_INVESTIMENTO_ID where i.ID in (:ids)",
+                    new MapSqlParameterSource("ids", lote),
+                    rs -> { cpfs.add(CpfValidator.expandir(rs.getLong(1))); });
+        }
+        return cpfs;
+    }
+
+    /**
+     * Filtra os IDs de investimento vinculados a um instrumento (série diária vinda das cotações compartilhadas).
+     *
+     * @param ids IDs a verificar
+     * @return subconjunto dos IDs com instrumento
+     */
+    public Set<Long> buscarInvestimentosVinculados(Collection<Long> ids) {
+        Set<Long> vinculados = new HashSet<>();
+        for (List<?> lote : lotes(ids)) {
+            vinculados.addAll(namedJdbcTemplate.queryForList(
+                    "select ID from INVESTIMENTO where ID in (:ids) and INSTRUMENTO_ID is not null",
+                    new MapSqlParameterSource("ids", lote), Long.class));
+        }
+        return vinculados;
+    }
+
+    /**
+     * Insere ou atualiza (MERGE pela chave natural instrumento + data, garantida por
+     * UK_COTACAO_INSTRUMENTO_DATA) as cotações diárias de um instrumento, em JDBC batch.
+     *
+     * @param instrumentoId ID do instrumento
+     * @param cotacoes cotações sem datas repetidas
+     */
+    public void mesclarCotacoes(long instrumentoId, List<CotacaoInstrumento> cotacoes) {
+        if (cotacoes.isEmpty()) return;
+        jdbcTemplate.batchUpdate(MERGE_COTACAO, cotacoes, TAMANHO_BATCH, (ps, c) -> {
+            ps.setLong(1, instrumentoId);
+            setData(ps, 2, c.getDataCotacao());
+            ps.setBigDecimal(3, c.getValorAcao());
+            ps.setBigDecimal(4, c.getTaxaDiaria());
+        });
+    }
+
+    /**
+     * Insere períodos consolidados de investimentos que já possuem ID.
+     *
+     * @param periodos períodos calculados
+     */
+    public void inserirPeriodos(List<RentabilidadePeriodo> periodos) {
+        if (periodos.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_PERIODO, periodos, TAMANHO_BATCH, (ps, p) -> {
+            ps.setLong(1, p.getInvestimento().getId());
+            ps.setString(2, p.getGranularidade().name());
+            setData(ps, 3, p.getInicioPeriodo());
+            setData(ps, 4, p.getPrimeiraData());
+            setData(ps, 5, p.getUltimaData());
+            ps.setBigDecimal(6, p.getValorAbertura());
+            ps.setBigDecimal(7, p.getValorFechamento());
+            ps.setBigDecimal(8, p.getValorMinimo());
+            ps.setBigDecimal(9, p.getValorMaximo());
+            ps.setBigDecimal(10, p.getTaxaComposta());
+            ps.setBigDecimal(11, p.getMontanteFechamento());
+            ps.setInt(12, p.getQuantidadeDias() != null ? p.getQuantidadeDias() : 0);
+        });
+    }
+
+    /**
+     * Reserva {@code quantidade} valores de uma sequência Oracle em uma única ida ao banco.
+     */
+    private long[] reservarIds(String sequencia, int quantidade) {
+        List<Long> valores = jdbcTemplate.queryForList(
+                "select " + sequencia + ".NEXTVAL from dual connect by level <= ?", Long.class, quantidade);
+        long[] ids = new long[valores.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = valores.get(i);
+        }
+        return ids;
+    }
+
+    private static void setData(PreparedStatement ps, int indice, LocalDate data) throws SQLException {
+        if (data != null) ps.setDate(indice, Date.valueOf(data)); else ps.setNull(indice, Types.DATE);
+    }
+
+    private static List<List<?>> lotes(Collection<?> valores) {
+        List<?> lista = new ArrayList<>(valores);
+        List<List<?>> lotes = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            lotes.add(lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size())));
+        }
+        return lotes;
+    }
+}
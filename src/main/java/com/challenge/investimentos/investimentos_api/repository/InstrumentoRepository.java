@@ -0,0 +1,28 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Repositório JPA para a entidade {@link Instrumento}.
+ */
+public interface InstrumentoRepository extends JpaRepository<Instrumento, Long> {
+
+    /**
+     * Busca um instrumento pelo ticker/ISIN.
+     *
+     * @param codigo código do instrumento
+     * @return instrumento, se cadastrado
+     */
+    Optional<Instrumento> findByCodigo(String codigo);
+
+    /**
+     * Verifica se já existe instrumento com o código.
+     *
+     * @param codigo código do instrumento
+     * @return {@code true} se existir
+     */
+    boolean existsByCodigo(String codigo);
+}
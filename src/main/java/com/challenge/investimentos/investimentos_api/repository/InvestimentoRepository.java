@@ -1,8 +1,12 @@
 package com.challenge.investimentos.investimentos_api.repository;
 
 import com.challenge.investimentos.investimentos_api.model.Investimento;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
 
 import java.util.List;
 
@@ -10,7 +14,7 @@ import java.util.List;
  * Repositório JPA para a entidade Investimento.
  * Fornece métodos para operações de persistência e consultas customizadas de investimentos.
  */
-public interface InvestimentoRepository extends JpaRepository<Investimento, Long> {
+public interface InvestimentoRepository extends JpaRepository<Investimento, Long>, InvestimentoRepositoryCustom {
 
     /**
      * Busca todos os investimentos associados a um usuário investidor.
@@ -23,8 +27,66 @@ public interface InvestimentoRepository extends JpaRepository<Investimento, Long
     /**
      * Busca todos os investimentos associados a um CPF de usuário investidor.
      *
-     * @param cpf CPF do usuário investidor
+     * @param cpf CPF do usuário investidor (com ou sem máscara)
      * @return lista de investimentos do usuário
      */
-    List<Investimento> findByUsuarioInvestimento_Cpf_Cpf(String cpf);
-}
\ No newline at end of file
+    default List<Investimento> findByUsuarioInvestimento_Cpf_Cpf(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        return numero >= 0 ? findByUsuarioInvestimento_Cpf_Numero(numero) : List.of();
+    }
+
+    /**
+     * Busca todos os investimentos associados a um CPF compactado ({@link CpfValidator#compactar}).
+     *
+     * @param numero CPF numérico do usuário investidor
+     * @return lista de investimentos do usuário
+     */
+    List<Investimento> findByUsuarioInvestimento_Cpf_Numero(long numero);
+
+    /**
+     * Lista IDs de investimentos em ordem crescente a partir de um ID (paginação por chave).
+     *
+     * @param ultimoId último ID já processado (exclusivo)
+     * @param pagina limite de registros
+     * @return próximos IDs
+     */
+    @Query("select i.id from Investimento i where i.id > :ultimoId order by i.id")
+    List<Long> buscarIdsApos(@Param("ultimoId") Long ultimoId, Pageable pagina);
+
+    /**
+     * Agrega os investimentos do usuário por código bancário (nulo para bancos fora do registro).
+     *
+     * @param numero CPF numérico do usuário investidor
+     * @return linhas [codigoBancario, quantidade, soma do montante inicial]
+     */
+    @Query("select i.codigoBancario, count(i), sum(i.montanteInicial) from Investimento i"
+            + " where i.usuarioInvestimento.cpf.numero = :cpf group by i.codigoBancario order by i.codigoBancario")
+    List<Object[]> resumirPorBanco(@Param("cpf") long numero);
+
+    /**
+     * Nomes distintos dos bancos sem código (fora do registro) nos investimentos do usuário.
+     *
+     * @param numero CPF numérico do usuário investidor
+     * @return nomes informados
+     */
+    @Query("select distinct i.nomeBanco from Investimento i"
+            + " where i.usuarioInvestimento.cpf.numero = :cpf and i.codigoBancario is null and i.nomeBanco is not null")
+    List<String> buscarBancosSemCodigo(@Param("cpf") long numero);
+
+    /**
+     * IDs dos investimentos vinculados a um instrumento.
+     *
+     * @param instrumentoId ID do instrumento
+     * @return IDs em ordem crescente
+     */
+    @Query("select i.id from Investimento i where i.instrumento.id = :instrumentoId order by i.id")
+    List<Long> buscarIdsPorInstrumento(@Param("instrumentoId") Long instrumentoId);
+
+    /**
+     * Verifica se o investimento está vinculado a um instrumento (série diária derivada das cotações).
+     *
+     * @param id ID do investimento
+     * @return {@code true} se existir e tiver instrumento
+     */
+    boolean existsByIdAndInstrumentoIsNotNull(Long id);
+}
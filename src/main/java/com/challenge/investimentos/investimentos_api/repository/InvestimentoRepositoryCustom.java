@@ -0,0 +1,33 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.util.SeriePrimitiva;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações customizadas do repositório de investimentos que não podem ser
+ * expressas por métodos derivados do Spring Data.
+ */
+public interface InvestimentoRepositoryCustom {
+
+    /**
+     * Busca investimentos carregando apenas as colunas selecionadas (projeção JPQL).
+     *
+     * @param selecao campos e coleções solicitados
+     * @param cpf CPF do usuário investidor para filtrar, ou {@code null} para todos
+     * @return um mapa campo -> valor por investimento, na ordem do ID
+     */
+    List<Map<String, Object>> buscarProjecao(SelecaoCampos selecao, String cpf);
+
+    /**
+     * Carrega a série de montante acumulado diário dos investimentos informados em arrays
+     * primitivos, ordenada por data. Investimentos sem rentabilidades ficam fora do mapa.
+     *
+     * @param ids IDs dos investimentos
+     * @return série por ID do investimento
+     */
+    Map<Long, SeriePrimitiva> carregarSeriesMontante(Collection<Long> ids);
+}
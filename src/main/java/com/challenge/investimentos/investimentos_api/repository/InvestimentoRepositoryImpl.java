@@ -0,0 +1,83 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import com.challenge.investimentos.investimentos_api.util.SeriePrimitiva;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação das operações customizadas de {@link InvestimentoRepository}.
+ */
+public class InvestimentoRepositoryImpl implements InvestimentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Map<String, Object>> buscarProjecao(SelecaoCampos selecao, String cpf) {
+        String jpql = "select " + ProjecaoInvestimentoSupport.expressoes(selecao)
+            + " from Investimento i"
+            + (cpf != null ? " where i.usuarioInvestimento.cpf.numero = :cpf" : "")
+            + " order by i.id";
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        if (cpf != null) {
+            query.setParameter("cpf", CpfValidator.compactar(cpf));
+        }
+
+        Map<Long, Map<String, Object>> porId = new LinkedHashMap<>();
+        for (Object[] linha : query.getResultList()) {
+            porId.put((Long) linha[0], ProjecaoInvestimentoSupport.paraMapa(selecao, linha, 0));
+        }
+
+        if (selecao.isIncluirRentabilidadeDiaria() && !porId.isEmpty()) {
+            Map<Long, List<RentabilidadeDiariaDTO>> rentabilidades =
+                ProjecaoInvestimentoSupport.carregarRentabilidades(em, porId.keySet());
+            porId.forEach((id, mapa) -> mapa.put("rentabilidadeDiaria", rentabilidades.getOrDefault(id, List.of())));
+        }
+        return new ArrayList<>(porId.values());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<Long, SeriePrimitiva> carregarSeriesMontante(Collection<Long> ids) {
+        Map<Long, SeriePrimitiva> series = new HashMap<>();
+        if (ids.isEmpty()) {
+            return series;
+        }
+        // resultado consumido como stream: cada linha vai direto para os arrays primitivos
+        em.createQuery("select r.investimento.id, r.dataRentabilidadeDiaria, r.montanteAcumuladoDiario"
+                    + " from RentabilidadeDiaria r where r.investimento.id in :ids"
+                    + " and r.dataRentabilidadeDiaria is not null and r.montanteAcumuladoDiario is not null"
+                    + " order by r.investimento.id, r.dataRentabilidadeDiaria", Object[].class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .forEach(linha -> adicionar(series, linha));
+        // investimentos vinculados a um instrumento: montante derivado das cotações compartilhadas
+        em.createQuery("select i.id, c.dataCotacao, c.valorAcao * i.numeroAcoesInicial"
+                    + " from Investimento i join CotacaoInstrumento c on c.instrumento = i.instrumento"
+                    + " where i.id in :ids and c.valorAcao is not null and i.numeroAcoesInicial is not null"
+                    + " order by i.id, c.dataCotacao", Object[].class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .forEach(linha -> adicionar(series, linha));
+        return series;
+    }
+
+    private static void adicionar(Map<Long, SeriePrimitiva> series, Object[] linha) {
+        series.computeIfAbsent((Long) linha[0], k -> new SeriePrimitiva())
+            .adicionar(((LocalDate) linha[1]).toEpochDay(), ((Number) linha[2]).doubleValue());
+    }
+}
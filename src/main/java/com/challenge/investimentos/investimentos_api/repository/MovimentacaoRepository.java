@@ -0,0 +1,170 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.MovimentacaoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.challenge.investimentos.investimentos_api.util.PosicaoInvestimento;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Livro-razão de movimentações dos investimentos (MOVIMENTACAO_INVESTIMENTO) e snapshots da posição
+ * (POSICAO_SNAPSHOT).
+ *
+ * As movimentações só são inseridas, com a sequência seguinte à da posição atual; a chave
+ * (INVESTIMENTO_ID, SEQUENCIA) recusa duas gravações com a mesma sequência. A cauda é aplicada direto
+ * do {@link ResultSet} na posição, sem materializar as linhas.
+ */
+@Repository
+public class MovimentacaoRepository {
+
+    /** Linhas por ida ao banco na leitura da cauda e do extrato. */
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String INSERT_MOVIMENTACAO =
+            "insert into MOVIMENTACAO_INVESTIMENTO (INVESTIMENTO_ID, SEQUENCIA, TIPO, DATA_MOVIMENTACAO, QUANTIDADE, VALOR, REGISTRADO_EM)"
+                    + " values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_CAUDA =
+            "select SEQUENCIA, TIPO, DATA_MOVIMENTACAO, QUANTIDADE, VALOR from MOVIMENTACAO_INVESTIMENTO"
+                    + " where INVESTIMENTO_ID = ? and SEQUENCIA > ? order by SEQUENCIA";
+    private static final String SELECT_ULTIMO_SNAPSHOT =
+            "select SEQUENCIA, QUANTIDADE, CUSTO, APORTADO, RESGATADO, RESULTADO_REALIZADO, ULTIMA_DATA"
+                    + " from POSICAO_SNAPSHOT where INVESTIMENTO_ID = ? order by SEQUENCIA desc fetch first 1 rows only";
+    private static final String INSERT_SNAPSHOT =
+            "insert into POSICAO_SNAPSHOT (INVESTIMENTO_ID, SEQUENCIA, QUANTIDADE, CUSTO, APORTADO, RESGATADO,"
+                    + " RESULTADO_REALIZADO, ULTIMA_DATA) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovimentacaoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Anexa uma movimentação ao livro-razão do investimento.
+     *
+     * @param investimentoId investimento
+     * @param sequencia sequência da movimentação (a da posição depois de aplicá-la)
+     * @param tipo tipo da movimentação
+     * @param quantidade ações em ponto fixo
+     * @param valor valor em centavos
+     * @param data data da movimentação
+     */
+    public void anexar(long investimentoId, long sequencia, TipoMovimentacao tipo, long quantidade, long valor,
+                       LocalDate data) {
+        jdbcTemplate.update(INSERT_MOVIMENTACAO, investimentoId, sequencia, tipo.name(), Date.valueOf(data),
+                BigDecimal.valueOf(quantidade, PosicaoInvestimento.ESCALA_QUANTIDADE),
+                BigDecimal.valueOf(valor, PosicaoInvestimento.ESCALA_VALOR), Timestamp.from(Instant.now()));
+    }
+
+    /**
+     * Último snapshot gravado da posição do investimento.
+     *
+     * @param investimentoId investimento
+     * @return posição na sequência do snapshot, ou vazio se não houver
+     */
+    public Optional<PosicaoInvestimento> ultimoSnapshot(long investimentoId) {
+        return jdbcTemplate.query(SELECT_ULTIMO_SNAPSHOT, rs -> {
+            if (!rs.next()) return Optional.empty();
+            Date ultimaData = rs.getDate(7);
+            return Optional.of(PosicaoInvestimento.restaurar(rs.getLong(1), pontoFixo(rs, 2, PosicaoInvestimento.ESCALA_QUANTIDADE),
+                    centavos(rs, 3), centavos(rs, 4), centavos(rs, 5), centavos(rs, 6),
+                    ultimaData != null ? (int) ultimaData.toLocalDate().toEpochDay() : PosicaoInvestimento.SEM_DATA));
+        }, investimentoId);
+    }
+
+    /**
+     * Aplica na posição as movimentações gravadas depois da sequência dela.
+     *
+     * @param investimentoId investimento
+     * @param posicao posição inicial ou restaurada de um snapshot; avança até a última movimentação
+     * @throws IllegalStateException se faltar uma sequência ou uma movimentação gravada não couber na posição
+     */
+    public void aplicarCauda(long investimentoId, PosicaoInvestimento posicao) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_CAUDA);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, investimentoId);
+            ps.setLong(2, posicao.getSequencia());
+            return ps;
+        }, rs -> {
+            long sequencia = rs.getLong(1);
+            if (sequencia != posicao.getSequencia() + 1) {
+                throw new IllegalStateException("Livro-razão do investimento " + investimentoId
+                        + " sem a movimentação " + (posicao.getSequencia() + 1));
+            }
+            try {
+                posicao.aplicar(TipoMovimentacao.valueOf(rs.getString(2)),
+                        pontoFixo(rs, 4, PosicaoInvestimento.ESCALA_QUANTIDADE), centavos(rs, 5),
+                        (int) rs.getDate(3).toLocalDate().toEpochDay());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Movimentação " + sequencia + " do investimento " + investimentoId
+                        + " inválida no livro-razão: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Grava o snapshot da posição e apaga os anteriores (só o último é lido).
+     *
+     * @param investimentoId investimento
+     * @param posicao posição já com as movimentações gravadas até a sequência dela
+     */
+    public void salvarSnapshot(long investimentoId, PosicaoInvestimento posicao) {
+        jdbcTemplate.update(INSERT_SNAPSHOT, investimentoId, posicao.getSequencia(),
+                BigDecimal.valueOf(posicao.getQuantidade(), PosicaoInvestimento.ESCALA_QUANTIDADE),
+                BigDecimal.valueOf(posicao.getCusto(), PosicaoInvestimento.ESCALA_VALOR),
+                BigDecimal.valueOf(posicao.getAportado(), PosicaoInvestimento.ESCALA_VALOR),
+                BigDecimal.valueOf(posicao.getResgatado(), PosicaoInvestimento.ESCALA_VALOR),
+                BigDecimal.valueOf(posicao.getResultadoRealizado(), PosicaoInvestimento.ESCALA_VALOR),
+                posicao.getUltimaData() != PosicaoInvestimento.SEM_DATA
+                        ? Date.valueOf(LocalDate.ofEpochDay(posicao.getUltimaData())) : null);
+        jdbcTemplate.update("delete from POSICAO_SNAPSHOT where INVESTIMENTO_ID = ? and SEQUENCIA < ?",
+                investimentoId, posicao.getSequencia());
+    }
+
+    /**
+     * Extrato do investimento: todas as movimentações em ordem de sequência.
+     *
+     * @param investimentoId investimento
+     * @return movimentações com as datas no formato da API
+     */
+    public List<MovimentacaoDTO> listar(long investimentoId) {
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("select SEQUENCIA, TIPO, DATA_MOVIMENTACAO, QUANTIDADE, VALOR"
+                    + " from MOVIMENTACAO_INVESTIMENTO where INVESTIMENTO_ID = ? order by SEQUENCIA");
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, investimentoId);
+            return ps;
+        }, (rs, i) -> {
+            BigDecimal quantidade = rs.getBigDecimal(4);
+            return new MovimentacaoDTO(rs.getLong(1), TipoMovimentacao.valueOf(rs.getString(2)),
+                    InvestimentoMapper.texto(rs.getDate(3).toLocalDate()),
+                    quantidade.signum() == 0 ? null : semZerosAposVirgula(quantidade), rs.getBigDecimal(5));
+        });
+    }
+
+    /** 10.000000 vira 10 e 0.500000 vira 0.5, sem notação científica. */
+    private static BigDecimal semZerosAposVirgula(BigDecimal valor) {
+        BigDecimal reduzido = valor.stripTrailingZeros();
+        return reduzido.scale() < 0 ? reduzido.setScale(0) : reduzido;
+    }
+
+    private static long centavos(ResultSet rs, int coluna) throws SQLException {
+        return pontoFixo(rs, coluna, PosicaoInvestimento.ESCALA_VALOR);
+    }
+
+    private static long pontoFixo(ResultSet rs, int coluna, int escala) throws SQLException {
+        return rs.getBigDecimal(coluna).setScale(escala).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,202 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outbox transacional dos eventos de alteração de carteira (tabela OUTBOX_EVENTO_CARTEIRA).
+ *
+ * Os eventos são inseridos por JDBC na transação da alteração, de modo que só existem se ela
+ * for confirmada; o {@code RelayOutbox} os lê em ordem de ID, publica e apaga. Na mesma transação os CPFs
+ * afetados são marcados como pendentes no painel do investidor, para que a leitura não sirva o documento
+ * anterior à alteração enquanto o relay não publica.
+ */
+@Repository
+public class OutboxRepository {
+
+    /** Linhas por batch JDBC. */
+    static final int TAMANHO_BATCH = 1000;
+    /** Limite de elementos em uma cláusula IN no Oracle. */
+    private static final int TAMANHO_LOTE_IN = 1000;
+
+    private static final String INSERT_EVENTO =
+            "insert into OUTBOX_EVENTO_CARTEIRA (ID, TIPO, CPF_NUMERO, INVESTIMENTO_ID, OCORRIDO_EM)"
+                    + " values (OUTBOX_EVENTO_SEQ.NEXTVAL, ?, ?, ?, ?)";
+    private static final String INSERT_EVENTO_POR_INVESTIMENTO =
+            "insert into OUTBOX_EVENTO_CARTEIRA (ID, TIPO, CPF_NUMERO, INVESTIMENTO_ID, OCORRIDO_EM)"
+                    + " select OUTBOX_EVENTO_SEQ.NEXTVAL, :tipo, u.CPF_NUMERO, i.ID, :agora"
+                    + " from INVESTIMENTO i join USUARIO_INVESTIMENTO u on u.ID = i.USUARIO_INVESTIMENTO_ID"
+                    + " where i.ID in (:ids)";
+    /**
+     * Os mais antigos pendentes, travados até o fim da transação do relay. O relay de outra instância
+     * espera nas mesmas linhas e, como elas já terão sido apagadas, volta vazio e lê as seguintes no
+     * próximo ciclo: a publicação continua em ordem de ID mesmo com mais de um relay.
+     */
+    private static final String SELECT_PENDENTES =
+            "select ID, TIPO, CPF_NUMERO, INVESTIMENTO_ID, OCORRIDO_EM from OUTBOX_EVENTO_CARTEIRA"
+                    + " where ID in (select ID from (select ID from OUTBOX_EVENTO_CARTEIRA order by ID) where ROWNUM <= ?)"
+                    + " order by ID for update";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PainelInvestidorRepository painelInvestidorRepository;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate, PainelInvestidorRepository painelInvestidorRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.painelInvestidorRepository = painelInvestidorRepository;
+    }
+
+    /**
+     * Registra um evento na transação corrente.
+     *
+     * @param tipo tipo do evento
+     * @param cpf CPF do investidor (com ou sem máscara)
+     * @param investimentoId investimento afetado, ou null
+     */
+    public void registrar(TipoEventoCarteira tipo, String cpf, Long investimentoId) {
+        registrar(tipo, cpf, Collections.singletonList(investimentoId));
+    }
+
+    /**
+     * Registra um evento por investimento, na ordem informada, na transação corrente.
+     *
+     * @param tipo tipo dos eventos
+     * @param cpf CPF do investidor (com ou sem máscara)
+     * @param investimentoIds investimentos afetados (elementos null geram eventos sem investimento)
+     * @throws IllegalStateException fora de uma transação ou com CPF inválido
+     */
+    public void registrar(TipoEventoCarteira tipo, String cpf, Collection<Long> investimentoIds) {
+        long cpfNumero = cpfNumero(tipo, cpf);
+        List<long[]> eventos = new ArrayList<>(investimentoIds.size());
+        for (Long investimentoId : investimentoIds) {
+            eventos.add(investimentoId != null ? new long[] {cpfNumero, investimentoId} : new long[] {cpfNumero});
+        }
+        inserir(tipo, eventos);
+    }
+
+    /**
+     * Registra um evento sem investimento para cada CPF, na ordem informada, na transação corrente.
+     *
+     * @param tipo tipo dos eventos (de carteira ou de usuário)
+     * @param cpfs CPFs dos investidores (com ou sem máscara)
+     * @throws IllegalStateException fora de uma transação ou com CPF inválido
+     */
+    public void registrarPorCpf(TipoEventoCarteira tipo, Collection<String> cpfs) {
+        List<long[]> eventos = new ArrayList<>(cpfs.size());
+        for (String cpf : cpfs) {
+            eventos.add(new long[] {cpfNumero(tipo, cpf)});
+        }
+        inserir(tipo, eventos);
+    }
+
+    /**
+     * Registra um evento por investimento, com o CPF do dono lido do banco, na transação corrente.
+     * Para gravações que conhecem só os investimentos (série diária, cotações de instrumento).
+     *
+     * @param tipo tipo dos eventos
+     * @param investimentoIds investimentos afetados; os sem usuário não geram evento
+     * @return quantidade de eventos registrados
+     * @throws IllegalStateException fora de uma transação
+     */
+    public int registrarPorInvestimentos(TipoEventoCarteira tipo, Collection<Long> investimentoIds) {
+        exigirTransacao();
+        int registrados = 0;
+        List<Long> lista = new ArrayList<>(investimentoIds);
+        Instant instante = Instant.now();
+        Timestamp agora = Timestamp.from(instante);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            registrados += namedJdbcTemplate.update(INSERT_EVENTO_POR_INVESTIMENTO, new MapSqlParameterSource()
+                    .addValue("tipo", tipo.name())
+                    .addValue("agora", agora)
+                    .addValue("ids", lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size()))));
+        }
+        if (registrados > 0) painelInvestidorRepository.marcarAlteradosPorInvestimentos(lista, instante);
+        return registrados;
+    }
+
+    private static long cpfNumero(TipoEventoCarteira tipo, String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        if (numero < 0) {
+            throw new IllegalStateException("CPF inválido no evento " + tipo + ": " + cpf);
+        }
+        return numero;
+    }
+
+    /** Insere os eventos ({CPF} ou {CPF, investimento}) em JDBC batch e marca os CPFs no painel. */
+    private void inserir(TipoEventoCarteira tipo, List<long[]> eventos) {
+        exigirTransacao();
+        if (eventos.isEmpty()) return;
+        Instant instante = Instant.now();
+        Timestamp agora = Timestamp.from(instante);
+        jdbcTemplate.batchUpdate(INSERT_EVENTO, eventos, TAMANHO_BATCH, (ps, evento) -> {
+            ps.setString(1, tipo.name());
+            ps.setLong(2, evento[0]);
+            if (evento.length > 1) {
+                ps.setLong(3, evento[1]);
+            } else {
+                ps.setNull(3, Types.NUMERIC);
+            }
+            ps.setTimestamp(4, agora);
+        });
+        Set<Long> cpfs = new HashSet<>();
+        for (long[] evento : eventos) {
+            cpfs.add(evento[0]);
+        }
+        painelInvestidorRepository.marcarAlterados(cpfs, instante);
+    }
+
+    private static void exigirTransacao() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Eventos de carteira só podem ser registrados dentro da transação da alteração");
+        }
+    }
+
+    /**
+     * Trava e retorna os eventos pendentes mais antigos. Deve ser chamado na transação que os apaga.
+     *
+     * @param limite quantidade máxima de eventos
+     * @return eventos em ordem de ID
+     */
+    public List<EventoCarteiraDTO> buscarPendentes(int limite) {
+        return jdbcTemplate.query(SELECT_PENDENTES, (rs, i) -> {
+            long investimentoId = rs.getLong(4);
+            boolean semInvestimento = rs.wasNull();
+            return new EventoCarteiraDTO(rs.getLong(1), TipoEventoCarteira.valueOf(rs.getString(2)),
+                    CpfValidator.expandir(rs.getLong(3)), semInvestimento ? null : investimentoId,
+                    rs.getTimestamp(5).toInstant());
+        }, limite);
+    }
+
+    /**
+     * Apaga eventos já publicados.
+     *
+     * @param ids IDs dos eventos
+     * @return quantidade de linhas apagadas
+     */
+    public int remover(Collection<Long> ids) {
+        int removidos = 0;
+        List<Long> lista = new ArrayList<>(ids);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            removidos += namedJdbcTemplate.update("delete from OUTBOX_EVENTO_CARTEIRA where ID in (:ids)",
+                    new MapSqlParameterSource("ids", lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size()))));
+        }
+        return removidos;
+    }
+}
@@ -0,0 +1,288 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Modelo de leitura do painel do investidor (tabela PAINEL_INVESTIDOR), separado das tabelas da carteira.
+ *
+ * A alteração da carteira marca o CPF como pendente na própria transação ({@link #marcarAlterados}), e o
+ * relay do outbox registra o último evento publicado ({@link #marcarPendentes}); o projetor trava os pendentes
+ * mais antigos, monta os painéis a partir das tabelas da carteira ({@link #carregarPosicoes}) e grava o
+ * documento ({@link #salvar}). A leitura ({@link #buscar}) é um acesso pela chave.
+ */
+@Repository
+public class PainelInvestidorRepository {
+
+    /** Limite de elementos em uma cláusula IN no Oracle. */
+    private static final int TAMANHO_LOTE_IN = 1000;
+
+    /**
+     * Marca o CPF como pendente: o último evento só avança e PENDENTE_DESDE guarda o evento mais antigo
+     * ainda não refletido (uma marcação já pendente não é adiada).
+     */
+    private static final String MERGE_PENDENTE =
+            "merge into PAINEL_INVESTIDOR p using (select ? CPF_NUMERO, ? ULTIMO_EVENTO, ? OCORRIDO_EM from DUAL) e"
+                    + " on (p.CPF_NUMERO = e.CPF_NUMERO)"
+                    + " when matched then update set p.ULTIMO_EVENTO = greatest(nvl(p.ULTIMO_EVENTO, 0), e.ULTIMO_EVENTO),"
+                    + " p.PENDENTE_DESDE = nvl(p.PENDENTE_DESDE, e.OCORRIDO_EM)"
+                    + " when not matched then insert (CPF_NUMERO, ULTIMO_EVENTO, PENDENTE_DESDE)"
+                    + " values (e.CPF_NUMERO, e.ULTIMO_EVENTO, e.OCORRIDO_EM)";
+    private static final String MERGE_ALTERADO_POR_INVESTIMENTO =
+            "merge into PAINEL_INVESTIDOR p using (select distinct u.CPF_NUMERO from INVESTIMENTO i"
+                    + " join USUARIO_INVESTIMENTO u on u.ID = i.USUARIO_INVESTIMENTO_ID where i.ID in (:ids)) e"
+                    + " on (p.CPF_NUMERO = e.CPF_NUMERO)"
+                    + " when matched then update set p.PENDENTE_DESDE = nvl(p.PENDENTE_DESDE, :agora)"
+                    + " when not matched then insert (CPF_NUMERO, ULTIMO_EVENTO, PENDENTE_DESDE) values (e.CPF_NUMERO, 0, :agora)";
+    private static final String MERGE_TODOS =
+            "merge into PAINEL_INVESTIDOR p using (select CPF_NUMERO from USUARIO_INVESTIMENTO) u"
+                    + " on (p.CPF_NUMERO = u.CPF_NUMERO)"
+                    + " when matched then update set p.PENDENTE_DESDE = nvl(p.PENDENTE_DESDE, ?)"
+                    + " when not matched then insert (CPF_NUMERO, ULTIMO_EVENTO, PENDENTE_DESDE) values (u.CPF_NUMERO, 0, ?)";
+    /**
+     * Pendentes mais antigos, travados até o fim da transação do projetor. Linhas travadas por outro
+     * projetor são puladas; como o Oracle trava à medida que as linhas são lidas, o limite vai no
+     * {@code setMaxRows} e só essas linhas ficam travadas.
+     */
+    private static final String SELECT_PENDENTES =
+            "select CPF_NUMERO, ULTIMO_EVENTO, PENDENTE_DESDE from PAINEL_INVESTIDOR"
+                    + " where PENDENTE_DESDE is not null order by PENDENTE_DESDE for update skip locked";
+    private static final String SELECT_INVESTIMENTOS =
+            "select u.CPF_NUMERO, i.ID, i.NOME_BANCO, i.CODIGO_BANCARIO, i.TIPO_INVESTIMENTO, i.NOME_INVESTIMENTO,"
+                    + " i.MONTANTE_INICIAL, i.VALOR_INICIAL_ACAO, i.TAXA_RENTABILIDADE, i.NUMERO_ACOES_INICIAL, ins.CODIGO"
+                    + " from USUARIO_INVESTIMENTO u"
+                    + " left join INVESTIMENTO i on i.USUARIO_INVESTIMENTO_ID = u.ID"
+                    + " left join INSTRUMENTO ins on ins.ID = i.INSTRUMENTO_ID"
+                    + " where u.CPF_NUMERO in (:cpfs) order by u.CPF_NUMERO, i.ID";
+    /**
+     * Últimos {@code :pontos} dias de cada investimento: a série própria ou, se vinculado a um instrumento,
+     * cotação × ações (as duas origens são exclusivas por investimento).
+     */
+    private static final String SELECT_CAUDA_SERIE =
+            "select INVESTIMENTO_ID, DATA, MONTANTE from ("
+                    + " select r.INVESTIMENTO_ID, r.DATA_RENTABILIDADE_DIARIA DATA, r.MONTANTE_ACUMULADO_DIARIO MONTANTE,"
+                    + " row_number() over (partition by r.INVESTIMENTO_ID order by r.DATA_RENTABILIDADE_DIARIA desc) N"
+                    + " from RENTABILIDADE_DIARIA_TABLE r"
+                    + " join INVESTIMENTO i on i.ID = r.INVESTIMENTO_ID"
+                    + " join USUARIO_INVESTIMENTO u on u.ID = i.USUARIO_INVESTIMENTO_ID"
+                    + " where u.CPF_NUMERO in (:cpfs) and r.DATA_RENTABILIDADE_DIARIA is not null"
+                    + " union all"
+                    + " select i.ID, c.DATA_COTACAO, c.VALOR_ACAO * i.NUMERO_ACOES_INICIAL,"
+                    + " row_number() over (partition by i.ID order by c.DATA_COTACAO desc)"
+                    + " from INVESTIMENTO i"
+                    + " join USUARIO_INVESTIMENTO u on u.ID = i.USUARIO_INVESTIMENTO_ID"
+                    + " join COTACAO_INSTRUMENTO c on c.INSTRUMENTO_ID = i.INSTRUMENTO_ID"
+                    + " where u.CPF_NUMERO in (:cpfs))"
+                    + " where N <= :pontos order by INVESTIMENTO_ID, DATA";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public PainelInvestidorRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /** CPF marcado para remontagem, com o último evento recebido e desde quando está pendente. */
+    public record PainelPendente(long cpf, long ultimoEvento, Instant pendenteDesde) {}
+
+    /** Documento gravado; {@code pendenteDesde} não nulo indica alterações ainda não refletidas. */
+    public record PainelGravado(byte[] documento, Instant pendenteDesde, Instant atualizadoEm) {}
+
+    /**
+     * Marca os CPFs dos eventos como pendentes, uma linha por CPF (vários eventos do mesmo CPF viram
+     * uma remontagem só). Chamado pelo relay, na transação que apaga os eventos do outbox.
+     *
+     * @param eventos eventos publicados
+     * @return quantidade de CPFs marcados
+     */
+    public int marcarPendentes(List<EventoCarteiraDTO> eventos) {
+        // ordem de CPF: dois relays marcando os mesmos CPFs travam as linhas na mesma ordem
+        Map<Long, Object[]> porCpf = new TreeMap<>();
+        for (EventoCarteiraDTO evento : eventos) {
+            if (evento.getCpf() == null) continue;
+            long cpf = Long.parseLong(evento.getCpf());
+            Timestamp ocorrido = Timestamp.from(evento.getOcorridoEm());
+            Object[] marca = porCpf.get(cpf);
+            if (marca == null) {
+                porCpf.put(cpf, new Object[] {cpf, evento.getId(), ocorrido});
+            } else {
+                marca[1] = Math.max((Long) marca[1], evento.getId());
+                if (ocorrido.before((Timestamp) marca[2])) marca[2] = ocorrido;
+            }
+        }
+        if (porCpf.isEmpty()) return 0;
+        jdbcTemplate.batchUpdate(MERGE_PENDENTE, new ArrayList<>(porCpf.values()));
+        return porCpf.size();
+    }
+
+    /**
+     * Marca os CPFs como pendentes na transação da alteração, antes de o relay publicar os eventos: a
+     * leitura nunca vê um documento em dia que não reflita uma alteração já confirmada. O último evento
+     * não muda (o ID só é conhecido pelo relay).
+     *
+     * @param cpfs CPFs numéricos alterados
+     * @param desde instante da alteração
+     */
+    public void marcarAlterados(Collection<Long> cpfs, Instant desde) {
+        if (cpfs.isEmpty()) return;
+        // ordem de CPF, como no relay: duas alterações marcando os mesmos CPFs travam as linhas na mesma ordem
+        Timestamp agora = Timestamp.from(desde);
+        List<Object[]> marcas = new ArrayList<>(cpfs.size());
+        for (long cpf : new TreeSet<>(cpfs)) {
+            marcas.add(new Object[] {cpf, 0L, agora});
+        }
+        jdbcTemplate.batchUpdate(MERGE_PENDENTE, marcas);
+    }
+
+    /**
+     * Marca como pendentes os donos dos investimentos, na transação da alteração (série diária, cotações).
+     *
+     * @param investimentoIds investimentos alterados; os sem usuário são ignorados
+     * @param desde instante da alteração
+     */
+    public void marcarAlteradosPorInvestimentos(Collection<Long> investimentoIds, Instant desde) {
+        Timestamp agora = Timestamp.from(desde);
+        List<Long> lista = new ArrayList<>(investimentoIds);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            namedJdbcTemplate.update(MERGE_ALTERADO_POR_INVESTIMENTO, new MapSqlParameterSource()
+                    .addValue("agora", agora)
+                    .addValue("ids", lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size()))));
+        }
+    }
+
+    /**
+     * Marca todos os investidores como pendentes, para reconstruir o modelo de leitura inteiro.
+     *
+     * @return quantidade de CPFs marcados
+     */
+    public int marcarTodos() {
+        Timestamp agora = Timestamp.from(Instant.now());
+        return jdbcTemplate.update(MERGE_TODOS, agora, agora);
+    }
+
+    /**
+     * Trava e retorna os pendentes mais antigos. Deve ser chamado na transação que grava os painéis.
+     *
+     * @param limite quantidade máxima de CPFs
+     * @return pendentes em ordem de PENDENTE_DESDE
+     */
+    public List<PainelPendente> travarPendentes(int limite) {
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_PENDENTES);
+            ps.setMaxRows(limite);
+            ps.setFetchSize(limite);
+            return ps;
+        }, (rs, i) -> new PainelPendente(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3).toInstant()));
+    }
+
+    /**
+     * Lê das tabelas da carteira as posições dos investidores, com a cauda da série de cada investimento.
+     *
+     * @param cpfs CPFs numéricos
+     * @param pontosSerie dias mais recentes da série a guardar por investimento
+     * @return posições em ordem de ID por CPF; CPFs sem usuário investidor ficam fora do mapa
+     */
+    public Map<Long, List<PainelInvestidorDTO.Posicao>> carregarPosicoes(Collection<Long> cpfs, int pontosSerie) {
+        Map<Long, List<PainelInvestidorDTO.Posicao>> porCpf = new LinkedHashMap<>();
+        Map<Long, PainelInvestidorDTO.Posicao> porId = new HashMap<>();
+        List<Long> lista = new ArrayList<>(cpfs);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            List<Long> lote = lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size()));
+            namedJdbcTemplate.query(SELECT_INVESTIMENTOS, new MapSqlParameterSource("cpfs", lote), rs -> {
+                List<PainelInvestidorDTO.Posicao> posicoes = porCpf.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>());
+                long id = rs.getLong(2);
+                if (rs.wasNull()) return; // usuário sem investimentos
+                PainelInvestidorDTO.Posicao posicao = new PainelInvestidorDTO.Posicao();
+                posicao.setId(id);
+                posicao.setNomeBanco(rs.getString(3));
+                posicao.setCodigoBancario(inteiro(rs, 4));
+                posicao.setTipoInvestimento(rs.getString(5));
+                posicao.setNomeInvestimento(rs.getString(6));
+                posicao.setMontanteInicial(rs.getBigDecimal(7));
+                posicao.setValorInicialAcao(rs.getBigDecimal(8));
+                posicao.setTaxaRentabilidade(rs.getBigDecimal(9));
+                posicao.setNumeroAcoesInicial(inteiro(rs, 10));
+                posicao.setCodigoInstrumento(rs.getString(11));
+                posicoes.add(posicao);
+                porId.put(id, posicao);
+            });
+            if (porId.isEmpty()) continue;
+            namedJdbcTemplate.query(SELECT_CAUDA_SERIE, new MapSqlParameterSource("cpfs", lote)
+                    .addValue("pontos", pontosSerie), rs -> {
+                PainelInvestidorDTO.Posicao posicao = porId.get(rs.getLong(1));
+                if (posicao == null) return;
+                // em ordem de data: o último ponto lido é o montante atual
+                String data = InvestimentoMapper.texto(rs.getDate(2).toLocalDate());
+                posicao.getDatas().add(data);
+                posicao.getMontantes().add(rs.getBigDecimal(3));
+                posicao.setMontanteAtual(rs.getBigDecimal(3));
+                posicao.setDataMontanteAtual(data);
+            });
+        }
+        return porCpf;
+    }
+
+    /**
+     * Grava o painel remontado e tira a marcação de pendente. A linha deve estar travada pela transação
+     * corrente ({@link #travarPendentes}), então nenhum evento novo chega entre a leitura e a gravação.
+     *
+     * @param cpf CPF numérico
+     * @param documento painel em JSON
+     */
+    public void salvar(long cpf, byte[] documento) {
+        jdbcTemplate.update("update PAINEL_INVESTIDOR set DOCUMENTO = ?, EVENTO_APLICADO = ULTIMO_EVENTO,"
+                + " PENDENTE_DESDE = null, ATUALIZADO_EM = ? where CPF_NUMERO = ?",
+                documento, Timestamp.from(Instant.now()), cpf);
+    }
+
+    /**
+     * Remove o painel de um investidor que não existe mais.
+     *
+     * @param cpf CPF numérico
+     */
+    public void remover(long cpf) {
+        jdbcTemplate.update("delete from PAINEL_INVESTIDOR where CPF_NUMERO = ?", cpf);
+    }
+
+    /**
+     * Painel gravado do investidor.
+     *
+     * @param cpf CPF numérico
+     * @return documento e marcação de pendente, ou vazio se o CPF nunca foi projetado
+     */
+    public Optional<PainelGravado> buscar(long cpf) {
+        return jdbcTemplate.query("select DOCUMENTO, PENDENTE_DESDE, ATUALIZADO_EM from PAINEL_INVESTIDOR where CPF_NUMERO = ?",
+                rs -> rs.next() ? Optional.of(new PainelGravado(rs.getBytes(1), instante(rs, 2), instante(rs, 3)))
+                        : Optional.<PainelGravado>empty(), cpf);
+    }
+
+    private static Integer inteiro(ResultSet rs, int coluna) throws SQLException {
+        int valor = rs.getInt(coluna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    private static Instant instante(ResultSet rs, int coluna) throws SQLException {
+        Timestamp valor = rs.getTimestamp(coluna);
+        return valor != null ? valor.toInstant() : null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utilitário interno dos repositórios para montar projeções JPQL de investimentos
+ * a partir de uma {@link SelecaoCampos}.
+ *
+ * Apenas as colunas solicitadas entram no SELECT; a série diária só é consultada
+ * (também como projeção escalar, sem carregar entidades) quando pedida via {@code include}.
+ */
+final class ProjecaoInvestimentoSupport {
+
+    /** Limite de elementos em uma cláusula IN no Oracle. */
+    private static final int TAMANHO_LOTE_IN = 1000;
+
+    /** Série própria (RENTABILIDADE_DIARIA_TABLE) dos investimentos do lote. */
+    private static final String RENTABILIDADES_PROPRIAS =
+            "select r.investimento.id, r.dataRentabilidadeDiaria, r.valorDiarioAcao,"
+                + " r.taxaDiarioRentabilidade, r.montanteAcumuladoDiario"
+                + " from RentabilidadeDiaria r where r.investimento.id in :ids"
+                + " order by r.investimento.id, r.dataRentabilidadeDiaria";
+
+    /** Série derivada das cotações do instrumento para os investimentos vinculados do lote. */
+    private static final String RENTABILIDADES_INSTRUMENTO =
+            "select i.id, c.dataCotacao, c.valorAcao, c.taxaDiaria, c.valorAcao * i.numeroAcoesInicial"
+                + " from Investimento i join CotacaoInstrumento c on c.instrumento = i.instrumento"
+                + " where i.id in :ids"
+                + " order by i.id, c.dataCotacao";
+
+    private ProjecaoInvestimentoSupport() {}
+
+    /**
+     * Monta a lista de expressões do SELECT para os campos selecionados.
+     * O ID do investimento é sempre a primeira expressão (usado para agrupar a série diária).
+     */
+    static String expressoes(SelecaoCampos selecao) {
+        StringBuilder sb = new StringBuilder("i.id");
+        for (CampoInvestimento campo : selecao.getCampos()) {
+            if (campo != CampoInvestimento.ID) {
+                sb.append(", ").append(campo.getExpressao());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converte uma linha da projeção em mapa ordenado campo -> valor.
+     *
+     * @param linha linha retornada pela consulta
+     * @param inicio posição da expressão {@code i.id} dentro da linha
+     */
+    static Map<String, Object> paraMapa(SelecaoCampos selecao, Object[] linha, int inicio) {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        int pos = inicio + 1;
+        for (CampoInvestimento campo : selecao.getCampos()) {
+            if (campo == CampoInvestimento.ID) {
+                mapa.put(campo.getNome(), linha[inicio]);
+                continue;
+            }
+            Object valor = linha[pos++];
+            mapa.put(campo.getNome(), valor instanceof Enum<?> e ? e.name() : valor);
+        }
+        return mapa;
+    }
+
+    /**
+     * Carrega as rentabilidades diárias dos investimentos informados como projeção escalar,
+     * agrupadas por ID do investimento e ordenadas por data. Para investimentos vinculados a um
+     * instrumento a série é derivada das cotações compartilhadas.
+     */
+    static Map<Long, List<RentabilidadeDiariaDTO>> carregarRentabilidades(EntityManager em, Collection<Long> ids) {
+        Map<Long, List<RentabilidadeDiariaDTO>> porInvestimento = new HashMap<>();
+        List<Long> lista = new ArrayList<>(ids);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            List<Long> lote = lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size()));
+            // as duas origens são exclusivas por investimento, então cada lista recebe linhas de uma só
+            for (String consulta : new String[] {RENTABILIDADES_PROPRIAS, RENTABILIDADES_INSTRUMENTO}) {
+                List<Object[]> linhas = em.createQuery(consulta, Object[].class)
+                    .setParameter("ids", lote)
+                    .getResultList();
+                for (Object[] linha : linhas) {
+                    RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+                    LocalDate data = (LocalDate) linha[1];
+                    dto.setDataRentabilidadeDiaria(InvestimentoMapper.texto(data));
+                    dto.setValorDiarioAcao((BigDecimal) linha[2]);
+                    dto.setTaxaDiarioRentabilidade((BigDecimal) linha[3]);
+                    dto.setMontanteAcumuladoDiario((BigDecimal) linha[4]);
+                    porInvestimento.computeIfAbsent((Long) linha[0], k -> new ArrayList<>()).add(dto);
+                }
+            }
+        }
+        return porInvestimento;
+    }
+}
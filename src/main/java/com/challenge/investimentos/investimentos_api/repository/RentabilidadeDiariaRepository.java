@@ -0,0 +1,83 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositório JPA para a entidade RentabilidadeDiaria.
+ *
+ * As consultas de série retornam projeções escalares na ordem
+ * {@code [data, valorDiarioAcao, taxaDiarioRentabilidade, montanteAcumuladoDiario]},
+ * ordenadas por data e sem linhas com data nula.
+ *
+ * Um investimento tem série própria (linhas em RENTABILIDADE_DIARIA_TABLE) ou está vinculado a um
+ * {@code Instrumento}, caso em que a série é derivada das cotações compartilhadas: valor e taxa do
+ * instrumento e montante = número de ações × valor. Como as duas origens são exclusivas, as consultas
+ * públicas apenas concatenam a série própria com a derivada.
+ */
+public interface RentabilidadeDiariaRepository extends JpaRepository<RentabilidadeDiaria, Long> {
+
+    /**
+     * Busca a série diária de um investimento dentro de um intervalo de datas (inclusivo),
+     * própria ou derivada do instrumento vinculado.
+     *
+     * @param investimentoId ID do investimento
+     * @param inicio data inicial
+     * @param fim data final
+     * @return linhas escalares ordenadas por data
+     */
+    default List<Object[]> buscarSerie(Long investimentoId, LocalDate inicio, LocalDate fim) {
+        List<Object[]> propria = buscarSeriePropria(investimentoId, inicio, fim);
+        if (!propria.isEmpty()) return propria;
+        return buscarSerieInstrumento(investimentoId, inicio, fim);
+    }
+
+    /**
+     * Percorre toda a série diária de um investimento (própria ou derivada do instrumento vinculado)
+     * sem materializá-la em lista. Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param investimentoId ID do investimento
+     * @return stream de linhas escalares ordenadas por data
+     */
+    default Stream<Object[]> streamSerie(Long investimentoId) {
+        return Stream.concat(streamSeriePropria(investimentoId), streamSerieInstrumento(investimentoId));
+    }
+
+    /** Série armazenada no próprio investimento, dentro do intervalo. */
+    @Query("select r.dataRentabilidadeDiaria, r.valorDiarioAcao, r.taxaDiarioRentabilidade, r.montanteAcumuladoDiario"
+            + " from RentabilidadeDiaria r where r.investimento.id = :investimentoId"
+            + " and r.dataRentabilidadeDiaria between :inicio and :fim"
+            + " order by r.dataRentabilidadeDiaria")
+    List<Object[]> buscarSeriePropria(@Param("investimentoId") Long investimentoId,
+                                      @Param("inicio") LocalDate inicio,
+                                      @Param("fim") LocalDate fim);
+
+    /** Série derivada das cotações do instrumento vinculado, dentro do intervalo. */
+    @Query("select c.dataCotacao, c.valorAcao, c.taxaDiaria, c.valorAcao * i.numeroAcoesInicial"
+            + " from Investimento i join CotacaoInstrumento c on c.instrumento = i.instrumento"
+            + " where i.id = :investimentoId and c.dataCotacao between :inicio and :fim"
+            + " order by c.dataCotacao")
+    List<Object[]> buscarSerieInstrumento(@Param("investimentoId") Long investimentoId,
+                                          @Param("inicio") LocalDate inicio,
+                                          @Param("fim") LocalDate fim);
+
+    /** Série armazenada no próprio investimento. */
+    @Query("select r.dataRentabilidadeDiaria, r.valorDiarioAcao, r.taxaDiarioRentabilidade, r.montanteAcumuladoDiario"
+            + " from RentabilidadeDiaria r where r.investimento.id = :investimentoId"
+            + " and r.dataRentabilidadeDiaria is not null"
+            + " order by r.dataRentabilidadeDiaria")
+    Stream<Object[]> streamSeriePropria(@Param("investimentoId") Long investimentoId);
+
+    /** Série derivada das cotações do instrumento vinculado. */
+    @Query("select c.dataCotacao, c.valorAcao, c.taxaDiaria, c.valorAcao * i.numeroAcoesInicial"
+            + " from Investimento i join CotacaoInstrumento c on c.instrumento = i.instrumento"
+            + " where i.id = :investimentoId"
+            + " order by c.dataCotacao")
+    Stream<Object[]> streamSerieInstrumento(@Param("investimentoId") Long investimentoId);
+}
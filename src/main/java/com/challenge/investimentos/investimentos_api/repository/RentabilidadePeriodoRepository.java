@@ -0,0 +1,51 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório JPA para os períodos consolidados de rentabilidade.
+ */
+public interface RentabilidadePeriodoRepository extends JpaRepository<RentabilidadePeriodo, Long> {
+
+    /**
+     * Busca os períodos de um investimento em um intervalo de inícios de período (inclusivo).
+     *
+     * @param investimentoId ID do investimento
+     * @param granularidade granularidade dos períodos
+     * @param inicio menor início de período
+     * @param fim maior início de período
+     * @return períodos ordenados pelo início
+     */
+    List<RentabilidadePeriodo> findByInvestimento_IdAndGranularidadeAndInicioPeriodoBetweenOrderByInicioPeriodo(
+            Long investimentoId, GranularidadePeriodo granularidade, LocalDate inicio, LocalDate fim);
+
+    /**
+     * Busca os períodos de um investimento com os inícios informados.
+     *
+     * @param investimentoId ID do investimento
+     * @param granularidade granularidade dos períodos
+     * @param inicios inícios de período
+     * @return períodos encontrados
+     */
+    List<RentabilidadePeriodo> findByInvestimento_IdAndGranularidadeAndInicioPeriodoIn(
+            Long investimentoId, GranularidadePeriodo granularidade, Collection<LocalDate> inicios);
+
+    /**
+     * Remove todos os períodos consolidados de um investimento.
+     *
+     * @param investimentoId ID do investimento
+     * @return quantidade de linhas removidas
+     */
+    @Modifying
+    @Query("delete from RentabilidadePeriodo p where p.investimento.id = :investimentoId")
+    int deletarPorInvestimento(@Param("investimentoId") Long investimentoId);
+}
@@ -1,19 +1,41 @@
 package com.challenge.investimentos.investimentos_api.repository;
 
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repositório JPA para operações de persistência da entidade UsuarioInvestimento.
  * Fornece métodos para salvar, buscar, atualizar e remover usuários investidores.
+ * O CPF é buscado pela forma numérica, sem checar os dígitos verificadores, para que CPFs legados
+ * (gravados antes da validação) continuem sendo encontrados.
  */
-public interface UsuarioInvestimentoRepository extends JpaRepository<UsuarioInvestimento, Long> {
+public interface UsuarioInvestimentoRepository extends JpaRepository<UsuarioInvestimento, Long>, UsuarioInvestimentoRepositoryCustom {
 
     /**
      * Busca um usuário investidor pelo CPF de identificação.
      *
-     * param cpf CPF de identificação do usuário
+     * param cpf CPF do usuário (com ou sem máscara)
+     * return usuário investidor correspondente ou null se não encontrado ou se o CPF não tiver 11 dígitos
+     */
+    default UsuarioInvestimento findByCpf_Cpf(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        return numero >= 0 ? findByCpf_Numero(numero) : null;
+    }
+
+    /**
+     * Busca um usuário investidor pelo CPF compactado ({@link CpfValidator#compactar}).
+     *
+     * param numero CPF numérico
      * return usuário investidor correspondente ou null se não encontrado
      */
-    UsuarioInvestimento findByCpf_Cpf(String cpf);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO)
+    })
+    UsuarioInvestimento findByCpf_Numero(long numero);
 }
\ No newline at end of file
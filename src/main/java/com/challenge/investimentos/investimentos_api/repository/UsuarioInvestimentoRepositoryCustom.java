@@ -0,0 +1,21 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações customizadas do repositório de usuários investidores.
+ */
+public interface UsuarioInvestimentoRepositoryCustom {
+
+    /**
+     * Busca usuários investidores com seus investimentos projetados apenas nas colunas selecionadas.
+     *
+     * @param selecao campos e coleções solicitados para cada investimento
+     * @param cpf CPF do usuário investidor para filtrar, ou {@code null} para todos
+     * @return um mapa por usuário com {@code cpfIdentificacao} e a lista de investimentos projetados
+     */
+    List<Map<String, Object>> buscarProjecao(SelecaoCampos selecao, String cpf);
+}
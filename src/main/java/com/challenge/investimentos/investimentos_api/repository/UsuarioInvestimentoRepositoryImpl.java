@@ -0,0 +1,62 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação das operações customizadas de {@link UsuarioInvestimentoRepository}.
+ */
+public class UsuarioInvestimentoRepositoryImpl implements UsuarioInvestimentoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> buscarProjecao(SelecaoCampos selecao, String cpf) {
+        String jpql = "select u.id, u.cpf.cpf, " + ProjecaoInvestimentoSupport.expressoes(selecao)
+            + " from UsuarioInvestimento u left join u.investimentos i"
+            + (cpf != null ? " where u.cpf.numero = :cpf" : "")
+            + " order by u.id, i.id";
+        TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+        if (cpf != null) {
+            query.setParameter("cpf", CpfValidator.compactar(cpf));
+        }
+
+        Map<Long, Map<String, Object>> usuarios = new LinkedHashMap<>();
+        Map<Long, Map<String, Object>> investimentos = new LinkedHashMap<>();
+        for (Object[] linha : query.getResultList()) {
+            Map<String, Object> usuario = usuarios.computeIfAbsent((Long) linha[0], id -> {
+                Map<String, Object> mapa = new LinkedHashMap<>();
+                List<Map<String, Object>> lista = new ArrayList<>();
+                mapa.put("cpfIdentificacao", linha[1]);
+                mapa.put("dataUsuarioInvestimentos", lista);
+                mapa.put("investimentos", lista);
+                return mapa;
+            });
+            if (linha[2] == null) {
+                continue; // usuário sem investimentos (left join)
+            }
+            Map<String, Object> investimento = ProjecaoInvestimentoSupport.paraMapa(selecao, linha, 2);
+            ((List<Map<String, Object>>) usuario.get("investimentos")).add(investimento);
+            investimentos.put((Long) linha[2], investimento);
+        }
+
+        if (selecao.isIncluirRentabilidadeDiaria() && !investimentos.isEmpty()) {
+            Map<Long, List<RentabilidadeDiariaDTO>> rentabilidades =
+                ProjecaoInvestimentoSupport.carregarRentabilidades(em, investimentos.keySet());
+            investimentos.forEach((id, mapa) -> mapa.put("rentabilidadeDiaria", rentabilidades.getOrDefault(id, List.of())));
+        }
+        return new ArrayList<>(usuarios.values());
+    }
+}
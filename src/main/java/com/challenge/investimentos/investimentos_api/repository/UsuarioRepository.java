@@ -1,33 +1,50 @@
 package com.challenge.investimentos.investimentos_api.repository;
 
 import com.challenge.investimentos.investimentos_api.model.Usuario;
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repositório para operações de acesso a dados da entidade {@link Usuario}.
  *
  * Fornece métodos para buscar usuários por username, email e CPF.
+ * O username é resolvido como natural id ({@link UsuarioRepositoryCustom}); e-mail e CPF usam o cache de consultas.
  */
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-
-    /**
-     * Busca um usuário pelo nome de usuário.
-     * param username nome de usuário
-     * return usuário correspondente ou null se não encontrado
-     */
-    Usuario findByUsername(String username);
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
 
     /**
      * Busca um usuário pelo email.
      * param email email do usuário
      * return usuário correspondente ou null se não encontrado
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO)
+    })
     Usuario findByEmail(String email);
 
     /**
      * Busca um usuário pelo CPF.
-     * param cpf CPF do usuário
+     * param cpf CPF do usuário (com ou sem máscara)
+     * return usuário correspondente ou null se não encontrado
+     */
+    default Usuario findByCpf(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        return numero >= 0 ? findByCpfNumero(numero) : null;
+    }
+
+    /**
+     * Busca um usuário pelo CPF compactado ({@link CpfValidator#compactar}).
+     * param numero CPF numérico
      * return usuário correspondente ou null se não encontrado
      */
-    Usuario findByCpf(String cpf);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO)
+    })
+    Usuario findByCpfNumero(Long numero);
 }
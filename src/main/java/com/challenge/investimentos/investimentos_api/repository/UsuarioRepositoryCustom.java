@@ -0,0 +1,16 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.Usuario;
+
+/**
+ * Operações customizadas do repositório de usuários.
+ */
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Busca um usuário pelo nome de usuário (natural id, resolvido pelo cache de segundo nível).
+     * param username nome de usuário
+     * return usuário correspondente ou null se não encontrado
+     */
+    Usuario findByUsername(String username);
+}
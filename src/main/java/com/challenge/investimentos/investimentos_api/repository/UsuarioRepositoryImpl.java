@@ -0,0 +1,31 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementação das operações customizadas de {@link UsuarioRepository}.
+ */
+public class UsuarioRepositoryImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * {@inheritDoc}
+     *
+     * A busca pelo natural id consulta primeiro o cache de natural ids e o cache da entidade;
+     * só um cache miss chega ao Oracle.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Usuario findByUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        return em.unwrap(Session.class).bySimpleNaturalId(Usuario.class).load(username);
+    }
+}
@@ -0,0 +1,89 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Acumula rentabilidades diárias (ou períodos menores) em um único período consolidado.
+ *
+ * A taxa diária é tratada como percentual: o fator do período é o produto de
+ * {@code 1 + taxa / 100} e a taxa composta é {@code (fator - 1) * 100}.
+ */
+final class AcumuladorPeriodo {
+
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+    private static final int ESCALA_TAXA = 8;
+
+    private final GranularidadePeriodo granularidade;
+    private final LocalDate inicioPeriodo;
+
+    private LocalDate primeiraData;
+    private LocalDate ultimaData;
+    private BigDecimal abertura;
+    private BigDecimal fechamento;
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+    private BigDecimal fator = BigDecimal.ONE;
+    private BigDecimal montante;
+    private int dias;
+
+    AcumuladorPeriodo(GranularidadePeriodo granularidade, LocalDate inicioPeriodo) {
+        this.granularidade = granularidade;
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    LocalDate getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    /** Adiciona um dia da série; as datas devem chegar em ordem crescente. */
+    void adicionarDia(LocalDate data, BigDecimal valor, BigDecimal taxa, BigDecimal montanteDia) {
+        if (primeiraData == null) primeiraData = data;
+        ultimaData = data;
+        dias++;
+        registrarValor(valor, valor, valor, valor);
+        if (taxa != null) {
+            fator = fator.multiply(BigDecimal.ONE.add(taxa.divide(CEM, MathContext.DECIMAL64)), MathContext.DECIMAL64);
+        }
+        if (montanteDia != null) montante = montanteDia;
+    }
+
+    /** Adiciona um período já consolidado (ex: mês dentro do ano), em ordem crescente. */
+    void adicionarPeriodo(RentabilidadePeriodo periodo) {
+        if (primeiraData == null) primeiraData = periodo.getPrimeiraData();
+        ultimaData = periodo.getUltimaData();
+        dias += periodo.getQuantidadeDias() != null ? periodo.getQuantidadeDias() : 0;
+        registrarValor(periodo.getValorAbertura(), periodo.getValorFechamento(), periodo.getValorMinimo(), periodo.getValorMaximo());
+        if (periodo.getTaxaComposta() != null) {
+            fator = fator.multiply(BigDecimal.ONE.add(periodo.getTaxaComposta().divide(CEM, MathContext.DECIMAL64)), MathContext.DECIMAL64);
+        }
+        if (periodo.getMontanteFechamento() != null) montante = periodo.getMontanteFechamento();
+    }
+
+    private void registrarValor(BigDecimal primeiro, BigDecimal ultimo, BigDecimal menor, BigDecimal maior) {
+        if (abertura == null) abertura = primeiro;
+        if (ultimo != null) fechamento = ultimo;
+        if (menor != null && (minimo == null || menor.compareTo(minimo) < 0)) minimo = menor;
+        if (maior != null && (maximo == null || maior.compareTo(maximo) > 0)) maximo = maior;
+    }
+
+    /** Copia os valores acumulados para a entidade (nova ou existente). */
+    void aplicar(RentabilidadePeriodo destino) {
+        destino.setGranularidade(granularidade);
+        destino.setInicioPeriodo(inicioPeriodo);
+        destino.setPrimeiraData(primeiraData);
+        destino.setUltimaData(ultimaData);
+        destino.setValorAbertura(abertura);
+        destino.setValorFechamento(fechamento);
+        destino.setValorMinimo(minimo);
+        destino.setValorMaximo(maximo);
+        destino.setTaxaComposta(fator.subtract(BigDecimal.ONE).multiply(CEM).setScale(ESCALA_TAXA, RoundingMode.HALF_UP));
+        destino.setMontanteFechamento(montante);
+        destino.setQuantidadeDias(dias);
+    }
+}
@@ -1,15 +1,23 @@
 package com.challenge.investimentos.investimentos_api.service;
 
 
+import com.challenge.investimentos.investimentos_api.dto.ResumoBancoDTO;
+import com.challenge.investimentos.investimentos_api.model.Banco;
 import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.BancoRegistry;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pelas operações relacionadas a bancos associados aos investimentos dos usuários.
+ *
+ * Agrupamentos e filtros usam o código bancário ({@code INVESTIMENTO.CODIGO_BANCARIO}); o nome
+ * exibido vem do {@link BancoRegistry}. Investimentos em bancos fora do registro aparecem pelo nome informado.
  */
 @Service
 public class BancoService {
@@ -24,6 +32,15 @@ public class BancoService {
         this.investimentoRepository = investimentoRepository;
     }
 
+    /**
+     * Lista os bancos da tabela de referência.
+     *
+     * @return bancos em ordem de código bancário
+     */
+    public List<Banco> listarBancos() {
+        return BancoRegistry.atual().listar();
+    }
+
     /**
      * Lista os bancos distintos associados a um usuário investidor pelo CPF.
      *
@@ -32,10 +49,37 @@ public class BancoService {
      */
     @Transactional(readOnly = true)
     public List<String> listarBancosPorCpf(String cpf) {
-        // Busca todos os investimentos e depois extrai os nomes dos bancos distintos
-        return investimentoRepository.findByUsuarioInvestimento_Cpf_Cpf(cpf).stream()
-                .map(investimento -> investimento.getNomeBanco()) // <-- Linha corrigida
-                .distinct()
-                .collect(Collectors.toList());
+        long numero = CpfValidator.compactar(cpf);
+        if (numero < 0) return List.of();
+        BancoRegistry registro = BancoRegistry.atual();
+        List<String> nomes = new ArrayList<>();
+        for (Object[] linha : investimentoRepository.resumirPorBanco(numero)) {
+            if (linha[0] != null) nomes.add(registro.nome((Integer) linha[0]));
+        }
+        nomes.addAll(investimentoRepository.buscarBancosSemCodigo(numero));
+        return nomes;
+    }
+
+    /**
+     * Totaliza os investimentos de um usuário investidor por banco.
+     *
+     * @param cpf CPF do usuário investidor
+     * @return um resumo por código bancário (o grupo sem código, se houver, por último)
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoBancoDTO> resumirPorCpf(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        if (numero < 0) return List.of();
+        BancoRegistry registro = BancoRegistry.atual();
+        List<Object[]> linhas = investimentoRepository.resumirPorBanco(numero);
+        List<ResumoBancoDTO> resumo = new ArrayList<>(linhas.size());
+        ResumoBancoDTO semCodigo = null;
+        for (Object[] linha : linhas) {
+            Integer codigo = (Integer) linha[0];
+            ResumoBancoDTO item = new ResumoBancoDTO(codigo, registro.nome(codigo), (Long) linha[1], (BigDecimal) linha[2]);
+            if (codigo == null) semCodigo = item; else resumo.add(item);
+        }
+        if (semCodigo != null) resumo.add(semCodigo);
+        return resumo;
     }
-}
\ No newline at end of file
+}
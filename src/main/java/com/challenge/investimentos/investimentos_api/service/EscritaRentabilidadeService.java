@@ -0,0 +1,113 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.TicketEscritaDTO;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serviço de escrita (inclusão ou atualização por data) de rentabilidades diárias de um investimento.
+ *
+ * Por padrão grava na própria requisição. Com {@code investimentos.escrita-assincrona.habilitada=true}
+ * os dias vão para a {@link FilaEscritaRentabilidade} e a resposta é 202 com um ticket consultável.
+ */
+@Service
+public class EscritaRentabilidadeService {
+
+    /** Sugestão de espera (segundos) enviada em Retry-After quando a fila está cheia. */
+    private static final String RETRY_AFTER_SEGUNDOS = "1";
+
+    private final InvestimentoRepository investimentoRepository;
+    private final GravacaoRentabilidadeService gravacaoRentabilidadeService;
+    private final FilaEscritaRentabilidade fila;
+
+    public EscritaRentabilidadeService(InvestimentoRepository investimentoRepository,
+                                       GravacaoRentabilidadeService gravacaoRentabilidadeService,
+                                       ObjectProvider<FilaEscritaRentabilidade> fila) {
+        this.investimentoRepository = investimentoRepository;
+        this.gravacaoRentabilidadeService = gravacaoRentabilidadeService;
+        this.fila = fila.getIfAvailable();
+    }
+
+    /**
+     * Inclui ou atualiza dias de rentabilidade do investimento. Datas repetidas no corpo ficam com o último valor.
+     *
+     * param investimentoId ID do investimento
+     * param dtos dias a gravar
+     * return 200 quando gravado; 202 com ticket no modo assíncrono; 400 se algum dia for inválido;
+     *        404 se o investimento não existir; 409 se estiver vinculado a um instrumento;
+     *        503 com Retry-After se a fila estiver cheia
+     */
+    public ResponseEntity<?> registrar(Long investimentoId, List<RentabilidadeDiariaDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return ResponseEntity.badRequest().body("Lista de rentabilidades não pode ser vazia.");
+        }
+        TreeMap<LocalDate, RentabilidadeDiaria> porData = new TreeMap<>();
+        for (RentabilidadeDiariaDTO dto : dtos) {
+            LocalDate data = InvestimentoMapper.data(dto.getDataRentabilidadeDiaria());
+            if (data == null) {
+                return ResponseEntity.badRequest().body("Data inválida: " + dto.getDataRentabilidadeDiaria() + " (use dd-MM-yyyy)");
+            }
+            if (dto.getValorDiarioAcao() == null || dto.getTaxaDiarioRentabilidade() == null || dto.getMontanteAcumuladoDiario() == null) {
+                return ResponseEntity.badRequest().body("valorDiarioAcao, taxaDiarioRentabilidade e montanteAcumuladoDiario são obrigatórios ("
+                        + dto.getDataRentabilidadeDiaria() + ").");
+            }
+            porData.put(data, new RentabilidadeDiaria(data, dto.getValorDiarioAcao(),
+                    dto.getTaxaDiarioRentabilidade(), dto.getMontanteAcumuladoDiario()));
+        }
+        if (!investimentoRepository.existsById(investimentoId)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (investimentoRepository.existsByIdAndInstrumentoIsNotNull(investimentoId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Investimento vinculado a um instrumento: a série diária vem das cotações do instrumento.");
+        }
+
+        if (fila == null) {
+            gravacaoRentabilidadeService.gravar(Map.of(investimentoId, porData.values()));
+            return ResponseEntity.ok("Rentabilidades gravadas com sucesso.");
+        }
+
+        TicketEscritaDTO ticket;
+        try {
+            ticket = fila.enfileirar(investimentoId, new ArrayList<>(porData.values()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ticket = null;
+        }
+        if (ticket == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SEGUNDOS)
+                    .body("Fila de escrita cheia. Tente novamente em instantes.");
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/investimentos/rentabilidades/tickets/" + ticket.getTicket()))
+                .body(ticket);
+    }
+
+    /**
+     * Consulta a situação de uma escrita assíncrona.
+     * param ticket identificador devolvido no 202
+     * return 200 com a situação; 404 se desconhecido, expirado ou se o modo assíncrono estiver desligado
+     */
+    public ResponseEntity<?> consultarTicket(String ticket) {
+        TicketEscritaDTO situacao = fila != null ? fila.consultar(ticket) : null;
+        if (situacao == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(situacao);
+    }
+}
@@ -0,0 +1,238 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.FormatoExportacao;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Serviço de exportação completa da carteira (todos os investimentos e suas rentabilidades diárias).
+ *
+ * A consulta é uma projeção escalar percorrida com um cursor {@link ScrollMode#FORWARD_ONLY}
+ * e fetch size configurável; cada linha é escrita na saída assim que lida. Nenhuma entidade
+ * é gerenciada e o contexto de persistência é limpo a cada lote, de forma que a memória
+ * usada não depende do tamanho da carteira e o primeiro byte sai logo após o primeiro fetch.
+ */
+@Service
+public class ExportacaoInvestimentoService {
+
+    /**
+     * Investimentos (com usuário e série diária) ordenados para agrupar os dias de cada investimento.
+     * A série vem da tabela própria ou, para investimentos vinculados a um instrumento, das cotações
+     * compartilhadas (as duas junções são exclusivas por investimento).
+     */
+    private static final String CONSULTA = "select i.id, u.cpf.cpf, i.nomeBanco, i.tipoInvestimento, i.nomeInvestimento,"
+            + " i.montanteInicial, i.valorInicialAcao, i.taxaRentabilidade, i.numeroAcoesInicial,"
+            + " coalesce(r.dataRentabilidadeDiaria, c.dataCotacao), coalesce(r.valorDiarioAcao, c.valorAcao),"
+            + " coalesce(r.taxaDiarioRentabilidade, c.taxaDiaria),"
+            + " coalesce(r.montanteAcumuladoDiario, c.valorAcao * i.numeroAcoesInicial)"
+            + " from Investimento i left join i.usuarioInvestimento u left join i.rentabilidadeDiaria r"
+            + " left join CotacaoInstrumento c on c.instrumento = i.instrumento"
+            + " order by i.id, coalesce(r.dataRentabilidadeDiaria, c.dataCotacao)";
+
+    private static final String[] CABECALHO_CSV = {"id", "cpfIdentificacao", "nomeBanco", "tipoInvestimento",
+            "nomeInvestimento", "montanteInicial", "valorInicialAcao", "taxaRentabilidade", "numeroAcoesInicial",
+            "dataRentabilidadeDiaria", "valorDiarioAcao", "taxaDiarioRentabilidade", "montanteAcumuladoDiario"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int tamanhoLote;
+
+    public ExportacaoInvestimentoService(PlatformTransactionManager transactionManager,
+                                         ObjectMapper objectMapper,
+                                         @Value("${investimentos.exportacao.fetch-size:1000}") int fetchSize,
+                                         @Value("${investimentos.exportacao.tamanho-lote:5000}") int tamanhoLote) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Escreve toda a carteira na saída informada. Abre a própria transação (somente leitura),
+     * pois é executado na thread de escrita da resposta.
+     *
+     * param formato JSONL ou CSV
+     * param saida corpo da resposta
+     */
+    public void exportar(FormatoExportacao formato, OutputStream saida) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (ScrollableResults<Object[]> linhas = session.createSelectionQuery(CONSULTA, Object[].class)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true)
+                        .scroll(ScrollMode.FORWARD_ONLY);
+                 Escritor escritor = formato == FormatoExportacao.CSV ? new EscritorCsv(saida) : new EscritorJsonLines(saida)) {
+                int lidas = 0;
+                while (linhas.next()) {
+                    escritor.escrever(linhas.get());
+                    if (++lidas % tamanhoLote == 0) {
+                        session.clear();
+                        escritor.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** Escritor de um formato de exportação, alimentado linha a linha pela consulta. */
+    private interface Escritor extends AutoCloseable {
+        void escrever(Object[] linha) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /** Um objeto JSON por investimento e por linha, com a série diária aninhada. */
+    private final class EscritorJsonLines implements Escritor {
+
+        private final JsonGenerator gerador;
+        private Long investimentoAtual;
+
+        EscritorJsonLines(OutputStream saida) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida, JsonEncoding.UTF8);
+            this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gerador.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void escrever(Object[] linha) throws IOException {
+            Long id = (Long) linha[0];
+            if (!Objects.equals(id, investimentoAtual)) {
+                fecharInvestimento();
+                investimentoAtual = id;
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", id);
+                gerador.writeStringField("cpfIdentificacao", (String) linha[1]);
+                gerador.writeStringField("nomeBanco", (String) linha[2]);
+                gerador.writeStringField("tipoInvestimento", linha[3] != null ? ((Enum<?>) linha[3]).name() : null);
+                gerador.writeStringField("nomeInvestimento", (String) linha[4]);
+                escreverDecimal("montanteInicial", linha[5]);
+                escreverDecimal("valorInicialAcao", linha[6]);
+                escreverDecimal("taxaRentabilidade", linha[7]);
+                gerador.writeFieldName("numeroAcoesInicial");
+                if (linha[8] != null) gerador.writeNumber((Integer) linha[8]); else gerador.writeNull();
+                gerador.writeArrayFieldStart("rentabilidadeDiaria");
+            }
+            if (linha[9] != null) {
+                gerador.writeStartObject();
+                gerador.writeStringField("dataRentabilidadeDiaria", InvestimentoMapper.texto((LocalDate) linha[9]));
+                escreverDecimal("valorDiarioAcao", linha[10]);
+                escreverDecimal("taxaDiarioRentabilidade", linha[11]);
+                escreverDecimal("montanteAcumuladoDiario", linha[12]);
+                gerador.writeEndObject();
+            }
+        }
+
+        private void escreverDecimal(String campo, Object valor) throws IOException {
+            gerador.writeFieldName(campo);
+            if (valor != null) gerador.writeNumber((BigDecimal) valor); else gerador.writeNull();
+        }
+
+        private void fecharInvestimento() throws IOException {
+            if (investimentoAtual != null) {
+                gerador.writeEndArray();
+                gerador.writeEndObject();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            gerador.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            fecharInvestimento();
+            if (investimentoAtual != null) {
+                gerador.writeRaw('\n');
+            }
+            gerador.close();
+        }
+    }
+
+    /** Uma linha CSV por dia de rentabilidade (investimentos sem série geram uma linha sem os dados diários). */
+    private static final class EscritorCsv implements Escritor {
+
+        private final Writer writer;
+
+        EscritorCsv(OutputStream saida) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+            writer.write(String.join(",", CABECALHO_CSV));
+            writer.write('\n');
+        }
+
+        @Override
+        public void escrever(Object[] linha) throws IOException {
+            for (int i = 0; i < linha.length; i++) {
+                if (i > 0) writer.write(',');
+                Object valor = linha[i];
+                if (valor == null) continue;
+                if (valor instanceof LocalDate data) {
+                    writer.write(InvestimentoMapper.texto(data));
+                } else if (valor instanceof BigDecimal decimal) {
+                    writer.write(decimal.toPlainString());
+                } else if (valor instanceof Enum<?> e) {
+                    writer.write(e.name());
+                } else {
+                    escreverTexto(valor.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void escreverTexto(String texto) throws IOException {
+            boolean precisaAspas = texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                    || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0;
+            if (!precisaAspas) {
+                writer.write(texto);
+                return;
+            }
+            writer.write('"');
+            writer.write(texto.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // apenas descarrega: o corpo da resposta é fechado pelo container
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.TicketEscritaDTO;
+import com.challenge.investimentos.investimentos_api.enums.EstadoTicketEscrita;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de escrita assíncrona (write-behind) de rentabilidades diárias.
+ *
+ * As requisições entram em uma fila limitada e recebem um ticket. Uma thread de escrita retira os
+ * itens, junta os dias por investimento (a última escrita de uma data prevalece) e grava tudo em uma
+ * transação quando o lote atinge {@code tamanho-lote} dias ou quando {@code intervalo-ms} se passa
+ * desde o primeiro item. Com a fila cheia, {@link #enfileirar} espera até {@code espera-maxima-ms}
+ * e então recusa (o chamador responde 503). No desligamento a fila é esvaziada antes do fim do contexto.
+ *
+ * Métricas: {@code investimentos.escrita.fila.profundidade}, {@code investimentos.escrita.flush}
+ * (latência do flush), {@code investimentos.escrita.dias} e {@code investimentos.escrita.rejeitadas}.
+ */
+@Component
+@ConditionalOnProperty(name = "investimentos.escrita-assincrona.habilitada", havingValue = "true")
+public class FilaEscritaRentabilidade implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaEscritaRentabilidade.class);
+
+    /** Tickets finalizados mantidos para consulta; os mais antigos são descartados. */
+    static final int LIMITE_TICKETS_FINALIZADOS = 10_000;
+
+    private final GravacaoRentabilidadeService gravacaoRentabilidadeService;
+    private final BlockingQueue<ItemFila> fila;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final long esperaMaximaMs;
+
+    private final Map<String, TicketEscritaDTO> tickets = new ConcurrentHashMap<>();
+    /** Ordem de finalização dos tickets; acessada apenas pela thread de escrita. */
+    private final Deque<String> ticketsFinalizados = new ArrayDeque<>();
+
+    private final Timer tempoFlush;
+    private final Counter diasGravados;
+    private final Counter rejeitadas;
+
+    private volatile boolean ativo;
+    private Thread escritor;
+
+    public FilaEscritaRentabilidade(GravacaoRentabilidadeService gravacaoRentabilidadeService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${investimentos.escrita-assincrona.capacidade:10000}") int capacidade,
+                                    @Value("${investimentos.escrita-assincrona.tamanho-lote:5000}") int tamanhoLote,
+                                    @Value("${investimentos.escrita-assincrona.intervalo-ms:200}") long intervaloMs,
+                                    @Value("${investimentos.escrita-assincrona.espera-maxima-ms:50}") long esperaMaximaMs) {
+        this.gravacaoRentabilidadeService = gravacaoRentabilidadeService;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.esperaMaximaMs = esperaMaximaMs;
+
+        Gauge.builder("investimentos.escrita.fila.profundidade", fila, Collection::size)
+                .description("Requisições aguardando gravação")
+                .register(meterRegistry);
+        this.tempoFlush = Timer.builder("investimentos.escrita.flush")
+                .description("Latência de cada flush da fila (transação completa)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.diasGravados = Counter.builder("investimentos.escrita.dias")
+                .description("Dias de rentabilidade gravados pela fila")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("investimentos.escrita.rejeitadas")
+                .description("Requisições recusadas por fila cheia ou desligamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Coloca os dias de um investimento na fila.
+     *
+     * param investimentoId ID do investimento (já verificado)
+     * param dias dias a gravar, no máximo um por data
+     * return ticket PENDENTE, ou {@code null} se a fila continuou cheia pelo tempo máximo de espera
+     *        ou está sendo desligada
+     */
+    public TicketEscritaDTO enfileirar(Long investimentoId, List<RentabilidadeDiaria> dias) throws InterruptedException {
+        TicketEscritaDTO ticket = new TicketEscritaDTO(UUID.randomUUID().toString(), investimentoId, dias.size(),
+                EstadoTicketEscrita.PENDENTE, null);
+        tickets.put(ticket.getTicket(), ticket);
+        if (!ativo || !fila.offer(new ItemFila(ticket, dias), esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+            tickets.remove(ticket.getTicket());
+            rejeitadas.increment();
+            return null;
+        }
+        return ticket;
+    }
+
+    /**
+     * Consulta a situação de um ticket.
+     * param ticket identificador devolvido no 202
+     * return situação atual, ou {@code null} se desconhecido ou já descartado
+     */
+    public TicketEscritaDTO consultar(String ticket) {
+        return tickets.get(ticket);
+    }
+
+    /** Quantidade de requisições aguardando gravação. */
+    public int getProfundidade() {
+        return fila.size();
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        escritor = new Thread(this::executar, "escrita-rentabilidade");
+        escritor.start();
+    }
+
+    /**
+     * Para de aceitar novos itens e aguarda a thread de escrita gravar tudo o que está na fila.
+     */
+    @Override
+    public void stop() {
+        ativo = false;
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    /**
+     * Para depois do servidor web (fase menor = para por último), para que requisições
+     * aceitas durante o desligamento gracioso ainda sejam gravadas.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void executar() {
+        while (ativo || !fila.isEmpty()) {
+            try {
+                ItemFila primeiro = fila.poll(TimeUnit.NANOSECONDS.toMillis(intervaloNanos), TimeUnit.MILLISECONDS);
+                if (primeiro == null) continue;
+                List<ItemFila> lote = new ArrayList<>();
+                lote.add(primeiro);
+                int dias = primeiro.dias().size();
+                long limite = System.nanoTime() + intervaloNanos;
+                while (dias < tamanhoLote) {
+                    long restante = limite - System.nanoTime();
+                    ItemFila proximo = restante > 0 && ativo ? fila.poll(restante, TimeUnit.NANOSECONDS) : fila.poll();
+                    if (proximo == null) break;
+                    lote.add(proximo);
+                    dias += proximo.dias().size();
+                }
+                gravar(lote);
+            } catch (InterruptedException e) {
+                // só interrompida no desligamento: o laço esvazia o que restou
+                ativo = false;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na thread de escrita de rentabilidades", e);
+            }
+        }
+        log.info("Fila de escrita de rentabilidades esvaziada");
+    }
+
+    /** Junta os dias por investimento e data e grava o lote em uma transação. */
+    void gravar(List<ItemFila> lote) {
+        Map<Long, TreeMap<LocalDate, RentabilidadeDiaria>> porInvestimento = new HashMap<>();
+        for (ItemFila item : lote) {
+            TreeMap<LocalDate, RentabilidadeDiaria> dias = porInvestimento
+                    .computeIfAbsent(item.ticket().getInvestimentoId(), id -> new TreeMap<>());
+            item.dias().forEach(dia -> dias.put(dia.getDataRentabilidadeDiaria(), dia));
+        }
+        Map<Long, Collection<RentabilidadeDiaria>> diasPorInvestimento = new HashMap<>();
+        porInvestimento.forEach((id, dias) -> diasPorInvestimento.put(id, dias.values()));
+
+        long inicio = System.nanoTime();
+        try {
+            Set<Long> gravados = gravacaoRentabilidadeService.gravar(diasPorInvestimento);
+            for (ItemFila item : lote) {
+                boolean gravado = gravados.contains(item.ticket().getInvestimentoId());
+                finalizar(item.ticket(), gravado ? EstadoTicketEscrita.CONCLUIDO : EstadoTicketEscrita.FALHOU,
+                        gravado ? null : "Investimento não encontrado");
+            }
+            gravados.forEach(id -> diasGravados.increment(diasPorInvestimento.get(id).size()));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote da fila de escrita ({} requisições)", lote.size(), e);
+            String mensagem = "Falha ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            lote.forEach(item -> finalizar(item.ticket(), EstadoTicketEscrita.FALHOU, mensagem));
+        } finally {
+            tempoFlush.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void finalizar(TicketEscritaDTO ticket, EstadoTicketEscrita estado, String mensagem) {
+        tickets.put(ticket.getTicket(), new TicketEscritaDTO(ticket.getTicket(), ticket.getInvestimentoId(),
+                ticket.getDias(), estado, mensagem));
+        ticketsFinalizados.addLast(ticket.getTicket());
+        while (ticketsFinalizados.size() > LIMITE_TICKETS_FINALIZADOS) {
+            tickets.remove(ticketsFinalizados.pollFirst());
+        }
+    }
+
+    /** Requisição enfileirada. */
+    record ItemFila(TicketEscritaDTO ticket, List<RentabilidadeDiaria> dias) {}
+}
@@ -0,0 +1,73 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Grava dias de rentabilidade (insert ou update por investimento e data) de vários investimentos
+ * em uma transação, recalculando os períodos consolidados afetados e registrando INVESTIMENTO_ATUALIZADO
+ * no outbox. Usado pela escrita síncrona e pelo flush da fila de escrita assíncrona.
+ *
+ * As carteiras dos donos são travadas ({@link TravaCarteira}) antes do MERGE, então a gravação não se
+ * intercala com a atualização do mesmo investidor e os eventos dele saem em ordem.
+ */
+@Service
+public class GravacaoRentabilidadeService {
+
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final OutboxRepository outboxRepository;
+    private final TravaCarteira travaCarteira;
+
+    public GravacaoRentabilidadeService(CarteiraBulkRepository carteiraBulkRepository,
+                                        RentabilidadePeriodoService rentabilidadePeriodoService,
+                                        OutboxRepository outboxRepository,
+                                        TravaCarteira travaCarteira) {
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.outboxRepository = outboxRepository;
+        this.travaCarteira = travaCarteira;
+    }
+
+    /**
+     * Grava os dias de cada investimento; investimentos que não existem mais são ignorados.
+     *
+     * param diasPorInvestimento dias por ID do investimento (no máximo um por data)
+     * return IDs dos investimentos efetivamente gravados
+     */
+    @Transactional
+    public Set<Long> gravar(Map<Long, ? extends Collection<RentabilidadeDiaria>> diasPorInvestimento) {
+        travaCarteira.travar(carteiraBulkRepository.buscarCpfsDosInvestimentos(diasPorInvestimento.keySet()));
+        Set<Long> existentes = carteiraBulkRepository.buscarInvestimentosExistentes(diasPorInvestimento.keySet());
+        List<RentabilidadeDiaria> dias = new ArrayList<>();
+        diasPorInvestimento.forEach((id, lista) -> {
+            if (!existentes.contains(id)) return;
+            Investimento investimento = new Investimento();
+            investimento.setId(id);
+            for (RentabilidadeDiaria dia : lista) {
+                dia.setInvestimento(investimento);
+                dias.add(dia);
+            }
+        });
+        carteiraBulkRepository.mesclarRentabilidades(dias);
+        for (Long id : existentes) {
+            List<LocalDate> datas = new ArrayList<>();
+            diasPorInvestimento.get(id).forEach(dia -> datas.add(dia.getDataRentabilidadeDiaria()));
+            rentabilidadePeriodoService.recalcularDatas(id, datas);
+        }
+        outboxRepository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, existentes);
+        return existentes;
+    }
+}
@@ -0,0 +1,176 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Suporte ao header {@code Idempotency-Key} nas criações de investimento.
+ *
+ * Guarda em memória, por (usuário autenticado, chave), apenas o status e o corpo da resposta
+ * original, além de um hash do corpo da requisição, por {@code investimentos.idempotencia.ttl}.
+ * Uma repetição com a mesma chave devolve a resposta guardada sem executar a operação;
+ * repetições concorrentes aguardam a primeira terminar. Respostas 5xx não são guardadas,
+ * para que o cliente possa tentar novamente.
+ */
+@Service
+public class IdempotenciaService {
+
+    public static final String HEADER = "Idempotency-Key";
+    /** Header presente nas respostas devolvidas a partir do armazenamento. */
+    public static final String HEADER_REPETICAO = "Idempotent-Replayed";
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+    /** A cada quantos registros novos as chaves expiradas são removidas. */
+    private static final int INTERVALO_LIMPEZA = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long esperaMaximaMillis;
+
+    private final Map<ChaveIdempotencia, Registro> registros = new ConcurrentHashMap<>();
+    private final AtomicInteger registrosDesdeLimpeza = new AtomicInteger();
+
+    @Autowired
+    public IdempotenciaService(ObjectMapper objectMapper,
+                               @Value("${investimentos.idempotencia.ttl:24h}") Duration ttl,
+                               @Value("${investimentos.idempotencia.espera-maxima:30s}") Duration esperaMaxima) {
+        this(objectMapper, Clock.systemUTC(), ttl, esperaMaxima);
+    }
+
+    IdempotenciaService(ObjectMapper objectMapper, Clock clock, Duration ttl, Duration esperaMaxima) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.esperaMaximaMillis = esperaMaxima.toMillis();
+    }
+
+    /**
+     * Executa a operação uma única vez por (usuário, chave).
+     *
+     * param chave valor do header Idempotency-Key; se {@code null} a operação é executada normalmente
+     * param corpo corpo da requisição, usado para detectar reuso da chave com outro conteúdo
+     * param operacao criação a executar
+     * return resposta da operação ou a resposta original guardada; 400 se a chave for inválida;
+     *         422 se a chave já foi usada com outro corpo; 409 se a original ainda não terminou
+     *         dentro do tempo de espera
+     */
+    public ResponseEntity<String> executar(String chave, Object corpo, Supplier<ResponseEntity<String>> operacao) {
+        if (chave == null) {
+            return operacao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            return ResponseEntity.badRequest().body(HEADER + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+        }
+
+        ChaveIdempotencia id = new ChaveIdempotencia(usuarioAtual(), chave);
+        byte[] hash = hash(corpo);
+        long agora = clock.millis();
+        Registro novo = new Registro(hash, agora + ttlMillis);
+        while (true) {
+            Registro existente = registros.putIfAbsent(id, novo);
+            if (existente == null) break;
+            if (existente.expiraEm <= agora) {
+                if (registros.replace(id, existente, novo)) break;
+                continue;
+            }
+            return repetir(existente, hash);
+        }
+        if (registrosDesdeLimpeza.incrementAndGet() >= INTERVALO_LIMPEZA) {
+            registrosDesdeLimpeza.set(0);
+            registros.values().removeIf(r -> r.expiraEm <= agora && r.resposta.isDone());
+        }
+
+        ResponseEntity<String> resposta;
+        try {
+            resposta = operacao.get();
+        } catch (RuntimeException e) {
+            registros.remove(id, novo);
+            novo.resposta.completeExceptionally(e);
+            throw e;
+        }
+        if (resposta.getStatusCode().is5xxServerError()) {
+            registros.remove(id, novo);
+        }
+        novo.resposta.complete(new RespostaGuardada(resposta.getStatusCode().value(), resposta.getBody()));
+        return resposta;
+    }
+
+    /** Quantidade de chaves guardadas (inclusive expiradas ainda não removidas). */
+    int getQuantidadeChaves() {
+        return registros.size();
+    }
+
+    private ResponseEntity<String> repetir(Registro existente, byte[] hash) {
+        if (!Arrays.equals(existente.hashCorpo, hash)) {
+            return ResponseEntity.unprocessableEntity()
+                    .body(HEADER + " já utilizada com outro corpo de requisição.");
+        }
+        RespostaGuardada guardada;
+        try {
+            guardada = existente.resposta.get(esperaMaximaMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Requisição original com esta " + HEADER + " ainda em processamento.");
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("A requisição original com esta " + HEADER + " falhou. Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(guardada.status())
+                .header(HEADER_REPETICAO, "true")
+                .body(guardada.corpo());
+    }
+
+    private static String usuarioAtual() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "";
+    }
+
+    private byte[] hash(Object corpo) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(corpo));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular o hash da requisição", e);
+        }
+    }
+
+    private record ChaveIdempotencia(String usuario, String chave) {}
+
+    private record RespostaGuardada(int status, String corpo) {}
+
+    /** Entrada do armazenamento: a resposta fica pendente até a primeira execução terminar. */
+    private static final class Registro {
+        private final byte[] hashCorpo;
+        private final long expiraEm;
+        private final CompletableFuture<RespostaGuardada> resposta = new CompletableFuture<>();
+
+        Registro(byte[] hashCorpo, long expiraEm) {
+            this.hashCorpo = hashCorpo;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
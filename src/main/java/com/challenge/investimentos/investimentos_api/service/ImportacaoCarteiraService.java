@@ -0,0 +1,273 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RelatorioImportacaoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de importação em massa de usuários investidores e suas carteiras a partir de NDJSON
+ * (um {@link UsuarioInvestimentoDTO} por linha).
+ *
+ * O corpo é lido linha a linha em lotes: cada lote é desserializado e validado em paralelo e
+ * gravado em uma transação própria via JDBC batch ({@link CarteiraBulkRepository}), sem passar
+ * pelo contexto de persistência. Os investimentos do CPF importado são substituídos, como em
+ * {@code PUT /api/usuario-investimentos}, e os períodos consolidados são calculados em memória.
+ * Erros de uma linha não interrompem a importação; falhas de gravação invalidam só o lote.
+ */
+@Service
+public class ImportacaoCarteiraService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoCarteiraService.class);
+
+
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader leitor;
+    private final Validator validator;
+    private final TravaCarteira travaCarteira;
+    private final OutboxRepository outboxRepository;
+    private final int tamanhoLote;
+
+    public ImportacaoCarteiraService(CarteiraBulkRepository carteiraBulkRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     Validator validator,
+                                     TravaCarteira travaCarteira,
+                                     OutboxRepository outboxRepository,
+                                     @Value("${investimentos.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leitor = objectMapper.readerFor(UsuarioInvestimentoDTO.class);
+        this.validator = validator;
+        this.travaCarteira = travaCarteira;
+        this.outboxRepository = outboxRepository;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Importa as carteiras contidas no corpo NDJSON. Linhas em branco são ignoradas.
+     *
+     * param entrada corpo da requisição (UTF-8)
+     * return 200 com o relatório da importação (inclusive quando há linhas com erro)
+     */
+    public ResponseEntity<RelatorioImportacaoDTO> importar(InputStream entrada) throws IOException {
+        long inicio = System.nanoTime();
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+
+        List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+        long numero = 0;
+        String texto;
+        while ((texto = reader.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) continue;
+            lote.add(new LinhaImportacao(numero, texto));
+            if (lote.size() == tamanhoLote) {
+                processarLote(lote, relatorio);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            processarLote(lote, relatorio);
+        }
+
+        relatorio.setLinhasLidas(numero);
+        relatorio.setDuracaoMs((System.nanoTime() - inicio) / 1_000_000);
+        log.info("Importação concluída: {} linhas, {} carteiras, {} erros em {} ms", numero,
+                relatorio.getCarteirasImportadas(), relatorio.getTotalErros(), relatorio.getDuracaoMs());
+        return ResponseEntity.ok(relatorio);
+    }
+
+    private void processarLote(List<LinhaImportacao> lote, RelatorioImportacaoDTO relatorio) {
+        // desserialização e validação não dependem umas das outras: uma linha por tarefa
+        List<CarteiraImportada> validas = lote.parallelStream()
+                .map(this::converter)
+                .toList();
+
+        // mesmo CPF repetido no lote: prevalece a última linha
+        Map<String, CarteiraImportada> porCpf = new LinkedHashMap<>();
+        for (CarteiraImportada carteira : validas) {
+            if (carteira.erro() != null) {
+                relatorio.adicionarErro(carteira.linha(), carteira.erro());
+                continue;
+            }
+            CarteiraImportada anterior = porCpf.remove(carteira.cpf());
+            if (anterior != null) {
+                relatorio.adicionarErro(anterior.linha(), "CPF " + carteira.cpf() + " substituído pela linha " + carteira.linha());
+            }
+            porCpf.put(carteira.cpf(), carteira);
+        }
+        if (porCpf.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravar(porCpf));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de importação (linhas {} a {})", lote.get(0).numero(),
+                    lote.get(lote.size() - 1).numero(), e);
+            String mensagem = "Falha ao gravar o lote: " + mensagemRaiz(e);
+            porCpf.values().forEach(carteira -> relatorio.adicionarErro(carteira.linha(), mensagem));
+            return;
+        }
+
+        for (CarteiraImportada carteira : porCpf.values()) {
+            relatorio.setCarteirasImportadas(relatorio.getCarteirasImportadas() + 1);
+            relatorio.setInvestimentosImportados(relatorio.getInvestimentosImportados() + carteira.investimentos().size());
+            for (Investimento investimento : carteira.investimentos()) {
+                relatorio.setRentabilidadesImportadas(relatorio.getRentabilidadesImportadas()
+                        + investimento.getRentabilidadeDiaria().size());
+            }
+        }
+    }
+
+    private void gravar(Map<String, CarteiraImportada> porCpf) {
+        Map<String, Long> usuarioIds = carteiraBulkRepository.garantirUsuarios(porCpf.keySet());
+        // depois de garantir os usuários, para que o modo BANCO também trave as linhas recém-criadas
+        travaCarteira.travar(porCpf.keySet());
+        carteiraBulkRepository.removerInvestimentos(usuarioIds.values());
+
+        List<Investimento> investimentos = new ArrayList<>();
+        for (CarteiraImportada carteira : porCpf.values()) {
+            UsuarioInvestimento usuario = new UsuarioInvestimento();
+            usuario.setId(usuarioIds.get(carteira.cpf()));
+            for (Investimento investimento : carteira.investimentos()) {
+                investimento.setUsuarioInvestimento(usuario);
+                investimentos.add(investimento);
+            }
+        }
+        carteiraBulkRepository.inserirInvestimentos(investimentos);
+
+        List<RentabilidadeDiaria> rentabilidades = new ArrayList<>();
+        List<RentabilidadePeriodo> periodos = new ArrayList<>();
+        for (Investimento investimento : investimentos) {
+            rentabilidades.addAll(investimento.getRentabilidadeDiaria());
+            if (!investimento.getRentabilidadeDiaria().isEmpty()) {
+                periodos.addAll(RentabilidadePeriodoService.consolidar(investimento, investimento.getRentabilidadeDiaria()));
+            }
+        }
+        carteiraBulkRepository.inserirRentabilidades(rentabilidades);
+        carteiraBulkRepository.inserirPeriodos(periodos);
+        outboxRepository.registrarPorCpf(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, porCpf.keySet());
+    }
+
+    /**
+     * Desserializa e valida uma linha, montando as entidades (ainda sem IDs).
+     * Nunca lança exceção: o problema é devolvido em {@link CarteiraImportada#erro()}.
+     */
+    private CarteiraImportada converter(LinhaImportacao linha) {
+        UsuarioInvestimentoDTO dto;
+        try {
+            dto = leitor.readValue(linha.texto());
+        } catch (JsonProcessingException e) {
+            return CarteiraImportada.erro(linha.numero(), "JSON inválido: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<UsuarioInvestimentoDTO>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            String mensagem = violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return CarteiraImportada.erro(linha.numero(), mensagem);
+        }
+
+        String cpf = CpfValidator.normalizar(dto.getCpfIdentificacao());
+        if (cpf == null) {
+            return CarteiraImportada.erro(linha.numero(), "CPF inválido: " + dto.getCpfIdentificacao());
+        }
+
+        List<InvestimentoDTO> investimentosDTO = dto.getDataUsuarioInvestimentos() != null
+                ? dto.getDataUsuarioInvestimentos() : dto.getInvestimentos();
+        if (investimentosDTO == null || investimentosDTO.isEmpty()) {
+            return CarteiraImportada.erro(linha.numero(), "Lista de investimentos não pode ser vazia.");
+        }
+
+        List<Investimento> investimentos = new ArrayList<>(investimentosDTO.size());
+        for (int i = 0; i < investimentosDTO.size(); i++) {
+            InvestimentoDTO investDTO = investimentosDTO.get(i);
+            TipoInvestimentoEnum tipo = InvestimentoMapper.tipo(investDTO.getTipoInvestimento());
+            if (tipo == null) {
+                return CarteiraImportada.erro(linha.numero(),
+                        "investimentos[" + i + "]: tipo de investimento inválido: " + investDTO.getTipoInvestimento());
+            }
+            Investimento investimento = new Investimento();
+            InvestimentoMapper.copiarCampos(investDTO, investimento, tipo);
+
+            List<RentabilidadeDiariaDTO> diasDTO = investDTO.getRentabilidadeDiaria() != null
+                    ? investDTO.getRentabilidadeDiaria() : List.of();
+            List<RentabilidadeDiaria> rentabilidades = new ArrayList<>(diasDTO.size());
+            Set<LocalDate> datas = new HashSet<>(diasDTO.size() * 2);
+            for (RentabilidadeDiariaDTO rdDTO : diasDTO) {
+                LocalDate data = InvestimentoMapper.data(rdDTO.getDataRentabilidadeDiaria());
+                if (data == null) {
+                    return CarteiraImportada.erro(linha.numero(),
+                            "investimentos[" + i + "]: data inválida: " + rdDTO.getDataRentabilidadeDiaria());
+                }
+                if (!datas.add(data)) {
+                    return CarteiraImportada.erro(linha.numero(),
+                            "investimentos[" + i + "]: data repetida: " + rdDTO.getDataRentabilidadeDiaria());
+                }
+                rentabilidades.add(new RentabilidadeDiaria(data, rdDTO.getValorDiarioAcao(),
+                        rdDTO.getTaxaDiarioRentabilidade(), rdDTO.getMontanteAcumuladoDiario()));
+            }
+            investimento.setRentabilidadeDiaria(rentabilidades);
+            investimentos.add(investimento);
+        }
+        return new CarteiraImportada(linha.numero(), cpf, investimentos, null);
+    }
+
+    private static String mensagemRaiz(Throwable e) {
+        Throwable raiz = e;
+        while (raiz.getCause() != null && raiz.getCause() != raiz) {
+            raiz = raiz.getCause();
+        }
+        return raiz.getMessage() != null ? raiz.getMessage() : raiz.getClass().getSimpleName();
+    }
+
+    /** Linha bruta do arquivo, com seu número (a partir de 1). */
+    private record LinhaImportacao(long numero, String texto) {}
+
+    /** Resultado da conversão de uma linha: a carteira pronta para gravação ou a mensagem de erro. */
+    private record CarteiraImportada(long linha, String cpf, List<Investimento> investimentos, String erro) {
+
+        static CarteiraImportada erro(long linha, String mensagem) {
+            return new CarteiraImportada(linha, null, List.of(), mensagem);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RelatorioIngestaoCotacoesDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.LeitorCsvCotacoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço de ingestão do arquivo CSV diário de cotações do fornecedor (todas as posições em um arquivo).
+ *
+ * O arquivo é lido em streaming por {@link LeitorCsvCotacoes}; as linhas são acumuladas em lotes de
+ * {@code investimentos.cotacoes.tamanho-lote}, agrupadas por investimento e data e gravadas com MERGE
+ * em JDBC batch, uma transação por lote. Na mesma transação os períodos consolidados afetados são
+ * recalculados, com as carteiras dos donos travadas ({@link TravaCarteira}) para não intercalar com
+ * as gravações do frontend no mesmo investidor. Linhas inválidas, de investimentos inexistentes ou de investimentos vinculados a um instrumento
+ * (cuja série vem das cotações compartilhadas) entram no relatório sem interromper a carga.
+ */
+@Service
+public class IngestaoCotacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaoCotacaoService.class);
+
+    private static final Comparator<CotacaoLida> POR_INVESTIMENTO_E_DATA = Comparator
+            .comparingLong(CotacaoLida::investimentoId)
+            .thenComparing(c -> c.dia().getDataRentabilidadeDiaria());
+
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final OutboxRepository outboxRepository;
+    private final TravaCarteira travaCarteira;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public IngestaoCotacaoService(CarteiraBulkRepository carteiraBulkRepository,
+                                  RentabilidadePeriodoService rentabilidadePeriodoService,
+                                  OutboxRepository outboxRepository,
+                                  TravaCarteira travaCarteira,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${investimentos.cotacoes.tamanho-lote:5000}") int tamanhoLote) {
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.outboxRepository = outboxRepository;
+        this.travaCarteira = travaCarteira;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Ingere o CSV de cotações ({@code investimentoId,data,valorDiarioAcao,taxaDiarioRentabilidade,montanteAcumuladoDiario}).
+     *
+     * param entrada conteúdo do arquivo (UTF-8)
+     * return 200 com o relatório da ingestão, incluindo linhas por segundo
+     */
+    public ResponseEntity<RelatorioIngestaoCotacoesDTO> ingerir(InputStream entrada) throws IOException {
+        long inicio = System.nanoTime();
+        RelatorioIngestaoCotacoesDTO relatorio = new RelatorioIngestaoCotacoesDTO();
+        Set<Long> investimentosAtualizados = new HashSet<>();
+
+        List<CotacaoLida> lote = new ArrayList<>(tamanhoLote);
+        LeitorCsvCotacoes leitor = new LeitorCsvCotacoes(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        long linhas = leitor.ler(new LeitorCsvCotacoes.Consumidor() {
+            @Override
+            public void cotacao(long linha, long investimentoId, LocalDate data,
+                                BigDecimal valor, BigDecimal taxa, BigDecimal montante) {
+                lote.add(new CotacaoLida(linha, investimentoId, new RentabilidadeDiaria(data, valor, taxa, montante)));
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(lote, relatorio, investimentosAtualizados);
+                    lote.clear();
+                }
+            }
+
+            @Override
+            public void erro(long linha, String mensagem) {
+                relatorio.adicionarErro(linha, mensagem);
+            }
+        });
+        if (!lote.isEmpty()) {
+            gravarLote(lote, relatorio, investimentosAtualizados);
+        }
+
+        long duracaoNs = System.nanoTime() - inicio;
+        relatorio.setLinhasLidas(linhas);
+        relatorio.setInvestimentosAtualizados(investimentosAtualizados.size());
+        relatorio.setDuracaoMs(duracaoNs / 1_000_000);
+        relatorio.setLinhasPorSegundo(duracaoNs > 0 ? relatorio.getLinhasGravadas() * 1_000_000_000L / duracaoNs : 0);
+        log.info("Ingestão de cotações concluída: {} linhas gravadas, {} erros em {} ms ({} linhas/s)",
+                relatorio.getLinhasGravadas(), relatorio.getTotalErros(), relatorio.getDuracaoMs(),
+                relatorio.getLinhasPorSegundo());
+        return ResponseEntity.ok(relatorio);
+    }
+
+    private void gravarLote(List<CotacaoLida> lote, RelatorioIngestaoCotacoesDTO relatorio, Set<Long> investimentosAtualizados) {
+        Set<Long> ids = new HashSet<>();
+        lote.forEach(c -> ids.add(c.investimentoId()));
+        Set<Long> existentes = carteiraBulkRepository.buscarInvestimentosExistentes(ids);
+        Set<Long> vinculados = carteiraBulkRepository.buscarInvestimentosVinculados(existentes);
+
+        // agrupa por investimento e data; a mesma chave repetida no lote fica com a última linha
+        List<CotacaoLida> ordenadas = new ArrayList<>(lote.size());
+        for (CotacaoLida cotacao : lote) {
+            if (vinculados.contains(cotacao.investimentoId())) {
+                relatorio.adicionarErro(cotacao.linha(), "Investimento " + cotacao.investimentoId()
+                        + " usa as cotações do instrumento vinculado (PUT /api/instrumentos/{codigo}/cotacoes)");
+            } else if (existentes.contains(cotacao.investimentoId())) {
+                ordenadas.add(cotacao);
+            } else {
+                relatorio.adicionarErro(cotacao.linha(), "Investimento " + cotacao.investimentoId() + " não encontrado");
+            }
+        }
+        ordenadas.sort(POR_INVESTIMENTO_E_DATA);
+
+        List<RentabilidadeDiaria> dias = new ArrayList<>(ordenadas.size());
+        List<Long> linhasGravadas = new ArrayList<>(ordenadas.size());
+        Map<Long, List<LocalDate>> datasPorInvestimento = new LinkedHashMap<>();
+        Map<Long, Investimento> investimentos = new HashMap<>();
+        for (int i = 0; i < ordenadas.size(); i++) {
+            CotacaoLida cotacao = ordenadas.get(i);
+            if (i + 1 < ordenadas.size() && POR_INVESTIMENTO_E_DATA.compare(cotacao, ordenadas.get(i + 1)) == 0) {
+                relatorio.adicionarErro(cotacao.linha(), "Substituída pela linha " + ordenadas.get(i + 1).linha()
+                        + " (mesmo investimento e data)");
+                continue;
+            }
+            RentabilidadeDiaria dia = cotacao.dia();
+            dia.setInvestimento(investimentos.computeIfAbsent(cotacao.investimentoId(), id -> {
+                Investimento investimento = new Investimento();
+                investimento.setId(id);
+                return investimento;
+            }));
+            dias.add(dia);
+            linhasGravadas.add(cotacao.linha());
+            datasPorInvestimento.computeIfAbsent(cotacao.investimentoId(), id -> new ArrayList<>())
+                    .add(dia.getDataRentabilidadeDiaria());
+        }
+        if (dias.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                travaCarteira.travar(carteiraBulkRepository.buscarCpfsDosInvestimentos(datasPorInvestimento.keySet()));
+                carteiraBulkRepository.mesclarRentabilidades(dias);
+                datasPorInvestimento.forEach(rentabilidadePeriodoService::recalcularDatas);
+                outboxRepository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, datasPorInvestimento.keySet());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de cotações ({} linhas)", dias.size(), e);
+            String mensagem = "Falha ao gravar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            linhasGravadas.forEach(linha -> relatorio.adicionarErro(linha, mensagem));
+            return;
+        }
+        relatorio.setLinhasGravadas(relatorio.getLinhasGravadas() + dias.size());
+        investimentosAtualizados.addAll(datasPorInvestimento.keySet());
+    }
+
+    /** Cotação lida do arquivo, com o número da linha de origem. */
+    private record CotacaoLida(long linha, long investimentoId, RentabilidadeDiaria dia) {}
+}
@@ -0,0 +1,173 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.CotacaoInstrumentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.InstrumentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.InstrumentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.BancoRegistry;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Serviço dos instrumentos compartilhados e de suas cotações diárias.
+ *
+ * A cotação de um instrumento é gravada uma única vez, qualquer que seja o número de usuários com posição
+ * nele; os investimentos vinculados derivam a série diária dessas cotações (montante = ações × valor).
+ * Ao gravar cotações, os períodos consolidados dos investimentos vinculados são recalculados nas datas afetadas,
+ * com as carteiras dos donos travadas ({@link TravaCarteira}) como nas demais gravações de carteira.
+ */
+@Service
+public class InstrumentoService {
+
+    private final InstrumentoRepository instrumentoRepository;
+    private final InvestimentoRepository investimentoRepository;
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final OutboxRepository outboxRepository;
+    private final TravaCarteira travaCarteira;
+
+    public InstrumentoService(InstrumentoRepository instrumentoRepository,
+                              InvestimentoRepository investimentoRepository,
+                              CarteiraBulkRepository carteiraBulkRepository,
+                              RentabilidadePeriodoService rentabilidadePeriodoService,
+                              OutboxRepository outboxRepository,
+                              TravaCarteira travaCarteira) {
+        this.instrumentoRepository = instrumentoRepository;
+        this.investimentoRepository = investimentoRepository;
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.outboxRepository = outboxRepository;
+        this.travaCarteira = travaCarteira;
+    }
+
+    /**
+     * Lista os instrumentos cadastrados.
+     * return 200 com os instrumentos
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<InstrumentoDTO>> listar() {
+        return ResponseEntity.ok(instrumentoRepository.findAll().stream().map(InstrumentoDTO::fromEntity).toList());
+    }
+
+    /**
+     * Cadastra um instrumento. O código é gravado sem espaços e em maiúsculas.
+     *
+     * param dto dados do instrumento
+     * return 201 com o instrumento criado; 400 se o tipo for inválido; 409 se o código já existir
+     */
+    @Transactional
+    public ResponseEntity<?> criar(InstrumentoDTO dto) {
+        TipoInvestimentoEnum tipo = InvestimentoMapper.tipo(dto.getTipoInvestimento());
+        if (tipo == null) {
+            return ResponseEntity.badRequest().body("Tipo de investimento inválido: " + dto.getTipoInvestimento());
+        }
+        String codigo = normalizarCodigo(dto.getCodigo());
+        if (instrumentoRepository.existsByCodigo(codigo)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Instrumento " + codigo + " já cadastrado");
+        }
+        Instrumento instrumento = instrumentoRepository.save(new Instrumento(codigo, dto.getNome(), tipo,
+                BancoRegistry.atual().codigo(dto.getNomeBanco())));
+        return ResponseEntity.status(HttpStatus.CREATED).body(InstrumentoDTO.fromEntity(instrumento));
+    }
+
+    /**
+     * Lista as cotações diárias de um instrumento, em ordem de data.
+     *
+     * param codigo ticker ou ISIN
+     * return 200 com as cotações; 404 se o instrumento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<CotacaoInstrumentoDTO>> listarCotacoes(String codigo) {
+        return instrumentoRepository.findByCodigo(normalizarCodigo(codigo))
+                .map(instrumento -> ResponseEntity.ok(instrumento.getCotacoes().stream()
+                        .map(CotacaoInstrumentoDTO::fromEntity).toList()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Inclui ou atualiza cotações diárias do instrumento (MERGE por data) e recalcula os períodos
+     * dos investimentos vinculados. Datas repetidas no corpo ficam com o último valor.
+     *
+     * param codigo ticker ou ISIN
+     * param dtos cotações
+     * return 200 quando gravado; 400 se a lista for vazia ou alguma cotação inválida; 404 se o instrumento não existir
+     */
+    @Transactional
+    public ResponseEntity<String> registrarCotacoes(String codigo, List<CotacaoInstrumentoDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            return ResponseEntity.badRequest().body("Lista de cotações não pode ser vazia.");
+        }
+        TreeMap<LocalDate, CotacaoInstrumento> porData = new TreeMap<>();
+        for (CotacaoInstrumentoDTO dto : dtos) {
+            LocalDate data = InvestimentoMapper.data(dto.getDataCotacao());
+            if (data == null) {
+                return ResponseEntity.badRequest().body("Data inválida: " + dto.getDataCotacao() + " (use dd-MM-yyyy)");
+            }
+            if (dto.getValorAcao() == null || dto.getTaxaDiaria() == null) {
+                return ResponseEntity.badRequest().body("valorAcao e taxaDiaria são obrigatórios (" + dto.getDataCotacao() + ").");
+            }
+            porData.put(data, new CotacaoInstrumento(data, dto.getValorAcao(), dto.getTaxaDiaria()));
+        }
+        Instrumento instrumento = instrumentoRepository.findByCodigo(normalizarCodigo(codigo)).orElse(null);
+        if (instrumento == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Long> investimentos = investimentoRepository.buscarIdsPorInstrumento(instrumento.getId());
+        travaCarteira.travar(carteiraBulkRepository.buscarCpfsDosInvestimentos(investimentos));
+        carteiraBulkRepository.mesclarCotacoes(instrumento.getId(), new ArrayList<>(porData.values()));
+        for (Long investimentoId : investimentos) {
+            rentabilidadePeriodoService.recalcularDatas(investimentoId, porData.keySet());
+        }
+        outboxRepository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, investimentos);
+        return ResponseEntity.ok(porData.size() + " cotações gravadas; " + investimentos.size()
+                + " investimentos vinculados recalculados.");
+    }
+
+    /**
+     * Vincula um investimento ao instrumento: a série diária própria do investimento é removida e passa a
+     * ser derivada das cotações do instrumento; os períodos consolidados são reconstruídos.
+     *
+     * param codigo ticker ou ISIN
+     * param investimentoId ID do investimento
+     * return 200 quando vinculado; 404 se o instrumento ou o investimento não existir
+     */
+    @Transactional
+    public ResponseEntity<String> vincular(String codigo, Long investimentoId) {
+        Instrumento instrumento = instrumentoRepository.findByCodigo(normalizarCodigo(codigo)).orElse(null);
+        Investimento investimento = investimentoRepository.findById(investimentoId).orElse(null);
+        if (instrumento == null || investimento == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (investimento.getUsuarioInvestimento() != null) {
+            travaCarteira.travar(investimento.getUsuarioInvestimento().getCpfIdentificacao());
+        }
+        investimento.setInstrumento(instrumento);
+        investimento.getRentabilidadeDiaria().clear();
+        investimentoRepository.flush();
+        rentabilidadePeriodoService.recalcularInvestimento(investimentoId);
+        outboxRepository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, List.of(investimentoId));
+        return ResponseEntity.ok("Investimento " + investimentoId + " vinculado ao instrumento " + instrumento.getCodigo());
+    }
+
+    /** Código como gravado na tabela: sem espaços nas pontas e em maiúsculas. */
+    static String normalizarCodigo(String codigo) {
+        return codigo != null ? codigo.trim().toUpperCase(Locale.ROOT) : null;
+    }
+}
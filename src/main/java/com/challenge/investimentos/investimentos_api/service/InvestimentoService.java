@@ -1,27 +1,47 @@
 package com.challenge.investimentos.investimentos_api.service;
 
 import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.OperacaoLoteDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.ResultadoOperacaoLoteDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
 import com.challenge.investimentos.investimentos_api.service.interfaces.IInvestimentoService;
 
 import com.challenge.investimentos.investimentos_api.model.Investimento;
 import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
 import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.enums.TipoOperacaoLote;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
 import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
 import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
 
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,15 +54,32 @@ import java.util.stream.Collectors;
 @Service
 public class InvestimentoService implements IInvestimentoService {
 
+    /** Quantidade máxima de operações em um lote. */
+    static final int MAXIMO_OPERACOES_LOTE = 1000;
+
     private final UsuarioInvestimentoRepository usuarioInvestimentoRepository;
     private final InvestimentoRepository investimentoRepository;
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final Validator validator;
+    private final TravaCarteira travaCarteira;
+    private final OutboxRepository outboxRepository;
 
     @Autowired
     public InvestimentoService(UsuarioInvestimentoRepository usuarioInvestimentoRepository,
-                               InvestimentoRepository investimentoRepository) {
+                               InvestimentoRepository investimentoRepository,
+                               RentabilidadePeriodoService rentabilidadePeriodoService,
+                               CarteiraBulkRepository carteiraBulkRepository,
+                               Validator validator,
+                               TravaCarteira travaCarteira,
+                               OutboxRepository outboxRepository) {
         this.usuarioInvestimentoRepository = usuarioInvestimentoRepository;
         this.investimentoRepository = investimentoRepository;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.validator = validator;
+        this.travaCarteira = travaCarteira;
+        this.outboxRepository = outboxRepository;
     }
 
     /**
@@ -60,6 +97,7 @@ public class InvestimentoService implements IInvestimentoService {
             return ResponseEntity.badRequest().body("CPF do usuário é obrigatório");
         }
 
+        travaCarteira.travar(dto.getCpfIdentificacao());
     UsuarioInvestimento usuario = usuarioInvestimentoRepository.findByCpf_Cpf(dto.getCpfIdentificacao());
         if (usuario == null) {
             return ResponseEntity.badRequest().body("Usuário com CPF " + dto.getCpfIdentificacao() + " não encontrado");
@@ -69,44 +107,197 @@ public class InvestimentoService implements IInvestimentoService {
             return ResponseEntity.badRequest().body("Lista de investimentos não pode ser vazia");
         }
 
-        List<Investimento> investimentos = dto.getDataUsuarioInvestimentos().stream().map(investDTO -> {
-            Investimento investimento = new Investimento();
-            investimento.setUsuarioInvestimento(usuario);
+        List<Investimento> investimentos = new ArrayList<>(dto.getDataUsuarioInvestimentos().size());
+        for (InvestimentoDTO investDTO : dto.getDataUsuarioInvestimentos()) {
+            investimentos.add(InvestimentoMapper.novoInvestimento(investDTO, usuario));
+        }
 
-            investimento.setNomeBanco(investDTO.getNomeBanco());
+        investimentoRepository.saveAll(investimentos);
+        investimentoRepository.flush();
+        for (Investimento investimento : investimentos) {
+            if (!investimento.getRentabilidadeDiaria().isEmpty()) {
+                rentabilidadePeriodoService.recalcularInvestimento(investimento.getId());
+            }
+        }
+        outboxRepository.registrar(TipoEventoCarteira.INVESTIMENTO_CRIADO, dto.getCpfIdentificacao(),
+                investimentos.stream().map(Investimento::getId).toList());
+        return ResponseEntity.ok("Investimentos atualizados com sucesso");
+    }
 
-            TipoInvestimentoEnum tipoInvestimento;
-            try {
-                tipoInvestimento = TipoInvestimentoEnum.valueOf(investDTO.getTipoInvestimento().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Tipo de investimento inválido: " + investDTO.getTipoInvestimento());
+    /**
+     * Executa um lote de criações, atualizações e remoções de investimentos do usuário em uma única transação.
+     *
+     * Todas as operações são validadas antes de qualquer escrita (dados, posse do investimento e IDs
+     * repetidos); se alguma falhar, nada é gravado e as demais voltam com status 424. As criações são
+     * gravadas em JDBC batch e os alvos de atualização e remoção são carregados em uma consulta; como já
+     * estão no contexto de persistência, as remoções passam pelo EntityManager (DELETEs agrupados pelo
+     * Hibernate) para não deixar entidades gerenciadas apontando para linhas apagadas.
+     *
+     * param cpf CPF do usuário dono dos investimentos
+     * param operacoes operações na ordem enviada
+     * return 200 com o resultado de cada operação; 400 com os resultados se o lote foi rejeitado;
+     *        400 se o lote estiver vazio ou grande demais; 404 se o CPF não existir
+     */
+    @Transactional
+    public ResponseEntity<?> executarLote(String cpf, List<OperacaoLoteDTO> operacoes) {
+        if (operacoes == null || operacoes.isEmpty()) {
+            return ResponseEntity.badRequest().body("Lista de operações não pode ser vazia");
+        }
+        if (operacoes.size() > MAXIMO_OPERACOES_LOTE) {
+            return ResponseEntity.badRequest().body("O lote aceita no máximo " + MAXIMO_OPERACOES_LOTE + " operações");
+        }
+        travaCarteira.travar(cpf);
+        UsuarioInvestimento usuario = usuarioInvestimentoRepository.findByCpf_Cpf(cpf);
+        if (usuario == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResultadoOperacaoLoteDTO[] resultados = new ResultadoOperacaoLoteDTO[operacoes.size()];
+        Map<Long, Integer> indicePorId = new HashMap<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            String erro = validarOperacao(operacao);
+            if (erro != null) {
+                resultados[i] = resultado(i, operacao, HttpStatus.BAD_REQUEST, erro);
+            } else if (operacao.getId() != null && indicePorId.putIfAbsent(operacao.getId(), i) != null) {
+                resultados[i] = resultado(i, operacao, HttpStatus.CONFLICT,
+                        "Investimento " + operacao.getId() + " já aparece na operação " + indicePorId.get(operacao.getId()));
             }
-            investimento.setTipoInvestimento(tipoInvestimento);
-            investimento.setNomeInvestimento(investDTO.getNomeInvestimento());
+        }
 
-            investimento.setMontanteInicial(investDTO.getMontanteInicial());
-            investimento.setValorInicialAcao(investDTO.getValorInicialAcao());
-            investimento.setTaxaRentabilidade(investDTO.getTaxaRentabilidade());
-            investimento.setNumeroAcoesInicial(investDTO.getNumeroAcoesInicial());
-
-            if (investDTO.getRentabilidadeDiaria() != null && !investDTO.getRentabilidadeDiaria().isEmpty()) {
-                List<RentabilidadeDiaria> rentabilidades = investDTO.getRentabilidadeDiaria().stream()
-                        .map(rdDTO -> {
-                            RentabilidadeDiaria rd = new RentabilidadeDiaria();
-                            rd.setDataRentabilidadeDiaria(LocalDate.parse(rdDTO.getDataRentabilidadeDiaria(), formatter));
-                            rd.setValorDiarioAcao(rdDTO.getValorDiarioAcao());
-                            rd.setTaxaDiarioRentabilidade(rdDTO.getTaxaDiarioRentabilidade());
-                            rd.setMontanteAcumuladoDiario(rdDTO.getMontanteAcumuladoDiario());
-                            return rd;
-                        }).collect(Collectors.toList());
-                investimento.setRentabilidadeDiaria(rentabilidades);
+        Map<Long, Investimento> alvos = investimentoRepository.findAllById(indicePorId.keySet()).stream()
+                .collect(Collectors.toMap(Investimento::getId, Function.identity()));
+        indicePorId.forEach((id, i) -> {
+            if (resultados[i] != null) return;
+            Investimento alvo = alvos.get(id);
+            if (alvo == null) {
+                resultados[i] = resultado(i, operacoes.get(i), HttpStatus.NOT_FOUND, "Investimento não encontrado");
+            } else if (alvo.getUsuarioInvestimento() == null || !usuario.getId().equals(alvo.getUsuarioInvestimento().getId())) {
+                resultados[i] = resultado(i, operacoes.get(i), HttpStatus.FORBIDDEN, "Investimento pertence a outro usuário");
+            } else if (operacoes.get(i).getTipo() == TipoOperacaoLote.ATUALIZAR) {
+                String erro = erroSerieComInstrumento(alvo, operacoes.get(i).getInvestimento());
+                if (erro != null) resultados[i] = resultado(i, operacoes.get(i), HttpStatus.BAD_REQUEST, erro);
             }
+        });
+
+        if (Arrays.stream(resultados).anyMatch(r -> r != null)) {
+            for (int i = 0; i < resultados.length; i++) {
+                if (resultados[i] == null) {
+                    resultados[i] = resultado(i, operacoes.get(i), HttpStatus.FAILED_DEPENDENCY,
+                            "Não executada: o lote foi rejeitado por erro em outra operação");
+                }
+            }
+            return ResponseEntity.badRequest().body(Arrays.asList(resultados));
+        }
 
-            return investimento;
-        }).collect(Collectors.toList());
+        // criações: IDs reservados em uma consulta e INSERTs em JDBC batch, como na importação em massa
+        Map<Integer, Investimento> criados = new LinkedHashMap<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            if (operacoes.get(i).getTipo() == TipoOperacaoLote.CRIAR) {
+                criados.put(i, InvestimentoMapper.novoInvestimento(operacoes.get(i).getInvestimento(), usuario));
+            }
+        }
+        List<Investimento> novos = new ArrayList<>(criados.values());
+        carteiraBulkRepository.inserirInvestimentos(novos);
+        List<RentabilidadeDiaria> diasNovos = new ArrayList<>();
+        List<RentabilidadePeriodo> periodosNovos = new ArrayList<>();
+        for (Investimento investimento : novos) {
+            diasNovos.addAll(investimento.getRentabilidadeDiaria());
+            if (!investimento.getRentabilidadeDiaria().isEmpty()) {
+                periodosNovos.addAll(RentabilidadePeriodoService.consolidar(investimento, investimento.getRentabilidadeDiaria()));
+            }
+        }
+        carteiraBulkRepository.inserirRentabilidades(diasNovos);
+        carteiraBulkRepository.inserirPeriodos(periodosNovos);
+        criados.forEach((i, investimento) -> resultados[i] = resultado(i, operacoes.get(i), investimento.getId(),
+                HttpStatus.CREATED, "Investimento criado com sucesso"));
+
+        // atualizações: um flush para todas (UPDATEs agrupados pelo Hibernate) e recálculo das datas alteradas
+        Map<Long, Set<LocalDate>> datasAlteradas = new LinkedHashMap<>();
+        List<Long> removidos = new ArrayList<>();
+        List<Investimento> alvosRemovidos = new ArrayList<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoLoteDTO operacao = operacoes.get(i);
+            if (operacao.getTipo() == TipoOperacaoLote.ATUALIZAR) {
+                InvestimentoDTO dto = operacao.getInvestimento();
+                datasAlteradas.put(operacao.getId(), aplicarAtualizacao(alvos.get(operacao.getId()), dto,
+                        InvestimentoMapper.tipo(dto.getTipoInvestimento())));
+                resultados[i] = resultado(i, operacao, HttpStatus.OK, "Investimento atualizado com sucesso");
+            } else if (operacao.getTipo() == TipoOperacaoLote.REMOVER) {
+                removidos.add(operacao.getId());
+                alvosRemovidos.add(alvos.get(operacao.getId()));
+                resultados[i] = resultado(i, operacao, HttpStatus.OK, "Investimento deletado com sucesso");
+            }
+        }
+        if (!datasAlteradas.isEmpty()) {
+            investimentoRepository.flush();
+            datasAlteradas.forEach(rentabilidadePeriodoService::recalcularDatas);
+        }
 
-        investimentoRepository.saveAll(investimentos);
-        return ResponseEntity.ok("Investimentos atualizados com sucesso");
+        // remoções: as entidades carregadas acima saem do contexto e do cache junto com as linhas
+        investimentoRepository.deleteAll(alvosRemovidos);
+
+        outboxRepository.registrar(TipoEventoCarteira.INVESTIMENTO_CRIADO, cpf, novos.stream().map(Investimento::getId).toList());
+        outboxRepository.registrar(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, cpf, datasAlteradas.keySet());
+        outboxRepository.registrar(TipoEventoCarteira.INVESTIMENTO_REMOVIDO, cpf, removidos);
+        return ResponseEntity.ok(Arrays.asList(resultados));
+    }
+
+    /**
+     * Valida uma operação do lote sem acessar o banco.
+     * return mensagem de erro, ou {@code null} se a operação é válida
+     */
+    private String validarOperacao(OperacaoLoteDTO operacao) {
+        if (operacao == null) {
+            return "Operação vazia";
+        }
+        Set<ConstraintViolation<OperacaoLoteDTO>> violacoes = validator.validate(operacao);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (operacao.getTipo() != TipoOperacaoLote.CRIAR && operacao.getId() == null) {
+            return "id é obrigatório para " + operacao.getTipo();
+        }
+        if (operacao.getTipo() == TipoOperacaoLote.CRIAR && operacao.getId() != null) {
+            return "id não deve ser informado para CRIAR";
+        }
+        if (operacao.getTipo() == TipoOperacaoLote.REMOVER) {
+            return null;
+        }
+
+        InvestimentoDTO dto = operacao.getInvestimento();
+        if (dto == null) {
+            return "investimento é obrigatório para " + operacao.getTipo();
+        }
+        if (InvestimentoMapper.tipo(dto.getTipoInvestimento()) == null) {
+            return "Tipo de investimento inválido: " + dto.getTipoInvestimento();
+        }
+        if (dto.getRentabilidadeDiaria() != null) {
+            Set<LocalDate> datas = new HashSet<>(dto.getRentabilidadeDiaria().size() * 2);
+            for (RentabilidadeDiariaDTO rd : dto.getRentabilidadeDiaria()) {
+                LocalDate data = InvestimentoMapper.data(rd.getDataRentabilidadeDiaria());
+                if (data == null) {
+                    return "Data inválida: " + rd.getDataRentabilidadeDiaria() + " (use dd-MM-yyyy)";
+                }
+                if (!datas.add(data)) {
+                    return "Data repetida na rentabilidade diária: " + rd.getDataRentabilidadeDiaria();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ResultadoOperacaoLoteDTO resultado(int indice, OperacaoLoteDTO operacao, HttpStatus status, String mensagem) {
+        return resultado(indice, operacao, operacao != null ? operacao.getId() : null, status, mensagem);
+    }
+
+    private static ResultadoOperacaoLoteDTO resultado(int indice, OperacaoLoteDTO operacao, Long id,
+                                                      HttpStatus status, String mensagem) {
+        return new ResultadoOperacaoLoteDTO(indice, operacao != null ? operacao.getTipo() : null, id,
+                status.value(), mensagem);
     }
 
     /**
@@ -132,6 +323,24 @@ public class InvestimentoService implements IInvestimentoService {
         return ResponseEntity.ok(investimentos);
     }
 
+    /**
+     * Lista investimentos retornando apenas os campos selecionados (sparse fieldset).
+     *
+     * A seleção é traduzida em uma projeção JPQL, de modo que colunas e coleções
+     * não solicitadas nunca são carregadas do banco.
+     *
+     * @param selecao campos e coleções solicitados
+     * @param cpf CPF do usuário investidor, ou {@code null} para listar todos
+     * @return 200 com a lista projetada ou 404 se o CPF informado não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> listarProjecao(SelecaoCampos selecao, String cpf) {
+        if (cpf != null && usuarioInvestimentoRepository.findByCpf_Cpf(cpf) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(investimentoRepository.buscarProjecao(selecao, cpf));
+    }
+
     /**
      * Deleta um investimento pelo seu identificador.
      * @param id ID do investimento
@@ -139,9 +348,12 @@ public class InvestimentoService implements IInvestimentoService {
      */
     @Transactional
     public ResponseEntity<String> deletarPorId(Long id) {
-        if (!investimentoRepository.existsById(id)) return ResponseEntity.notFound().build();
+        Investimento investimento = investimentoRepository.findById(id).orElse(null);
+        if (investimento == null) return ResponseEntity.notFound().build();
 
-        investimentoRepository.deleteById(id);
+        String cpf = travarDono(investimento);
+        investimentoRepository.delete(investimento);
+        registrarEvento(TipoEventoCarteira.INVESTIMENTO_REMOVIDO, cpf, id);
         return ResponseEntity.ok("Investimento deletado com sucesso");
     }
 
@@ -156,41 +368,99 @@ public class InvestimentoService implements IInvestimentoService {
         Investimento investimentoExistente = investimentoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Investimento não encontrado"));
 
-        TipoInvestimentoEnum tipoInvestimento;
-        try {
-            tipoInvestimento = TipoInvestimentoEnum.valueOf(dto.getTipoInvestimento().toUpperCase());
-        } catch (IllegalArgumentException e) {
+        TipoInvestimentoEnum tipoInvestimento = InvestimentoMapper.tipo(dto.getTipoInvestimento());
+        if (tipoInvestimento == null) {
             return ResponseEntity.badRequest().body("Tipo de investimento inválido: " + dto.getTipoInvestimento());
         }
 
-        investimentoExistente.setTipoInvestimento(tipoInvestimento);
-        investimentoExistente.setNomeInvestimento(dto.getNomeInvestimento());
-        investimentoExistente.setMontanteInicial(dto.getMontanteInicial());
-        investimentoExistente.setValorInicialAcao(dto.getValorInicialAcao());
-        investimentoExistente.setTaxaRentabilidade(dto.getTaxaRentabilidade());
-        investimentoExistente.setNumeroAcoesInicial(dto.getNumeroAcoesInicial());
-        
-        investimentoExistente.setNomeBanco(dto.getNomeBanco());
+        String cpf = travarDono(investimentoExistente);
+        Set<LocalDate> datasAlteradas = aplicarAtualizacao(investimentoExistente, dto, tipoInvestimento);
 
-        if (investimentoExistente.getRentabilidadeDiaria() == null) {
-            investimentoExistente.setRentabilidadeDiaria(new ArrayList<>());
+        investimentoRepository.save(investimentoExistente);
+        rentabilidadePeriodoService.recalcularDatas(id, datasAlteradas);
+        registrarEvento(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, cpf, id);
+        return ResponseEntity.ok("Investimento atualizado com sucesso");
+    }
+
+    /**
+     * Investimentos vinculados a um instrumento não aceitam série própria.
+     * return mensagem de erro, ou {@code null} se o DTO não trouxer dias ou o investimento não tiver instrumento
+     */
+    private static String erroSerieComInstrumento(Investimento investimento, InvestimentoDTO dto) {
+        if (investimento.getInstrumento() == null || dto.getRentabilidadeDiaria() == null
+                || dto.getRentabilidadeDiaria().isEmpty()) {
+            return null;
         }
-        List<RentabilidadeDiaria> listaExistente = investimentoExistente.getRentabilidadeDiaria();
-        listaExistente.clear();
+        return "Investimento vinculado ao instrumento " + investimento.getInstrumento().getCodigo()
+                + ": a série diária vem das cotações do instrumento";
+    }
+
+    /**
+     * Copia os dados do DTO para o investimento gerenciado. A série diária passa a ser exatamente
+     * a enviada: dias novos são incluídos, os existentes são atualizados pela data e os ausentes removidos.
+     * Investimentos vinculados a um instrumento não aceitam série própria.
+     *
+     * param investimento investimento carregado
+     * param dto dados novos
+     * param tipoInvestimento tipo já validado
+     * return datas cujo conteúdo mudou, para recálculo dos períodos
+     * throws IllegalArgumentException se o investimento tiver instrumento e o DTO trouxer dias
+     */
+    private Set<LocalDate> aplicarAtualizacao(Investimento investimento, InvestimentoDTO dto,
+                                              TipoInvestimentoEnum tipoInvestimento) {
+        String erroInstrumento = erroSerieComInstrumento(investimento, dto);
+        if (erroInstrumento != null) throw new IllegalArgumentException(erroInstrumento);
+        InvestimentoMapper.copiarCampos(dto, investimento, tipoInvestimento);
+
+        if (investimento.getRentabilidadeDiaria() == null) {
+            investimento.setRentabilidadeDiaria(new ArrayList<>());
+        }
+        List<RentabilidadeDiaria> listaExistente = investimento.getRentabilidadeDiaria();
+        // as linhas são atualizadas no lugar pela data (chave natural única): apagar e reinserir a mesma
+        // data violaria UK_RENTABILIDADE_INV_DATA, pois o Hibernate executa os INSERTs antes dos DELETEs
+        Map<LocalDate, RentabilidadeDiaria> porData = new HashMap<>();
+        listaExistente.forEach(rd -> porData.put(rd.getDataRentabilidadeDiaria(), rd));
+        // datas cujo conteúdo mudou (inseridas, alteradas ou removidas) para recalcular os períodos
+        Set<LocalDate> datasAlteradas = new HashSet<>();
+        Set<LocalDate> datasRecebidas = new HashSet<>();
 
         if (dto.getRentabilidadeDiaria() != null) {
             dto.getRentabilidadeDiaria().forEach(rdDTO -> {
-                RentabilidadeDiaria rd = new RentabilidadeDiaria();
-                rd.setDataRentabilidadeDiaria(LocalDate.parse(rdDTO.getDataRentabilidadeDiaria(), formatter));
+                LocalDate data = InvestimentoMapper.dataObrigatoria(rdDTO.getDataRentabilidadeDiaria());
+                RentabilidadeDiaria rd = porData.get(data);
+                List<Object> anterior = rd != null ? assinatura(rd) : null;
+                if (rd == null) {
+                    rd = new RentabilidadeDiaria();
+                    rd.setDataRentabilidadeDiaria(data);
+                    rd.setInvestimento(investimento);
+                    listaExistente.add(rd);
+                    porData.put(data, rd);
+                }
                 rd.setValorDiarioAcao(rdDTO.getValorDiarioAcao());
                 rd.setTaxaDiarioRentabilidade(rdDTO.getTaxaDiarioRentabilidade());
                 rd.setMontanteAcumuladoDiario(rdDTO.getMontanteAcumuladoDiario());
-                listaExistente.add(rd);
+                if (!assinatura(rd).equals(anterior)) {
+                    datasAlteradas.add(data);
+                }
+                datasRecebidas.add(data);
             });
         }
+        listaExistente.removeIf(rd -> {
+            if (datasRecebidas.contains(rd.getDataRentabilidadeDiaria())) return false;
+            datasAlteradas.add(rd.getDataRentabilidadeDiaria());
+            return true;
+        });
+        return datasAlteradas;
+    }
 
-        investimentoRepository.save(investimentoExistente);
-        return ResponseEntity.ok("Investimento atualizado com sucesso");
+    /** Valores de um dia usados para detectar alterações na série. */
+    private static List<Object> assinatura(RentabilidadeDiaria rd) {
+        return Arrays.asList(normalizar(rd.getValorDiarioAcao()), normalizar(rd.getTaxaDiarioRentabilidade()),
+                normalizar(rd.getMontanteAcumuladoDiario()));
+    }
+
+    private static BigDecimal normalizar(BigDecimal valor) {
+        return valor != null ? valor.stripTrailingZeros() : null;
     }
 
     /**
@@ -231,12 +501,14 @@ public class InvestimentoService implements IInvestimentoService {
         
         if (dto.getDataUsuarioInvestimentos() != null && !dto.getDataUsuarioInvestimentos().isEmpty()) {
             InvestimentoDTO investDTO = dto.getDataUsuarioInvestimentos().get(0);
-            investimento.setNomeBanco(investDTO.getNomeBanco());
+            InvestimentoMapper.definirBanco(investimento, investDTO.getNomeBanco());
             investimento.setNomeInvestimento(investDTO.getNomeInvestimento());
             investimento.setMontanteInicial(investDTO.getMontanteInicial());
             investimento.setTaxaRentabilidade(investDTO.getTaxaRentabilidade());
             
+            String cpf = travarDono(investimento);
             investimentoRepository.save(investimento);
+            registrarEvento(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, cpf, id);
         }
         
         return ResponseEntity.ok("Investimento atualizado com sucesso");
@@ -245,10 +517,23 @@ public class InvestimentoService implements IInvestimentoService {
     @Override
     @Transactional
     public ResponseEntity<String> deletarInvestimento(Long id) {
-        if (!investimentoRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
+        return deletarPorId(id);
+    }
+
+    /**
+     * Trava a carteira do dono do investimento (as alterações de um investidor publicam eventos em ordem).
+     * return CPF do dono, ou null para investimento sem usuário
+     */
+    private String travarDono(Investimento investimento) {
+        if (investimento.getUsuarioInvestimento() == null) return null;
+        String cpf = investimento.getUsuarioInvestimento().getCpfIdentificacao();
+        travaCarteira.travar(cpf);
+        return cpf;
+    }
+
+    private void registrarEvento(TipoEventoCarteira tipo, String cpf, Long investimentoId) {
+        if (cpf != null) {
+            outboxRepository.registrar(tipo, cpf, investimentoId);
         }
-        investimentoRepository.deleteById(id);
-        return ResponseEntity.ok("Investimento deletado com sucesso");
     }
 }
\ No newline at end of file
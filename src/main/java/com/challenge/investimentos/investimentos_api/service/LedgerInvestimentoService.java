@@ -0,0 +1,170 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.MovimentacaoDTO;
+import com.challenge.investimentos.investimentos_api.dto.PosicaoInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.MovimentacaoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.challenge.investimentos.investimentos_api.util.PosicaoInvestimento;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Livro-razão de aportes, resgates e vendas parciais de um investimento.
+ *
+ * As movimentações são só anexadas (nunca alteradas); a posição é reconstruída a partir do último
+ * snapshot mais as movimentações gravadas depois dele. A cada {@code snapshot-a-cada} movimentações
+ * a posição é gravada de novo, então a reconstrução lê no máximo esse número de linhas, qualquer que
+ * seja o tamanho do histórico. Sem snapshot, o ponto de partida é o montante inicial e o número de
+ * ações do cadastro do investimento.
+ *
+ * Gravações são serializadas pela {@link TravaCarteira} do dono (a próxima sequência é sempre a
+ * posição lida mais um) e publicam {@code MOVIMENTACAO_REGISTRADA} no outbox.
+ *
+ * Métricas: {@code investimentos.ledger.reconstrucao} (tempo para montar a posição) e
+ * {@code investimentos.ledger.cauda} (movimentações aplicadas depois do snapshot).
+ */
+@Service
+public class LedgerInvestimentoService {
+
+    private final InvestimentoRepository investimentoRepository;
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final TravaCarteira travaCarteira;
+    private final OutboxRepository outboxRepository;
+    private final int snapshotACada;
+    private final Timer reconstrucao;
+    private final DistributionSummary cauda;
+
+    public LedgerInvestimentoService(InvestimentoRepository investimentoRepository,
+                                     MovimentacaoRepository movimentacaoRepository,
+                                     TravaCarteira travaCarteira,
+                                     OutboxRepository outboxRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${investimentos.ledger.snapshot-a-cada:100}") int snapshotACada) {
+        this.investimentoRepository = investimentoRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.travaCarteira = travaCarteira;
+        this.outboxRepository = outboxRepository;
+        this.snapshotACada = Math.max(1, snapshotACada);
+        this.reconstrucao = Timer.builder("investimentos.ledger.reconstrucao")
+                .description("Tempo para reconstruir a posição de um investimento (snapshot + cauda)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.cauda = DistributionSummary.builder("investimentos.ledger.cauda")
+                .description("Movimentações aplicadas depois do último snapshot na reconstrução")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Anexa uma movimentação ao livro-razão do investimento.
+     *
+     * param id ID do investimento
+     * param dto movimentação (tipo, data, quantidade de ações e valor)
+     * return 201 com a posição depois da movimentação; 400 se ela não couber na posição; 404 se o investimento não existir
+     */
+    @Transactional
+    public ResponseEntity<?> registrar(Long id, MovimentacaoDTO dto) {
+        Investimento investimento = investimentoRepository.findById(id).orElse(null);
+        if (investimento == null) return ResponseEntity.notFound().build();
+
+        LocalDate data = InvestimentoMapper.data(dto.getData());
+        if (data == null) {
+            return ResponseEntity.badRequest().body("Data inválida: " + dto.getData() + " (use " + InvestimentoMapper.FORMATO_DATA + ")");
+        }
+        long quantidade;
+        long valor;
+        try {
+            quantidade = pontoFixo(dto.getQuantidade(), PosicaoInvestimento.ESCALA_QUANTIDADE, "quantidade");
+            valor = pontoFixo(dto.getValor(), PosicaoInvestimento.ESCALA_VALOR, "valor");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        String cpf = investimento.getUsuarioInvestimento() != null
+                ? investimento.getUsuarioInvestimento().getCpfIdentificacao() : null;
+        travaCarteira.travar(cpf);
+
+        PosicaoInvestimento posicao = reconstruir(investimento);
+        try {
+            posicao.aplicar(dto.getTipo(), quantidade, valor, (int) data.toEpochDay());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        movimentacaoRepository.anexar(id, posicao.getSequencia(), dto.getTipo(), quantidade, valor, data);
+        if (posicao.getSequencia() % snapshotACada == 0) {
+            movimentacaoRepository.salvarSnapshot(id, posicao);
+        }
+        if (cpf != null) {
+            outboxRepository.registrar(TipoEventoCarteira.MOVIMENTACAO_REGISTRADA, cpf, id);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(PosicaoInvestimentoDTO.de(id, posicao));
+    }
+
+    /**
+     * Posição atual do investimento.
+     *
+     * param id ID do investimento
+     * return 200 com a posição; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> posicao(Long id) {
+        Investimento investimento = investimentoRepository.findById(id).orElse(null);
+        if (investimento == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(PosicaoInvestimentoDTO.de(id, reconstruir(investimento)));
+    }
+
+    /**
+     * Extrato do livro-razão do investimento.
+     *
+     * param id ID do investimento
+     * return 200 com as movimentações em ordem; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> extrato(Long id) {
+        if (!investimentoRepository.existsById(id)) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(movimentacaoRepository.listar(id));
+    }
+
+    /** Último snapshot (ou o cadastro do investimento) mais as movimentações gravadas depois dele. */
+    private PosicaoInvestimento reconstruir(Investimento investimento) {
+        long inicio = System.nanoTime();
+        long id = investimento.getId();
+        PosicaoInvestimento posicao = movimentacaoRepository.ultimoSnapshot(id)
+                .orElseGet(() -> PosicaoInvestimento.inicial(
+                        centavos(investimento.getMontanteInicial()),
+                        investimento.getNumeroAcoesInicial() != null ? investimento.getNumeroAcoesInicial() : 0));
+        long base = posicao.getSequencia();
+        movimentacaoRepository.aplicarCauda(id, posicao);
+        cauda.record(posicao.getSequencia() - base);
+        reconstrucao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return posicao;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor == null ? 0 : valor.setScale(PosicaoInvestimento.ESCALA_VALOR, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** Valor da API em ponto fixo; recusa casas decimais além da escala (não arredonda dinheiro do cliente). */
+    private static long pontoFixo(BigDecimal valor, int escala, String campo) {
+        if (valor == null) return 0;
+        try {
+            return valor.setScale(escala, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(campo + " aceita no máximo " + escala + " casas decimais");
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leituras do painel do investidor servidas pelo modelo de leitura (PAINEL_INVESTIDOR).
+ *
+ * O documento gravado pelo {@link ProjetorPainelInvestidor} é usado enquanto estiver em dia ou pendente
+ * há no máximo {@code atraso-maximo}; fora disso (CPF ainda não projetado, projetor parado ou atrasado)
+ * o painel é montado na hora a partir das tabelas da carteira, sem gravar. Como a alteração marca o CPF
+ * como pendente na própria transação, com {@code atraso-maximo} zero o investidor sempre lê a própria
+ * alteração. Sem o {@link RelayOutbox} ou o {@link PublicadorEventosPainel} os documentos gravados não são
+ * mantidos e nunca são usados.
+ *
+ * Métrica: {@code investimentos.painel.leituras}, com a tag {@code origem} = {@code modelo} ou {@code carteira}.
+ */
+@Service
+public class PainelInvestidorService {
+
+    private static final Logger log = LoggerFactory.getLogger(PainelInvestidorService.class);
+
+    private final PainelInvestidorRepository painelInvestidorRepository;
+    private final InvestimentoService investimentoService;
+    private final ObjectMapper objectMapper;
+    private final int pontosSerie;
+    private final Duration atrasoMaximo;
+    /** Relay e publicador do painel ativos; sem eles o documento gravado não é confiável. */
+    private final boolean modeloMantido;
+    private final Counter leiturasModelo;
+    private final Counter leiturasCarteira;
+
+    public PainelInvestidorService(PainelInvestidorRepository painelInvestidorRepository,
+                                   InvestimentoService investimentoService,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${investimentos.painel.pontos-serie:30}") int pontosSerie,
+                                   @Value("${investimentos.painel.atraso-maximo:0s}") Duration atrasoMaximo,
+                                   ObjectProvider<RelayOutbox> relayOutbox,
+                                   ObjectProvider<PublicadorEventosPainel> publicadorEventosPainel) {
+        this.painelInvestidorRepository = painelInvestidorRepository;
+        this.investimentoService = investimentoService;
+        this.objectMapper = objectMapper;
+        this.pontosSerie = pontosSerie;
+        this.atrasoMaximo = atrasoMaximo;
+        this.modeloMantido = relayOutbox.getIfAvailable() != null && publicadorEventosPainel.getIfAvailable() != null;
+        this.leiturasModelo = Counter.builder("investimentos.painel.leituras")
+                .description("Leituras do painel do investidor")
+                .tag("origem", "modelo")
+                .register(meterRegistry);
+        this.leiturasCarteira = Counter.builder("investimentos.painel.leituras")
+                .description("Leituras do painel do investidor")
+                .tag("origem", "carteira")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Painel do investidor: posições, montante atual, alocação por tipo e banco e cauda da série.
+     *
+     * param cpf CPF do investidor (com ou sem máscara)
+     * return 200 com o painel em JSON; 404 se o CPF não tiver usuário investidor
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> painel(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        if (numero < 0) return ResponseEntity.notFound().build();
+        byte[] documento = documentoEmDia(numero);
+        if (documento != null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(documento);
+        }
+        PainelInvestidorDTO painel = montarNaLeitura(numero);
+        return painel != null ? ResponseEntity.ok(painel) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Lista as posições do investidor a partir do painel: colunas do cadastro, montante atual e cauda da
+     * série, sem ler a série completa nem fazer joins na carteira.
+     *
+     * param cpf CPF do investidor (com ou sem máscara)
+     * return 200 com as posições; 404 se o CPF não tiver usuário investidor
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<PainelInvestidorDTO.Posicao>> listarPosicoes(String cpf) {
+        long numero = CpfValidator.compactar(cpf);
+        PainelInvestidorDTO painel = numero < 0 ? null : painelAtual(numero);
+        return painel != null ? ResponseEntity.ok(painel.getInvestimentos()) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Lista os investimentos do investidor só com os campos selecionados, a partir do painel.
+     * A série completa ({@code include=rentabilidadeDiaria}) e a listagem de todos os investidores não
+     * cabem no painel e continuam na projeção das tabelas da carteira.
+     *
+     * param selecao campos e coleções solicitados
+     * param cpf CPF do usuário investidor, ou null para listar todos
+     * return 200 com a lista projetada ou 404 se o CPF informado não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> listarProjecao(SelecaoCampos selecao, String cpf) {
+        long numero = cpf != null ? CpfValidator.compactar(cpf) : -1;
+        if (selecao.isIncluirRentabilidadeDiaria() || numero < 0) {
+            return investimentoService.listarProjecao(selecao, cpf);
+        }
+        PainelInvestidorDTO painel = painelAtual(numero);
+        if (painel == null) return ResponseEntity.notFound().build();
+        List<Map<String, Object>> linhas = new ArrayList<>(painel.getInvestimentos().size());
+        for (PainelInvestidorDTO.Posicao posicao : painel.getInvestimentos()) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            for (CampoInvestimento campo : selecao.getCampos()) {
+                linha.put(campo.getNome(), posicao.valor(campo));
+            }
+            linhas.add(linha);
+        }
+        return ResponseEntity.ok(linhas);
+    }
+
+    /**
+     * Monta os painéis a partir das tabelas da carteira.
+     *
+     * @param cpfs CPFs numéricos
+     * @return painel por CPF; CPFs sem usuário investidor ficam fora do mapa
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, PainelInvestidorDTO> montar(Collection<Long> cpfs) {
+        Map<Long, PainelInvestidorDTO> paineis = new LinkedHashMap<>();
+        painelInvestidorRepository.carregarPosicoes(cpfs, pontosSerie).forEach((cpf, posicoes) ->
+                paineis.put(cpf, PainelInvestidorDTO.montar(CpfValidator.expandir(cpf), posicoes)));
+        return paineis;
+    }
+
+    /**
+     * Marca todos os investidores como pendentes; o projetor remonta os painéis nos próximos ciclos.
+     *
+     * @return quantidade de investidores marcados
+     */
+    @Transactional
+    public int reconstruirTodos() {
+        return painelInvestidorRepository.marcarTodos();
+    }
+
+    /** Painel gravado, se estiver em dia; senão montado a partir da carteira (null sem usuário investidor). */
+    private PainelInvestidorDTO painelAtual(long cpf) {
+        PainelInvestidorDTO painel = lerDocumento(documentoEmDia(cpf));
+        return painel != null ? painel : montarNaLeitura(cpf);
+    }
+
+    private PainelInvestidorDTO montarNaLeitura(long cpf) {
+        leiturasCarteira.increment();
+        return montar(List.of(cpf)).get(cpf);
+    }
+
+    /** Documento gravado, se estiver em dia ou pendente há no máximo {@code atraso-maximo}; senão null. */
+    private byte[] documentoEmDia(long cpf) {
+        if (!modeloMantido) return null;
+        PainelInvestidorRepository.PainelGravado gravado = painelInvestidorRepository.buscar(cpf).orElse(null);
+        if (gravado == null || gravado.documento() == null) return null;
+        // com atraso zero nenhum pendente é servido, mesmo com relógios de instâncias diferentes
+        if (gravado.pendenteDesde() != null && (atrasoMaximo.isZero()
+                || Duration.between(gravado.pendenteDesde(), Instant.now()).compareTo(atrasoMaximo) > 0)) {
+            return null;
+        }
+        leiturasModelo.increment();
+        return gravado.documento();
+    }
+
+    private PainelInvestidorDTO lerDocumento(byte[] documento) {
+        if (documento == null) return null;
+        try {
+            return objectMapper.readValue(documento, PainelInvestidorDTO.class);
+        } catch (IOException e) {
+            log.warn("Painel gravado ilegível; montando a partir da carteira", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Projetor do modelo de leitura do painel: remonta os painéis marcados como pendentes pelo
+ * {@link PublicadorEventosPainel}.
+ *
+ * A cada ciclo, em uma transação, trava os {@code tamanho-lote} CPFs pendentes há mais tempo (pulando
+ * os travados por outra instância), lê as posições das tabelas da carteira, grava os documentos e tira
+ * a marcação. Enquanto a linha está travada o relay espera para marcá-la de novo, então um evento que
+ * chegue durante a remontagem sempre gera outra. CPFs sem usuário investidor têm o painel removido.
+ * Com lote cheio o próximo ciclo começa logo; sem pendentes a thread espera {@code intervalo-ms}.
+ *
+ * Métricas: {@code investimentos.painel.atraso} (segundos desde a marcação pendente mais antiga vista
+ * no último ciclo; cresce enquanto o projetor falha), {@code investimentos.painel.defasagem} (da marcação
+ * até a gravação do painel), {@code investimentos.painel.reconstruidos}, {@code investimentos.painel.lote}
+ * e {@code investimentos.painel.falhas}.
+ */
+@Component
+@ConditionalOnProperty(name = "investimentos.painel.projetor.habilitado", havingValue = "true")
+public class ProjetorPainelInvestidor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjetorPainelInvestidor.class);
+
+    private final PainelInvestidorRepository painelInvestidorRepository;
+    private final PainelInvestidorService painelInvestidorService;
+    private final ObjectWriter escritor;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final long intervaloMs;
+    private final long esperaFalhaMs;
+
+    private final Counter reconstruidos;
+    private final Counter falhas;
+    private final Timer tempoLote;
+    private final Timer defasagem;
+    /** PENDENTE_DESDE mais antigo lido no último ciclo bem-sucedido; null sem pendentes. */
+    private final AtomicReference<Instant> pendenteMaisAntigo = new AtomicReference<>();
+
+    private volatile boolean ativo;
+    private Thread projetor;
+
+    public ProjetorPainelInvestidor(PainelInvestidorRepository painelInvestidorRepository,
+                                    PainelInvestidorService painelInvestidorService,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${investimentos.painel.projetor.tamanho-lote:200}") int tamanhoLote,
+                                    @Value("${investimentos.painel.projetor.intervalo-ms:500}") long intervaloMs,
+                                    @Value("${investimentos.painel.projetor.espera-falha-ms:5000}") long esperaFalhaMs) {
+        this.painelInvestidorRepository = painelInvestidorRepository;
+        this.painelInvestidorService = painelInvestidorService;
+        this.escritor = objectMapper.writerFor(PainelInvestidorDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMs = intervaloMs;
+        this.esperaFalhaMs = esperaFalhaMs;
+
+        this.reconstruidos = Counter.builder("investimentos.painel.reconstruidos")
+                .description("Painéis de investidor remontados pelo projetor")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("investimentos.painel.falhas")
+                .description("Ciclos do projetor desfeitos por falha no banco ou na serialização")
+                .register(meterRegistry);
+        this.tempoLote = Timer.builder("investimentos.painel.lote")
+                .description("Duração de um ciclo do projetor com pendentes (trava, leitura da carteira e gravação)")
+                .register(meterRegistry);
+        this.defasagem = Timer.builder("investimentos.painel.defasagem")
+                .description("Tempo entre a alteração da carteira e a gravação do painel remontado")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("investimentos.painel.atraso", pendenteMaisAntigo, ProjetorPainelInvestidor::segundosDesde)
+                .description("Segundos desde a marcação pendente mais antiga do modelo de leitura do painel")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa um ciclo: remonta até {@code tamanho-lote} painéis pendentes.
+     *
+     * return quantidade de CPFs processados (remontados ou removidos)
+     * throws RuntimeException se o banco ou a serialização falharem (nada é gravado)
+     */
+    int reconstruirPendentes() {
+        long inicio = System.nanoTime();
+        List<PainelInvestidorRepository.PainelPendente> lote = transactionTemplate.execute(status -> {
+            List<PainelInvestidorRepository.PainelPendente> pendentes = painelInvestidorRepository.travarPendentes(tamanhoLote);
+            pendenteMaisAntigo.set(pendentes.isEmpty() ? null : pendentes.get(0).pendenteDesde());
+            if (pendentes.isEmpty()) return pendentes;
+
+            List<Long> cpfs = new ArrayList<>(pendentes.size());
+            pendentes.forEach(pendente -> cpfs.add(pendente.cpf()));
+            Map<Long, PainelInvestidorDTO> paineis = painelInvestidorService.montar(cpfs);
+            Instant agora = Instant.now();
+            for (PainelInvestidorRepository.PainelPendente pendente : pendentes) {
+                PainelInvestidorDTO painel = paineis.get(pendente.cpf());
+                if (painel == null) {
+                    painelInvestidorRepository.remover(pendente.cpf());
+                    continue;
+                }
+                painel.setAtualizadoEm(agora);
+                painel.setEventoAplicado(pendente.ultimoEvento());
+                try {
+                    painelInvestidorRepository.salvar(pendente.cpf(), escritor.writeValueAsBytes(painel));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Falha ao serializar o painel do CPF " + pendente.cpf(), e);
+                }
+            }
+            return pendentes;
+        });
+        if (lote == null || lote.isEmpty()) return 0;
+
+        tempoLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        reconstruidos.increment(lote.size());
+        Instant agora = Instant.now();
+        for (PainelInvestidorRepository.PainelPendente pendente : lote) {
+            defasagem.record(Duration.between(pendente.pendenteDesde(), agora));
+        }
+        return lote.size();
+    }
+
+    private static double segundosDesde(AtomicReference<Instant> instante) {
+        Instant valor = instante.get();
+        return valor == null ? 0 : Duration.between(valor, Instant.now()).toMillis() / 1000.0;
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        projetor = new Thread(this::executar, "projetor-painel");
+        projetor.setDaemon(true);
+        projetor.start();
+    }
+
+    /** Interrompe a espera e aguarda o fim do ciclo em andamento; o que restou continua pendente. */
+    @Override
+    public void stop() {
+        ativo = false;
+        projetor.interrupt();
+        try {
+            projetor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    private void executar() {
+        while (ativo) {
+            long espera;
+            try {
+                espera = reconstruirPendentes() == tamanhoLote ? 0 : intervaloMs;
+            } catch (RuntimeException e) {
+                falhas.increment();
+                log.warn("Falha ao remontar painéis pendentes; nova tentativa em {} ms", esperaFalhaMs, e);
+                espera = esperaFalhaMs;
+            }
+            if (espera > 0) {
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException e) {
+                    // só interrompida no desligamento
+                    ativo = false;
+                }
+            }
+        }
+        log.info("Projetor do painel parado");
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Publica os eventos de carteira como NDJSON (um evento por linha) ao fim de um arquivo local.
+ *
+ * Destino padrão ({@code investimentos.outbox.destino=arquivo}); o lote só é confirmado depois
+ * do {@code force} no disco. Para outro destino, configurar {@code investimentos.outbox.destino}
+ * com outro valor e registrar um bean de {@link PublicadorEventosCarteira}.
+ */
+@Component
+@ConditionalOnProperty(name = "investimentos.outbox.destino", havingValue = "arquivo", matchIfMissing = true)
+public class PublicadorEventosArquivo implements PublicadorEventosCarteira {
+
+    private final Path arquivo;
+    private final ObjectWriter escritor;
+
+    public PublicadorEventosArquivo(ObjectMapper objectMapper,
+                                    @Value("${investimentos.outbox.arquivo:outbox/eventos-carteira.ndjson}") Path arquivo) {
+        this.arquivo = arquivo;
+        this.escritor = objectMapper.writerFor(EventoCarteiraDTO.class);
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoCarteiraDTO> eventos) throws IOException {
+        ByteArrayOutputStream linhas = new ByteArrayOutputStream(eventos.size() * 128);
+        for (EventoCarteiraDTO evento : eventos) {
+            escritor.writeValue(linhas, evento);
+            linhas.write('\n');
+        }
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(linhas.toByteArray());
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        }
+    }
+}
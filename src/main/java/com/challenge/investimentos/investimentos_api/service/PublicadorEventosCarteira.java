@@ -0,0 +1,23 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos de carteira publicados pelo {@link RelayOutbox} (fila, arquivo, outro serviço).
+ *
+ * O relay só apaga os eventos do outbox depois que {@link #publicar} retorna; se lançar exceção
+ * o lote inteiro é reenviado no próximo ciclo. Implementações devem, portanto, tolerar eventos
+ * repetidos (o {@code id} identifica o evento) e preservar a ordem recebida.
+ */
+public interface PublicadorEventosCarteira {
+
+    /**
+     * Publica um lote de eventos.
+     *
+     * param eventos eventos em ordem de ID
+     * throws Exception se o destino não confirmou o lote
+     */
+    void publicar(List<EventoCarteiraDTO> eventos) throws Exception;
+}
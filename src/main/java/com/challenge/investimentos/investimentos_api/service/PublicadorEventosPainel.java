@@ -0,0 +1,34 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Alimenta o modelo de leitura do painel: marca os CPFs dos eventos como pendentes em PAINEL_INVESTIDOR.
+ *
+ * Roda primeiro entre os publicadores e na mesma transação do relay que apaga os eventos, então a
+ * marcação é desfeita junto se outro destino recusar o lote (e refeita no reenvio, sem efeito extra).
+ * A remontagem em si fica com o {@link ProjetorPainelInvestidor}, fora do caminho do relay.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "investimentos.painel.habilitado", havingValue = "true", matchIfMissing = true)
+public class PublicadorEventosPainel implements PublicadorEventosCarteira {
+
+    private final PainelInvestidorRepository painelInvestidorRepository;
+
+    public PublicadorEventosPainel(PainelInvestidorRepository painelInvestidorRepository) {
+        this.painelInvestidorRepository = painelInvestidorRepository;
+    }
+
+    @Override
+    public void publicar(List<EventoCarteiraDTO> eventos) {
+        painelInvestidorRepository.marcarPendentes(eventos);
+    }
+}
@@ -0,0 +1,168 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay do outbox: publica os eventos de carteira pendentes em cada {@link PublicadorEventosCarteira}.
+ *
+ * A cada ciclo, em uma transação, trava os {@code tamanho-lote} eventos mais antigos, publica-os
+ * em ordem de ID em todos os publicadores (na ordem de {@code @Order}) e os apaga. Se a publicação falhar, a transação é desfeita e o mesmo lote é
+ * reenviado depois de {@code espera-falha-ms} (entrega ao menos uma vez; uma falha no commit
+ * depois da publicação também gera reenvio). Com lote cheio o próximo ciclo começa logo; com
+ * o outbox vazio a thread espera {@code intervalo-ms}.
+ *
+ * Métricas: {@code investimentos.outbox.publicados}, {@code investimentos.outbox.falhas},
+ * {@code investimentos.outbox.lote} (duração de cada ciclo com eventos) e
+ * {@code investimentos.outbox.atraso} (da alteração até a publicação).
+ */
+@Component
+@ConditionalOnProperty(name = "investimentos.outbox.relay.habilitado", havingValue = "true")
+public class RelayOutbox implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayOutbox.class);
+
+    private final OutboxRepository outboxRepository;
+    private final List<PublicadorEventosCarteira> publicadores;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final long intervaloMs;
+    private final long esperaFalhaMs;
+
+    private final Counter publicados;
+    private final Counter falhas;
+    private final Timer tempoLote;
+    private final Timer atraso;
+
+    private volatile boolean ativo;
+    private Thread relay;
+
+    public RelayOutbox(OutboxRepository outboxRepository,
+                       List<PublicadorEventosCarteira> publicadores,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${investimentos.outbox.relay.tamanho-lote:500}") int tamanhoLote,
+                       @Value("${investimentos.outbox.relay.intervalo-ms:500}") long intervaloMs,
+                       @Value("${investimentos.outbox.relay.espera-falha-ms:5000}") long esperaFalhaMs) {
+        this.outboxRepository = outboxRepository;
+        this.publicadores = publicadores;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMs = intervaloMs;
+        this.esperaFalhaMs = esperaFalhaMs;
+
+        this.publicados = Counter.builder("investimentos.outbox.publicados")
+                .description("Eventos de carteira publicados pelo relay")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("investimentos.outbox.falhas")
+                .description("Ciclos do relay desfeitos por falha na publicação ou no banco")
+                .register(meterRegistry);
+        this.tempoLote = Timer.builder("investimentos.outbox.lote")
+                .description("Duração de um ciclo do relay com eventos (leitura, publicação e remoção)")
+                .register(meterRegistry);
+        this.atraso = Timer.builder("investimentos.outbox.atraso")
+                .description("Tempo entre a alteração da carteira e a publicação do evento")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa um ciclo: publica e apaga até {@code tamanho-lote} eventos pendentes.
+     *
+     * return quantidade de eventos publicados
+     * throws RuntimeException se a publicação ou o banco falharem (nada é apagado)
+     */
+    int publicarPendentes() {
+        long inicio = System.nanoTime();
+        List<EventoCarteiraDTO> lote = transactionTemplate.execute(status -> {
+            List<EventoCarteiraDTO> eventos = outboxRepository.buscarPendentes(tamanhoLote);
+            if (eventos.isEmpty()) return eventos;
+            try {
+                for (PublicadorEventosCarteira publicador : publicadores) {
+                    publicador.publicar(eventos);
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Destino recusou o lote de eventos: " + e.getMessage(), e);
+            }
+            List<Long> ids = new ArrayList<>(eventos.size());
+            eventos.forEach(evento -> ids.add(evento.getId()));
+            outboxRepository.remover(ids);
+            return eventos;
+        });
+        if (lote == null || lote.isEmpty()) return 0;
+
+        tempoLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        publicados.increment(lote.size());
+        Instant agora = Instant.now();
+        for (EventoCarteiraDTO evento : lote) {
+            atraso.record(Duration.between(evento.getOcorridoEm(), agora));
+        }
+        return lote.size();
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        relay = new Thread(this::executar, "relay-outbox");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    /** Interrompe a espera e aguarda o fim do ciclo em andamento; o que restou fica para a próxima execução. */
+    @Override
+    public void stop() {
+        ativo = false;
+        relay.interrupt();
+        try {
+            relay.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    private void executar() {
+        while (ativo) {
+            long espera;
+            try {
+                espera = publicarPendentes() == tamanhoLote ? 0 : intervaloMs;
+            } catch (RuntimeException e) {
+                falhas.increment();
+                log.warn("Falha ao publicar eventos do outbox; nova tentativa em {} ms", esperaFalhaMs, e);
+                espera = esperaFalhaMs;
+            }
+            if (espera > 0) {
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException e) {
+                    // só interrompida no desligamento
+                    ativo = false;
+                }
+            }
+        }
+        log.info("Relay do outbox parado");
+    }
+}
@@ -0,0 +1,319 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadePeriodoDTO;
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.RentabilidadeDiariaRepository;
+import com.challenge.investimentos.investimentos_api.repository.RentabilidadePeriodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que mantém e consulta os períodos consolidados (rollups) de rentabilidade.
+ *
+ * Semanas e meses são calculados a partir da série diária; anos são compostos a partir
+ * dos meses já consolidados. Alterações pontuais recalculam apenas os períodos que
+ * contêm as datas alteradas, e o backfill reconstrói todos os investimentos em lotes,
+ * com uma transação por investimento.
+ */
+@Service
+public class RentabilidadePeriodoService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentabilidadePeriodoService.class);
+
+    /** Acima desta quantidade de datas alteradas é mais barato reconstruir o investimento inteiro. */
+    private static final int LIMITE_RECALCULO_PARCIAL = 366;
+    private static final int TAMANHO_LOTE_BACKFILL = 500;
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    private final RentabilidadeDiariaRepository rentabilidadeDiariaRepository;
+    private final RentabilidadePeriodoRepository rentabilidadePeriodoRepository;
+    private final InvestimentoRepository investimentoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public RentabilidadePeriodoService(RentabilidadeDiariaRepository rentabilidadeDiariaRepository,
+                                       RentabilidadePeriodoRepository rentabilidadePeriodoRepository,
+                                       InvestimentoRepository investimentoRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.rentabilidadeDiariaRepository = rentabilidadeDiariaRepository;
+        this.rentabilidadePeriodoRepository = rentabilidadePeriodoRepository;
+        this.investimentoRepository = investimentoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Lista os períodos consolidados de um investimento, lendo apenas a tabela de rollup.
+     *
+     * param investimentoId ID do investimento
+     * param granularidade SEMANAL, MENSAL ou ANUAL
+     * param inicio menor início de período (opcional)
+     * param fim maior início de período (opcional)
+     * return 200 com os períodos ordenados; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> listarPeriodos(Long investimentoId, GranularidadePeriodo granularidade,
+                                            LocalDate inicio, LocalDate fim) {
+        if (!investimentoRepository.existsById(investimentoId)) {
+            return ResponseEntity.status(404).body("Investimento não encontrado");
+        }
+        LocalDate de = inicio != null ? granularidade.inicioPeriodo(inicio) : DATA_MINIMA;
+        LocalDate ate = fim != null ? fim : DATA_MAXIMA;
+        List<RentabilidadePeriodoDTO> periodos = rentabilidadePeriodoRepository
+                .findByInvestimento_IdAndGranularidadeAndInicioPeriodoBetweenOrderByInicioPeriodo(investimentoId, granularidade, de, ate)
+                .stream().map(RentabilidadePeriodoDTO::fromEntity).toList();
+        return ResponseEntity.ok(periodos);
+    }
+
+    /**
+     * Reconstrói todos os períodos de um investimento em uma única passada pela série diária.
+     * param investimentoId ID do investimento
+     */
+    @Transactional
+    public void recalcularInvestimento(Long investimentoId) {
+        rentabilidadePeriodoRepository.deletarPorInvestimento(investimentoId);
+        ConsolidadorSequencial consolidador = new ConsolidadorSequencial(investimentoRepository.getReferenceById(investimentoId));
+        try (Stream<Object[]> linhas = rentabilidadeDiariaRepository.streamSerie(investimentoId)) {
+            linhas.forEach(linha -> consolidador.adicionar((LocalDate) linha[0], (BigDecimal) linha[1],
+                    (BigDecimal) linha[2], (BigDecimal) linha[3]));
+        }
+        rentabilidadePeriodoRepository.saveAll(consolidador.finalizar());
+    }
+
+    /**
+     * Calcula em memória os períodos de uma série diária ainda não persistida (ex: importação em lote).
+     * Dias sem data são ignorados.
+     *
+     * param investimento investimento dono da série
+     * param dias rentabilidades diárias, em qualquer ordem
+     * return períodos semanais, mensais e anuais (não persistidos)
+     */
+    public static List<RentabilidadePeriodo> consolidar(Investimento investimento, List<RentabilidadeDiaria> dias) {
+        List<RentabilidadeDiaria> ordenados = new ArrayList<>(dias.size());
+        for (RentabilidadeDiaria dia : dias) {
+            if (dia.getDataRentabilidadeDiaria() != null) ordenados.add(dia);
+        }
+        ordenados.sort(Comparator.comparing(RentabilidadeDiaria::getDataRentabilidadeDiaria));
+        ConsolidadorSequencial consolidador = new ConsolidadorSequencial(investimento);
+        for (RentabilidadeDiaria dia : ordenados) {
+            consolidador.adicionar(dia.getDataRentabilidadeDiaria(), dia.getValorDiarioAcao(),
+                    dia.getTaxaDiarioRentabilidade(), dia.getMontanteAcumuladoDiario());
+        }
+        return consolidador.finalizar();
+    }
+
+    /**
+     * Recalcula apenas os períodos que contêm as datas informadas (dias inseridos,
+     * alterados ou removidos). Deve ser chamado após a série diária ter sido gravada.
+     *
+     * param investimentoId ID do investimento
+     * param datas datas alteradas na série diária
+     */
+    @Transactional
+    public void recalcularDatas(Long investimentoId, Collection<LocalDate> datas) {
+        Set<LocalDate> datasValidas = new TreeSet<>();
+        for (LocalDate data : datas) {
+            if (data != null) datasValidas.add(data);
+        }
+        if (datasValidas.isEmpty()) {
+            return;
+        }
+        if (datasValidas.size() > LIMITE_RECALCULO_PARCIAL) {
+            recalcularInvestimento(investimentoId);
+            return;
+        }
+        // garante que as linhas diárias pendentes estejam visíveis às consultas
+        rentabilidadeDiariaRepository.flush();
+
+        Set<LocalDate> semanas = new TreeSet<>();
+        Set<LocalDate> meses = new TreeSet<>();
+        Set<LocalDate> anos = new TreeSet<>();
+        TreeMap<LocalDate, LocalDate> intervalos = new TreeMap<>();
+        for (LocalDate data : datasValidas) {
+            semanas.add(GranularidadePeriodo.SEMANAL.inicioPeriodo(data));
+            meses.add(GranularidadePeriodo.MENSAL.inicioPeriodo(data));
+            anos.add(GranularidadePeriodo.ANUAL.inicioPeriodo(data));
+            LocalDate de = min(GranularidadePeriodo.SEMANAL.inicioPeriodo(data), GranularidadePeriodo.MENSAL.inicioPeriodo(data));
+            LocalDate ate = max(GranularidadePeriodo.SEMANAL.fimPeriodo(data), GranularidadePeriodo.MENSAL.fimPeriodo(data));
+            adicionarIntervalo(intervalos, de, ate);
+        }
+
+        Map<LocalDate, AcumuladorPeriodo> porSemana = new HashMap<>();
+        Map<LocalDate, AcumuladorPeriodo> porMes = new HashMap<>();
+        for (Map.Entry<LocalDate, LocalDate> intervalo : intervalos.entrySet()) {
+            for (Object[] linha : rentabilidadeDiariaRepository.buscarSerie(investimentoId, intervalo.getKey(), intervalo.getValue())) {
+                LocalDate data = (LocalDate) linha[0];
+                acumular(porSemana, semanas, GranularidadePeriodo.SEMANAL, data, linha);
+                acumular(porMes, meses, GranularidadePeriodo.MENSAL, data, linha);
+            }
+        }
+
+        Investimento investimento = investimentoRepository.getReferenceById(investimentoId);
+        sincronizar(investimento, GranularidadePeriodo.SEMANAL, semanas, porSemana);
+        sincronizar(investimento, GranularidadePeriodo.MENSAL, meses, porMes);
+        rentabilidadePeriodoRepository.flush();
+
+        Map<LocalDate, AcumuladorPeriodo> porAno = new HashMap<>();
+        for (LocalDate ano : anos) {
+            List<RentabilidadePeriodo> mensais = rentabilidadePeriodoRepository
+                    .findByInvestimento_IdAndGranularidadeAndInicioPeriodoBetweenOrderByInicioPeriodo(
+                            investimentoId, GranularidadePeriodo.MENSAL, ano, GranularidadePeriodo.ANUAL.fimPeriodo(ano));
+            if (mensais.isEmpty()) continue;
+            AcumuladorPeriodo acumulador = new AcumuladorPeriodo(GranularidadePeriodo.ANUAL, ano);
+            mensais.forEach(acumulador::adicionarPeriodo);
+            porAno.put(ano, acumulador);
+        }
+        sincronizar(investimento, GranularidadePeriodo.ANUAL, anos, porAno);
+    }
+
+    /**
+     * Reconstrói os períodos de todos os investimentos, em lotes de IDs e com uma
+     * transação curta por investimento.
+     *
+     * return quantidade de investimentos processados
+     */
+    public int backfill() {
+        int processados = 0;
+        Long ultimoId = 0L;
+        List<Long> ids;
+        do {
+            ids = investimentoRepository.buscarIdsApos(ultimoId, PageRequest.of(0, TAMANHO_LOTE_BACKFILL));
+            for (Long id : ids) {
+                transactionTemplate.executeWithoutResult(status -> recalcularInvestimento(id));
+                processados++;
+            }
+            if (!ids.isEmpty()) {
+                ultimoId = ids.get(ids.size() - 1);
+                log.info("Backfill de rentabilidade por período: {} investimentos processados", processados);
+            }
+        } while (ids.size() == TAMANHO_LOTE_BACKFILL);
+        return processados;
+    }
+
+    private static void acumular(Map<LocalDate, AcumuladorPeriodo> acumuladores, Set<LocalDate> afetados,
+                                 GranularidadePeriodo granularidade, LocalDate data, Object[] linha) {
+        LocalDate inicioPeriodo = granularidade.inicioPeriodo(data);
+        if (!afetados.contains(inicioPeriodo)) return;
+        acumuladores.computeIfAbsent(inicioPeriodo, k -> new AcumuladorPeriodo(granularidade, k))
+                .adicionarDia(data, (BigDecimal) linha[1], (BigDecimal) linha[2], (BigDecimal) linha[3]);
+    }
+
+    /** Atualiza, insere ou remove as linhas de rollup dos períodos afetados. */
+    private void sincronizar(Investimento investimento, GranularidadePeriodo granularidade,
+                             Set<LocalDate> afetados, Map<LocalDate, AcumuladorPeriodo> acumuladores) {
+        Map<LocalDate, RentabilidadePeriodo> existentes = new HashMap<>();
+        for (RentabilidadePeriodo periodo : rentabilidadePeriodoRepository
+                .findByInvestimento_IdAndGranularidadeAndInicioPeriodoIn(investimento.getId(), granularidade, afetados)) {
+            existentes.put(periodo.getInicioPeriodo(), periodo);
+        }
+        List<RentabilidadePeriodo> salvar = new ArrayList<>();
+        List<RentabilidadePeriodo> remover = new ArrayList<>();
+        for (LocalDate inicio : afetados) {
+            AcumuladorPeriodo acumulador = acumuladores.get(inicio);
+            RentabilidadePeriodo existente = existentes.get(inicio);
+            if (acumulador == null) {
+                if (existente != null) remover.add(existente);
+            } else if (existente != null) {
+                acumulador.aplicar(existente);
+                salvar.add(existente);
+            } else {
+                salvar.add(novoPeriodo(investimento, acumulador));
+            }
+        }
+        rentabilidadePeriodoRepository.deleteAll(remover);
+        rentabilidadePeriodoRepository.saveAll(salvar);
+    }
+
+    private static RentabilidadePeriodo novoPeriodo(Investimento investimento, AcumuladorPeriodo acumulador) {
+        RentabilidadePeriodo periodo = new RentabilidadePeriodo();
+        periodo.setInvestimento(investimento);
+        acumulador.aplicar(periodo);
+        return periodo;
+    }
+
+    /**
+     * Consolida uma série diária ordenada por data em todas as granularidades, em uma passada:
+     * cada período é fechado quando a data seguinte cai em outro período.
+     */
+    private static final class ConsolidadorSequencial {
+
+        private final Investimento investimento;
+        private final Map<GranularidadePeriodo, AcumuladorPeriodo> atuais = new EnumMap<>(GranularidadePeriodo.class);
+        private final List<RentabilidadePeriodo> periodos = new ArrayList<>();
+
+        ConsolidadorSequencial(Investimento investimento) {
+            this.investimento = investimento;
+        }
+
+        void adicionar(LocalDate data, BigDecimal valor, BigDecimal taxa, BigDecimal montante) {
+            for (GranularidadePeriodo granularidade : GranularidadePeriodo.values()) {
+                LocalDate inicioPeriodo = granularidade.inicioPeriodo(data);
+                AcumuladorPeriodo acumulador = atuais.get(granularidade);
+                if (acumulador == null || !acumulador.getInicioPeriodo().equals(inicioPeriodo)) {
+                    if (acumulador != null) {
+                        periodos.add(novoPeriodo(investimento, acumulador));
+                    }
+                    acumulador = new AcumuladorPeriodo(granularidade, inicioPeriodo);
+                    atuais.put(granularidade, acumulador);
+                }
+                acumulador.adicionarDia(data, valor, taxa, montante);
+            }
+        }
+
+        List<RentabilidadePeriodo> finalizar() {
+            atuais.values().forEach(acumulador -> periodos.add(novoPeriodo(investimento, acumulador)));
+            atuais.clear();
+            return periodos;
+        }
+    }
+
+    /** Adiciona o intervalo [de, ate] unindo-o aos intervalos sobrepostos já existentes. */
+    private static void adicionarIntervalo(TreeMap<LocalDate, LocalDate> intervalos, LocalDate de, LocalDate ate) {
+        Map.Entry<LocalDate, LocalDate> anterior = intervalos.floorEntry(de);
+        if (anterior != null && !anterior.getValue().isBefore(de.minusDays(1))) {
+            de = anterior.getKey();
+            ate = max(ate, anterior.getValue());
+            intervalos.remove(anterior.getKey());
+        }
+        Map.Entry<LocalDate, LocalDate> seguinte = intervalos.ceilingEntry(de);
+        while (seguinte != null && !seguinte.getKey().isAfter(ate.plusDays(1))) {
+            ate = max(ate, seguinte.getValue());
+            intervalos.remove(seguinte.getKey());
+            seguinte = intervalos.ceilingEntry(de);
+        }
+        intervalos.put(de, ate);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
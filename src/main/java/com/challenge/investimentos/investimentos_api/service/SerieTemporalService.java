@@ -0,0 +1,190 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SerieTemporalDTO;
+import com.challenge.investimentos.investimentos_api.dto.SeriesAlinhadasDTO;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.RentabilidadeDiariaRepository;
+import com.challenge.investimentos.investimentos_api.util.DownsamplingSerie;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.challenge.investimentos.investimentos_api.util.SerieColunar;
+import com.challenge.investimentos.investimentos_api.util.SeriePrimitiva;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que monta séries temporais de montante acumulado para gráficos.
+ *
+ * A série é carregada em arrays primitivos e reduzida para no máximo {@code pontos} pontos,
+ * de forma que o tamanho da resposta não depende do tamanho do histórico.
+ */
+@Service
+public class SerieTemporalService {
+
+    /** Quantidade de pontos usada quando o cliente não informa {@code pontos}. */
+    public static final int PONTOS_PADRAO = 600;
+    /** Limite superior de pontos por série. */
+    public static final int PONTOS_MAXIMO = 5000;
+    /** Limite de investimentos na série alinhada. */
+    public static final int INVESTIMENTOS_MAXIMO = 50;
+
+    private final InvestimentoRepository investimentoRepository;
+    private final RentabilidadeDiariaRepository rentabilidadeDiariaRepository;
+
+    @Autowired
+    public SerieTemporalService(InvestimentoRepository investimentoRepository,
+                                RentabilidadeDiariaRepository rentabilidadeDiariaRepository) {
+        this.investimentoRepository = investimentoRepository;
+        this.rentabilidadeDiariaRepository = rentabilidadeDiariaRepository;
+    }
+
+    /**
+     * Retorna a série diária completa de um investimento no formato tradicional (um objeto por dia).
+     *
+     * param id ID do investimento
+     * return 200 com a lista ordenada por data; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> rentabilidades(Long id) {
+        if (!investimentoRepository.existsById(id)) {
+            return ResponseEntity.status(404).body("Investimento não encontrado");
+        }
+        List<RentabilidadeDiariaDTO> dias = new ArrayList<>();
+        try (Stream<Object[]> linhas = rentabilidadeDiariaRepository.streamSerie(id)) {
+            linhas.forEach(linha -> {
+                RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+                dto.setDataRentabilidadeDiaria(InvestimentoMapper.texto((LocalDate) linha[0]));
+                dto.setValorDiarioAcao((BigDecimal) linha[1]);
+                dto.setTaxaDiarioRentabilidade((BigDecimal) linha[2]);
+                dto.setMontanteAcumuladoDiario((BigDecimal) linha[3]);
+                dias.add(dto);
+            });
+        }
+        return ResponseEntity.ok(dias);
+    }
+
+    /**
+     * Retorna a série diária completa de um investimento em formato colunar
+     * ({@value SerieColunar#MEDIA_TYPE}), preenchida direto da consulta escalar.
+     *
+     * param id ID do investimento
+     * return 200 com a série colunar; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> rentabilidadesColunar(Long id) {
+        if (!investimentoRepository.existsById(id)) {
+            return ResponseEntity.status(404).contentType(MediaType.TEXT_PLAIN).body("Investimento não encontrado");
+        }
+        SerieColunar serie = new SerieColunar(id, 256);
+        try (Stream<Object[]> linhas = rentabilidadeDiariaRepository.streamSerie(id)) {
+            linhas.forEach(linha -> serie.adicionar((LocalDate) linha[0], (BigDecimal) linha[1],
+                    (BigDecimal) linha[2], (BigDecimal) linha[3]));
+        }
+        return ResponseEntity.ok(serie);
+    }
+
+    /**
+     * Retorna a série de um investimento reduzida pelo algoritmo LTTB.
+     *
+     * param id ID do investimento
+     * param pontos quantidade máxima de pontos (entre 3 e {@link #PONTOS_MAXIMO})
+     * return 200 com a série; 400 se {@code pontos} for inválido; 404 se o investimento não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> serie(Long id, int pontos) {
+        if (pontos < 3 || pontos > PONTOS_MAXIMO) {
+            return ResponseEntity.badRequest().body("pontos deve estar entre 3 e " + PONTOS_MAXIMO);
+        }
+        if (!investimentoRepository.existsById(id)) {
+            return ResponseEntity.status(404).body("Investimento não encontrado");
+        }
+
+        SeriePrimitiva serie = investimentoRepository.carregarSeriesMontante(List.of(id)).get(id);
+        if (serie == null) {
+            return ResponseEntity.ok(new SerieTemporalDTO(id, 0, List.of(), new double[0]));
+        }
+
+        int n = serie.getTamanho();
+        int[] indices = DownsamplingSerie.lttb(serie.getDatas(), serie.getValores(), n, pontos);
+        List<String> datas = new ArrayList<>(indices.length);
+        double[] valores = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            datas.add(InvestimentoMapper.texto(LocalDate.ofEpochDay(serie.getDatas()[indices[i]])));
+            valores[i] = serie.getValores()[indices[i]];
+        }
+        return ResponseEntity.ok(new SerieTemporalDTO(id, n, datas, valores));
+    }
+
+    /**
+     * Retorna as séries de vários investimentos alinhadas por data.
+     *
+     * O período total (da primeira à última data entre todas as séries) é dividido em até
+     * {@code pontos} intervalos de mesma largura em dias; cada série recebe o montante de
+     * fechamento de cada intervalo.
+     *
+     * param ids IDs dos investimentos (até {@link #INVESTIMENTOS_MAXIMO})
+     * param pontos quantidade máxima de intervalos (entre 3 e {@link #PONTOS_MAXIMO})
+     * return 200 com as séries alinhadas; 400 se os parâmetros forem inválidos
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> seriesAlinhadas(List<Long> ids, int pontos) {
+        if (pontos < 3 || pontos > PONTOS_MAXIMO) {
+            return ResponseEntity.badRequest().body("pontos deve estar entre 3 e " + PONTOS_MAXIMO);
+        }
+        Set<Long> unicos = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        if (unicos.isEmpty() || unicos.size() > INVESTIMENTOS_MAXIMO) {
+            return ResponseEntity.badRequest().body("Informe entre 1 e " + INVESTIMENTOS_MAXIMO + " IDs de investimento");
+        }
+
+        Map<Long, SeriePrimitiva> carregadas = investimentoRepository.carregarSeriesMontante(unicos);
+        long inicio = Long.MAX_VALUE;
+        long fim = Long.MIN_VALUE;
+        for (SeriePrimitiva s : carregadas.values()) {
+            inicio = Math.min(inicio, s.getDatas()[0]);
+            fim = Math.max(fim, s.getDatas()[s.getTamanho() - 1]);
+        }
+
+        Map<Long, Double[]> series = new LinkedHashMap<>();
+        if (carregadas.isEmpty()) {
+            unicos.forEach(id -> series.put(id, new Double[0]));
+            return ResponseEntity.ok(new SeriesAlinhadasDTO(List.of(), series));
+        }
+
+        long dias = fim - inicio + 1;
+        long largura = (dias + pontos - 1) / pontos;
+        int buckets = (int) ((dias + largura - 1) / largura);
+
+        List<String> datas = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            long fechamento = Math.min(inicio + (b + 1) * largura - 1, fim);
+            datas.add(InvestimentoMapper.texto(LocalDate.ofEpochDay(fechamento)));
+        }
+
+        double[] buffer = new double[buckets];
+        for (Long id : unicos) {
+            Double[] valores = new Double[buckets];
+            SeriePrimitiva s = carregadas.get(id);
+            if (s != null) {
+                DownsamplingSerie.fechamentoPorBucket(s.getDatas(), s.getValores(), s.getTamanho(), inicio, largura, buckets, buffer);
+                for (int b = 0; b < buckets; b++) {
+                    valores[b] = Double.isNaN(buffer[b]) ? null : buffer[b];
+                }
+            }
+            series.put(id, valores);
+        }
+        return ResponseEntity.ok(new SeriesAlinhadasDTO(datas, series));
+    }
+}
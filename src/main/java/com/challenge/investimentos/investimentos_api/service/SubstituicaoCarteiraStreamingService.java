@@ -0,0 +1,300 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Substituição da carteira de um usuário investidor lida em streaming ({@code PUT /api/usuario-investimentos/stream}).
+ *
+ * Mesmo efeito de {@link UsuarioInvestimentoService#salvarInvestimentos}, mas o corpo é percorrido com a API
+ * de streaming do Jackson: cada investimento e cada dia de rentabilidade é convertido e validado ao ser lido
+ * e os dias são gravados em JDBC batch a cada {@code investimentos.carteira-streaming.tamanho-lote} linhas.
+ * A memória por requisição fica limitada ao lote, independentemente do tamanho do corpo.
+ *
+ * Como a gravação começa antes do fim do corpo, o formato tem três restrições de ordem (a mesma em que o
+ * próprio DTO é serializado), todas respondidas com 400:
+ * <ul>
+ *   <li>{@code cpfIdentificacao} vem antes da lista de investimentos;</li>
+ *   <li>{@code rentabilidadeDiaria} é o último campo de cada investimento: o investimento é inserido ao
+ *       chegar na série (os dias precisam do ID), e só os campos simples ficam em memória;</li>
+ *   <li>os dias de cada série vêm em ordem crescente de data, sem repetição: cada data é comparada só
+ *       com a anterior, sem guardar as datas já lidas.</li>
+ * </ul>
+ * Tudo acontece em uma transação: qualquer erro desfaz a substituição.
+ */
+@Service
+public class SubstituicaoCarteiraStreamingService {
+
+    private static final String CAMPO_RENTABILIDADES = "rentabilidadeDiaria";
+
+    private final UsuarioInvestimentoRepository usuarioInvestimentoRepository;
+    private final CarteiraBulkRepository carteiraBulkRepository;
+    private final RentabilidadePeriodoService rentabilidadePeriodoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TravaCarteira travaCarteira;
+    private final OutboxRepository outboxRepository;
+    private final int tamanhoLote;
+
+    public SubstituicaoCarteiraStreamingService(UsuarioInvestimentoRepository usuarioInvestimentoRepository,
+                                                CarteiraBulkRepository carteiraBulkRepository,
+                                                RentabilidadePeriodoService rentabilidadePeriodoService,
+                                                PlatformTransactionManager transactionManager,
+                                                ObjectMapper objectMapper,
+                                                Validator validator,
+                                                TravaCarteira travaCarteira,
+                                                OutboxRepository outboxRepository,
+                                                @Value("${investimentos.carteira-streaming.tamanho-lote:5000}") int tamanhoLote) {
+        this.usuarioInvestimentoRepository = usuarioInvestimentoRepository;
+        this.carteiraBulkRepository = carteiraBulkRepository;
+        this.rentabilidadePeriodoService = rentabilidadePeriodoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.travaCarteira = travaCarteira;
+        this.outboxRepository = outboxRepository;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Substitui os investimentos do usuário pelos do corpo JSON (formato de {@code UsuarioInvestimentoDTO}).
+     *
+     * param entrada corpo da requisição
+     * return 200 com os totais gravados; 400 se o corpo for inválido ou o usuário não existir
+     */
+    public ResponseEntity<String> substituir(InputStream entrada) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            Totais totais = transactionTemplate.execute(status -> {
+                try {
+                    return lerCarteira(parser);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return ResponseEntity.ok("Investimentos salvos com sucesso (" + totais.investimentos + " investimentos, "
+                    + totais.rentabilidades + " rentabilidades).");
+        } catch (CorpoInvalidoException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (UncheckedIOException e) {
+            if (e.getCause() instanceof JsonProcessingException json) {
+                return ResponseEntity.badRequest().body("JSON inválido: " + json.getOriginalMessage());
+            }
+            throw e.getCause();
+        }
+    }
+
+    private Totais lerCarteira(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new CorpoInvalidoException("O corpo deve ser um objeto JSON");
+        }
+        Totais totais = new Totais();
+        Long usuarioId = null;
+        String cpf = null;
+        boolean listaLida = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            parser.nextToken();
+            if ("cpfIdentificacao".equals(campo)) {
+                cpf = parser.getValueAsString();
+                usuarioId = buscarUsuario(cpf);
+            } else if ("dataUsuarioInvestimentos".equals(campo) || "investimentos".equals(campo)) {
+                if (parser.currentToken() == JsonToken.VALUE_NULL || listaLida) continue;
+                if (usuarioId == null) {
+                    throw new CorpoInvalidoException("cpfIdentificacao deve vir antes de " + campo);
+                }
+                if (parser.currentToken() != JsonToken.START_ARRAY) {
+                    throw new CorpoInvalidoException(campo + " deve ser uma lista");
+                }
+                carteiraBulkRepository.removerInvestimentos(List.of(usuarioId));
+                lerInvestimentos(parser, usuarioId, totais);
+                listaLida = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (usuarioId == null) {
+            throw new CorpoInvalidoException("CPF do usuário é obrigatório.");
+        }
+        if (totais.investimentos == 0) {
+            throw new CorpoInvalidoException("Lista de investimentos não pode ser vazia.");
+        }
+        outboxRepository.registrar(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, cpf, (Long) null);
+        return totais;
+    }
+
+    private Long buscarUsuario(String cpf) {
+        if (cpf == null || cpf.isBlank()) {
+            throw new CorpoInvalidoException("CPF do usuário é obrigatório.");
+        }
+        travaCarteira.travar(cpf);
+        UsuarioInvestimento usuario = usuarioInvestimentoRepository.findByCpf_Cpf(cpf);
+        if (usuario == null) {
+            throw new CorpoInvalidoException("Usuário com CPF " + cpf + " não encontrado.");
+        }
+        return usuario.getId();
+    }
+
+    private void lerInvestimentos(JsonParser parser, Long usuarioId, Totais totais) throws IOException {
+        UsuarioInvestimento dono = new UsuarioInvestimento();
+        dono.setId(usuarioId);
+        List<RentabilidadeDiaria> lote = new ArrayList<>(tamanhoLote);
+        int indice = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new CorpoInvalidoException("investimentos[" + indice + "] deve ser um objeto");
+            }
+            // campos simples ficam em um nó pequeno; a série diária é lida item a item
+            ObjectNode cabecalho = objectMapper.createObjectNode();
+            Investimento investimento = null;
+            long dias = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+                if (investimento != null) {
+                    throw new CorpoInvalidoException("investimentos[" + indice + "]: " + CAMPO_RENTABILIDADES
+                            + " deve ser o último campo do investimento (encontrado " + campo + " depois)");
+                }
+                if (CAMPO_RENTABILIDADES.equals(campo)) {
+                    investimento = gravarInvestimento(cabecalho, dono, indice);
+                    if (parser.currentToken() == JsonToken.START_ARRAY) {
+                        dias = lerRentabilidades(parser, investimento, indice, lote);
+                    } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                        throw new CorpoInvalidoException("investimentos[" + indice + "]." + CAMPO_RENTABILIDADES + " deve ser uma lista");
+                    }
+                } else {
+                    cabecalho.set(campo, parser.readValueAsTree());
+                }
+            }
+            if (investimento == null) {
+                gravarInvestimento(cabecalho, dono, indice);
+            } else if (dias > 0) {
+                totais.comSerie.add(investimento.getId());
+            }
+            totais.investimentos++;
+            totais.rentabilidades += dias;
+            indice++;
+        }
+        gravarLote(lote);
+        // os períodos são consolidados a partir do banco, lendo a série de cada investimento em streaming
+        for (Long id : totais.comSerie) {
+            rentabilidadePeriodoService.recalcularInvestimento(id);
+        }
+    }
+
+    /** Valida o cabeçalho do investimento e o insere, obtendo o ID para as linhas diárias. */
+    private Investimento gravarInvestimento(ObjectNode cabecalho, UsuarioInvestimento dono, int indice)
+            throws JsonProcessingException {
+        InvestimentoDTO dto = objectMapper.treeToValue(cabecalho, InvestimentoDTO.class);
+        validar(dto, "investimentos[" + indice + "]");
+        TipoInvestimentoEnum tipo = InvestimentoMapper.tipo(dto.getTipoInvestimento());
+        if (tipo == null) {
+            throw new CorpoInvalidoException("investimentos[" + indice + "]: Tipo de investimento inválido: "
+                    + dto.getTipoInvestimento());
+        }
+        Investimento investimento = new Investimento();
+        investimento.setUsuarioInvestimento(dono);
+        InvestimentoMapper.copiarCampos(dto, investimento, tipo);
+        carteiraBulkRepository.inserirInvestimentos(List.of(investimento));
+        return investimento;
+    }
+
+    /**
+     * Lê a série diária de um investimento, gravando o lote sempre que atinge {@link #tamanhoLote}.
+     * return quantidade de dias lidos
+     */
+    private long lerRentabilidades(JsonParser parser, Investimento investimento, int indice,
+                                   List<RentabilidadeDiaria> lote) throws IOException {
+        LocalDate anterior = null;
+        long dias = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String caminho = "investimentos[" + indice + "]." + CAMPO_RENTABILIDADES + "[" + dias + "]";
+            RentabilidadeDiariaDTO dto = objectMapper.readValue(parser, RentabilidadeDiariaDTO.class);
+            if (dto == null) {
+                throw new CorpoInvalidoException(caminho + " não pode ser nulo");
+            }
+            validar(dto, caminho);
+            LocalDate data = InvestimentoMapper.data(dto.getDataRentabilidadeDiaria());
+            if (data == null) {
+                throw new CorpoInvalidoException(caminho + ": data inválida " + dto.getDataRentabilidadeDiaria() + " (use dd-MM-yyyy)");
+            }
+            if (anterior != null && !data.isAfter(anterior)) {
+                throw new CorpoInvalidoException(caminho + ": data " + dto.getDataRentabilidadeDiaria()
+                        + (data.isEqual(anterior) ? " repetida" : " fora de ordem")
+                        + " (os dias devem vir em ordem crescente de data)");
+            }
+            anterior = data;
+            RentabilidadeDiaria rd = new RentabilidadeDiaria(data, dto.getValorDiarioAcao(),
+                    dto.getTaxaDiarioRentabilidade(), dto.getMontanteAcumuladoDiario());
+            rd.setInvestimento(investimento);
+            lote.add(rd);
+            if (lote.size() >= tamanhoLote) {
+                gravarLote(lote);
+            }
+            dias++;
+        }
+        return dias;
+    }
+
+    private void gravarLote(List<RentabilidadeDiaria> lote) {
+        if (lote.isEmpty()) return;
+        carteiraBulkRepository.inserirRentabilidades(lote);
+        lote.clear();
+    }
+
+    private <T> void validar(T dto, String caminho) {
+        Set<ConstraintViolation<T>> violacoes = validator.validate(dto);
+        if (!violacoes.isEmpty()) {
+            throw new CorpoInvalidoException(caminho + ": " + violacoes.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /** Contadores da substituição. */
+    private static final class Totais {
+        private long investimentos;
+        private long rentabilidades;
+        private final List<Long> comSerie = new ArrayList<>();
+    }
+
+    /** Corpo rejeitado; a transação é desfeita e a resposta é 400. */
+    private static final class CorpoInvalidoException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CorpoInvalidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.exception.CarteiraOcupadaException;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trava das gravações de carteira por investidor.
+ *
+ * Gravações do mesmo CPF (ex: o frontend salvando enquanto a carga noturna importa) são serializadas;
+ * gravações de CPFs diferentes seguem em paralelo. A trava é tomada dentro da transação da gravação
+ * e liberada só depois do commit ou rollback, para que a próxima gravação já leia o estado gravado.
+ *
+ * Modos ({@code investimentos.trava-cpf.modo}):
+ * <ul>
+ *   <li>{@code MEMORIA} (padrão): {@code faixas} {@link ReentrantLock}s indexados pelo hash do CPF
+ *       (lock striping). Vários CPFs são travados em ordem crescente de faixa, sem risco de deadlock.</li>
+ *   <li>{@code BANCO}: {@code SELECT ... FOR UPDATE SKIP LOCKED} nas linhas de USUARIO_INVESTIMENTO,
+ *       valendo entre várias instâncias da aplicação. Linhas travadas por outra transação são puladas
+ *       e a consulta é repetida até travar todas ou a espera acabar.</li>
+ * </ul>
+ * Esgotada a {@code espera-maxima}, lança {@link CarteiraOcupadaException} (409).
+ *
+ * Métricas: {@code investimentos.carteira.trava.espera} (tempo até obter a trava, por modo) e
+ * {@code investimentos.carteira.trava.esgotada}.
+ */
+@Component
+public class TravaCarteira {
+
+    /** Modo de travamento. */
+    public enum Modo { MEMORIA, BANCO }
+
+    /** Limite de itens por IN do Oracle. */
+    private static final int TAMANHO_LOTE_IN = 1000;
+    /** Pausa entre tentativas do modo BANCO. */
+    private static final long PAUSA_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static final String TRAVAR = "select CPF_NUMERO from USUARIO_INVESTIMENTO"
+            + " where CPF_NUMERO in (:cpfs) for update skip locked";
+    private static final String EXISTENTES = "select CPF_NUMERO from USUARIO_INVESTIMENTO where CPF_NUMERO in (:cpfs)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Modo modo;
+    private final long esperaMaximaNanos;
+    private final ReentrantLock[] faixas;
+    private final Timer espera;
+    private final Counter esgotadas;
+
+    public TravaCarteira(NamedParameterJdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${investimentos.trava-cpf.modo:MEMORIA}") Modo modo,
+                         @Value("${investimentos.trava-cpf.faixas:1024}") int faixas,
+                         @Value("${investimentos.trava-cpf.espera-maxima:10s}") Duration esperaMaxima) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.modo = modo;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        // potência de 2: a faixa sai do hash com uma máscara
+        this.faixas = new ReentrantLock[Integer.highestOneBit(Math.max(1, faixas - 1)) << 1];
+        for (int i = 0; i < this.faixas.length; i++) {
+            this.faixas[i] = new ReentrantLock();
+        }
+        this.espera = Timer.builder("investimentos.carteira.trava.espera")
+                .description("Tempo de espera pela trava da carteira de um investidor")
+                .tag("modo", modo.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.esgotadas = Counter.builder("investimentos.carteira.trava.esgotada")
+                .description("Gravações recusadas por esperar demais pela trava da carteira")
+                .tag("modo", modo.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Trava a carteira do CPF até o fim da transação corrente.
+     *
+     * param cpf CPF do investidor (com ou sem máscara); CPFs inválidos não travam nada
+     * throws CarteiraOcupadaException se a trava não sair dentro da espera máxima
+     * throws IllegalStateException fora de uma transação
+     */
+    public void travar(String cpf) {
+        travar(cpf != null ? List.of(cpf) : List.of());
+    }
+
+    /**
+     * Trava as carteiras dos CPFs até o fim da transação corrente (todas ou nenhuma).
+     *
+     * param cpfs CPFs dos investidores; inválidos e repetidos são ignorados
+     * throws CarteiraOcupadaException se alguma trava não sair dentro da espera máxima
+     * throws IllegalStateException fora de uma transação
+     */
+    public void travar(Collection<String> cpfs) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A trava da carteira exige uma transação ativa");
+        }
+        Set<Long> numeros = new HashSet<>();
+        for (String cpf : cpfs) {
+            long numero = CpfValidator.compactar(cpf);
+            if (numero >= 0) {
+                numeros.add(numero);
+            }
+        }
+        if (numeros.isEmpty()) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            if (modo == Modo.BANCO) {
+                travarLinhas(numeros, inicio + esperaMaximaNanos);
+            } else {
+                travarFaixas(numeros, inicio + esperaMaximaNanos);
+            }
+        } finally {
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Faixa (índice do lock) do CPF compactado. */
+    int faixa(long numero) {
+        long h = numero * 0x9E3779B97F4A7C15L; // espalha CPFs sequenciais entre as faixas
+        return (int) (h ^ (h >>> 32)) & (faixas.length - 1);
+    }
+
+    /** Quantidade de faixas (potência de 2). */
+    int quantidadeFaixas() {
+        return faixas.length;
+    }
+
+    private void travarFaixas(Set<Long> numeros, long prazo) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (long numero : numeros) {
+            indices.add(faixa(numero));
+        }
+        List<ReentrantLock> obtidos = new ArrayList<>(indices.size());
+        try {
+            for (int indice : indices) {
+                ReentrantLock lock = faixas[indice];
+                if (!lock.tryLock(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw ocupada(numeros);
+                }
+                obtidos.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            liberar(obtidos);
+            throw new CarteiraOcupadaException("Gravação interrompida enquanto aguardava a carteira");
+        } catch (RuntimeException e) {
+            liberar(obtidos);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                liberar(obtidos);
+            }
+        });
+    }
+
+    private static void liberar(List<ReentrantLock> obtidos) {
+        for (int i = obtidos.size() - 1; i >= 0; i--) {
+            obtidos.get(i).unlock();
+        }
+    }
+
+    /**
+     * Trava as linhas existentes dos CPFs; as travas de linha duram até o commit/rollback.
+     * CPFs ainda sem linha (usuário novo da importação) não têm o que travar.
+     */
+    private void travarLinhas(Set<Long> numeros, long prazo) {
+        List<List<Long>> lotes = lotes(numeros);
+        Set<Long> existentes = new HashSet<>();
+        for (List<Long> lote : lotes) {
+            existentes.addAll(jdbcTemplate.queryForList(EXISTENTES, Map.of("cpfs", lote), Long.class));
+        }
+        Set<Long> travados = new HashSet<>();
+        while (true) {
+            for (List<Long> lote : lotes) {
+                travados.addAll(jdbcTemplate.queryForList(TRAVAR, Map.of("cpfs", lote), Long.class));
+            }
+            if (travados.containsAll(existentes)) {
+                return;
+            }
+            if (System.nanoTime() - prazo >= 0) {
+                throw ocupada(numeros);
+            }
+            LockSupport.parkNanos(PAUSA_NANOS);
+        }
+    }
+
+    private CarteiraOcupadaException ocupada(Set<Long> numeros) {
+        esgotadas.increment();
+        String cpfs = numeros.size() == 1 ? "do CPF " + CpfValidator.expandir(numeros.iterator().next())
+                : "de " + numeros.size() + " CPFs";
+        return new CarteiraOcupadaException("A carteira " + cpfs + " está sendo gravada por outra requisição; tente novamente.");
+    }
+
+    private static List<List<Long>> lotes(Set<Long> numeros) {
+        List<Long> lista = new ArrayList<>(numeros);
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE_IN) {
+            lotes.add(lista.subList(i, Math.min(i + TAMANHO_LOTE_IN, lista.size())));
+        }
+        return lotes;
+    }
+}
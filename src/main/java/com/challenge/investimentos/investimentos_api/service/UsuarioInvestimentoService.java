@@ -1,25 +1,24 @@
 package com.challenge.investimentos.investimentos_api.service;
 
 import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
-import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
 import com.challenge.investimentos.investimentos_api.service.interfaces.IUsuarioInvestimentoService;
 
-import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
 import com.challenge.investimentos.investimentos_api.model.Investimento;
-import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
 import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Serviço para gerenciar usuários investidores e seus investimentos.
@@ -34,7 +33,14 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
     @Autowired
     private UsuarioInvestimentoRepository usuarioInvestimentoRepository;
 
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    @Autowired
+    private RentabilidadePeriodoService rentabilidadePeriodoService;
+
+    @Autowired
+    private TravaCarteira travaCarteira;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
 
     /**
      * Cria um novo usuário investidor com o CPF informado.
@@ -56,6 +62,7 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
         novoUsuario.setInvestimentos(new ArrayList<>());
 
         usuarioInvestimentoRepository.save(novoUsuario);
+        outboxRepository.registrar(TipoEventoCarteira.USUARIO_CRIADO, cpfIdentificacao, (Long) null);
         return ResponseEntity.ok("Usuário criado com sucesso.");
     }
 
@@ -75,6 +82,7 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
             return ResponseEntity.badRequest().body("CPF do usuário é obrigatório.");
         }
 
+        travaCarteira.travar(cpf);
     UsuarioInvestimento usuario = usuarioInvestimentoRepository.findByCpf_Cpf(cpf);
         if (usuario == null) {
             return ResponseEntity.badRequest().body("Usuário com CPF " + cpf + " não encontrado.");
@@ -91,54 +99,22 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
             usuario.getInvestimentos().clear();
         }
 
-        List<Investimento> investimentos = investimentosDTO.stream().map(investDTO -> {
-            Investimento investimento = new Investimento();
-            investimento.setUsuarioInvestimento(usuario);
-
-            investimento.setNomeBanco(investDTO.getNomeBanco());
-
-            TipoInvestimentoEnum tipoInvestimento;
-            try {
-                tipoInvestimento = TipoInvestimentoEnum.valueOf(investDTO.getTipoInvestimento().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Tipo de investimento inválido: " + investDTO.getTipoInvestimento());
-            }
-            investimento.setTipoInvestimento(tipoInvestimento);
-            investimento.setNomeInvestimento(investDTO.getNomeInvestimento());
-
-            investimento.setMontanteInicial(investDTO.getMontanteInicial());
-            investimento.setValorInicialAcao(investDTO.getValorInicialAcao());
-            investimento.setTaxaRentabilidade(investDTO.getTaxaRentabilidade());
-            investimento.setNumeroAcoesInicial(investDTO.getNumeroAcoesInicial());
-
-            List<RentabilidadeDiariaDTO> rentabilidadeDTOs = investDTO.getRentabilidadeDiaria();
-            if (rentabilidadeDTOs != null && !rentabilidadeDTOs.isEmpty()) {
-                List<RentabilidadeDiaria> rentabilidades = rentabilidadeDTOs.stream().map(rdDTO -> {
-                    LocalDate data;
-                    try {
-                        data = LocalDate.parse(rdDTO.getDataRentabilidadeDiaria(), FORMATTER);
-                    } catch (Exception e) {
-                        data = null;
-                    }
-                    RentabilidadeDiaria rd = new RentabilidadeDiaria();
-                    rd.setDataRentabilidadeDiaria(data);
-                    rd.setValorDiarioAcao(rdDTO.getValorDiarioAcao());
-                    rd.setTaxaDiarioRentabilidade(rdDTO.getTaxaDiarioRentabilidade());
-                    rd.setMontanteAcumuladoDiario(rdDTO.getMontanteAcumuladoDiario());
-                    return rd;
-                }).collect(Collectors.toList());
-
-                investimento.setRentabilidadeDiaria(rentabilidades);
-            } else {
-                investimento.setRentabilidadeDiaria(new ArrayList<>());
-            }
-
-            return investimento;
-        }).collect(Collectors.toList());
+        List<Investimento> investimentos = new ArrayList<>(investimentosDTO.size());
+        for (InvestimentoDTO investDTO : investimentosDTO) {
+            investimentos.add(InvestimentoMapper.novoInvestimento(investDTO, usuario));
+        }
 
         usuario.getInvestimentos().addAll(investimentos);
         usuarioInvestimentoRepository.save(usuario);
+        usuarioInvestimentoRepository.flush();
+        // investimentos substituídos: os períodos antigos saem em cascata e os novos são consolidados
+        for (Investimento investimento : usuario.getInvestimentos()) {
+            if (!investimento.getRentabilidadeDiaria().isEmpty()) {
+                rentabilidadePeriodoService.recalcularInvestimento(investimento.getId());
+            }
+        }
 
+        outboxRepository.registrar(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, cpf, (Long) null);
         return ResponseEntity.ok("Investimentos salvos com sucesso.");
     }
 
@@ -151,6 +127,21 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
         return ResponseEntity.ok(usuarioInvestimentoRepository.findAll());
     }
 
+    /**
+     * Lista usuários investidores com investimentos projetados apenas nos campos selecionados.
+     * param selecao campos e coleções solicitados
+     * param cpf CPF do usuário, ou null para todos
+     * return 200 com a lista projetada; 404 se o CPF informado não existir
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> listarProjecao(SelecaoCampos selecao, String cpf) {
+        List<Map<String, Object>> usuarios = usuarioInvestimentoRepository.buscarProjecao(selecao, cpf);
+        if (cpf != null && usuarios.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(usuarios);
+    }
+
     /**
      * Busca um usuário pelo CPF.
      * param cpf CPF do usuário
@@ -172,6 +163,7 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
      */
     @Transactional
     public ResponseEntity<String> deletarPorCpf(String cpf) {
+        travaCarteira.travar(cpf);
     UsuarioInvestimento usuario = usuarioInvestimentoRepository.findByCpf_Cpf(cpf);
         if (usuario == null) {
             return ResponseEntity.notFound().build();
@@ -181,6 +173,7 @@ public class UsuarioInvestimentoService implements IUsuarioInvestimentoService {
         }
 
         usuarioInvestimentoRepository.delete(usuario);
+        outboxRepository.registrar(TipoEventoCarteira.USUARIO_REMOVIDO, cpf, (Long) null);
         return ResponseEntity.ok("Usuário e seus investimentos foram deletados.");
     }
 }
\ No newline at end of file
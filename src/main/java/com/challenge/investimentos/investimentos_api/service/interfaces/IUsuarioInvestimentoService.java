@@ -1,10 +1,12 @@
 package com.challenge.investimentos.investimentos_api.service.interfaces;
 
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface para operações de usuários investidores.
@@ -18,6 +20,8 @@ public interface IUsuarioInvestimentoService {
     
     ResponseEntity<List<UsuarioInvestimento>> listarTodosUsuarios();
     
+    ResponseEntity<List<Map<String, Object>>> listarProjecao(SelecaoCampos selecao, String cpf);
+    
     ResponseEntity<?> buscarPorCpf(String cpf);
     
     ResponseEntity<String> deletarPorCpf(String cpf);
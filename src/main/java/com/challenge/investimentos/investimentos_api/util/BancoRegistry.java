@@ -0,0 +1,104 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.enums.BancoEnum;
+import com.challenge.investimentos.investimentos_api.model.Banco;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro imutável dos bancos conhecidos: nome → código bancário e código → nome.
+ *
+ * O nome é resolvido pela chave de {@link BancoEnum#chave} (sem diferenciar maiúsculas e minúsculas)
+ * em um único acesso a hash. Até a tabela BANCO ser lida na inicialização
+ * ({@code BancoRegistryInitializer}), o registro vigente é o montado a partir de {@link BancoEnum};
+ * depois disso cada recarga publica uma nova instância, sem alterar a anterior.
+ */
+public final class BancoRegistry {
+
+    private static volatile BancoRegistry atual = deEnum();
+
+    private final Map<String, Banco> porNome;
+    private final Map<Integer, Banco> porCodigo;
+    private final List<Banco> bancos;
+
+    private BancoRegistry(Collection<Banco> bancos) {
+        Map<String, Banco> nomes = new HashMap<>(bancos.size() * 2);
+        Map<Integer, Banco> codigos = new HashMap<>(bancos.size() * 2);
+        for (Banco banco : bancos) {
+            Banco copia = new Banco(banco.getNomeBanco(), banco.getCodigoBancario());
+            nomes.put(BancoEnum.chave(copia.getNomeBanco()), copia);
+            codigos.put(copia.getCodigoBancario(), copia);
+        }
+        List<Banco> ordenados = new ArrayList<>(codigos.values());
+        ordenados.sort(Comparator.comparing(Banco::getCodigoBancario));
+        this.porNome = Map.copyOf(nomes);
+        this.porCodigo = Map.copyOf(codigos);
+        this.bancos = List.copyOf(ordenados);
+    }
+
+    /**
+     * Registro vigente.
+     */
+    public static BancoRegistry atual() {
+        return atual;
+    }
+
+    /**
+     * Publica um novo registro montado a partir das linhas da tabela BANCO.
+     * param bancos bancos cadastrados
+     * return registro publicado
+     */
+    public static BancoRegistry publicar(Collection<Banco> bancos) {
+        BancoRegistry registro = new BancoRegistry(bancos);
+        atual = registro;
+        return registro;
+    }
+
+    /**
+     * Registro com os bancos de {@link BancoEnum} (conteúdo inicial da tabela BANCO).
+     */
+    public static BancoRegistry deEnum() {
+        List<Banco> bancos = new ArrayList<>(BancoEnum.values().length);
+        for (BancoEnum banco : BancoEnum.values()) {
+            bancos.add(new Banco(banco.getNomeBanco(), banco.getCodigoBancario()));
+        }
+        return new BancoRegistry(bancos);
+    }
+
+    /**
+     * Código bancário do banco com o nome informado.
+     * param nomeBanco nome do banco (sem diferenciar maiúsculas e minúsculas)
+     * return código, ou {@code null} se o nome for nulo ou desconhecido
+     */
+    public Integer codigo(String nomeBanco) {
+        if (nomeBanco == null) return null;
+        Banco banco = porNome.get(BancoEnum.chave(nomeBanco));
+        return banco != null ? banco.getCodigoBancario() : null;
+    }
+
+    /**
+     * Nome cadastrado para o código bancário.
+     * param codigoBancario código do banco
+     * return nome, ou {@code null} se o código for desconhecido
+     */
+    public String nome(Integer codigoBancario) {
+        Banco banco = codigoBancario != null ? porCodigo.get(codigoBancario) : null;
+        return banco != null ? banco.getNomeBanco() : null;
+    }
+
+    /**
+     * Bancos cadastrados, em ordem de código (cópias; o registro não é alterado).
+     */
+    public List<Banco> listar() {
+        List<Banco> copias = new ArrayList<>(bancos.size());
+        for (Banco banco : bancos) {
+            copias.add(new Banco(banco.getNomeBanco(), banco.getCodigoBancario()));
+        }
+        return copias;
+    }
+}
@@ -0,0 +1,167 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Normalização e validação de CPF (dígitos verificadores módulo 11) em uma única passada.
+ *
+ * A entrada é percorrida caractere a caractere sobre {@link CharSequence}: caracteres que não são
+ * dígitos (máscara) são ignorados e as duas somas dos verificadores são acumuladas durante a leitura,
+ * sem expressões regulares nem arrays intermediários. A validação não aloca; a normalização só
+ * cria a {@code String} final quando a entrada tem máscara.
+ */
+public final class CpfValidator {
+
+    private static final int DIGITOS = 11;
+
+    private CpfValidator() {}
+
+    /**
+     * Verifica se o CPF é válido (com ou sem máscara).
+     *
+     * Rejeita nulos, entradas sem exatamente 11 dígitos, CPFs com todos os dígitos iguais
+     * e dígitos verificadores incorretos.
+     *
+     * param cpf CPF informado
+     * return {@code true} se for válido
+     */
+    public static boolean valido(CharSequence cpf) {
+        return ler(cpf, null);
+    }
+
+    /**
+     * Normaliza o CPF para somente dígitos, validando-o.
+     *
+     * param cpf CPF informado (com ou sem máscara)
+     * return os 11 dígitos, ou {@code null} se o CPF for inválido; uma {@code String} já
+     *        normalizada é devolvida sem cópia
+     */
+    public static String normalizar(CharSequence cpf) {
+        if (cpf instanceof String texto && texto.length() == DIGITOS) {
+            return ler(texto, null) ? texto : null;
+        }
+        char[] digitos = new char[DIGITOS];
+        return ler(cpf, digitos) ? new String(digitos) : null;
+    }
+
+    /**
+     * Valida um lote de CPFs (ex: linhas de uma importação).
+     *
+     * param cpfs CPFs informados; posições nulas são inválidas
+     * return bitset com o bit {@code i} ligado se {@code cpfs[i]} for válido
+     */
+    public static BitSet validar(CharSequence[] cpfs) {
+        BitSet validos = new BitSet(cpfs.length);
+        for (int i = 0; i < cpfs.length; i++) {
+            if (valido(cpfs[i])) validos.set(i);
+        }
+        return validos;
+    }
+
+    /**
+     * Valida um lote de CPFs na ordem de iteração.
+     *
+     * param cpfs CPFs informados
+     * return bitset com o bit {@code i} ligado se o i-ésimo CPF for válido
+     */
+    public static BitSet validar(Iterable<? extends CharSequence> cpfs) {
+        return validar(cpfs.iterator());
+    }
+
+    /**
+     * Valida um fluxo de CPFs na ordem de encontro, consumindo o stream.
+     *
+     * param cpfs CPFs informados
+     * return bitset com o bit {@code i} ligado se o i-ésimo CPF for válido
+     */
+    public static BitSet validar(Stream<? extends CharSequence> cpfs) {
+        return validar(cpfs.iterator());
+    }
+
+    private static BitSet validar(Iterator<? extends CharSequence> cpfs) {
+        BitSet validos = new BitSet();
+        for (int i = 0; cpfs.hasNext(); i++) {
+            if (valido(cpfs.next())) validos.set(i);
+        }
+        return validos;
+    }
+
+    /**
+     * Forma numérica compacta do CPF (os 11 dígitos como {@code long}), usada como chave de busca.
+     *
+     * Só exige 11 dígitos (a máscara é ignorada); os verificadores não são conferidos, para que
+     * registros antigos com CPF fora da regra também tenham chave.
+     *
+     * param cpf CPF informado
+     * return valor de 0 a 99999999999, ou -1 se a entrada não tiver exatamente 11 dígitos
+     */
+    public static long compactar(CharSequence cpf) {
+        if (cpf == null) return -1;
+        long valor = 0;
+        int quantidade = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') continue;
+            if (++quantidade > DIGITOS) return -1;
+            valor = valor * 10 + (c - '0');
+        }
+        return quantidade == DIGITOS ? valor : -1;
+    }
+
+    /**
+     * Inverso de {@link #compactar}: os 11 dígitos, com zeros à esquerda.
+     * param numero CPF compactado
+     * return CPF somente com dígitos
+     */
+    public static String expandir(long numero) {
+        char[] digitos = new char[DIGITOS];
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+        return new String(digitos);
+    }
+
+    /**
+     * Percorre a entrada uma vez acumulando as somas dos verificadores.
+     *
+     * param cpf entrada
+     * param destino se não nulo, recebe os 11 dígitos lidos
+     * return {@code true} se o CPF for válido
+     */
+    private static boolean ler(CharSequence cpf, char[] destino) {
+        if (cpf == null) return false;
+        int quantidade = 0;
+        int primeiro = 0;
+        boolean iguais = true;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (c < '0' || c > '9') continue;
+            if (quantidade == DIGITOS) return false;
+            int d = c - '0';
+            if (quantidade == 0) {
+                primeiro = d;
+            } else if (d != primeiro) {
+                iguais = false;
+            }
+            if (quantidade < 9) soma1 += d * (10 - quantidade);
+            if (quantidade < 10) soma2 += d * (11 - quantidade);
+            if (quantidade == 9) dv1 = d;
+            if (quantidade == 10) dv2 = d;
+            if (destino != null) destino[quantidade] = c;
+            quantidade++;
+        }
+        return quantidade == DIGITOS && !iguais && verificador(soma1) == dv1 && verificador(soma2) == dv2;
+    }
+
+    private static int verificador(int soma) {
+        int dv = 11 - (soma % 11);
+        return dv >= 10 ? 0 : dv;
+    }
+}
@@ -0,0 +1,108 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+/**
+ * Algoritmos de redução (downsampling) de séries temporais para gráficos.
+ *
+ * Trabalham diretamente sobre arrays primitivos (datas em epoch-day e valores {@code double}),
+ * sem criar objetos por ponto, e percorrem a série uma única vez.
+ */
+public final class DownsamplingSerie {
+
+    private DownsamplingSerie() {}
+
+    /**
+     * Seleciona os pontos da série pelo algoritmo Largest-Triangle-Three-Buckets (LTTB).
+     *
+     * O primeiro e o último ponto são sempre mantidos; os demais são divididos em
+     * {@code pontos - 2} buckets e, de cada bucket, é escolhido o ponto que forma o maior
+     * triângulo com o ponto escolhido anteriormente e a média do bucket seguinte.
+     *
+     * @param x eixo X crescente (ex: epoch-day)
+     * @param y valores da série
+     * @param n quantidade de pontos válidos em {@code x}/{@code y}
+     * @param pontos quantidade máxima de pontos desejada
+     * @return índices (crescentes) dos pontos selecionados
+     * @throws IllegalArgumentException se {@code pontos} for menor que 3 e menor que {@code n}
+     */
+    public static int[] lttb(long[] x, double[] y, int n, int pontos) {
+        if (pontos >= n) {
+            int[] todos = new int[n];
+            for (int i = 0; i < n; i++) todos[i] = i;
+            return todos;
+        }
+        if (pontos < 3) {
+            throw new IllegalArgumentException("A quantidade de pontos deve ser no mínimo 3");
+        }
+
+        int[] selecionados = new int[pontos];
+        int k = 0;
+        double tamanhoBucket = (double) (n - 2) / (pontos - 2);
+        int a = 0;
+        selecionados[k++] = a;
+
+        for (int i = 0; i < pontos - 2; i++) {
+            // média do próximo bucket (terceiro vértice do triângulo)
+            int inicioMedia = (int) Math.floor((i + 1) * tamanhoBucket) + 1;
+            int fimMedia = Math.min((int) Math.floor((i + 2) * tamanhoBucket) + 1, n);
+            double mediaX = 0;
+            double mediaY = 0;
+            for (int j = inicioMedia; j < fimMedia; j++) {
+                mediaX += x[j];
+                mediaY += y[j];
+            }
+            int tamanhoMedia = fimMedia - inicioMedia;
+            if (tamanhoMedia > 0) {
+                mediaX /= tamanhoMedia;
+                mediaY /= tamanhoMedia;
+            } else {
+                mediaX = x[n - 1];
+                mediaY = y[n - 1];
+            }
+
+            // bucket atual: escolhe o ponto de maior área
+            int inicio = (int) Math.floor(i * tamanhoBucket) + 1;
+            int fim = (int) Math.floor((i + 1) * tamanhoBucket) + 1;
+            double ax = x[a];
+            double ay = y[a];
+            double maiorArea = -1;
+            int escolhido = inicio;
+            for (int j = inicio; j < fim; j++) {
+                double area = Math.abs((ax - mediaX) * (y[j] - ay) - (ax - x[j]) * (mediaY - ay));
+                if (area > maiorArea) {
+                    maiorArea = area;
+                    escolhido = j;
+                }
+            }
+            selecionados[k++] = escolhido;
+            a = escolhido;
+        }
+
+        selecionados[k] = n - 1;
+        return selecionados;
+    }
+
+    /**
+     * Alinha uma série em buckets de datas de largura fixa, guardando o valor de fechamento
+     * (última observação) de cada bucket. Buckets sem observação repetem o último valor conhecido.
+     *
+     * @param x datas crescentes em epoch-day
+     * @param y valores da série
+     * @param n quantidade de pontos válidos
+     * @param inicio epoch-day inicial do primeiro bucket
+     * @param largura largura de cada bucket em dias (maior que zero)
+     * @param buckets quantidade de buckets
+     * @param destino array de saída com {@code buckets} posições; posições antes da
+     *                primeira observação recebem {@code NaN}
+     */
+    public static void fechamentoPorBucket(long[] x, double[] y, int n, long inicio, long largura, int buckets, double[] destino) {
+        double ultimo = Double.NaN;
+        int j = 0;
+        for (int b = 0; b < buckets; b++) {
+            long limite = inicio + (b + 1) * largura;
+            while (j < n && x[j] < limite) {
+                ultimo = y[j++];
+            }
+            destino[b] = ultimo;
+        }
+    }
+}
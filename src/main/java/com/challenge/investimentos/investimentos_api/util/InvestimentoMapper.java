@@ -0,0 +1,285 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Conversões entre DTOs e entidades de investimento usadas por todos os caminhos de escrita e leitura.
+ *
+ * Feito para séries longas: o tipo de investimento vem de uma tabela pré-calculada (sem exceção para
+ * valores inválidos), as datas "dd-MM-yyyy" são lidas e escritas caractere a caractere, sem
+ * {@code DateTimeFormatter}, e as listas já nascem com o tamanho final.
+ */
+public final class InvestimentoMapper {
+
+    /** Formato das datas trafegadas pela API. */
+    public static final String FORMATO_DATA = "dd-MM-yyyy";
+
+    private static final Map<String, TipoInvestimentoEnum> TIPOS = new HashMap<>();
+
+    static {
+        for (TipoInvestimentoEnum tipo : TipoInvestimentoEnum.values()) {
+            TIPOS.put(tipo.name(), tipo);
+            TIPOS.put(tipo.name().toLowerCase(Locale.ROOT), tipo);
+        }
+    }
+
+    private InvestimentoMapper() {}
+
+    /**
+     * Converte o nome do tipo de investimento, sem diferenciar maiúsculas e minúsculas.
+     * param nome nome do tipo (ex: "RENDA_FIXA")
+     * return tipo correspondente, ou {@code null} se nulo ou desconhecido
+     */
+    public static TipoInvestimentoEnum tipo(String nome) {
+        if (nome == null) return null;
+        TipoInvestimentoEnum tipo = TIPOS.get(nome);
+        return tipo != null ? tipo : TIPOS.get(nome.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Lê uma data no formato fixo "dd-MM-yyyy".
+     * param texto data
+     * return data, ou {@code null} se nula, fora do formato ou inexistente (ex: 31-02-2025)
+     */
+    public static LocalDate data(CharSequence texto) {
+        if (texto == null || texto.length() != 10 || texto.charAt(2) != '-' || texto.charAt(5) != '-') return null;
+        int dia = digitos(texto, 0, 2);
+        int mes = digitos(texto, 3, 2);
+        int ano = digitos(texto, 6, 4);
+        if (dia < 0 || mes < 0 || ano < 0) return null;
+        try {
+            return LocalDate.of(ano, mes, dia);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Escreve a data no formato "dd-MM-yyyy".
+     * param data data (anos de 0 a 9999)
+     * return texto, ou {@code null} se a data for nula
+     */
+    public static String texto(LocalDate data) {
+        if (data == null) return null;
+        int dia = data.getDayOfMonth();
+        int mes = data.getMonthValue();
+        int ano = data.getYear();
+        char[] c = new char[10];
+        c[0] = (char) ('0' + dia / 10);
+        c[1] = (char) ('0' + dia % 10);
+        c[2] = '-';
+        c[3] = (char) ('0' + mes / 10);
+        c[4] = (char) ('0' + mes % 10);
+        c[5] = '-';
+        c[6] = (char) ('0' + ano / 1000 % 10);
+        c[7] = (char) ('0' + ano / 100 % 10);
+        c[8] = (char) ('0' + ano / 10 % 10);
+        c[9] = (char) ('0' + ano % 10);
+        return new String(c);
+    }
+
+    /**
+     * Cria um investimento novo (sem ID) com sua série diária.
+     *
+     * param dto dados do investimento
+     * param usuario dono do investimento
+     * return investimento não persistido
+     * throws IllegalArgumentException se o tipo de investimento ou alguma data for inválida
+     */
+    public static Investimento novoInvestimento(InvestimentoDTO dto, UsuarioInvestimento usuario) {
+        Investimento investimento = new Investimento();
+        investimento.setUsuarioInvestimento(usuario);
+        copiarCampos(dto, investimento, tipoObrigatorio(dto.getTipoInvestimento()));
+        investimento.setRentabilidadeDiaria(novasRentabilidades(dto.getRentabilidadeDiaria()));
+        return investimento;
+    }
+
+    /**
+     * Copia os campos simples do DTO para o investimento (a série diária não é alterada).
+     * param dto dados do investimento
+     * param investimento destino
+     * param tipo tipo já convertido
+     */
+    public static void copiarCampos(InvestimentoDTO dto, Investimento investimento, TipoInvestimentoEnum tipo) {
+        definirBanco(investimento, dto.getNomeBanco());
+        investimento.setTipoInvestimento(tipo);
+        investimento.setNomeInvestimento(dto.getNomeInvestimento());
+        investimento.setMontanteInicial(dto.getMontanteInicial());
+        investimento.setValorInicialAcao(dto.getValorInicialAcao());
+        investimento.setTaxaRentabilidade(dto.getTaxaRentabilidade());
+        investimento.setNumeroAcoesInicial(dto.getNumeroAcoesInicial());
+    }
+
+    /**
+     * Define o nome do banco do investimento e o código bancário resolvido no {@link BancoRegistry}
+     * ({@code null} para bancos fora do registro).
+     * param investimento destino
+     * param nomeBanco nome informado
+     */
+    public static void definirBanco(Investimento investimento, String nomeBanco) {
+        investimento.setNomeBanco(nomeBanco);
+        investimento.setCodigoBancario(BancoRegistry.atual().codigo(nomeBanco));
+    }
+
+    /**
+     * Converte a série diária enviada em entidades (ainda sem investimento).
+     * param dtos dias enviados; {@code null} resulta em lista vazia
+     * return lista mutável com um dia por DTO
+     * throws IllegalArgumentException se alguma data for inválida
+     */
+    public static List<RentabilidadeDiaria> novasRentabilidades(List<RentabilidadeDiariaDTO> dtos) {
+        if (dtos == null) return new ArrayList<>();
+        List<RentabilidadeDiaria> dias = new ArrayList<>(dtos.size());
+        for (RentabilidadeDiariaDTO dto : dtos) {
+            dias.add(novaRentabilidade(dto));
+        }
+        return dias;
+    }
+
+    /**
+     * Converte um dia enviado em entidade (ainda sem investimento).
+     * throws IllegalArgumentException se a data for inválida
+     */
+    public static RentabilidadeDiaria novaRentabilidade(RentabilidadeDiariaDTO dto) {
+        return new RentabilidadeDiaria(dataObrigatoria(dto.getDataRentabilidadeDiaria()), dto.getValorDiarioAcao(),
+                dto.getTaxaDiarioRentabilidade(), dto.getMontanteAcumuladoDiario());
+    }
+
+    /**
+     * Converte o tipo, falhando com a mensagem usada pela API.
+     * throws IllegalArgumentException se o tipo for nulo ou desconhecido
+     */
+    public static TipoInvestimentoEnum tipoObrigatorio(String nome) {
+        TipoInvestimentoEnum tipo = tipo(nome);
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de investimento inválido: " + nome);
+        }
+        return tipo;
+    }
+
+    /**
+     * Converte a data, falhando com a mensagem usada pela API.
+     * throws IllegalArgumentException se a data for nula ou inválida
+     */
+    public static LocalDate dataObrigatoria(String texto) {
+        LocalDate data = data(texto);
+        if (data == null) {
+            throw new IllegalArgumentException("Data inválida: " + texto + " (use " + FORMATO_DATA + ")");
+        }
+        return data;
+    }
+
+    /**
+     * Converte o investimento (com a série diária carregada) em DTO.
+     */
+    public static InvestimentoDTO paraDTO(Investimento investimento) {
+        if (investimento == null) return null;
+        InvestimentoDTO dto = new InvestimentoDTO();
+        dto.setId(investimento.getId());
+        dto.setNomeBanco(investimento.getNomeBanco());
+        dto.setCodigoBancario(investimento.getCodigoBancario());
+        dto.setTipoInvestimento(investimento.getTipoInvestimento() != null ? investimento.getTipoInvestimento().name() : null);
+        dto.setNomeInvestimento(investimento.getNomeInvestimento());
+        dto.setMontanteInicial(investimento.getMontanteInicial());
+        dto.setValorInicialAcao(investimento.getValorInicialAcao());
+        dto.setTaxaRentabilidade(investimento.getTaxaRentabilidade());
+        dto.setNumeroAcoesInicial(investimento.getNumeroAcoesInicial());
+        Instrumento instrumento = investimento.getInstrumento();
+        if (instrumento != null) {
+            // série derivada das cotações compartilhadas do instrumento
+            dto.setCodigoInstrumento(instrumento.getCodigo());
+            List<CotacaoInstrumento> cotacoes = instrumento.getCotacoes();
+            List<RentabilidadeDiariaDTO> dtos = new ArrayList<>(cotacoes.size());
+            for (CotacaoInstrumento cotacao : cotacoes) {
+                dtos.add(paraDTO(cotacao, investimento.getNumeroAcoesInicial()));
+            }
+            dto.setRentabilidadeDiaria(dtos);
+            return dto;
+        }
+        List<RentabilidadeDiaria> dias = investimento.getRentabilidadeDiaria();
+        if (dias != null) {
+            List<RentabilidadeDiariaDTO> dtos = new ArrayList<>(dias.size());
+            for (RentabilidadeDiaria dia : dias) {
+                dtos.add(paraDTO(dia));
+            }
+            dto.setRentabilidadeDiaria(dtos);
+        }
+        return dto;
+    }
+
+    /**
+     * Converte um dia de rentabilidade em DTO.
+     */
+    public static RentabilidadeDiariaDTO paraDTO(RentabilidadeDiaria dia) {
+        if (dia == null) return null;
+        RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+        dto.setDataRentabilidadeDiaria(texto(dia.getDataRentabilidadeDiaria()));
+        dto.setValorDiarioAcao(dia.getValorDiarioAcao());
+        dto.setTaxaDiarioRentabilidade(dia.getTaxaDiarioRentabilidade());
+        dto.setMontanteAcumuladoDiario(dia.getMontanteAcumuladoDiario());
+        return dto;
+    }
+
+    /**
+     * Converte a cotação de um instrumento no dia de rentabilidade de uma posição.
+     * param cotacao cotação compartilhada
+     * param numeroAcoes ações da posição
+     */
+    public static RentabilidadeDiariaDTO paraDTO(CotacaoInstrumento cotacao, Integer numeroAcoes) {
+        if (cotacao == null) return null;
+        RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+        dto.setDataRentabilidadeDiaria(texto(cotacao.getDataCotacao()));
+        dto.setValorDiarioAcao(cotacao.getValorAcao());
+        dto.setTaxaDiarioRentabilidade(cotacao.getTaxaDiaria());
+        dto.setMontanteAcumuladoDiario(montante(cotacao.getValorAcao(), numeroAcoes));
+        return dto;
+    }
+
+    /**
+     * Montante de uma posição em um instrumento: número de ações × valor da ação no dia.
+     * return montante, ou {@code null} se algum dos valores for nulo
+     */
+    public static BigDecimal montante(BigDecimal valorAcao, Integer numeroAcoes) {
+        if (valorAcao == null || numeroAcoes == null) return null;
+        return valorAcao.multiply(BigDecimal.valueOf(numeroAcoes));
+    }
+
+    /**
+     * Converte uma lista de investimentos em DTOs.
+     */
+    public static List<InvestimentoDTO> paraDTOs(List<Investimento> investimentos) {
+        if (investimentos == null) return new ArrayList<>();
+        List<InvestimentoDTO> dtos = new ArrayList<>(investimentos.size());
+        for (Investimento investimento : investimentos) {
+            dtos.add(paraDTO(investimento));
+        }
+        return dtos;
+    }
+
+    /** Valor de {@code tamanho} dígitos a partir de {@code inicio}; -1 se houver não dígito. */
+    private static int digitos(CharSequence texto, int inicio, int tamanho) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,228 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Leitor de CSV de cotações diárias com poucas alocações por linha.
+ *
+ * Formato (uma cotação por linha, separador vírgula ou ponto e vírgula, cabeçalho opcional na primeira linha):
+ * {@code investimentoId,data,valorDiarioAcao,taxaDiarioRentabilidade,montanteAcumuladoDiario}.
+ * A data aceita "dd-MM-yyyy" ou ISO "yyyy-MM-dd".
+ *
+ * O texto é lido em um único {@code char[]} reaproveitado; os campos são delimitados por índices
+ * e convertidos diretamente do buffer (ID e data dígito a dígito, decimais via
+ * {@link BigDecimal#BigDecimal(char[], int, int)}), sem criar {@code String} por linha ou por campo.
+ */
+public final class LeitorCsvCotacoes {
+
+    /** Recebe as linhas convertidas (ou o erro de cada linha inválida). */
+    public interface Consumidor {
+
+        void cotacao(long linha, long investimentoId, LocalDate data,
+                     BigDecimal valorDiarioAcao, BigDecimal taxaDiarioRentabilidade, BigDecimal montanteAcumuladoDiario);
+
+        void erro(long linha, String mensagem);
+    }
+
+    private static final int COLUNAS = 5;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final Reader reader;
+    private char[] buffer = new char[TAMANHO_BUFFER];
+    /** Primeira posição ainda não consumida e fim dos dados válidos no buffer. */
+    private int posicao;
+    private int limite;
+    private boolean fimEntrada;
+    /** Limites da linha corrente no buffer. */
+    private int inicioLinha;
+    private int fimLinha;
+
+    private final int[] inicioCampo = new int[COLUNAS];
+    private final int[] fimCampo = new int[COLUNAS];
+
+    public LeitorCsvCotacoes(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lê a entrada até o fim, entregando cada linha ao consumidor. Linhas em branco são ignoradas.
+     *
+     * param consumidor destino das cotações e erros
+     * return quantidade de linhas lidas (inclusive cabeçalho e linhas em branco)
+     */
+    public long ler(Consumidor consumidor) throws IOException {
+        long numero = 0;
+        while (proximaLinha()) {
+            numero++;
+            int inicio = primeiroNaoBranco(inicioLinha, fimLinha);
+            int fim = ultimoNaoBranco(inicio, fimLinha);
+            if (fim == inicio) continue;
+            if (numero == 1 && !digito(buffer[inicio])) continue; // cabeçalho
+            processarLinha(numero, inicio, fim, consumidor);
+        }
+        return numero;
+    }
+
+    /**
+     * Delimita a próxima linha em [{@link #inicioLinha}, {@link #fimLinha}), sem o '\n',
+     * recarregando o buffer quando necessário.
+     * return {@code false} no fim da entrada
+     */
+    private boolean proximaLinha() throws IOException {
+        int varredura = posicao;
+        while (true) {
+            for (; varredura < limite; varredura++) {
+                if (buffer[varredura] == '\n') {
+                    inicioLinha = posicao;
+                    fimLinha = varredura;
+                    posicao = varredura + 1;
+                    return true;
+                }
+            }
+            if (fimEntrada) {
+                if (posicao >= limite) return false;
+                inicioLinha = posicao;
+                fimLinha = limite;
+                posicao = limite;
+                return true;
+            }
+            // linha incompleta: move o restante para o início (ou cresce o buffer) e lê mais
+            int pendente = limite - posicao;
+            if (pendente == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            } else if (posicao > 0) {
+                System.arraycopy(buffer, posicao, buffer, 0, pendente);
+            }
+            posicao = 0;
+            limite = pendente;
+            varredura = pendente;
+            int lidos = reader.read(buffer, limite, buffer.length - limite);
+            if (lidos < 0) fimEntrada = true; else limite += lidos;
+        }
+    }
+
+    private void processarLinha(long numero, int inicio, int fim, Consumidor consumidor) {
+        int campo = 0;
+        int inicioAtual = inicio;
+        for (int i = inicio; i <= fim; i++) {
+            if (i == fim || buffer[i] == ',' || buffer[i] == ';') {
+                if (campo == COLUNAS) {
+                    consumidor.erro(numero, "Esperadas " + COLUNAS + " colunas");
+                    return;
+                }
+                inicioCampo[campo] = primeiroNaoBranco(inicioAtual, i);
+                fimCampo[campo] = ultimoNaoBranco(inicioCampo[campo], i);
+                campo++;
+                inicioAtual = i + 1;
+            }
+        }
+        if (campo != COLUNAS) {
+            consumidor.erro(numero, "Esperadas " + COLUNAS + " colunas, encontradas " + campo);
+            return;
+        }
+
+        long investimentoId = lerId(0);
+        if (investimentoId < 0) {
+            consumidor.erro(numero, "investimentoId inválido: " + texto(0));
+            return;
+        }
+        LocalDate data = lerData(1);
+        if (data == null) {
+            consumidor.erro(numero, "data inválida: " + texto(1));
+            return;
+        }
+        BigDecimal valor = lerDecimal(2);
+        BigDecimal taxa = valor != null ? lerDecimal(3) : null;
+        BigDecimal montante = taxa != null ? lerDecimal(4) : null;
+        if (montante == null) {
+            int coluna = valor == null ? 2 : taxa == null ? 3 : 4;
+            consumidor.erro(numero, "valor inválido na coluna " + (coluna + 1) + ": " + texto(coluna));
+            return;
+        }
+        consumidor.cotacao(numero, investimentoId, data, valor, taxa, montante);
+    }
+
+    /** Converte o campo em decimal direto do buffer; {@code null} se vazio ou inválido. */
+    private BigDecimal lerDecimal(int campo) {
+        int tamanho = fimCampo[campo] - inicioCampo[campo];
+        if (tamanho == 0) return null;
+        try {
+            return new BigDecimal(buffer, inicioCampo[campo], tamanho);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Converte o campo em ID positivo; -1 se não for um inteiro válido. */
+    private long lerId(int campo) {
+        int inicio = inicioCampo[campo];
+        int fim = fimCampo[campo];
+        if (fim == inicio || fim - inicio > 18) return -1;
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = buffer[i];
+            if (!digito(c)) return -1;
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /** Converte o campo em data ("dd-MM-yyyy" ou "yyyy-MM-dd"); {@code null} se inválido. */
+    private LocalDate lerData(int campo) {
+        int i = inicioCampo[campo];
+        if (fimCampo[campo] - i != 10) return null;
+        int dia;
+        int mes;
+        int ano;
+        if (buffer[i + 2] == '-' && buffer[i + 5] == '-') {
+            dia = numero(i, 2);
+            mes = numero(i + 3, 2);
+            ano = numero(i + 6, 4);
+        } else if (buffer[i + 4] == '-' && buffer[i + 7] == '-') {
+            ano = numero(i, 4);
+            mes = numero(i + 5, 2);
+            dia = numero(i + 8, 2);
+        } else {
+            return null;
+        }
+        if (dia < 0 || mes < 0 || ano < 0) return null;
+        try {
+            return LocalDate.of(ano, mes, dia);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private int numero(int inicio, int tamanho) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            if (!digito(buffer[i])) return -1;
+            valor = valor * 10 + (buffer[i] - '0');
+        }
+        return valor;
+    }
+
+    /** Texto do campo, usado apenas em mensagens de erro. */
+    private String texto(int campo) {
+        return new String(buffer, inicioCampo[campo], fimCampo[campo] - inicioCampo[campo]);
+    }
+
+    private int primeiroNaoBranco(int inicio, int fim) {
+        while (inicio < fim && Character.isWhitespace(buffer[inicio])) inicio++;
+        return inicio;
+    }
+
+    private int ultimoNaoBranco(int inicio, int fim) {
+        while (fim > inicio && Character.isWhitespace(buffer[fim - 1])) fim--;
+        return fim;
+    }
+
+    private static boolean digito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
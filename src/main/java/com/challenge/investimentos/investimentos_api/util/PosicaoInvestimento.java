@@ -0,0 +1,161 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+
+import java.math.BigInteger;
+
+/**
+ * Posição de um investimento obtida aplicando, em ordem, as movimentações do seu livro-razão.
+ *
+ * Todos os campos são inteiros em ponto fixo (quantidade com {@value #ESCALA_QUANTIDADE} casas,
+ * valores em centavos) para que o replay de milhões de movimentações não aloque nada e dê o
+ * mesmo resultado em qualquer ordem de snapshot + cauda. O custo de uma venda parcial é baixado
+ * pelo custo médio: {@code custo * quantidadeVendida / quantidade}, truncado; a venda do saldo
+ * inteiro baixa o custo restante, então não sobra resíduo de arredondamento.
+ */
+public final class PosicaoInvestimento {
+
+    public static final int ESCALA_QUANTIDADE = 6;
+    public static final int ESCALA_VALOR = 2;
+
+    /** Quantidade de ações 1 em ponto fixo. */
+    public static final long UMA_ACAO = 1_000_000L;
+
+    /** Marca de posição ainda sem movimentação datada. */
+    public static final int SEM_DATA = Integer.MIN_VALUE;
+
+    private long sequencia;
+    private long quantidade;
+    private long custo;
+    private long aportado;
+    private long resgatado;
+    private long resultadoRealizado;
+    private int ultimaData = SEM_DATA;
+
+    /**
+     * Posição antes da primeira movimentação (sequência 0): o aporte inicial do cadastro.
+     *
+     * param montanteInicial montante inicial em centavos
+     * param acoesIniciais número de ações inicial (0 para investimentos sem ações)
+     */
+    public static PosicaoInvestimento inicial(long montanteInicial, long acoesIniciais) {
+        PosicaoInvestimento posicao = new PosicaoInvestimento();
+        posicao.quantidade = Math.multiplyExact(acoesIniciais, UMA_ACAO);
+        posicao.custo = montanteInicial;
+        posicao.aportado = montanteInicial;
+        return posicao;
+    }
+
+    /** Posição gravada em um snapshot. */
+    public static PosicaoInvestimento restaurar(long sequencia, long quantidade, long custo, long aportado,
+                                                long resgatado, long resultadoRealizado, int ultimaData) {
+        PosicaoInvestimento posicao = new PosicaoInvestimento();
+        posicao.sequencia = sequencia;
+        posicao.quantidade = quantidade;
+        posicao.custo = custo;
+        posicao.aportado = aportado;
+        posicao.resgatado = resgatado;
+        posicao.resultadoRealizado = resultadoRealizado;
+        posicao.ultimaData = ultimaData;
+        return posicao;
+    }
+
+    /**
+     * Aplica a próxima movimentação do livro-razão e avança a sequência.
+     *
+     * param tipo tipo da movimentação
+     * param quantidade ações movimentadas em ponto fixo (0 em RESGATE e em aportes por valor)
+     * param valor valor movimentado em centavos (maior que zero)
+     * param data data da movimentação em epoch-day (não anterior à última)
+     * throws IllegalArgumentException se a movimentação não couber na posição; a posição não muda
+     */
+    public void aplicar(TipoMovimentacao tipo, long quantidade, long valor, int data) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("Valor da movimentação deve ser maior que zero");
+        }
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade da movimentação não pode ser negativa");
+        }
+        if (ultimaData != SEM_DATA && data < ultimaData) {
+            throw new IllegalArgumentException("Movimentação anterior à última registrada no investimento");
+        }
+        switch (tipo) {
+            case APORTE -> {
+                long novaQuantidade = Math.addExact(this.quantidade, quantidade);
+                long novoCusto = Math.addExact(this.custo, valor);
+                this.aportado = Math.addExact(this.aportado, valor);
+                this.quantidade = novaQuantidade;
+                this.custo = novoCusto;
+            }
+            case RESGATE -> {
+                if (quantidade != 0 || this.quantidade != 0) {
+                    throw new IllegalArgumentException("Resgate é por valor; investimentos com ações usam VENDA");
+                }
+                if (this.custo == 0) {
+                    throw new IllegalArgumentException("Investimento sem saldo para resgatar");
+                }
+                long baixa = Math.min(valor, this.custo);
+                this.custo -= baixa;
+                this.resgatado = Math.addExact(this.resgatado, valor);
+                this.resultadoRealizado = Math.addExact(this.resultadoRealizado, valor - baixa);
+            }
+            case VENDA -> {
+                if (quantidade == 0 || quantidade > this.quantidade) {
+                    throw new IllegalArgumentException("Quantidade vendida deve estar entre 1 e o saldo de ações");
+                }
+                long baixa = quantidade == this.quantidade ? this.custo : mulDiv(this.custo, quantidade, this.quantidade);
+                this.quantidade -= quantidade;
+                this.custo -= baixa;
+                this.resgatado = Math.addExact(this.resgatado, valor);
+                this.resultadoRealizado = Math.addExact(this.resultadoRealizado, valor - baixa);
+            }
+        }
+        this.ultimaData = data;
+        this.sequencia++;
+    }
+
+    /** {@code a * b / c} truncado, sem estouro no produto intermediário. */
+    private static long mulDiv(long a, long b, long c) {
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        if ((hi == 0 && lo >= 0) || (hi == -1 && lo < 0)) {
+            return lo / c;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValueExact();
+    }
+
+    /** Quantidade de movimentações aplicadas. */
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    /** Saldo de ações em ponto fixo. */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /** Custo do saldo em centavos. */
+    public long getCusto() {
+        return custo;
+    }
+
+    /** Total aportado em centavos, incluindo o montante inicial. */
+    public long getAportado() {
+        return aportado;
+    }
+
+    /** Total recebido em resgates e vendas, em centavos. */
+    public long getResgatado() {
+        return resgatado;
+    }
+
+    /** Resultado realizado (recebido menos custo baixado), em centavos. */
+    public long getResultadoRealizado() {
+        return resultadoRealizado;
+    }
+
+    /** Data da última movimentação em epoch-day, ou {@link #SEM_DATA}. */
+    public int getUltimaData() {
+        return ultimaData;
+    }
+}
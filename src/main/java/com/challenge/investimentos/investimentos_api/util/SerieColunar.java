@@ -0,0 +1,130 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Série de rentabilidades diárias em formato colunar: um array primitivo por campo.
+ *
+ * Datas são guardadas em epoch-day ({@code int}) e os valores decimais em ponto fixo
+ * ({@code long} com a escala da coluna no banco: 2 para valores e montantes, 4 para a taxa).
+ * É serializada pelo {@link #escrever(JsonGenerator)} como arrays paralelos, sem nomes de
+ * campo repetidos e sem um objeto por dia. Valores nulos viram {@code null} no array.
+ */
+public final class SerieColunar {
+
+    /** Media type do formato colunar, solicitado via cabeçalho {@code Accept}. */
+    public static final String MEDIA_TYPE = "application/vnd.investae.serie-colunar+json";
+
+    public static final int ESCALA_VALOR = 2;
+    public static final int ESCALA_TAXA = 4;
+    public static final int ESCALA_MONTANTE = 2;
+
+    private static final long NULO = Long.MIN_VALUE;
+
+    private final Long investimentoId;
+    private int[] datas;
+    private long[] valores;
+    private long[] taxas;
+    private long[] montantes;
+    private boolean valoresNulos;
+    private boolean taxasNulas;
+    private boolean montantesNulos;
+    private int tamanho;
+
+    public SerieColunar(Long investimentoId, int capacidadeInicial) {
+        int capacidade = Math.max(capacidadeInicial, 1);
+        this.investimentoId = investimentoId;
+        this.datas = new int[capacidade];
+        this.valores = new long[capacidade];
+        this.taxas = new long[capacidade];
+        this.montantes = new long[capacidade];
+    }
+
+    /**
+     * Adiciona um dia ao final da série.
+     * param data data da rentabilidade
+     * param valor valor diário da ação (opcional)
+     * param taxa taxa diária (opcional)
+     * param montante montante acumulado (opcional)
+     */
+    public void adicionar(LocalDate data, BigDecimal valor, BigDecimal taxa, BigDecimal montante) {
+        if (tamanho == datas.length) {
+            int capacidade = tamanho * 2;
+            datas = Arrays.copyOf(datas, capacidade);
+            valores = Arrays.copyOf(valores, capacidade);
+            taxas = Arrays.copyOf(taxas, capacidade);
+            montantes = Arrays.copyOf(montantes, capacidade);
+        }
+        datas[tamanho] = (int) data.toEpochDay();
+        valores[tamanho] = pontoFixo(valor, ESCALA_VALOR);
+        taxas[tamanho] = pontoFixo(taxa, ESCALA_TAXA);
+        montantes[tamanho] = pontoFixo(montante, ESCALA_MONTANTE);
+        valoresNulos |= valor == null;
+        taxasNulas |= taxa == null;
+        montantesNulos |= montante == null;
+        tamanho++;
+    }
+
+    private static long pontoFixo(BigDecimal valor, int escala) {
+        return valor == null ? NULO : valor.setScale(escala, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    public Long getInvestimentoId() {
+        return investimentoId;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Escreve a série no gerador JSON:
+     * {@code {"investimentoId":1,"tamanho":n,"escalas":{...},"dataEpochDay":[...],
+     * "valorDiarioAcao":[...],"taxaDiarioRentabilidade":[...],"montanteAcumuladoDiario":[...]}}.
+     *
+     * param gerador gerador JSON já posicionado para escrever um valor
+     * throws IOException em caso de falha de escrita
+     */
+    public void escrever(JsonGenerator gerador) throws IOException {
+        gerador.writeStartObject();
+        if (investimentoId != null) {
+            gerador.writeNumberField("investimentoId", investimentoId);
+        }
+        gerador.writeNumberField("tamanho", tamanho);
+        gerador.writeObjectFieldStart("escalas");
+        gerador.writeNumberField("valorDiarioAcao", ESCALA_VALOR);
+        gerador.writeNumberField("taxaDiarioRentabilidade", ESCALA_TAXA);
+        gerador.writeNumberField("montanteAcumuladoDiario", ESCALA_MONTANTE);
+        gerador.writeEndObject();
+
+        gerador.writeFieldName("dataEpochDay");
+        gerador.writeArray(datas, 0, tamanho);
+        escreverColuna(gerador, "valorDiarioAcao", valores, valoresNulos);
+        escreverColuna(gerador, "taxaDiarioRentabilidade", taxas, taxasNulas);
+        escreverColuna(gerador, "montanteAcumuladoDiario", montantes, montantesNulos);
+        gerador.writeEndObject();
+    }
+
+    private void escreverColuna(JsonGenerator gerador, String nome, long[] coluna, boolean possuiNulos) throws IOException {
+        gerador.writeFieldName(nome);
+        if (!possuiNulos) {
+            gerador.writeArray(coluna, 0, tamanho);
+            return;
+        }
+        gerador.writeStartArray();
+        for (int i = 0; i < tamanho; i++) {
+            if (coluna[i] == NULO) {
+                gerador.writeNull();
+            } else {
+                gerador.writeNumber(coluna[i]);
+            }
+        }
+        gerador.writeEndArray();
+    }
+}
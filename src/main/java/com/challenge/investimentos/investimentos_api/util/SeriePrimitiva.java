@@ -0,0 +1,53 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import java.util.Arrays;
+
+/**
+ * Série temporal mantida em arrays primitivos: datas em epoch-day e valores {@code double}.
+ *
+ * Os arrays crescem por duplicação, evitando um objeto por ponto ao carregar históricos longos.
+ */
+public final class SeriePrimitiva {
+
+    private long[] datas;
+    private double[] valores;
+    private int tamanho;
+
+    public SeriePrimitiva() {
+        this(64);
+    }
+
+    public SeriePrimitiva(int capacidadeInicial) {
+        this.datas = new long[Math.max(capacidadeInicial, 1)];
+        this.valores = new double[Math.max(capacidadeInicial, 1)];
+    }
+
+    /**
+     * Adiciona um ponto ao final da série (as datas devem chegar em ordem crescente).
+     * param epochDay data do ponto em epoch-day
+     * param valor valor do ponto
+     */
+    public void adicionar(long epochDay, double valor) {
+        if (tamanho == datas.length) {
+            datas = Arrays.copyOf(datas, tamanho * 2);
+            valores = Arrays.copyOf(valores, tamanho * 2);
+        }
+        datas[tamanho] = epochDay;
+        valores[tamanho] = valor;
+        tamanho++;
+    }
+
+    /** Array de datas (pode ter capacidade maior que {@link #getTamanho()}). */
+    public long[] getDatas() {
+        return datas;
+    }
+
+    /** Array de valores (pode ter capacidade maior que {@link #getTamanho()}). */
+    public double[] getValores() {
+        return valores;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+}
@@ -0,0 +1,28 @@
+-- Flyway V10: CPF compactado em NUMBER como chave das buscas por CPF (USUARIO e USUARIO_INVESTIMENTO)
+-- Reexecutável: esquemas antigos do ddl-auto (baseline na V6) podem já ter as colunas e as constraints;
+-- só as linhas ainda sem chave são preenchidas.
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- coluna já existe (-1430), já NOT NULL (-1442), constraint já existe (-2261, -2264)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-1430, -1442, -2261, -2264) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('ALTER TABLE USUARIO_INVESTIMENTO ADD CPF_NUMERO NUMBER(11)');
+    executar('UPDATE USUARIO_INVESTIMENTO SET CPF_NUMERO = TO_NUMBER(REGEXP_REPLACE(CPF_IDENTIFICACAO, ''[^0-9]'', ''''))'
+             || ' WHERE CPF_NUMERO IS NULL');
+    executar('ALTER TABLE USUARIO_INVESTIMENTO MODIFY CPF_NUMERO NOT NULL');
+    executar('ALTER TABLE USUARIO_INVESTIMENTO ADD CONSTRAINT UK_USUARIO_INV_CPF_NUMERO UNIQUE (CPF_NUMERO)');
+
+    -- USUARIO.CPF pode ter máscara; só CPFs com exatamente 11 dígitos recebem a chave
+    executar('ALTER TABLE USUARIO ADD CPF_NUMERO NUMBER(11)');
+    executar('UPDATE USUARIO SET CPF_NUMERO = TO_NUMBER(REGEXP_REPLACE(CPF, ''[^0-9]'', ''''))'
+             || ' WHERE CPF_NUMERO IS NULL AND LENGTH(REGEXP_REPLACE(CPF, ''[^0-9]'', '''')) = 11');
+    executar('ALTER TABLE USUARIO ADD CONSTRAINT UK_USUARIO_CPF_NUMERO UNIQUE (CPF_NUMERO)');
+END;
+/
@@ -0,0 +1,57 @@
+-- Flyway V11: Tabela de referência de bancos e código bancário (FK inteira) em INVESTIMENTO
+-- Reexecutável: esquemas antigos do ddl-auto (baseline na V6) podem já ter a tabela, a coluna e as constraints.
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- já existe (-955, -1408, -1430, -2260, -2261, -2264, -2275)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-955, -1408, -1430, -2260, -2261, -2264, -2275) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('CREATE TABLE BANCO (CODIGO_BANCARIO NUMBER(10) PRIMARY KEY, NOME_BANCO VARCHAR2(100) NOT NULL)');
+    -- resolução nome -> código sem diferenciar maiúsculas e minúsculas
+    executar('CREATE UNIQUE INDEX UK_BANCO_NOME_CHAVE ON BANCO (LOWER(TRIM(NOME_BANCO)))');
+    executar('ALTER TABLE INVESTIMENTO ADD CODIGO_BANCARIO NUMBER(10)');
+END;
+/
+
+MERGE INTO BANCO b
+USING (SELECT 260 CODIGO_BANCARIO, 'Nubank' NOME_BANCO FROM DUAL
+       UNION ALL SELECT 341, 'Itaú' FROM DUAL
+       UNION ALL SELECT 237, 'Bradesco' FROM DUAL
+       UNION ALL SELECT 33, 'Santander' FROM DUAL
+       UNION ALL SELECT 104, 'Caixa Econômica' FROM DUAL
+       UNION ALL SELECT 1, 'Banco do Brasil' FROM DUAL
+       UNION ALL SELECT 77, 'Inter' FROM DUAL
+       UNION ALL SELECT 208, 'BTG Pactual' FROM DUAL
+       UNION ALL SELECT 348, 'XP Investimentos' FROM DUAL
+       UNION ALL SELECT 336, 'C6 Bank' FROM DUAL) s
+   ON (b.CODIGO_BANCARIO = s.CODIGO_BANCARIO)
+ WHEN NOT MATCHED THEN
+      INSERT (CODIGO_BANCARIO, NOME_BANCO) VALUES (s.CODIGO_BANCARIO, s.NOME_BANCO);
+
+UPDATE INVESTIMENTO i
+   SET i.CODIGO_BANCARIO = (SELECT b.CODIGO_BANCARIO FROM BANCO b
+                             WHERE LOWER(TRIM(b.NOME_BANCO)) = LOWER(TRIM(i.NOME_BANCO)))
+ WHERE i.CODIGO_BANCARIO IS NULL;
+
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-955, -1408, -2264, -2275) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('ALTER TABLE INVESTIMENTO ADD CONSTRAINT FK_INVESTIMENTO_BANCO'
+             || ' FOREIGN KEY (CODIGO_BANCARIO) REFERENCES BANCO (CODIGO_BANCARIO)');
+    executar('CREATE INDEX IDX_INVESTIMENTO_USUARIO_BANCO ON INVESTIMENTO (USUARIO_INVESTIMENTO_ID, CODIGO_BANCARIO)');
+END;
+/
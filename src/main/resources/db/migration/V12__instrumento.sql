@@ -0,0 +1,109 @@
+-- Flyway V12: Instrumentos compartilhados com uma única série de cotações
+-- Os investimentos vinculados guardam só a posição; a série diária é derivada (montante = ações × valor).
+-- Reexecutável: esquemas antigos do ddl-auto (baseline na V6) podem já ter as tabelas, a coluna e as constraints;
+-- a deduplicação só considera investimentos ainda sem instrumento.
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- já existe (-955, -1408, -1430, -2260, -2261, -2264, -2275); sobra de execução interrompida inexistente (-942)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-942, -955, -1408, -1430, -2260, -2261, -2264, -2275) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('CREATE SEQUENCE INSTRUMENTO_SEQ START WITH 1 INCREMENT BY 1');
+    executar('CREATE SEQUENCE COTACAO_INSTRUMENTO_SEQ START WITH 1 INCREMENT BY 1');
+
+    executar('CREATE TABLE INSTRUMENTO ('
+             || ' ID NUMBER(19) PRIMARY KEY, CODIGO VARCHAR2(20) NOT NULL, NOME VARCHAR2(255),'
+             || ' TIPO_INVESTIMENTO VARCHAR2(255), CODIGO_BANCARIO NUMBER(10))');
+    executar('ALTER TABLE INSTRUMENTO ADD CONSTRAINT UK_INSTRUMENTO_CODIGO UNIQUE (CODIGO)');
+    executar('ALTER TABLE INSTRUMENTO ADD CONSTRAINT FK_INSTRUMENTO_BANCO'
+             || ' FOREIGN KEY (CODIGO_BANCARIO) REFERENCES BANCO (CODIGO_BANCARIO)');
+
+    executar('CREATE TABLE COTACAO_INSTRUMENTO ('
+             || ' ID NUMBER(19) PRIMARY KEY, INSTRUMENTO_ID NUMBER(19) NOT NULL, DATA_COTACAO DATE NOT NULL,'
+             || ' VALOR_ACAO NUMBER(15,2), TAXA_DIARIA NUMBER(10,4))');
+    executar('ALTER TABLE COTACAO_INSTRUMENTO ADD CONSTRAINT UK_COTACAO_INSTRUMENTO_DATA UNIQUE (INSTRUMENTO_ID, DATA_COTACAO)');
+    executar('ALTER TABLE COTACAO_INSTRUMENTO ADD CONSTRAINT FK_COTACAO_INSTRUMENTO'
+             || ' FOREIGN KEY (INSTRUMENTO_ID) REFERENCES INSTRUMENTO (ID)');
+
+    executar('ALTER TABLE INVESTIMENTO ADD INSTRUMENTO_ID NUMBER(19)');
+    executar('ALTER TABLE INVESTIMENTO ADD CONSTRAINT FK_INVESTIMENTO_INSTRUMENTO'
+             || ' FOREIGN KEY (INSTRUMENTO_ID) REFERENCES INSTRUMENTO (ID)');
+    executar('CREATE INDEX IDX_INVESTIMENTO_INSTRUMENTO ON INVESTIMENTO (INSTRUMENTO_ID)');
+
+    executar('DROP TABLE TMP_INSTRUMENTO_GRUPO');
+    executar('DROP TABLE TMP_INSTRUMENTO_CANDIDATO');
+END;
+/
+
+-- Deduplicação de RENTABILIDADE_DIARIA_TABLE.
+-- Candidatos: posições em ações cuja série inteira já é derivável (montante diário = ações × valor),
+-- agrupadas pelo mesmo papel (nome, tipo e banco).
+CREATE TABLE TMP_INSTRUMENTO_CANDIDATO AS
+SELECT i.ID INVESTIMENTO_ID,
+       UPPER(TRIM(i.NOME_INVESTIMENTO)) || '|' || i.TIPO_INVESTIMENTO || '|' || i.CODIGO_BANCARIO CHAVE,
+       i.NOME_INVESTIMENTO, i.TIPO_INVESTIMENTO, i.CODIGO_BANCARIO
+  FROM INVESTIMENTO i
+ WHERE i.NUMERO_ACOES_INICIAL > 0
+   AND i.INSTRUMENTO_ID IS NULL
+   AND EXISTS (SELECT 1 FROM RENTABILIDADE_DIARIA_TABLE r WHERE r.INVESTIMENTO_ID = i.ID)
+   AND NOT EXISTS (SELECT 1 FROM RENTABILIDADE_DIARIA_TABLE r
+                    WHERE r.INVESTIMENTO_ID = i.ID
+                      AND (r.DATA_RENTABILIDADE_DIARIA IS NULL OR r.VALOR_DIARIO_ACAO IS NULL
+                           OR r.MONTANTE_ACUMULADO_DIARIO IS NULL
+                           OR r.MONTANTE_ACUMULADO_DIARIO <> r.VALOR_DIARIO_ACAO * i.NUMERO_ACOES_INICIAL));
+
+-- só vira instrumento o grupo em que todos os usuários têm as mesmas datas com a mesma cotação
+DELETE FROM TMP_INSTRUMENTO_CANDIDATO
+ WHERE CHAVE IN (
+       SELECT c.CHAVE
+         FROM TMP_INSTRUMENTO_CANDIDATO c
+         JOIN RENTABILIDADE_DIARIA_TABLE r ON r.INVESTIMENTO_ID = c.INVESTIMENTO_ID
+        GROUP BY c.CHAVE, r.DATA_RENTABILIDADE_DIARIA
+       HAVING COUNT(DISTINCT r.VALOR_DIARIO_ACAO) > 1
+           OR COUNT(DISTINCT NVL(r.TAXA_DIARIO_RENTABILIDADE, -1)) > 1
+           OR COUNT(*) < (SELECT COUNT(*) FROM TMP_INSTRUMENTO_CANDIDATO t WHERE t.CHAVE = c.CHAVE)
+ );
+-- série com um único dono não é duplicada
+DELETE FROM TMP_INSTRUMENTO_CANDIDATO
+ WHERE CHAVE IN (SELECT CHAVE FROM TMP_INSTRUMENTO_CANDIDATO GROUP BY CHAVE HAVING COUNT(*) < 2);
+
+CREATE TABLE TMP_INSTRUMENTO_GRUPO AS
+SELECT CHAVE, MIN(NOME_INVESTIMENTO) NOME, MIN(TIPO_INVESTIMENTO) TIPO_INVESTIMENTO,
+       MIN(CODIGO_BANCARIO) CODIGO_BANCARIO, CAST(NULL AS NUMBER(19)) INSTRUMENTO_ID
+  FROM TMP_INSTRUMENTO_CANDIDATO
+ GROUP BY CHAVE;
+UPDATE TMP_INSTRUMENTO_GRUPO SET INSTRUMENTO_ID = INSTRUMENTO_SEQ.NEXTVAL;
+
+-- sem ticker/ISIN nos dados antigos: código provisório LEG<id>, renomeável depois
+INSERT INTO INSTRUMENTO (ID, CODIGO, NOME, TIPO_INVESTIMENTO, CODIGO_BANCARIO)
+SELECT INSTRUMENTO_ID, 'LEG' || INSTRUMENTO_ID, NOME, TIPO_INVESTIMENTO, CODIGO_BANCARIO
+  FROM TMP_INSTRUMENTO_GRUPO;
+
+INSERT INTO COTACAO_INSTRUMENTO (ID, INSTRUMENTO_ID, DATA_COTACAO, VALOR_ACAO, TAXA_DIARIA)
+SELECT COTACAO_INSTRUMENTO_SEQ.NEXTVAL, s.INSTRUMENTO_ID, s.DATA_COTACAO, s.VALOR_ACAO, s.TAXA_DIARIA
+  FROM (SELECT g.INSTRUMENTO_ID, r.DATA_RENTABILIDADE_DIARIA DATA_COTACAO,
+               MAX(r.VALOR_DIARIO_ACAO) VALOR_ACAO, MAX(r.TAXA_DIARIO_RENTABILIDADE) TAXA_DIARIA
+          FROM TMP_INSTRUMENTO_GRUPO g
+          JOIN TMP_INSTRUMENTO_CANDIDATO c ON c.CHAVE = g.CHAVE
+          JOIN RENTABILIDADE_DIARIA_TABLE r ON r.INVESTIMENTO_ID = c.INVESTIMENTO_ID
+         GROUP BY g.INSTRUMENTO_ID, r.DATA_RENTABILIDADE_DIARIA) s;
+
+UPDATE INVESTIMENTO i
+   SET i.INSTRUMENTO_ID = (SELECT g.INSTRUMENTO_ID
+                             FROM TMP_INSTRUMENTO_GRUPO g
+                             JOIN TMP_INSTRUMENTO_CANDIDATO c ON c.CHAVE = g.CHAVE
+                            WHERE c.INVESTIMENTO_ID = i.ID)
+ WHERE i.ID IN (SELECT INVESTIMENTO_ID FROM TMP_INSTRUMENTO_CANDIDATO);
+
+-- as linhas por usuário passam a ser derivadas; os períodos consolidados continuam válidos (mesmos valores)
+DELETE FROM RENTABILIDADE_DIARIA_TABLE
+ WHERE INVESTIMENTO_ID IN (SELECT INVESTIMENTO_ID FROM TMP_INSTRUMENTO_CANDIDATO);
+
+DROP TABLE TMP_INSTRUMENTO_GRUPO;
+DROP TABLE TMP_INSTRUMENTO_CANDIDATO;
@@ -0,0 +1,86 @@
+-- Flyway V13: Índices desenhados para os caminhos de consulta dos repositórios
+-- Idempotente: também reconcilia esquemas antigos gerados pelo Hibernate (ddl-auto) e registrados no baseline da V6.
+--
+--   RentabilidadeDiariaRepository.buscarSeriePropria / streamSeriePropria / MERGE da ingestão
+--       -> IDX_RENTABILIDADE_SERIE (investimento, data + colunas da série), também índice de UK_RENTABILIDADE_INV_DATA
+--   buscarSerieInstrumento / streamSerieInstrumento / MERGE_COTACAO
+--       -> IDX_COTACAO_SERIE (instrumento, data + valor e taxa), também índice de UK_COTACAO_INSTRUMENTO_DATA
+--   InvestimentoRepository (listagens por CPF, resumirPorBanco)
+--       -> IDX_INVESTIMENTO_CARTEIRA (usuário, banco, montante), substitui IDX_INVESTIMENTO_USUARIO(_BANCO)
+--   buscarIdsPorInstrumento -> IDX_INVESTIMENTO_INSTRUMENTO (V12)
+--   UsuarioRepository.findByEmail -> IDX_USUARIO_EMAIL_BUSCA
+--   findByUsername / findByCpfNumero / findByCodigo -> índices das constraints únicas
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- já existe (-955, -1408, -2260, -2261, -2275) ou já removido (-1418, -2443)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-955, -1408, -2260, -2261, -2275, -1418, -2443) THEN
+                RAISE;
+            END IF;
+    END;
+
+    -- recria a constraint única sobre o índice de cobertura, descartando o índice próprio dela
+    PROCEDURE unica_no_indice(p_tabela VARCHAR2, p_constraint VARCHAR2, p_colunas VARCHAR2, p_indice VARCHAR2) IS
+        v_indice USER_CONSTRAINTS.INDEX_NAME%TYPE;
+    BEGIN
+        SELECT MAX(INDEX_NAME) INTO v_indice FROM USER_CONSTRAINTS WHERE CONSTRAINT_NAME = p_constraint;
+        IF v_indice = p_indice THEN
+            RETURN;
+        END IF;
+        IF v_indice IS NOT NULL THEN
+            executar('ALTER TABLE ' || p_tabela || ' DROP CONSTRAINT ' || p_constraint || ' DROP INDEX');
+        END IF;
+        executar('ALTER TABLE ' || p_tabela || ' ADD CONSTRAINT ' || p_constraint
+                 || ' UNIQUE (' || p_colunas || ') USING INDEX ' || p_indice);
+    END;
+BEGIN
+    executar('CREATE INDEX IDX_RENTABILIDADE_SERIE ON RENTABILIDADE_DIARIA_TABLE (INVESTIMENTO_ID, '
+             || 'DATA_RENTABILIDADE_DIARIA, VALOR_DIARIO_ACAO, TAXA_DIARIO_RENTABILIDADE, MONTANTE_ACUMULADO_DIARIO)');
+    unica_no_indice('RENTABILIDADE_DIARIA_TABLE', 'UK_RENTABILIDADE_INV_DATA',
+                    'INVESTIMENTO_ID, DATA_RENTABILIDADE_DIARIA', 'IDX_RENTABILIDADE_SERIE');
+
+    executar('CREATE INDEX IDX_COTACAO_SERIE ON COTACAO_INSTRUMENTO (INSTRUMENTO_ID, DATA_COTACAO, VALOR_ACAO, TAXA_DIARIA)');
+    unica_no_indice('COTACAO_INSTRUMENTO', 'UK_COTACAO_INSTRUMENTO_DATA',
+                    'INSTRUMENTO_ID, DATA_COTACAO', 'IDX_COTACAO_SERIE');
+
+    executar('CREATE INDEX IDX_INVESTIMENTO_CARTEIRA ON INVESTIMENTO (USUARIO_INVESTIMENTO_ID, CODIGO_BANCARIO, MONTANTE_INICIAL)');
+    executar('DROP INDEX IDX_INVESTIMENTO_USUARIO_BANCO');
+    executar('DROP INDEX IDX_INVESTIMENTO_USUARIO');
+    executar('CREATE INDEX IDX_INVESTIMENTO_INSTRUMENTO ON INVESTIMENTO (INSTRUMENTO_ID)');
+
+    executar('CREATE INDEX IDX_USUARIO_EMAIL_BUSCA ON USUARIO (EMAIL)');
+    executar('CREATE UNIQUE INDEX UK_BANCO_NOME_CHAVE ON BANCO (LOWER(TRIM(NOME_BANCO)))');
+END;
+/
+
+-- Dados de referência e chaves derivadas que o ddl-auto não preenchia
+MERGE INTO BANCO b
+USING (SELECT 260 CODIGO_BANCARIO, 'Nubank' NOME_BANCO FROM DUAL
+       UNION ALL SELECT 341, 'Itaú' FROM DUAL
+       UNION ALL SELECT 237, 'Bradesco' FROM DUAL
+       UNION ALL SELECT 33, 'Santander' FROM DUAL
+       UNION ALL SELECT 104, 'Caixa Econômica' FROM DUAL
+       UNION ALL SELECT 1, 'Banco do Brasil' FROM DUAL
+       UNION ALL SELECT 77, 'Inter' FROM DUAL
+       UNION ALL SELECT 208, 'BTG Pactual' FROM DUAL
+       UNION ALL SELECT 348, 'XP Investimentos' FROM DUAL
+       UNION ALL SELECT 336, 'C6 Bank' FROM DUAL) s
+   ON (b.CODIGO_BANCARIO = s.CODIGO_BANCARIO)
+ WHEN NOT MATCHED THEN
+      INSERT (CODIGO_BANCARIO, NOME_BANCO) VALUES (s.CODIGO_BANCARIO, s.NOME_BANCO);
+
+UPDATE INVESTIMENTO i
+   SET i.CODIGO_BANCARIO = (SELECT b.CODIGO_BANCARIO FROM BANCO b
+                             WHERE LOWER(TRIM(b.NOME_BANCO)) = LOWER(TRIM(i.NOME_BANCO)))
+ WHERE i.CODIGO_BANCARIO IS NULL
+   AND i.NOME_BANCO IS NOT NULL;
+
+UPDATE USUARIO_INVESTIMENTO SET CPF_NUMERO = TO_NUMBER(CPF_IDENTIFICACAO) WHERE CPF_NUMERO IS NULL;
+
+UPDATE USUARIO
+   SET CPF_NUMERO = TO_NUMBER(REGEXP_REPLACE(CPF, '[^0-9]', ''))
+ WHERE CPF_NUMERO IS NULL
+   AND LENGTH(REGEXP_REPLACE(CPF, '[^0-9]', '')) = 11;
@@ -0,0 +1,14 @@
+-- Flyway V14: Outbox transacional dos eventos de alteração de carteira
+-- Gravado na mesma transação da alteração (InvestimentoService, UsuarioInvestimentoService) e
+-- esvaziado pelo RelayOutbox, que publica os eventos em ordem de ID e apaga as linhas publicadas.
+-- As gravações de um mesmo CPF são serializadas (TravaCarteira), então a ordem dos IDs de um
+-- investidor é a ordem de commit das suas alterações.
+CREATE SEQUENCE OUTBOX_EVENTO_SEQ START WITH 1 INCREMENT BY 1 CACHE 1000 ORDER;
+
+CREATE TABLE OUTBOX_EVENTO_CARTEIRA (
+    ID              NUMBER(19) PRIMARY KEY,
+    TIPO            VARCHAR2(30) NOT NULL,
+    CPF_NUMERO      NUMBER(11) NOT NULL,
+    INVESTIMENTO_ID NUMBER(19),
+    OCORRIDO_EM     TIMESTAMP NOT NULL
+);
@@ -0,0 +1,33 @@
+-- Flyway V15: Livro-razão de movimentações por investimento, com snapshots da posição
+-- Só recebe inserts (LedgerInvestimentoService): a posição é o montante inicial do INVESTIMENTO mais as
+-- movimentações aplicadas em ordem de SEQUENCIA (1, 2, 3, ... sem lacunas). A cada N movimentações a
+-- posição é gravada em POSICAO_SNAPSHOT e a reconstrução lê só o último snapshot e a cauda depois dele.
+-- As duas tabelas são index-organized pela chave (INVESTIMENTO_ID, SEQUENCIA): a cauda de um investimento
+-- é uma varredura de faixa contígua no índice, sem acesso a heap.
+-- Valores em NUMBER com a escala da API; a aplicação converte para ponto fixo (PosicaoInvestimento).
+CREATE TABLE MOVIMENTACAO_INVESTIMENTO (
+    INVESTIMENTO_ID   NUMBER(19) NOT NULL,
+    SEQUENCIA         NUMBER(19) NOT NULL,
+    TIPO              VARCHAR2(10) NOT NULL,
+    DATA_MOVIMENTACAO DATE NOT NULL,
+    QUANTIDADE        NUMBER(19,6) DEFAULT 0 NOT NULL,
+    VALOR             NUMBER(15,2) NOT NULL,
+    REGISTRADO_EM     TIMESTAMP NOT NULL,
+    CONSTRAINT PK_MOVIMENTACAO_INVESTIMENTO PRIMARY KEY (INVESTIMENTO_ID, SEQUENCIA),
+    CONSTRAINT FK_MOVIMENTACAO_INVESTIMENTO FOREIGN KEY (INVESTIMENTO_ID)
+        REFERENCES INVESTIMENTO (ID) ON DELETE CASCADE
+) ORGANIZATION INDEX;
+
+CREATE TABLE POSICAO_SNAPSHOT (
+    INVESTIMENTO_ID     NUMBER(19) NOT NULL,
+    SEQUENCIA           NUMBER(19) NOT NULL,
+    QUANTIDADE          NUMBER(19,6) NOT NULL,
+    CUSTO               NUMBER(17,2) NOT NULL,
+    APORTADO            NUMBER(17,2) NOT NULL,
+    RESGATADO           NUMBER(17,2) NOT NULL,
+    RESULTADO_REALIZADO NUMBER(17,2) NOT NULL,
+    ULTIMA_DATA         DATE,
+    CONSTRAINT PK_POSICAO_SNAPSHOT PRIMARY KEY (INVESTIMENTO_ID, SEQUENCIA),
+    CONSTRAINT FK_POSICAO_SNAPSHOT FOREIGN KEY (INVESTIMENTO_ID)
+        REFERENCES INVESTIMENTO (ID) ON DELETE CASCADE
+) ORGANIZATION INDEX;
@@ -0,0 +1,16 @@
+-- Flyway V16: Modelo de leitura do painel do investidor (CQRS)
+-- Uma linha por investidor com o painel já montado em JSON (posições, montante atual, alocação por tipo e
+-- por banco, cauda da série): a leitura é um acesso pela chave, sem joins nas tabelas da carteira.
+-- Alimentado de forma assíncrona pelos eventos do outbox: o relay marca o CPF como pendente
+-- (ULTIMO_EVENTO, PENDENTE_DESDE) na mesma transação em que apaga os eventos, e o ProjetorPainelInvestidor
+-- remonta os painéis pendentes, mais antigos primeiro. Vários eventos do mesmo CPF viram uma remontagem só.
+CREATE TABLE PAINEL_INVESTIDOR (
+    CPF_NUMERO      NUMBER(11) PRIMARY KEY,
+    DOCUMENTO       BLOB,
+    EVENTO_APLICADO NUMBER(19),
+    ULTIMO_EVENTO   NUMBER(19),
+    PENDENTE_DESDE  TIMESTAMP,
+    ATUALIZADO_EM   TIMESTAMP
+);
+-- fila do projetor: só as linhas pendentes entram no índice (PENDENTE_DESDE nulo não é indexado)
+CREATE INDEX IDX_PAINEL_PENDENTE ON PAINEL_INVESTIDOR (PENDENTE_DESDE);
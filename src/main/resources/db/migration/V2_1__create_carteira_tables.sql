@@ -0,0 +1,35 @@
+-- Flyway V2.1: Tabelas da carteira mapeadas pelas entidades (USUARIO_INVESTIMENTO, INVESTIMENTO, RENTABILIDADE_DIARIA_TABLE)
+CREATE SEQUENCE INVESTIMENTO_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE RENTABILIDADE_DIARIA_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE USUARIO_INVESTIMENTO (
+    ID                NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    CPF_IDENTIFICACAO VARCHAR2(11) NOT NULL,
+    CONSTRAINT UK_USUARIO_INV_CPF UNIQUE (CPF_IDENTIFICACAO)
+);
+
+CREATE TABLE INVESTIMENTO (
+    ID                      NUMBER(19) PRIMARY KEY,
+    NOME_BANCO              VARCHAR2(255),
+    NOME_INVESTIMENTO       VARCHAR2(255) NOT NULL,
+    MONTANTE_INICIAL        NUMBER(15,2),
+    VALOR_INICIAL_ACAO      NUMBER(15,2),
+    TAXA_RENTABILIDADE      NUMBER(10,4),
+    NUMERO_ACOES_INICIAL    NUMBER(10),
+    TIPO_INVESTIMENTO       VARCHAR2(255),
+    USUARIO_INVESTIMENTO_ID NUMBER(19),
+    CONSTRAINT FK_INVESTIMENTO_USUARIO_INV FOREIGN KEY (USUARIO_INVESTIMENTO_ID)
+        REFERENCES USUARIO_INVESTIMENTO (ID)
+);
+-- investimentos do usuário (findByUsuarioInvestimento, listagens por CPF)
+CREATE INDEX IDX_INVESTIMENTO_USUARIO ON INVESTIMENTO (USUARIO_INVESTIMENTO_ID);
+
+CREATE TABLE RENTABILIDADE_DIARIA_TABLE (
+    ID                        NUMBER(19) PRIMARY KEY,
+    DATA_RENTABILIDADE_DIARIA DATE,
+    VALOR_DIARIO_ACAO         NUMBER(15,2),
+    TAXA_DIARIO_RENTABILIDADE NUMBER(10,4),
+    MONTANTE_ACUMULADO_DIARIO NUMBER(15,2),
+    INVESTIMENTO_ID           NUMBER(19),
+    CONSTRAINT FK_RENTABILIDADE_INVESTIMENTO FOREIGN KEY (INVESTIMENTO_ID) REFERENCES INVESTIMENTO (ID)
+);
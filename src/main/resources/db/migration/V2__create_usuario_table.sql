@@ -1,13 +1,13 @@
 -- Flyway V2: Create USUARIO table
 CREATE TABLE USUARIO (
     ID NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    USERNAME VARCHAR2(50) NOT NULL UNIQUE,
+    USERNAME VARCHAR2(50) NOT NULL,
     PASSWORD VARCHAR2(255) NOT NULL,
     NOME VARCHAR2(255),
     EMAIL VARCHAR2(255),
-    ROLE VARCHAR2(20) NOT NULL DEFAULT 'USER',
-    CPF VARCHAR2(14) NOT NULL UNIQUE
+    ROLE VARCHAR2(20) DEFAULT 'USER' NOT NULL,
+    CPF VARCHAR2(14) NOT NULL,
+    -- o índice único de USERNAME atende o login (findByUsername)
+    CONSTRAINT UK_USUARIO_USERNAME UNIQUE (USERNAME),
+    CONSTRAINT UK_USUARIO_CPF UNIQUE (CPF)
 );
-
--- Index for performance
-CREATE INDEX IDX_USUARIO_USERNAME ON USUARIO(USERNAME);
\ No newline at end of file
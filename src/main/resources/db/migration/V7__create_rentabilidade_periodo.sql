@@ -0,0 +1,35 @@
+-- Flyway V7: Tabela de períodos consolidados (semanal/mensal/anual) da rentabilidade diária
+-- Reexecutável: esquemas antigos do ddl-auto (baseline na V6) podem já ter a tabela e a sequence.
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- já existe (-955, -2260, -2261, -2264, -2275)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-955, -2260, -2261, -2264, -2275) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('CREATE SEQUENCE RENTABILIDADE_PERIODO_SEQ START WITH 1 INCREMENT BY 1');
+    executar('CREATE TABLE RENTABILIDADE_PERIODO ('
+             || ' ID                  NUMBER(19) PRIMARY KEY,'
+             || ' INVESTIMENTO_ID     NUMBER(19) NOT NULL,'
+             || ' GRANULARIDADE       VARCHAR2(10) NOT NULL,'
+             || ' INICIO_PERIODO      DATE NOT NULL,'
+             || ' PRIMEIRA_DATA       DATE,'
+             || ' ULTIMA_DATA         DATE,'
+             || ' VALOR_ABERTURA      NUMBER(15,2),'
+             || ' VALOR_FECHAMENTO    NUMBER(15,2),'
+             || ' VALOR_MINIMO        NUMBER(15,2),'
+             || ' VALOR_MAXIMO        NUMBER(15,2),'
+             || ' TAXA_COMPOSTA       NUMBER(19,8),'
+             || ' MONTANTE_FECHAMENTO NUMBER(15,2),'
+             || ' QUANTIDADE_DIAS     NUMBER(10))');
+    executar('ALTER TABLE RENTABILIDADE_PERIODO ADD CONSTRAINT UK_RENTABILIDADE_PERIODO'
+             || ' UNIQUE (INVESTIMENTO_ID, GRANULARIDADE, INICIO_PERIODO)');
+    executar('ALTER TABLE RENTABILIDADE_PERIODO ADD CONSTRAINT FK_RENT_PERIODO_INVESTIMENTO'
+             || ' FOREIGN KEY (INVESTIMENTO_ID) REFERENCES INVESTIMENTO (ID) ON DELETE CASCADE');
+END;
+/
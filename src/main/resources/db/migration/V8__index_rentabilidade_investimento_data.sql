@@ -0,0 +1,11 @@
+-- Flyway V8: Índice por investimento e data na série diária (MERGE da ingestão de cotações e consultas por período)
+-- Reexecutável: o esquema pode já ter um índice nessas colunas (ORA-01408) ou com esse nome (ORA-00955).
+BEGIN
+    EXECUTE IMMEDIATE 'CREATE INDEX IDX_RENTABILIDADE_INV_DATA ON RENTABILIDADE_DIARIA_TABLE (INVESTIMENTO_ID, DATA_RENTABILIDADE_DIARIA)';
+EXCEPTION
+    WHEN OTHERS THEN
+        IF SQLCODE NOT IN (-955, -1408) THEN
+            RAISE;
+        END IF;
+END;
+/
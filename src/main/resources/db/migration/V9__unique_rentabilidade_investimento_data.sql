@@ -0,0 +1,29 @@
+-- Flyway V9: Uma rentabilidade diária por investimento e data (chave natural usada pelo MERGE)
+-- Roda também em esquemas antigos do ddl-auto (baseline na V6), que podem ter duplicatas de cargas repetidas.
+
+-- remove duplicatas de cargas repetidas, mantendo a linha mais recente (maior ID) de cada data
+DELETE FROM RENTABILIDADE_DIARIA_TABLE r
+ WHERE r.ID NOT IN (
+       SELECT MAX(d.ID)
+         FROM RENTABILIDADE_DIARIA_TABLE d
+        GROUP BY d.INVESTIMENTO_ID, d.DATA_RENTABILIDADE_DIARIA
+ );
+
+-- o índice da V8 passa a ser o índice único da constraint (que o ddl-auto pode já ter criado)
+DECLARE
+    PROCEDURE executar(p_sql VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE p_sql;
+    EXCEPTION
+        -- já existe (-955, -2261, -2264) ou já removido (-1418)
+        WHEN OTHERS THEN
+            IF SQLCODE NOT IN (-955, -2261, -2264, -1418) THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    executar('DROP INDEX IDX_RENTABILIDADE_INV_DATA');
+    executar('ALTER TABLE RENTABILIDADE_DIARIA_TABLE'
+             || ' ADD CONSTRAINT UK_RENTABILIDADE_INV_DATA UNIQUE (INVESTIMENTO_ID, DATA_RENTABILIDADE_DIARIA)');
+END;
+/
@@ -0,0 +1,118 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a validação de CPF anterior do {@code CpfVO} (regex + {@code chars().toArray()})
+ * com {@link CpfValidator}, para um CPF isolado e para um lote de 10 mil CPFs de importação
+ * (metade com máscara, um em cada quatro inválido).
+ *
+ * Executar com:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.CpfValidatorBenchmark}
+ * Para ver as alocações por operação, acrescentar {@code .addProfiler("gc")} às opções.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfValidatorBenchmark {
+
+    private static final int LOTE = 10_000;
+
+    @Param({"52998224725", "529.982.247-25"})
+    public String cpf;
+
+    private String[] lote;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        lote = new String[LOTE];
+        for (int i = 0; i < LOTE; i++) {
+            StringBuilder digitos = new StringBuilder(14);
+            int soma1 = 0;
+            int soma2 = 0;
+            for (int j = 0; j < 9; j++) {
+                int d = random.nextInt(10);
+                digitos.append(d);
+                soma1 += d * (10 - j);
+                soma2 += d * (11 - j);
+            }
+            int dv1 = 11 - soma1 % 11 >= 10 ? 0 : 11 - soma1 % 11;
+            soma2 += dv1 * 2;
+            int dv2 = 11 - soma2 % 11 >= 10 ? 0 : 11 - soma2 % 11;
+            digitos.append(dv1).append(i % 4 == 3 ? (dv2 + 1) % 10 : dv2);
+            if (i % 2 == 1) {
+                digitos.insert(9, '-').insert(6, '.').insert(3, '.');
+            }
+            lote[i] = digitos.toString();
+        }
+    }
+
+    @Benchmark
+    public String normalizarAnterior() {
+        String digitos = cpf.replaceAll("\\D", "");
+        return validoAnterior(digitos) ? digitos : null;
+    }
+
+    @Benchmark
+    public String normalizarValidator() {
+        return CpfValidator.normalizar(cpf);
+    }
+
+    @Benchmark
+    public BitSet loteAnterior() {
+        BitSet validos = new BitSet(LOTE);
+        for (int i = 0; i < LOTE; i++) {
+            if (validoAnterior(lote[i].replaceAll("\\D", ""))) validos.set(i);
+        }
+        return validos;
+    }
+
+    @Benchmark
+    public BitSet loteValidator() {
+        return CpfValidator.validar(lote);
+    }
+
+    /** Implementação anterior de {@code CpfVO.isValidCpf}. */
+    private static boolean validoAnterior(String cpf) {
+        if (cpf == null) return false;
+        if (!cpf.matches("\\d{11}")) return false;
+        if (cpf.matches("(\\d)\\1{10}")) return false;
+        int[] digits = cpf.chars().map(c -> c - '0').toArray();
+        int sum = 0;
+        for (int i = 0; i < 9; i++) sum += digits[i] * (10 - i);
+        int dv1 = 11 - (sum % 11);
+        if (dv1 >= 10) dv1 = 0;
+        if (dv1 != digits[9]) return false;
+        sum = 0;
+        for (int i = 0; i < 10; i++) sum += digits[i] * (11 - i);
+        int dv2 = 11 - (sum % 11);
+        if (dv2 >= 10) dv2 = 0;
+        return dv2 == digits[10];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CpfValidatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, Smile e CBOR para uma carteira de 1.000 investimentos
+ * (cada um com 30 dias de rentabilidade): bytes gerados e custo de codificar/decodificar.
+ *
+ * Executar com:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.FormatoBinarioBenchmark}
+ * O tamanho do payload de cada formato é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoBinarioBenchmark {
+
+    private static final int INVESTIMENTOS = 1000;
+    private static final int DIAS = 30;
+
+    @Param({"json", "smile", "cbor"})
+    public String formato;
+
+    private ObjectMapper mapper;
+    private UsuarioInvestimentoDTO carteira;
+    private byte[] codificado;
+
+    @Setup
+    public void preparar() throws IOException {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        mapper = switch (formato) {
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            default -> builder.build();
+        };
+        carteira = carteira();
+        codificado = mapper.writeValueAsBytes(carteira);
+        System.out.printf("%n[%s] %d bytes%n", formato, codificado.length);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        return mapper.writeValueAsBytes(carteira);
+    }
+
+    @Benchmark
+    public UsuarioInvestimentoDTO decodificar() throws IOException {
+        return mapper.readValue(codificado, UsuarioInvestimentoDTO.class);
+    }
+
+    private static UsuarioInvestimentoDTO carteira() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        List<InvestimentoDTO> investimentos = new ArrayList<>(INVESTIMENTOS);
+        for (int i = 0; i < INVESTIMENTOS; i++) {
+            InvestimentoDTO investimento = new InvestimentoDTO();
+            investimento.setId((long) i);
+            investimento.setNomeBanco("Banco " + (i % 20));
+            investimento.setTipoInvestimento("RENDA_FIXA");
+            investimento.setNomeInvestimento("Investimento " + i);
+            investimento.setMontanteInicial(BigDecimal.valueOf(100000 + i, 2));
+            investimento.setValorInicialAcao(BigDecimal.valueOf(2550, 2));
+            investimento.setTaxaRentabilidade(new BigDecimal("0.1200"));
+            investimento.setNumeroAcoesInicial(78);
+            List<RentabilidadeDiariaDTO> dias = new ArrayList<>(DIAS);
+            LocalDate data = LocalDate.of(2025, 1, 1);
+            for (int d = 0; d < DIAS; d++, data = data.plusDays(1)) {
+                RentabilidadeDiariaDTO dia = new RentabilidadeDiariaDTO();
+                dia.setDataRentabilidadeDiaria(data.format(formatter));
+                dia.setValorDiarioAcao(BigDecimal.valueOf(2550 + d, 2));
+                dia.setTaxaDiarioRentabilidade(BigDecimal.valueOf(d % 13, 4));
+                dia.setMontanteAcumuladoDiario(BigDecimal.valueOf(100000 + i + d * 11L, 2));
+                dias.add(dia);
+            }
+            investimento.setRentabilidadeDiaria(dias);
+            investimentos.add(investimento);
+        }
+        UsuarioInvestimentoDTO dto = new UsuarioInvestimentoDTO();
+        dto.setCpfIdentificacao("11144477735");
+        dto.setDataUsuarioInvestimentos(investimentos);
+        return dto;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FormatoBinarioBenchmark.class.getSimpleName()).build()).run();
+    }
+}
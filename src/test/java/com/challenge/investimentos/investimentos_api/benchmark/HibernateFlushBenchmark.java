@@ -0,0 +1,173 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de flush e de hidratação de uma sessão do Hibernate com 100 mil rentabilidades diárias
+ * (100 investimentos × 1000 dias), com e sem bytecode enhancement das entidades.
+ *
+ * Sem enhancement o flush compara o snapshot de todos os atributos de cada entidade gerenciada;
+ * com dirty tracking inline só as entidades marcadas como alteradas são inspecionadas.
+ * Usa H2 em memória para isolar o custo do Hibernate do custo de rede do Oracle.
+ *
+ * Executar (depois, antes do enhancement):
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.HibernateFlushBenchmark}
+ * {@code mvn -P sem-enhancement clean test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.HibernateFlushBenchmark}
+ * Para ver a memória alocada na hidratação ({@code gc.alloc.rate.norm} de {@code carregar}), acrescentar
+ * {@code .addProfiler("gc")} às opções; a memória retida pela sessão é impressa ao fim de cada iteração dos flushes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class HibernateFlushBenchmark {
+
+    private static final int INVESTIMENTOS = 100;
+    private static final int DIAS = 1000;
+    /** Linhas alteradas antes do flush em {@link #flushComAlteracoes} (1%). */
+    private static final int ALTERADAS = 1000;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void criarBanco() {
+        StandardServiceRegistry registro = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:flush;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, "100")
+                .build();
+        sessionFactory = new MetadataSources(registro)
+                .addAnnotatedClass(UsuarioInvestimento.class)
+                .addAnnotatedClass(Investimento.class)
+                .addAnnotatedClass(RentabilidadeDiaria.class)
+                .addAnnotatedClass(Instrumento.class)
+                .addAnnotatedClass(CotacaoInstrumento.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(s -> {
+            s.createNativeMutationQuery("insert into USUARIO_INVESTIMENTO (ID, CPF_IDENTIFICACAO, CPF_NUMERO)"
+                    + " values (1, '52998224725', 52998224725)").executeUpdate();
+            s.createNativeMutationQuery("insert into INVESTIMENTO (ID, NOME_INVESTIMENTO, MONTANTE_INICIAL,"
+                    + " VALOR_INICIAL_ACAO, TAXA_RENTABILIDADE, NUMERO_ACOES_INICIAL, USUARIO_INVESTIMENTO_ID)"
+                    + " select X, 'Investimento ' || X, 1000.00, 10.00, 0.1000, 100, 1"
+                    + " from SYSTEM_RANGE(1, " + INVESTIMENTOS + ")").executeUpdate();
+            s.createNativeMutationQuery("insert into RENTABILIDADE_DIARIA_TABLE (ID, INVESTIMENTO_ID,"
+                    + " DATA_RENTABILIDADE_DIARIA, VALOR_DIARIO_ACAO, TAXA_DIARIO_RENTABILIDADE, MONTANTE_ACUMULADO_DIARIO)"
+                    + " select X, MOD(X - 1, " + INVESTIMENTOS + ") + 1,"
+                    + " DATEADD('DAY', (X - 1) / " + INVESTIMENTOS + ", DATE '2020-01-01'),"
+                    + " 10.00 + MOD(X, 500) / 100.0, 0.0010, 1000.00 + MOD(X, 500)"
+                    + " from SYSTEM_RANGE(1, " + (INVESTIMENTOS * DIAS) + ")").executeUpdate();
+        });
+        System.out.println("\nEntidades com bytecode enhancement: "
+                + SelfDirtinessTracker.class.isAssignableFrom(RentabilidadeDiaria.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBanco() {
+        sessionFactory.close();
+    }
+
+    /** Sessão aberta com as 100 mil linhas gerenciadas, recriada a cada iteração. */
+    @State(Scope.Thread)
+    public static class Sessao {
+
+        Session session;
+        List<RentabilidadeDiaria> linhas;
+
+        @Setup(Level.Iteration)
+        public void abrir(HibernateFlushBenchmark banco) {
+            session = banco.sessionFactory.openSession();
+            session.beginTransaction();
+            linhas = carregar(session);
+        }
+
+        /** Fecha a sessão e imprime quanto heap ela retinha (ocupado antes menos depois de fechar). */
+        @TearDown(Level.Iteration)
+        public void fechar() {
+            long aberta = memoriaUsada();
+            int quantidade = linhas.size();
+            session.getTransaction().rollback();
+            session.close();
+            session = null;
+            linhas = null;
+            System.out.printf("%nSessao com %d linhas retinha ~%d MB%n", quantidade, (aberta - memoriaUsada()) >> 20);
+        }
+    }
+
+    /** Flush sem nenhuma alteração: custo puro da verificação de sujeira. */
+    @Benchmark
+    public void flushSemAlteracoes(Sessao sessao) {
+        sessao.session.flush();
+    }
+
+    /** Flush com 1% das linhas alteradas (gera {@value #ALTERADAS} UPDATEs). */
+    @Benchmark
+    public void flushComAlteracoes(Sessao sessao) {
+        List<RentabilidadeDiaria> linhas = sessao.linhas;
+        for (int i = 0; i < ALTERADAS; i++) {
+            RentabilidadeDiaria linha = linhas.get(i * (linhas.size() / ALTERADAS));
+            linha.setValorDiarioAcao(linha.getValorDiarioAcao().add(BigDecimal.ONE));
+        }
+        sessao.session.flush();
+    }
+
+    /** Hidratação das 100 mil linhas em uma sessão nova. */
+    @Benchmark
+    public int carregar() {
+        try (Session nova = sessionFactory.openSession()) {
+            return carregar(nova).size();
+        }
+    }
+
+    private static List<RentabilidadeDiaria> carregar(Session session) {
+        return session.createSelectionQuery("from RentabilidadeDiaria r order by r.id", RentabilidadeDiaria.class)
+                .getResultList();
+    }
+
+    /** Heap ocupado depois de coletas completas (aproximação da memória retida). */
+    private static long memoriaUsada() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HibernateFlushBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo por linha da conversão DTO↔entidade de uma carteira com 10 mil dias de rentabilidade:
+ * a conversão anterior ({@code valueOf} + {@code toUpperCase}, {@code DateTimeFormatter} e streams)
+ * contra {@link InvestimentoMapper}.
+ *
+ * Executar com:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.InvestimentoMapperBenchmark}
+ * Os resultados são em nanossegundos por linha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(InvestimentoMapperBenchmark.LINHAS)
+public class InvestimentoMapperBenchmark {
+
+    static final int LINHAS = 10_000;
+
+    @Param({"RENDA_FIXA", "renda_fixa"})
+    public String tipo;
+
+    private final UsuarioInvestimento usuario = new UsuarioInvestimento();
+    private InvestimentoDTO dto;
+    private Investimento entidade;
+
+    @Setup
+    public void preparar() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        dto = new InvestimentoDTO();
+        dto.setNomeBanco("C6 Bank");
+        dto.setTipoInvestimento(tipo);
+        dto.setNomeInvestimento("CDB 2025");
+        dto.setMontanteInicial(new BigDecimal("1000.00"));
+        dto.setValorInicialAcao(new BigDecimal("10.00"));
+        dto.setTaxaRentabilidade(new BigDecimal("0.12"));
+        dto.setNumeroAcoesInicial(100);
+        List<RentabilidadeDiariaDTO> dias = new ArrayList<>(LINHAS);
+        LocalDate data = LocalDate.of(1998, 1, 1);
+        for (int i = 0; i < LINHAS; i++, data = data.plusDays(1)) {
+            RentabilidadeDiariaDTO dia = new RentabilidadeDiariaDTO();
+            dia.setDataRentabilidadeDiaria(data.format(formatter));
+            dia.setValorDiarioAcao(BigDecimal.valueOf(10000 + i * 7L, 2));
+            dia.setTaxaDiarioRentabilidade(BigDecimal.valueOf(i % 50, 4));
+            dia.setMontanteAcumuladoDiario(BigDecimal.valueOf(100000 + i * 13L, 2));
+            dias.add(dia);
+        }
+        dto.setRentabilidadeDiaria(dias);
+        entidade = InvestimentoMapper.novoInvestimento(dto, usuario);
+    }
+
+    @Benchmark
+    public Investimento escritaAnterior() {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        Investimento investimento = new Investimento();
+        investimento.setUsuarioInvestimento(usuario);
+        investimento.setNomeBanco(dto.getNomeBanco());
+        try {
+            investimento.setTipoInvestimento(TipoInvestimentoEnum.valueOf(dto.getTipoInvestimento().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Tipo de investimento inválido: " + dto.getTipoInvestimento());
+        }
+        investimento.setNomeInvestimento(dto.getNomeInvestimento());
+        investimento.setMontanteInicial(dto.getMontanteInicial());
+        investimento.setValorInicialAcao(dto.getValorInicialAcao());
+        investimento.setTaxaRentabilidade(dto.getTaxaRentabilidade());
+        investimento.setNumeroAcoesInicial(dto.getNumeroAcoesInicial());
+        investimento.setRentabilidadeDiaria(dto.getRentabilidadeDiaria().stream().map(rdDTO -> {
+            RentabilidadeDiaria rd = new RentabilidadeDiaria();
+            rd.setDataRentabilidadeDiaria(LocalDate.parse(rdDTO.getDataRentabilidadeDiaria(), formatter));
+            rd.setValorDiarioAcao(rdDTO.getValorDiarioAcao());
+            rd.setTaxaDiarioRentabilidade(rdDTO.getTaxaDiarioRentabilidade());
+            rd.setMontanteAcumuladoDiario(rdDTO.getMontanteAcumuladoDiario());
+            return rd;
+        }).collect(Collectors.toList()));
+        return investimento;
+    }
+
+    @Benchmark
+    public Investimento escritaMapper() {
+        return InvestimentoMapper.novoInvestimento(dto, usuario);
+    }
+
+    @Benchmark
+    public InvestimentoDTO leituraAnterior() {
+        InvestimentoDTO resultado = new InvestimentoDTO();
+        resultado.setId(entidade.getId());
+        resultado.setNomeBanco(entidade.getNomeBanco());
+        resultado.setTipoInvestimento(entidade.getTipoInvestimento().name());
+        resultado.setNomeInvestimento(entidade.getNomeInvestimento());
+        resultado.setMontanteInicial(entidade.getMontanteInicial());
+        resultado.setValorInicialAcao(entidade.getValorInicialAcao());
+        resultado.setTaxaRentabilidade(entidade.getTaxaRentabilidade());
+        resultado.setNumeroAcoesInicial(entidade.getNumeroAcoesInicial());
+        resultado.setRentabilidadeDiaria(entidade.getRentabilidadeDiaria().stream().map(rd -> {
+            RentabilidadeDiariaDTO dia = new RentabilidadeDiariaDTO();
+            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+            dia.setDataRentabilidadeDiaria(rd.getDataRentabilidadeDiaria().format(fmt));
+            dia.setValorDiarioAcao(rd.getValorDiarioAcao());
+            dia.setTaxaDiarioRentabilidade(rd.getTaxaDiarioRentabilidade());
+            dia.setMontanteAcumuladoDiario(rd.getMontanteAcumuladoDiario());
+            return dia;
+        }).collect(Collectors.toList()));
+        return resultado;
+    }
+
+    @Benchmark
+    public InvestimentoDTO leituraMapper() {
+        return InvestimentoMapper.paraDTO(entidade);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InvestimentoMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+import com.challenge.investimentos.investimentos_api.util.PosicaoInvestimento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconstrução da posição de um investimento a partir do livro-razão, com milhões de movimentações
+ * (aportes e vendas parciais) já em memória, isolando o custo do fold do custo de leitura no banco.
+ *
+ * Compara o replay completo em ponto fixo ({@link PosicaoInvestimento}), o mesmo replay com
+ * {@link BigDecimal} e a reconstrução usada pela API: último snapshot mais a cauda (no pior caso,
+ * {@code snapshot-a-cada - 1} = 99 movimentações). Eventos por segundo = {@code eventos} / tempo.
+ *
+ * Executar com:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.LedgerReplayBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class LedgerReplayBenchmark {
+
+    private static final int CAUDA = 99;
+    private static final TipoMovimentacao[] TIPOS = TipoMovimentacao.values();
+
+    @Param({"1000000", "10000000"})
+    public int eventos;
+
+    private byte[] tipos;
+    private long[] quantidades;
+    private long[] valores;
+    private int[] datas;
+    private long[] snapshot;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        tipos = new byte[eventos];
+        quantidades = new long[eventos];
+        valores = new long[eventos];
+        datas = new int[eventos];
+        PosicaoInvestimento posicao = PosicaoInvestimento.inicial(1_000_000, 1_000);
+        for (int i = 0; i < eventos; i++) {
+            boolean venda = random.nextInt(3) == 0 && posicao.getQuantidade() > PosicaoInvestimento.UMA_ACAO;
+            TipoMovimentacao tipo = venda ? TipoMovimentacao.VENDA : TipoMovimentacao.APORTE;
+            tipos[i] = (byte) tipo.ordinal();
+            // vendas de metade a todo o saldo mantêm a posição em ordem de grandeza realista
+            long saldo = posicao.getQuantidade();
+            quantidades[i] = venda ? saldo / 2 + 1 + random.nextLong(saldo - saldo / 2)
+                    : random.nextLong(100 * PosicaoInvestimento.UMA_ACAO);
+            valores[i] = 1 + random.nextInt(1_000_000);
+            datas[i] = 18_000 + i / 1_000;
+            posicao.aplicar(tipo, quantidades[i], valores[i], datas[i]);
+            if (i == eventos - CAUDA - 1) {
+                snapshot = new long[] {posicao.getSequencia(), posicao.getQuantidade(), posicao.getCusto(),
+                        posicao.getAportado(), posicao.getResgatado(), posicao.getResultadoRealizado(), posicao.getUltimaData()};
+            }
+        }
+    }
+
+    /** Do cadastro até a última movimentação, em ponto fixo. */
+    @Benchmark
+    public long replayCompleto() {
+        PosicaoInvestimento posicao = PosicaoInvestimento.inicial(1_000_000, 1_000);
+        aplicar(posicao, 0);
+        return posicao.getCusto();
+    }
+
+    /** O mesmo replay com BigDecimal, nos tipos das entidades (baixa truncada em centavos). */
+    @Benchmark
+    public BigDecimal replayBigDecimal() {
+        BigDecimal quantidade = BigDecimal.valueOf(1_000);
+        BigDecimal custo = new BigDecimal("10000.00");
+        BigDecimal resultado = BigDecimal.ZERO;
+        for (int i = 0; i < eventos; i++) {
+            BigDecimal q = BigDecimal.valueOf(quantidades[i], PosicaoInvestimento.ESCALA_QUANTIDADE);
+            BigDecimal valor = BigDecimal.valueOf(valores[i], PosicaoInvestimento.ESCALA_VALOR);
+            if (TIPOS[tipos[i]] == TipoMovimentacao.VENDA) {
+                BigDecimal baixa = custo.multiply(q).divide(quantidade, PosicaoInvestimento.ESCALA_VALOR, RoundingMode.DOWN);
+                quantidade = quantidade.subtract(q);
+                custo = custo.subtract(baixa);
+                resultado = resultado.add(valor.subtract(baixa));
+            } else {
+                quantidade = quantidade.add(q);
+                custo = custo.add(valor);
+            }
+        }
+        return custo.add(resultado);
+    }
+
+    /** Último snapshot mais a cauda, como na API: custo constante, qualquer que seja o histórico. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long snapshotMaisCauda() {
+        long[] s = snapshot;
+        PosicaoInvestimento posicao = PosicaoInvestimento.restaurar(s[0], s[1], s[2], s[3], s[4], s[5], (int) s[6]);
+        aplicar(posicao, (int) s[0]);
+        return posicao.getCusto();
+    }
+
+    private void aplicar(PosicaoInvestimento posicao, int inicio) {
+        for (int i = inicio; i < eventos; i++) {
+            posicao.aplicar(TIPOS[tipos[i]], quantidades[i], valores[i], datas[i]);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LedgerReplayBenchmark.class.getSimpleName()).build()).run();
+    }
+}
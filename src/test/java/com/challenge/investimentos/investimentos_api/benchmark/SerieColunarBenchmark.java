@@ -0,0 +1,93 @@
+package com.challenge.investimentos.investimentos_api.benchmark;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.util.SerieColunar;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a serialização da série diária no formato tradicional (lista de
+ * {@link RentabilidadeDiariaDTO}) com o formato colunar ({@link SerieColunar}).
+ *
+ * Executar com:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.challenge.investimentos.investimentos_api.benchmark.SerieColunarBenchmark}
+ * O tamanho de cada payload é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerieColunarBenchmark {
+
+    @Param({"365", "3000"})
+    public int dias;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<RentabilidadeDiariaDTO> linhas;
+    private SerieColunar serie;
+
+    @Setup
+    public void preparar() throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        linhas = new ArrayList<>(dias);
+        serie = new SerieColunar(1L, dias);
+        LocalDate data = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < dias; i++, data = data.plusDays(1)) {
+            BigDecimal valor = BigDecimal.valueOf(10000 + i * 7L, 2);
+            BigDecimal taxa = BigDecimal.valueOf(i % 50, 4);
+            BigDecimal montante = BigDecimal.valueOf(100000 + i * 13L, 2);
+            RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+            dto.setDataRentabilidadeDiaria(data.format(formatter));
+            dto.setValorDiarioAcao(valor);
+            dto.setTaxaDiarioRentabilidade(taxa);
+            dto.setMontanteAcumuladoDiario(montante);
+            linhas.add(dto);
+            serie.adicionar(data, valor, taxa, montante);
+        }
+        System.out.printf("%n[dias=%d] tradicional=%d bytes, colunar=%d bytes%n",
+                dias, tradicional().length, colunar().length);
+    }
+
+    @Benchmark
+    public byte[] tradicional() throws IOException {
+        return mapper.writeValueAsBytes(linhas);
+    }
+
+    @Benchmark
+    public byte[] colunar() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dias * 24);
+        try (JsonGenerator gerador = mapper.getFactory().createGenerator(saida)) {
+            serie.escrever(gerador);
+        }
+        return saida.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerieColunarBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CacheSegundoNivelConfig.
+ */
+class CacheSegundoNivelConfigTest {
+
+    private final CacheSegundoNivelConfig config =
+            new CacheSegundoNivelConfig(500, Duration.ofMinutes(10), 50, Duration.ofMinutes(1));
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = config.cacheSegundoNivel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void regioesDeUsuarioTemTamanhoETtlExplicitos() {
+        for (String regiao : new String[] {CacheSegundoNivelConfig.REGIAO_USUARIO,
+                CacheSegundoNivelConfig.REGIAO_USUARIO_USERNAME, CacheSegundoNivelConfig.REGIAO_USUARIO_INVESTIMENTO}) {
+            CaffeineConfiguration<?, ?> configuracao = configuracao(regiao);
+            assertEquals(500, configuracao.getMaximumSize().getAsLong(), regiao);
+            assertEquals(Duration.ofMinutes(10).toNanos(), configuracao.getExpireAfterWrite().getAsLong(), regiao);
+            assertTrue(configuracao.isStatisticsEnabled(), regiao);
+            assertFalse(configuracao.isStoreByValue(), regiao);
+        }
+        assertEquals(50, configuracao(CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO).getMaximumSize().getAsLong());
+    }
+
+    @Test
+    void timestampsDasConsultasNuncaExpiram() {
+        CaffeineConfiguration<?, ?> configuracao =
+                configuracao(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+        assertTrue(configuracao.getMaximumSize().isEmpty());
+        assertTrue(configuracao.getExpireAfterWrite().isEmpty());
+    }
+
+    @Test
+    void cacheManagerEhEntregueAoHibernate() {
+        Map<String, Object> propriedades = new HashMap<>();
+        config.cacheSegundoNivelHibernate(cacheManager).customize(propriedades);
+
+        assertSame(cacheManager, propriedades.get(ConfigSettings.CACHE_MANAGER));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuracao(String regiao) {
+        return cacheManager.getCache(regiao).getConfiguration(CaffeineConfiguration.class);
+    }
+}
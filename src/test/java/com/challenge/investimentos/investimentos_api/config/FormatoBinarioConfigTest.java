@@ -0,0 +1,74 @@
+package com.challenge.investimentos.investimentos_api.config;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para FormatoBinarioConfig.
+ */
+class FormatoBinarioConfigTest {
+
+    private final FormatoBinarioConfig config = new FormatoBinarioConfig();
+
+    @Test
+    void jsonContinuaSendoOFormatoPadrao() {
+        HttpMessageConverters converters = new HttpMessageConverters(List.of(
+                config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder())));
+
+        List<HttpMessageConverter<?>> lista = converters.getConverters();
+        int json = indice(lista, MappingJackson2HttpMessageConverter.class);
+        int smile = indice(lista, MappingJackson2SmileHttpMessageConverter.class);
+        int cbor = indice(lista, MappingJackson2CborHttpMessageConverter.class);
+
+        assertTrue(json >= 0 && smile > json && cbor > json);
+    }
+
+    @Test
+    void smileECborPreservamOsDtos() throws Exception {
+        UsuarioInvestimentoDTO dto = new UsuarioInvestimentoDTO();
+        dto.setCpfIdentificacao("11144477735");
+        InvestimentoDTO investimento = new InvestimentoDTO();
+        investimento.setNomeInvestimento("Tesouro Selic");
+        investimento.setMontanteInicial(new BigDecimal("1000.00"));
+        RentabilidadeDiariaDTO dia = new RentabilidadeDiariaDTO();
+        dia.setDataRentabilidadeDiaria("01-01-2025");
+        dia.setMontanteAcumuladoDiario(new BigDecimal("1001.20"));
+        investimento.setRentabilidadeDiaria(List.of(dia));
+        dto.setDataUsuarioInvestimentos(List.of(investimento));
+
+        for (AbstractJackson2HttpMessageConverter conversor : List.of(
+                config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()))) {
+            byte[] bytes = conversor.getObjectMapper().writeValueAsBytes(dto);
+            UsuarioInvestimentoDTO lido = conversor.getObjectMapper().readValue(bytes, UsuarioInvestimentoDTO.class);
+
+            assertEquals("11144477735", lido.getCpfIdentificacao());
+            InvestimentoDTO lidoInvestimento = lido.getDataUsuarioInvestimentos().get(0);
+            assertEquals("Tesouro Selic", lidoInvestimento.getNomeInvestimento());
+            assertEquals(0, new BigDecimal("1001.20").compareTo(
+                    lidoInvestimento.getRentabilidadeDiaria().get(0).getMontanteAcumuladoDiario()));
+        }
+    }
+
+    private static int indice(List<HttpMessageConverter<?>> lista, Class<?> tipo) {
+        for (int i = 0; i < lista.size(); i++) {
+            if (lista.get(i).getClass() == tipo) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.challenge.investimentos.investimentos_api.controller;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.Usuario;
+import com.challenge.investimentos.investimentos_api.repository.UsuarioRepository;
+import com.challenge.investimentos.investimentos_api.service.InvestimentoService;
+import com.challenge.investimentos.investimentos_api.service.PainelInvestidorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da listagem {@code /meus} em InvestimentoController.
+ */
+class InvestimentoControllerTest {
+
+    private static final String CPF = "52998224725";
+
+    @Mock
+    private InvestimentoService investimentoService;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PainelInvestidorService painelInvestidorService;
+
+    @InjectMocks
+    private InvestimentoController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("joao", null));
+        Usuario usuario = new Usuario();
+        usuario.setUsername("joao");
+        usuario.setCpf(CPF);
+        when(usuarioRepository.findByUsername("joao")).thenReturn(usuario);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listarMeusInvestimentos_semParametrosLeAsPosicoesDoPainel() {
+        List<PainelInvestidorDTO.Posicao> posicoes = List.of(new PainelInvestidorDTO.Posicao());
+        when(painelInvestidorService.listarPosicoes(CPF)).thenReturn(ResponseEntity.ok(posicoes));
+
+        ResponseEntity<?> resp = controller.listarMeusInvestimentos(null, null);
+
+        assertEquals(200, resp.getStatusCode().value());
+        assertSame(posicoes, resp.getBody());
+        verifyNoInteractions(investimentoService);
+    }
+
+    @Test
+    void listarMeusInvestimentos_cpfSemUsuarioInvestidorResponde404() {
+        when(painelInvestidorService.listarPosicoes(CPF)).thenReturn(ResponseEntity.notFound().build());
+
+        ResponseEntity<?> resp = controller.listarMeusInvestimentos(null, null);
+
+        assertEquals(404, resp.getStatusCode().value());
+        assertTrue(resp.getBody().toString().contains("CPF não foi encontrado"));
+    }
+
+    @Test
+    void listarMeusInvestimentos_comFieldsLeAProjecaoDoPainel() {
+        when(painelInvestidorService.listarProjecao(any(), eq(CPF))).thenReturn(ResponseEntity.ok(List.of()));
+
+        assertEquals(200, controller.listarMeusInvestimentos("id,montanteAtual", null).getStatusCode().value());
+
+        verify(painelInvestidorService, never()).listarPosicoes(any());
+        verifyNoInteractions(investimentoService);
+    }
+
+    @Test
+    void listarMeusInvestimentosCompletos_mantemOFormatoDaCarteira() {
+        Investimento investimento = new Investimento();
+        investimento.setId(1L);
+        investimento.setRentabilidadeDiaria(new ArrayList<>());
+        when(investimentoService.listarPorCpf(CPF)).thenReturn(ResponseEntity.ok(List.of(investimento)));
+
+        ResponseEntity<?> resp = controller.listarMeusInvestimentosCompletos();
+
+        assertEquals(200, resp.getStatusCode().value());
+        List<?> corpo = (List<?>) resp.getBody();
+        assertEquals(1L, ((InvestimentoDTO) corpo.get(0)).getId());
+        verifyNoInteractions(painelInvestidorService);
+    }
+}
@@ -0,0 +1,69 @@
+package com.challenge.investimentos.investimentos_api.controller;
+
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+import com.challenge.investimentos.investimentos_api.service.interfaces.IUsuarioInvestimentoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários dos parâmetros {@code fields}/{@code include} em UsuarioInvestimentoController.
+ */
+class UsuarioInvestimentoControllerTest {
+
+    @Mock
+    private IUsuarioInvestimentoService service;
+
+    @InjectMocks
+    private UsuarioInvestimentoController controller;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void buscarPorCpf_campoDesconhecidoResponde400SemConsultar() {
+        ResponseEntity<?> resp = controller.buscarPorCpf("52998224725", "id,senha", null);
+
+        assertEquals(400, resp.getStatusCode().value());
+        assertEquals("Campo inválido: senha", resp.getBody());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void buscarPorCpf_comFieldsDevolveOUsuarioProjetado() {
+        Map<String, Object> usuario = Map.of("cpfIdentificacao", "52998224725", "investimentos", List.of(Map.of("id", 1L)));
+        when(service.listarProjecao(any(), eq("52998224725"))).thenReturn(ResponseEntity.ok(List.of(usuario)));
+
+        ResponseEntity<?> resp = controller.buscarPorCpf("52998224725", "id", "rentabilidadeDiaria");
+
+        assertEquals(200, resp.getStatusCode().value());
+        assertSame(usuario, resp.getBody());
+        ArgumentCaptor<SelecaoCampos> selecao = ArgumentCaptor.forClass(SelecaoCampos.class);
+        verify(service).listarProjecao(selecao.capture(), eq("52998224725"));
+        assertEquals(Set.of(CampoInvestimento.ID), selecao.getValue().getCampos());
+        assertTrue(selecao.getValue().isIncluirRentabilidadeDiaria());
+        verify(service, never()).buscarPorCpf(any());
+    }
+
+    @Test
+    void buscarPorCpf_projecaoNaoEncontradaResponde404() {
+        when(service.listarProjecao(any(), eq("52998224725"))).thenReturn(ResponseEntity.notFound().build());
+
+        assertEquals(404, controller.buscarPorCpf("52998224725", "id", null).getStatusCode().value());
+    }
+}
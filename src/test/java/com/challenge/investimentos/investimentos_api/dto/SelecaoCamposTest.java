@@ -0,0 +1,65 @@
+package com.challenge.investimentos.investimentos_api.dto;
+
+import com.challenge.investimentos.investimentos_api.enums.CampoInvestimento;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a interpretação dos parâmetros {@code fields} e {@code include}.
+ */
+class SelecaoCamposTest {
+
+    @Test
+    void de_semParametrosMantemARespostaCompleta() {
+        assertNull(SelecaoCampos.de(null, null));
+        assertNull(SelecaoCampos.de(" ", ""));
+    }
+
+    @Test
+    void de_fieldsSemDiferenciarMaiusculasEIgnorandoItensVazios() {
+        SelecaoCampos selecao = SelecaoCampos.de(" nomeInvestimento ,,MONTANTEATUAL,id ", null);
+
+        // ordem da resposta é a do enum, não a da requisição
+        assertEquals(List.of(CampoInvestimento.ID, CampoInvestimento.NOME_INVESTIMENTO, CampoInvestimento.MONTANTE_ATUAL),
+                List.copyOf(selecao.getCampos()));
+        assertFalse(selecao.isIncluirRentabilidadeDiaria());
+    }
+
+    @Test
+    void de_includeSemFieldsUsaOsCamposPadrao() {
+        SelecaoCampos selecao = SelecaoCampos.de(null, "rentabilidadeDiaria");
+
+        assertTrue(selecao.isIncluirRentabilidadeDiaria());
+        assertEquals(CampoInvestimento.padrao(), selecao.getCampos());
+        assertFalse(selecao.getCampos().contains(CampoInvestimento.MONTANTE_ATUAL));
+    }
+
+    @Test
+    void de_rentabilidadeDiariaEmFieldsEquivaleAoInclude() {
+        SelecaoCampos selecao = SelecaoCampos.de("id,rentabilidadeDiaria", null);
+
+        assertTrue(selecao.isIncluirRentabilidadeDiaria());
+        assertEquals(List.of(CampoInvestimento.ID), List.copyOf(selecao.getCampos()));
+    }
+
+    @Test
+    void de_campoOuIncludeDesconhecidoERejeitado() {
+        IllegalArgumentException campo = assertThrows(IllegalArgumentException.class,
+                () -> SelecaoCampos.de("id,senha", null));
+        assertEquals("Campo inválido: senha", campo.getMessage());
+
+        IllegalArgumentException include = assertThrows(IllegalArgumentException.class,
+                () -> SelecaoCampos.de("id", "usuarioInvestimento"));
+        assertEquals("Include inválido: usuarioInvestimento", include.getMessage());
+    }
+
+    @Test
+    void getCampos_imutavel() {
+        SelecaoCampos selecao = SelecaoCampos.de("id", null);
+
+        assertThrows(UnsupportedOperationException.class, () -> selecao.getCampos().add(CampoInvestimento.NOME_BANCO));
+    }
+}
@@ -0,0 +1,133 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.config.CacheSegundoNivelConfig;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a escrita em lote de CarteiraBulkRepository, com o JdbcTemplate simulado.
+ */
+class CarteiraBulkRepositoryTest {
+
+    @Test
+    void mesclarRentabilidades_umBatchPorFatiaDeMilLinhas() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        CarteiraBulkRepository repository = new CarteiraBulkRepository(jdbcTemplate, mock(EntityManagerFactory.class));
+        int n = 2500;
+        long[] ids = new long[n];
+        LocalDate[] datas = new LocalDate[n];
+        BigDecimal[] valores = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            datas[i] = LocalDate.of(2025, 1, 1).plusDays(i);
+            valores[i] = BigDecimal.valueOf(i);
+        }
+
+        repository.mesclarRentabilidades(ids, datas, valores, valores, valores);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> setters = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(sql.capture(), setters.capture());
+        assertTrue(sql.getValue().startsWith("merge into RENTABILIDADE_DIARIA_TABLE"));
+        List<Integer> tamanhos = setters.getAllValues().stream().map(BatchPreparedStatementSetter::getBatchSize).toList();
+        assertEquals(Arrays.asList(1000, 1000, 500), tamanhos);
+
+        // a primeira linha da última fatia é a 2000
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setters.getAllValues().get(2).setValues(ps, 0);
+        verify(ps).setLong(1, 2000L);
+        verify(ps).setDate(2, Date.valueOf(datas[2000]));
+        verify(ps).setBigDecimal(3, BigDecimal.valueOf(2000));
+    }
+
+    @Test
+    void mesclarRentabilidades_arraysDeTamanhosDiferentes() {
+        CarteiraBulkRepository repository = new CarteiraBulkRepository(mock(JdbcTemplate.class), mock(EntityManagerFactory.class));
+
+        assertThrows(IllegalArgumentException.class, () -> repository.mesclarRentabilidades(
+                new long[2], new LocalDate[1], new BigDecimal[2], new BigDecimal[2], new BigDecimal[2]));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inserirInvestimentos_gravaOInstrumentoVinculado() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        CarteiraBulkRepository repository = new CarteiraBulkRepository(jdbcTemplate, mock(EntityManagerFactory.class));
+        when(jdbcTemplate.queryForList(startsWith("select INVESTIMENTO_SEQ.NEXTVAL"), eq(Long.class), eq(2)))
+                .thenReturn(List.of(41L, 42L));
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setId(1L);
+        Instrumento instrumento = new Instrumento();
+        instrumento.setId(7L);
+        Investimento vinculado = new Investimento();
+        vinculado.setUsuarioInvestimento(usuario);
+        vinculado.setInstrumento(instrumento);
+        Investimento avulso = new Investimento();
+        avulso.setUsuarioInvestimento(usuario);
+
+        repository.inserirInvestimentos(List.of(vinculado, avulso));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Investimento>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), eq(List.of(vinculado, avulso)), eq(1000), setter.capture());
+        assertTrue(sql.getValue().contains("INSTRUMENTO_ID) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"));
+        assertEquals(41L, vinculado.getId());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, vinculado);
+        verify(ps).setLong(11, 7L);
+        PreparedStatement psAvulso = mock(PreparedStatement.class);
+        setter.getValue().setValues(psAvulso, avulso);
+        verify(psAvulso).setNull(11, Types.BIGINT);
+    }
+
+    @Test
+    void garantirUsuarios_descartaAsConsultasDeUsuarioQuandoATransacaoConfirma() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        CarteiraBulkRepository repository = new CarteiraBulkRepository(jdbcTemplate, entityManagerFactory);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.garantirUsuarios(List.of("52998224725"));
+
+            verify(jdbcTemplate).batchUpdate(startsWith("insert into USUARIO_INVESTIMENTO"), eq(List.of("52998224725")),
+                    eq(1000), ArgumentMatchers.<ParameterizedPreparedStatementSetter<String>>any());
+            // um "não encontrado" lido antes do commit ainda pode entrar no cache: descarta só depois dele
+            verifyNoInteractions(cache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(cache).evictQueryRegion(CacheSegundoNivelConfig.REGIAO_CONSULTAS_USUARIO);
+    }
+}
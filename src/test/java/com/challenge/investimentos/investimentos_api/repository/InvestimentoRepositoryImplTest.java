@@ -0,0 +1,88 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da projeção por campos de InvestimentoRepositoryImpl, com o EntityManager simulado.
+ */
+class InvestimentoRepositoryImplTest {
+
+    private final EntityManager em = mock(EntityManager.class);
+    private final InvestimentoRepositoryImpl repository = new InvestimentoRepositoryImpl();
+    private final List<String> consultas = new ArrayList<>();
+
+    @Test
+    void buscarProjecao_selecionaSoAsColunasPedidasNaOrdemDoEnum() {
+        prepararConsultas(List.<Object[]>of(new Object[] {7L, TipoInvestimentoEnum.RENDA_FIXA, "Tesouro Selic"}), List.of());
+
+        List<Map<String, Object>> resultado = repository.buscarProjecao(
+                SelecaoCampos.de("nomeInvestimento,tipoInvestimento", null), "529.982.247-25");
+
+        assertEquals("select i.id, i.tipoInvestimento, i.nomeInvestimento from Investimento i"
+                + " where i.usuarioInvestimento.cpf.numero = :cpf order by i.id", consultas.get(0));
+        assertEquals(1, consultas.size());
+        // id só entra na resposta quando pedido; enums saem pelo nome
+        assertEquals(List.of(Map.of("tipoInvestimento", "RENDA_FIXA", "nomeInvestimento", "Tesouro Selic")), resultado);
+        assertEquals(List.of("tipoInvestimento", "nomeInvestimento"), List.copyOf(resultado.get(0).keySet()));
+    }
+
+    @Test
+    void buscarProjecao_includeAninhaASeriePorInvestimento() {
+        LocalDate dia = LocalDate.of(2024, 1, 2);
+        prepararConsultas(
+                List.<Object[]>of(new Object[] {1L}, new Object[] {2L}),
+                List.<Object[]>of(new Object[] {1L, dia, new BigDecimal("10.00"), new BigDecimal("0.5000"), new BigDecimal("1000.00")}));
+
+        List<Map<String, Object>> resultado = repository.buscarProjecao(SelecaoCampos.de("id", "rentabilidadeDiaria"), null);
+
+        assertEquals("select i.id from Investimento i order by i.id", consultas.get(0));
+        assertEquals(2, resultado.size());
+        @SuppressWarnings("unchecked")
+        List<RentabilidadeDiariaDTO> serie = (List<RentabilidadeDiariaDTO>) resultado.get(0).get("rentabilidadeDiaria");
+        assertEquals(1, serie.size());
+        assertEquals("02-01-2024", serie.get(0).getDataRentabilidadeDiaria());
+        assertEquals(new BigDecimal("1000.00"), serie.get(0).getMontanteAcumuladoDiario());
+        // investimento sem série recebe lista vazia, não fica sem a chave
+        assertEquals(List.of(), resultado.get(1).get("rentabilidadeDiaria"));
+    }
+
+    @Test
+    void buscarProjecao_semIncludeNaoConsultaASerie() {
+        prepararConsultas(List.<Object[]>of(new Object[] {1L}), List.of());
+
+        repository.buscarProjecao(SelecaoCampos.de("id", null), null);
+
+        assertEquals(1, consultas.size());
+    }
+
+    /** Primeira consulta devolve as linhas da projeção; a série própria devolve {@code serie}; o resto vem vazio. */
+    @SuppressWarnings("unchecked")
+    private void prepararConsultas(List<Object[]> projecao, List<Object[]> serie) {
+        ReflectionTestUtils.setField(repository, "em", em);
+        when(em.createQuery(anyString(), eq(Object[].class))).thenAnswer(invocacao -> {
+            String jpql = invocacao.getArgument(0);
+            consultas.add(jpql);
+            TypedQuery<Object[]> query = mock(TypedQuery.class, RETURNS_SELF);
+            List<Object[]> linhas = consultas.size() == 1 ? projecao
+                    : jpql.contains("from RentabilidadeDiaria r") ? serie : List.of();
+            when(query.getResultList()).thenReturn(linhas);
+            return query;
+        });
+    }
+}
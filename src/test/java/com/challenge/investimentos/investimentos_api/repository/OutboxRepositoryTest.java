@@ -0,0 +1,98 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para OutboxRepository, com o JdbcTemplate simulado.
+ */
+class OutboxRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PainelInvestidorRepository painelInvestidorRepository = mock(PainelInvestidorRepository.class);
+    private final OutboxRepository repository = new OutboxRepository(jdbcTemplate, painelInvestidorRepository);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void registrar_exigeTransacao() {
+        assertThrows(IllegalStateException.class,
+                () -> repository.registrar(TipoEventoCarteira.INVESTIMENTO_CRIADO, "52998224725", 1L));
+        verifyNoInteractions(jdbcTemplate, painelInvestidorRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrar_umaLinhaPorInvestimentoComCpfCompactado() throws Exception {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        repository.registrar(TipoEventoCarteira.INVESTIMENTO_REMOVIDO, "529.982.247-25", Arrays.asList(10L, null));
+
+        ArgumentCaptor<Collection<long[]>> eventos = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<long[]>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("insert into OUTBOX_EVENTO_CARTEIRA"), eventos.capture(),
+                eq(OutboxRepository.TAMANHO_BATCH), setter.capture());
+        List<long[]> linhas = List.copyOf(eventos.getValue());
+        assertEquals(2, linhas.size());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, linhas.get(0));
+        verify(ps).setString(1, "INVESTIMENTO_REMOVIDO");
+        verify(ps).setLong(2, 52998224725L);
+        verify(ps).setLong(3, 10L);
+        setter.getValue().setValues(ps, linhas.get(1));
+        verify(ps).setNull(3, Types.NUMERIC);
+    }
+
+    @Test
+    void registrar_marcaOCpfPendenteNoPainelNaMesmaTransacao() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        repository.registrarPorCpf(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, List.of("52998224725", "529.982.247-25"));
+
+        verify(painelInvestidorRepository).marcarAlterados(eq(Set.of(52998224725L)), any(Instant.class));
+    }
+
+    @Test
+    void registrarPorInvestimentos_marcaOsDonosSoQuandoHaEventos() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenReturn(0, 2);
+
+        repository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, List.of(10L));
+        verify(painelInvestidorRepository, never()).marcarAlteradosPorInvestimentos(anyCollection(), any());
+
+        repository.registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, List.of(10L, 11L));
+        verify(painelInvestidorRepository).marcarAlteradosPorInvestimentos(eq(List.of(10L, 11L)), any(Instant.class));
+    }
+
+    @Test
+    void registrarPorCpf_recusaCpfInvalido() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> repository.registrarPorCpf(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, List.of("52998224725", "123")));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
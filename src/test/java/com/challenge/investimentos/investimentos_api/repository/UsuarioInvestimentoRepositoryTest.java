@@ -0,0 +1,50 @@
+package com.challenge.investimentos.investimentos_api.repository;
+
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários da busca por CPF de UsuarioInvestimentoRepository, com a consulta por CPF_NUMERO simulada.
+ */
+class UsuarioInvestimentoRepositoryTest {
+
+    private final UsuarioInvestimentoRepository repository = mock(UsuarioInvestimentoRepository.class);
+    private final UsuarioInvestimento usuario = new UsuarioInvestimento();
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByCpf_Cpf(any())).thenCallRealMethod();
+    }
+
+    @Test
+    void findByCpf_Cpf_comESemMascaraResolvemOMesmoUsuario() {
+        when(repository.findByCpf_Numero(52998224725L)).thenReturn(usuario);
+
+        assertSame(usuario, repository.findByCpf_Cpf("52998224725"));
+        assertSame(usuario, repository.findByCpf_Cpf("529.982.247-25"));
+        assertSame(usuario, repository.findByCpf_Cpf(" 529 982 247 25 "));
+        verify(repository, times(3)).findByCpf_Numero(52998224725L);
+    }
+
+    @Test
+    void findByCpf_Cpf_cpfLegadoComVerificadorInvalidoContinuaSendoEncontrado() {
+        // admin semeado pela V4/V6 e pelo DataInitializer
+        when(repository.findByCpf_Numero(11111111111L)).thenReturn(usuario);
+
+        assertSame(usuario, repository.findByCpf_Cpf("11111111111"));
+        assertSame(usuario, repository.findByCpf_Cpf("111.111.111-11"));
+    }
+
+    @Test
+    void findByCpf_Cpf_semOnzeDigitosNaoConsulta() {
+        assertNull(repository.findByCpf_Cpf("5299822472"));
+        assertNull(repository.findByCpf_Cpf("529982247250"));
+        assertNull(repository.findByCpf_Cpf(null));
+        verify(repository, never()).findByCpf_Numero(anyLong());
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.ResumoBancoDTO;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para BancoService.
+ */
+class BancoServiceTest {
+
+    @Mock
+    private InvestimentoRepository investimentoRepository;
+
+    @InjectMocks
+    private BancoService bancoService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void resumirPorCpf_agrupaPorCodigoComSemCodigoPorUltimo() {
+        when(investimentoRepository.resumirPorBanco(52998224725L)).thenReturn(List.of(
+                new Object[] {null, 1L, new BigDecimal("50")},
+                new Object[] {336, 2L, new BigDecimal("3000")}));
+
+        List<ResumoBancoDTO> resumo = bancoService.resumirPorCpf("529.982.247-25");
+
+        assertEquals(2, resumo.size());
+        assertEquals(336, resumo.get(0).getCodigoBancario());
+        assertEquals("C6 Bank", resumo.get(0).getNomeBanco());
+        assertEquals(2L, resumo.get(0).getQuantidadeInvestimentos());
+        assertNull(resumo.get(1).getCodigoBancario());
+    }
+
+    @Test
+    void listarBancosPorCpf_usaRegistroENomesSemCodigo() {
+        when(investimentoRepository.resumirPorBanco(52998224725L)).thenReturn(List.of(
+                new Object[] {260, 1L, BigDecimal.ONE}, new Object[] {null, 1L, BigDecimal.ONE}));
+        when(investimentoRepository.buscarBancosSemCodigo(52998224725L)).thenReturn(List.of("Banco Regional"));
+
+        assertEquals(List.of("Nubank", "Banco Regional"), bancoService.listarBancosPorCpf("52998224725"));
+        assertTrue(bancoService.listarBancosPorCpf("123").isEmpty());
+        verify(investimentoRepository, never()).resumirPorBanco(-1L);
+    }
+}
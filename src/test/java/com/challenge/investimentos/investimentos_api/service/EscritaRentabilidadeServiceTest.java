@@ -0,0 +1,84 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.TicketEscritaDTO;
+import com.challenge.investimentos.investimentos_api.enums.EstadoTicketEscrita;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para EscritaRentabilidadeService nos modos síncrono e assíncrono.
+ */
+class EscritaRentabilidadeServiceTest {
+
+    private InvestimentoRepository investimentoRepository;
+    private GravacaoRentabilidadeService gravacao;
+    private FilaEscritaRentabilidade fila;
+
+    @BeforeEach
+    void setUp() {
+        investimentoRepository = mock(InvestimentoRepository.class);
+        gravacao = mock(GravacaoRentabilidadeService.class);
+        fila = mock(FilaEscritaRentabilidade.class);
+        when(investimentoRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void registrar_semFilaGravaNaRequisicao() {
+        ResponseEntity<?> resposta = service(null).registrar(1L, List.of(dto("01-01-2025"), dto("01-01-2025")));
+
+        assertEquals(200, resposta.getStatusCode().value());
+        verify(gravacao).gravar(argThat(m -> m.get(1L).size() == 1));
+    }
+
+    @Test
+    void registrar_validaDatasEInvestimento() {
+        EscritaRentabilidadeService service = service(null);
+
+        assertEquals(400, service.registrar(1L, List.of(dto("2025-01-01"))).getStatusCode().value());
+        assertEquals(404, service.registrar(2L, List.of(dto("01-01-2025"))).getStatusCode().value());
+        verifyNoInteractions(gravacao);
+    }
+
+    @Test
+    void registrar_comFilaResponde202Ou503() throws Exception {
+        TicketEscritaDTO ticket = new TicketEscritaDTO("abc", 1L, 1, EstadoTicketEscrita.PENDENTE, null);
+        when(fila.enfileirar(eq(1L), anyList())).thenReturn(ticket, (TicketEscritaDTO) null);
+        EscritaRentabilidadeService service = service(fila);
+
+        ResponseEntity<?> aceita = service.registrar(1L, List.of(dto("01-01-2025")));
+        assertEquals(202, aceita.getStatusCode().value());
+        assertEquals("/api/investimentos/rentabilidades/tickets/abc", aceita.getHeaders().getLocation().toString());
+
+        ResponseEntity<?> cheia = service.registrar(1L, List.of(dto("01-01-2025")));
+        assertEquals(503, cheia.getStatusCode().value());
+        assertEquals("1", cheia.getHeaders().getFirst("Retry-After"));
+        verifyNoInteractions(gravacao);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EscritaRentabilidadeService service(FilaEscritaRentabilidade fila) {
+        ObjectProvider<FilaEscritaRentabilidade> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(fila);
+        return new EscritaRentabilidadeService(investimentoRepository, gravacao, provider);
+    }
+
+    private static RentabilidadeDiariaDTO dto(String data) {
+        RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+        dto.setDataRentabilidadeDiaria(data);
+        dto.setValorDiarioAcao(BigDecimal.TEN);
+        dto.setTaxaDiarioRentabilidade(BigDecimal.ONE);
+        dto.setMontanteAcumuladoDiario(new BigDecimal("1000"));
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.FormatoExportacao;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ExportacaoInvestimentoService, com o cursor do Hibernate simulado.
+ */
+class ExportacaoInvestimentoServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ExportacaoInvestimentoService service;
+    private ScrollableResults<Object[]> cursor;
+    private Session session;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new ExportacaoInvestimentoService(mock(PlatformTransactionManager.class), mapper, 500, 2);
+        EntityManager entityManager = mock(EntityManager.class);
+        session = mock(Session.class);
+        SelectionQuery<Object[]> query = mock(SelectionQuery.class);
+        cursor = mock(ScrollableResults.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.createSelectionQuery(anyString(), eq(Object[].class))).thenReturn(query);
+        when(query.setFetchSize(anyInt())).thenReturn(query);
+        when(query.setReadOnly(anyBoolean())).thenReturn(query);
+        when(query.scroll(ScrollMode.FORWARD_ONLY)).thenReturn(cursor);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        Object[] dia1 = linha(1L, "Tesouro, Selic", LocalDate.of(2025, 1, 1), "1000.10");
+        Object[] dia2 = linha(1L, "Tesouro, Selic", LocalDate.of(2025, 1, 2), "1000.20");
+        Object[] semSerie = linha(2L, "CDB", null, null);
+        when(cursor.next()).thenReturn(true, true, true, false);
+        when(cursor.get()).thenReturn(dia1, dia2, semSerie);
+    }
+
+    @Test
+    void exportarJsonLines_agrupaDiasPorInvestimento() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.exportar(FormatoExportacao.JSONL, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        JsonNode primeiro = mapper.readTree(linhas[0]);
+        assertEquals(1, primeiro.get("id").asLong());
+        assertEquals("RENDA_FIXA", primeiro.get("tipoInvestimento").asText());
+        assertEquals(2, primeiro.get("rentabilidadeDiaria").size());
+        assertEquals("02-01-2025", primeiro.get("rentabilidadeDiaria").get(1).get("dataRentabilidadeDiaria").asText());
+        assertEquals(0, mapper.readTree(linhas[1]).get("rentabilidadeDiaria").size());
+        verify(session, atLeastOnce()).clear();
+        verify(cursor).close();
+    }
+
+    @Test
+    void exportarCsv_umaLinhaPorDiaComTextoEscapado() {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        service.exportar(FormatoExportacao.CSV, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, linhas.length);
+        assertTrue(linhas[0].startsWith("id,cpfIdentificacao,"));
+        assertEquals("1,11144477735,Itaú,RENDA_FIXA,\"Tesouro, Selic\",1000.00,,0.1200,,01-01-2025,,,1000.10", linhas[1]);
+        assertTrue(linhas[3].endsWith("0.1200,,,,,"));
+    }
+
+    private static Object[] linha(Long id, String nome, LocalDate data, String montante) {
+        return new Object[]{id, "11144477735", "Itaú", TipoInvestimentoEnum.RENDA_FIXA, nome,
+                new BigDecimal("1000.00"), null, new BigDecimal("0.1200"), null,
+                data, null, null, montante != null ? new BigDecimal(montante) : null};
+    }
+}
@@ -0,0 +1,90 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.TicketEscritaDTO;
+import com.challenge.investimentos.investimentos_api.enums.EstadoTicketEscrita;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para FilaEscritaRentabilidade.
+ */
+class FilaEscritaRentabilidadeTest {
+
+    private GravacaoRentabilidadeService gravacao;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        gravacao = mock(GravacaoRentabilidadeService.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_esvaziaFilaJuntandoDiasPorInvestimento() throws Exception {
+        when(gravacao.gravar(anyMap())).thenReturn(Set.of(1L));
+        // intervalo longo: nada é gravado antes do stop, que deve esvaziar a fila
+        FilaEscritaRentabilidade fila = new FilaEscritaRentabilidade(gravacao, registry, 10, 1000, 60_000, 0);
+        fila.start();
+
+        TicketEscritaDTO t1 = fila.enfileirar(1L, List.of(dia(1, "10"), dia(2, "10")));
+        TicketEscritaDTO t2 = fila.enfileirar(1L, List.of(dia(2, "20")));
+        TicketEscritaDTO t3 = fila.enfileirar(9L, List.of(dia(1, "10")));
+        assertEquals(EstadoTicketEscrita.PENDENTE, fila.consultar(t1.getTicket()).getEstado());
+        fila.stop();
+
+        ArgumentCaptor<Map<Long, Collection<RentabilidadeDiaria>>> lote = ArgumentCaptor.forClass(Map.class);
+        verify(gravacao).gravar(lote.capture());
+        List<RentabilidadeDiaria> dias = List.copyOf(lote.getValue().get(1L));
+        assertEquals(2, dias.size());
+        assertEquals(new BigDecimal("20"), dias.get(1).getValorDiarioAcao());
+        assertEquals(EstadoTicketEscrita.CONCLUIDO, fila.consultar(t2.getTicket()).getEstado());
+        assertEquals(EstadoTicketEscrita.FALHOU, fila.consultar(t3.getTicket()).getEstado());
+        assertEquals(2.0, registry.get("investimentos.escrita.dias").counter().count());
+        assertEquals(1, registry.get("investimentos.escrita.flush").timer().count());
+    }
+
+    @Test
+    void enfileirar_recusaComFilaCheiaOuParada() throws Exception {
+        FilaEscritaRentabilidade fila = new FilaEscritaRentabilidade(gravacao, registry, 1, 1000, 60_000, 0);
+        assertNull(fila.enfileirar(1L, List.of(dia(1, "10"))), "não aceita antes do start");
+
+        // depois do stop (desligamento) também recusa
+        fila.start();
+        fila.stop();
+        assertNull(fila.enfileirar(1L, List.of(dia(1, "10"))));
+        assertEquals(2.0, registry.get("investimentos.escrita.rejeitadas").counter().count());
+    }
+
+    @Test
+    void gravar_falhaMarcaTicketsDoLote() throws Exception {
+        when(gravacao.gravar(anyMap())).thenThrow(new IllegalStateException("ORA-01013"));
+        FilaEscritaRentabilidade fila = new FilaEscritaRentabilidade(gravacao, registry, 10, 1, 10, 0);
+        fila.start();
+        TicketEscritaDTO ticket = fila.enfileirar(1L, List.of(dia(1, "10")));
+        fila.stop();
+
+        TicketEscritaDTO situacao = fila.consultar(ticket.getTicket());
+        assertEquals(EstadoTicketEscrita.FALHOU, situacao.getEstado());
+        assertTrue(situacao.getMensagem().contains("ORA-01013"));
+        assertEquals(0, fila.getProfundidade());
+    }
+
+    private static RentabilidadeDiaria dia(int diaDoMes, String valor) {
+        return new RentabilidadeDiaria(LocalDate.of(2025, 1, diaDoMes), new BigDecimal(valor), BigDecimal.ONE, BigDecimal.TEN);
+    }
+}
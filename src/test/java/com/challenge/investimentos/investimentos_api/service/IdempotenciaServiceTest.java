@@ -0,0 +1,219 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para IdempotenciaService.
+ */
+class IdempotenciaServiceTest {
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+    private IdempotenciaService service;
+
+    @BeforeEach
+    void setUp() {
+        autenticar("maria");
+        service = new IdempotenciaService(new ObjectMapper(), Duration.ofHours(24), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void executar_semChaveExecutaSempre() {
+        service.executar(null, corpo(), this::criar);
+        service.executar(null, corpo(), this::criar);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void executar_repeticaoDevolveRespostaOriginalSemExecutar() {
+        ResponseEntity<String> primeira = service.executar("k1", corpo(), this::criar);
+        ResponseEntity<String> repeticao = service.executar("k1", corpo(), this::criar);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(201, repeticao.getStatusCode().value());
+        assertEquals(primeira.getBody(), repeticao.getBody());
+        assertEquals("true", repeticao.getHeaders().getFirst(IdempotenciaService.HEADER_REPETICAO));
+        assertNull(primeira.getHeaders().getFirst(IdempotenciaService.HEADER_REPETICAO));
+    }
+
+    @Test
+    void executar_chaveIsoladaPorUsuario() {
+        service.executar("k1", corpo(), this::criar);
+        autenticar("joao");
+        service.executar("k1", corpo(), this::criar);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void executar_mesmaChaveComOutroCorpoRetorna422() {
+        service.executar("k1", corpo(), this::criar);
+        ResponseEntity<String> resposta = service.executar("k1", Map.of("nome", "outro"), this::criar);
+
+        assertEquals(422, resposta.getStatusCode().value());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_chaveMuitoLongaRetorna400() {
+        ResponseEntity<String> resposta = service.executar("x".repeat(IdempotenciaService.TAMANHO_MAXIMO_CHAVE + 1),
+                corpo(), this::criar);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertEquals(0, execucoes.get());
+    }
+
+    @Test
+    void executar_erro5xxNaoFicaGuardado() {
+        service.executar("k1", corpo(), () -> ResponseEntity.status(500).body("falhou"));
+        ResponseEntity<String> nova = service.executar("k1", corpo(), this::criar);
+
+        assertEquals(201, nova.getStatusCode().value());
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_excecaoLiberaAChave() {
+        assertThrows(IllegalStateException.class, () -> service.executar("k1", corpo(), () -> {
+            throw new IllegalStateException("banco fora");
+        }));
+        service.executar("k1", corpo(), this::criar);
+
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_repeticaoConcorrenteAguardaAOriginal() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = CompletableFuture.supplyAsync(() -> {
+            autenticar("maria");
+            return service.executar("k1", corpo(), () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return criar();
+            });
+        });
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<String>> repeticao = CompletableFuture.supplyAsync(() -> {
+            autenticar("maria");
+            return service.executar("k1", corpo(), this::criar);
+        });
+        Thread.sleep(100);
+        assertFalse(repeticao.isDone());
+
+        liberar.countDown();
+        assertEquals(201, original.get(5, TimeUnit.SECONDS).getStatusCode().value());
+        ResponseEntity<String> resposta = repeticao.get(5, TimeUnit.SECONDS);
+        assertEquals(201, resposta.getStatusCode().value());
+        assertEquals("true", resposta.getHeaders().getFirst(IdempotenciaService.HEADER_REPETICAO));
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_repeticaoConcorrenteRetorna409AposEsperaMaxima() throws Exception {
+        service = new IdempotenciaService(new ObjectMapper(), Duration.ofHours(24), Duration.ofMillis(50));
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = CompletableFuture.supplyAsync(() -> {
+            autenticar("maria");
+            return service.executar("k1", corpo(), () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return criar();
+            });
+        });
+        assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+
+        ResponseEntity<String> resposta = service.executar("k1", corpo(), this::criar);
+
+        assertEquals(409, resposta.getStatusCode().value());
+        liberar.countDown();
+        original.get(5, TimeUnit.SECONDS);
+        assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void executar_chaveExpiradaExecutaNovamente() {
+        Instant inicio = Instant.parse("2025-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(inicio);
+        service = new IdempotenciaService(new ObjectMapper(), clock, Duration.ofHours(24), Duration.ofSeconds(5));
+
+        service.executar("k1", corpo(), this::criar);
+        clock.agora = inicio.plus(Duration.ofHours(25));
+        ResponseEntity<String> resposta = service.executar("k1", corpo(), this::criar);
+
+        assertNull(resposta.getHeaders().getFirst(IdempotenciaService.HEADER_REPETICAO));
+        assertEquals(2, execucoes.get());
+        assertEquals(1, service.getQuantidadeChaves());
+    }
+
+    private ResponseEntity<String> criar() {
+        return ResponseEntity.status(201).body("Investimento criado #" + execucoes.incrementAndGet());
+    }
+
+    private static Map<String, Object> corpo() {
+        return Map.of("nomeInvestimento", "CDB", "valores", List.of(1, 2, 3));
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant agora;
+
+        MutableClock(Instant agora) {
+            this.agora = agora;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
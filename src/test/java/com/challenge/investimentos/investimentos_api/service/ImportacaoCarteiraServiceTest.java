@@ -0,0 +1,139 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RelatorioImportacaoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ImportacaoCarteiraService, com a gravação JDBC simulada.
+ */
+class ImportacaoCarteiraServiceTest {
+
+    private static final String CPF_A = "52998224725";
+    private static final String CPF_B = "11144477735";
+
+    private CarteiraBulkRepository repository;
+    private OutboxRepository outbox;
+    private ImportacaoCarteiraService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(CarteiraBulkRepository.class);
+        outbox = mock(OutboxRepository.class);
+        when(repository.garantirUsuarios(anyCollection())).thenAnswer(inv -> {
+            Map<String, Long> ids = new HashMap<>();
+            long id = 10;
+            for (String cpf : (Collection<String>) inv.getArgument(0)) ids.put(cpf, id++);
+            return ids;
+        });
+        service = new ImportacaoCarteiraService(repository, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(TravaCarteira.class), outbox, 2);
+    }
+
+    @Test
+    void importar_gravaLinhasValidasEReportaInvalidas() throws Exception {
+        String ndjson = carteira(CPF_A, "01-01-2025", "02-01-2025") + "\n"
+                + "{nao e json\n"
+                + "\n"
+                + carteira("12345678900", "01-01-2025") + "\n"
+                + carteira(CPF_B, "32-01-2025") + "\n";
+
+        RelatorioImportacaoDTO relatorio = importar(ndjson);
+
+        assertEquals(5, relatorio.getLinhasLidas());
+        assertEquals(1, relatorio.getCarteirasImportadas());
+        assertEquals(1, relatorio.getInvestimentosImportados());
+        assertEquals(2, relatorio.getRentabilidadesImportadas());
+        assertEquals(3, relatorio.getTotalErros());
+        assertEquals(List.of(2L, 4L, 5L), relatorio.getErros().stream().map(RelatorioImportacaoDTO.ErroLinha::getLinha).toList());
+        assertTrue(relatorio.getErros().get(1).getMensagem().startsWith("CPF inválido"));
+        assertTrue(relatorio.getErros().get(2).getMensagem().contains("data inválida"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importar_associaIdsECalculaPeriodos() throws Exception {
+        doAnswer(inv -> {
+            List<Investimento> investimentos = inv.getArgument(0);
+            long id = 100;
+            for (Investimento i : investimentos) i.setId(id++);
+            return null;
+        }).when(repository).inserirInvestimentos(anyList());
+
+        importar(carteira("529.982.247-25", "01-01-2025", "02-01-2025"));
+
+        verify(repository).removerInvestimentos(argThat(ids -> ids.contains(10L)));
+        ArgumentCaptor<List<RentabilidadeDiaria>> dias = ArgumentCaptor.forClass(List.class);
+        verify(repository).inserirRentabilidades(dias.capture());
+        assertEquals(2, dias.getValue().size());
+        assertEquals(100L, dias.getValue().get(0).getInvestimento().getId());
+        assertEquals(10L, dias.getValue().get(0).getInvestimento().getUsuarioInvestimento().getId());
+        ArgumentCaptor<List<RentabilidadePeriodo>> periodos = ArgumentCaptor.forClass(List.class);
+        verify(repository).inserirPeriodos(periodos.capture());
+        assertEquals(3, periodos.getValue().size());
+        verify(outbox).registrarPorCpf(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, Set.of("52998224725"));
+    }
+
+    @Test
+    void importar_cpfRepetidoNoLoteMantemUltimaLinha() throws Exception {
+        RelatorioImportacaoDTO relatorio = importar(carteira(CPF_A, "01-01-2025") + "\n" + carteira(CPF_A, "02-01-2025"));
+
+        assertEquals(1, relatorio.getCarteirasImportadas());
+        assertEquals(1, relatorio.getTotalErros());
+        assertEquals(1L, relatorio.getErros().get(0).getLinha());
+    }
+
+    @Test
+    void importar_falhaNaGravacaoReportaTodasAsLinhasDoLote() throws Exception {
+        doThrow(new DataIntegrityViolationException("ORA-00001")).when(repository).inserirRentabilidades(anyList());
+
+        RelatorioImportacaoDTO relatorio = importar(carteira(CPF_A, "01-01-2025") + "\n"
+                + carteira(CPF_B, "01-01-2025") + "\n" + carteira("39053344705", "01-01-2025"));
+
+        // lote de 2 linhas falha; o terceiro (novo lote) também, pois o mock falha sempre
+        assertEquals(0, relatorio.getCarteirasImportadas());
+        assertEquals(3, relatorio.getTotalErros());
+        assertTrue(relatorio.getErros().get(0).getMensagem().contains("ORA-00001"));
+    }
+
+    private RelatorioImportacaoDTO importar(String ndjson) throws Exception {
+        return service.importar(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))).getBody();
+    }
+
+    private static String carteira(String cpf, String... datas) {
+        StringBuilder dias = new StringBuilder();
+        for (String data : datas) {
+            if (dias.length() > 0) dias.append(',');
+            dias.append("{\"dataRentabilidadeDiaria\":\"").append(data)
+                .append("\",\"valorDiarioAcao\":10.5,\"taxaDiarioRentabilidade\":0.1,\"montanteAcumuladoDiario\":1001.0}");
+        }
+        return "{\"cpfIdentificacao\":\"" + cpf + "\",\"dataUsuarioInvestimentos\":[{\"nomeBanco\":\"Nubank\","
+            + "\"tipoInvestimento\":\"renda_fixa\",\"nomeInvestimento\":\"CDB\",\"montanteInicial\":1000,"
+            + "\"valorInicialAcao\":0,\"taxaRentabilidade\":0.12,\"numeroAcoesInicial\":0,"
+            + "\"rentabilidadeDiaria\":[" + dias + "]}]}";
+    }
+}
@@ -0,0 +1,97 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.RelatorioIngestaoCotacoesDTO;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para IngestaoCotacaoService, com a gravação JDBC simulada.
+ */
+class IngestaoCotacaoServiceTest {
+
+    private CarteiraBulkRepository repository;
+    private RentabilidadePeriodoService rentabilidadePeriodoService;
+    private OutboxRepository outboxRepository;
+    private TravaCarteira travaCarteira;
+    private IngestaoCotacaoService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CarteiraBulkRepository.class);
+        rentabilidadePeriodoService = mock(RentabilidadePeriodoService.class);
+        outboxRepository = mock(OutboxRepository.class);
+        travaCarteira = mock(TravaCarteira.class);
+        when(repository.buscarInvestimentosExistentes(anyCollection())).thenReturn(Set.of(1L, 2L));
+        service = new IngestaoCotacaoService(repository, rentabilidadePeriodoService, outboxRepository, travaCarteira,
+                mock(PlatformTransactionManager.class), 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingerir_agrupaPorInvestimentoEDescartaInexistentes() throws Exception {
+        String csv = "2,02-01-2025,10,0.1,100\n"
+                + "1,03-01-2025,10,0.1,100\n"
+                + "9,02-01-2025,10,0.1,100\n"
+                + "1,02-01-2025,10,0.1,100\n"
+                + "1,02-01-2025,11,0.2,101\n";
+
+        RelatorioIngestaoCotacoesDTO relatorio = ingerir(csv);
+
+        assertEquals(5, relatorio.getLinhasLidas());
+        assertEquals(3, relatorio.getLinhasGravadas());
+        assertEquals(2, relatorio.getInvestimentosAtualizados());
+        assertEquals(2, relatorio.getTotalErros());
+        assertTrue(relatorio.getErros().get(0).getMensagem().contains("Investimento 9"));
+        assertEquals(4L, relatorio.getErros().get(1).getLinha());
+
+        // lotes de 3 linhas: [2, 1, 9] e [1, 1]
+        ArgumentCaptor<List<RentabilidadeDiaria>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).mesclarRentabilidades(lotes.capture());
+        List<RentabilidadeDiaria> primeiro = lotes.getAllValues().get(0);
+        assertEquals(List.of(1L, 2L), primeiro.stream().map(d -> d.getInvestimento().getId()).toList());
+        assertEquals(0, lotes.getAllValues().get(1).get(0).getValorDiarioAcao().compareTo(new BigDecimal("11")));
+        verify(rentabilidadePeriodoService).recalcularDatas(1L, List.of(LocalDate.of(2025, 1, 3)));
+        verify(rentabilidadePeriodoService).recalcularDatas(1L, List.of(LocalDate.of(2025, 1, 2)));
+        verify(outboxRepository).registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, Set.of(1L, 2L));
+        verify(outboxRepository).registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, Set.of(1L));
+        // cada lote trava os donos dos seus investimentos antes do MERGE
+        InOrder ordem = inOrder(repository, travaCarteira);
+        ordem.verify(repository).buscarCpfsDosInvestimentos(Set.of(1L, 2L));
+        ordem.verify(travaCarteira).travar(anyCollection());
+        ordem.verify(repository).mesclarRentabilidades(anyList());
+        ordem.verify(repository).buscarCpfsDosInvestimentos(Set.of(1L));
+    }
+
+    @Test
+    void ingerir_falhaNaGravacaoReportaLinhasDoLote() throws Exception {
+        doThrow(new IllegalStateException("ORA-00060")).when(repository).mesclarRentabilidades(anyList());
+
+        RelatorioIngestaoCotacoesDTO relatorio = ingerir("1,02-01-2025,10,0.1,100\n2,02-01-2025,10,0.1,100\n");
+
+        assertEquals(0, relatorio.getLinhasGravadas());
+        assertEquals(2, relatorio.getTotalErros());
+        assertTrue(relatorio.getErros().get(0).getMensagem().contains("ORA-00060"));
+    }
+
+    private RelatorioIngestaoCotacoesDTO ingerir(String csv) throws Exception {
+        return service.ingerir(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).getBody();
+    }
+}
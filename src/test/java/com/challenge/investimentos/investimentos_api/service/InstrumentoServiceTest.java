@@ -0,0 +1,159 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.CotacaoInstrumentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.CotacaoInstrumento;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.InstrumentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.InvestimentoMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para InstrumentoService.
+ */
+class InstrumentoServiceTest {
+
+    @Mock
+    private InstrumentoRepository instrumentoRepository;
+
+    @Mock
+    private InvestimentoRepository investimentoRepository;
+
+    @Mock
+    private CarteiraBulkRepository carteiraBulkRepository;
+
+    @Mock
+    private RentabilidadePeriodoService rentabilidadePeriodoService;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private TravaCarteira travaCarteira;
+
+    @InjectMocks
+    private InstrumentoService instrumentoService;
+
+    private Instrumento instrumento;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        instrumento = new Instrumento("PETR4", "Petrobras PN", TipoInvestimentoEnum.RENDA_VARIAVEL, 336);
+        instrumento.setId(7L);
+        when(instrumentoRepository.findByCodigo("PETR4")).thenReturn(Optional.of(instrumento));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarCotacoes_gravaUmaVezERecalculaOsVinculados() {
+        when(investimentoRepository.buscarIdsPorInstrumento(7L)).thenReturn(List.of(1L, 2L, 3L));
+        when(carteiraBulkRepository.buscarCpfsDosInvestimentos(List.of(1L, 2L, 3L)))
+                .thenReturn(Set.of("52998224725", "11144477735"));
+
+        ResponseEntity<String> resposta = instrumentoService.registrarCotacoes(" petr4 ", List.of(
+                new CotacaoInstrumentoDTO("02-01-2025", new BigDecimal("38.10"), new BigDecimal("0.0010")),
+                new CotacaoInstrumentoDTO("03-01-2025", new BigDecimal("38.45"), new BigDecimal("0.0092")),
+                new CotacaoInstrumentoDTO("02-01-2025", new BigDecimal("38.20"), new BigDecimal("0.0013"))));
+
+        assertEquals(200, resposta.getStatusCode().value());
+        ArgumentCaptor<List<CotacaoInstrumento>> cotacoes = ArgumentCaptor.forClass(List.class);
+        verify(carteiraBulkRepository).mesclarCotacoes(eq(7L), cotacoes.capture());
+        assertEquals(2, cotacoes.getValue().size());
+        assertEquals(new BigDecimal("38.20"), cotacoes.getValue().get(0).getValorAcao());
+
+        Set<LocalDate> datas = Set.of(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 3));
+        for (long id = 1; id <= 3; id++) {
+            ArgumentCaptor<Collection<LocalDate>> recalculadas = ArgumentCaptor.forClass(Collection.class);
+            verify(rentabilidadePeriodoService).recalcularDatas(eq(id), recalculadas.capture());
+            assertEquals(datas, Set.copyOf(recalculadas.getValue()));
+        }
+        verify(outboxRepository).registrarPorInvestimentos(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, List.of(1L, 2L, 3L));
+        // os donos dos vinculados são travados antes do MERGE das cotações
+        InOrder ordem = inOrder(travaCarteira, carteiraBulkRepository);
+        ordem.verify(travaCarteira).travar(Set.of("52998224725", "11144477735"));
+        ordem.verify(carteiraBulkRepository).mesclarCotacoes(eq(7L), anyList());
+    }
+
+    @Test
+    void registrarCotacoes_rejeitaDataInvalidaSemGravar() {
+        ResponseEntity<String> resposta = instrumentoService.registrarCotacoes("PETR4", List.of(
+                new CotacaoInstrumentoDTO("2025-01-02", new BigDecimal("38.10"), new BigDecimal("0.0010"))));
+
+        assertEquals(400, resposta.getStatusCode().value());
+        verifyNoInteractions(carteiraBulkRepository);
+    }
+
+    @Test
+    void vincular_descartaSeriePropriaEReconstroiPeriodos() {
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setCpfIdentificacao("52998224725");
+        Investimento investimento = new Investimento();
+        investimento.setId(1L);
+        investimento.setUsuarioInvestimento(usuario);
+        investimento.setRentabilidadeDiaria(new ArrayList<>(List.of(new RentabilidadeDiaria(
+                LocalDate.of(2025, 1, 2), new BigDecimal("38.20"), BigDecimal.ZERO, new BigDecimal("382.00")))));
+        when(investimentoRepository.findById(1L)).thenReturn(Optional.of(investimento));
+
+        ResponseEntity<String> resposta = instrumentoService.vincular("PETR4", 1L);
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertSame(instrumento, investimento.getInstrumento());
+        assertTrue(investimento.getRentabilidadeDiaria().isEmpty());
+        verify(rentabilidadePeriodoService).recalcularInvestimento(1L);
+        verify(travaCarteira).travar("52998224725");
+    }
+
+    @Test
+    void vincular_instrumentoInexistente() {
+        when(instrumentoRepository.findByCodigo("VALE3")).thenReturn(Optional.empty());
+        when(investimentoRepository.findById(1L)).thenReturn(Optional.of(new Investimento()));
+
+        assertEquals(404, instrumentoService.vincular("VALE3", 1L).getStatusCode().value());
+        verify(rentabilidadePeriodoService, never()).recalcularInvestimento(anyLong());
+    }
+
+    @Test
+    void paraDTO_derivaSerieDaPosicaoNasCotacoesDoInstrumento() {
+        CotacaoInstrumento cotacao = new CotacaoInstrumento(LocalDate.of(2025, 1, 3),
+                new BigDecimal("38.45"), new BigDecimal("0.0092"));
+        instrumento.getCotacoes().add(cotacao);
+        Investimento investimento = new Investimento();
+        investimento.setNumeroAcoesInicial(10);
+        investimento.setInstrumento(instrumento);
+
+        InvestimentoDTO dto = InvestimentoMapper.paraDTO(investimento);
+
+        assertEquals("PETR4", dto.getCodigoInstrumento());
+        assertEquals(1, dto.getRentabilidadeDiaria().size());
+        assertEquals("03-01-2025", dto.getRentabilidadeDiaria().get(0).getDataRentabilidadeDiaria());
+        assertEquals(new BigDecimal("384.50"), dto.getRentabilidadeDiaria().get(0).getMontanteAcumuladoDiario());
+    }
+}
@@ -1,8 +1,21 @@
 package com.challenge.investimentos.investimentos_api.service;
 
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.OperacaoLoteDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.dto.ResultadoOperacaoLoteDTO;
 import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.enums.TipoOperacaoLote;
+import com.challenge.investimentos.investimentos_api.model.Instrumento;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
 import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -10,10 +23,17 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,6 +45,24 @@ class InvestimentoServiceTest {
     @Mock
     private UsuarioInvestimentoRepository usuarioRepository;
 
+    @Mock
+    private InvestimentoRepository investimentoRepository;
+
+    @Mock
+    private RentabilidadePeriodoService rentabilidadePeriodoService;
+
+    @Mock
+    private CarteiraBulkRepository carteiraBulkRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TravaCarteira travaCarteira;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
     @InjectMocks
     private InvestimentoService service;
 
@@ -81,4 +119,124 @@ class InvestimentoServiceTest {
         assertTrue(responseBody.contains("CPF"));
         verify(usuarioRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void executarLote_executaCriacaoAtualizacaoERemocao() {
+        UsuarioInvestimento usuario = usuario(1L);
+        when(usuarioRepository.findByCpf_Cpf("11144477735")).thenReturn(usuario);
+        Investimento removido = investimento(11L, usuario);
+        when(investimentoRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(investimento(10L, usuario), removido));
+        doAnswer(inv -> {
+            List<Investimento> novos = inv.getArgument(0);
+            novos.get(0).setId(99L);
+            return null;
+        }).when(carteiraBulkRepository).inserirInvestimentos(anyList());
+
+        ResponseEntity<?> response = service.executarLote("11144477735", List.of(
+                new OperacaoLoteDTO(TipoOperacaoLote.CRIAR, null, dto("02-01-2025")),
+                new OperacaoLoteDTO(TipoOperacaoLote.ATUALIZAR, 10L, dto("03-01-2025")),
+                new OperacaoLoteDTO(TipoOperacaoLote.REMOVER, 11L, null)));
+
+        assertEquals(200, response.getStatusCode().value());
+        List<ResultadoOperacaoLoteDTO> resultados = resultados(response);
+        assertEquals(List.of(201, 200, 200), resultados.stream().map(ResultadoOperacaoLoteDTO::getStatus).toList());
+        assertEquals(99L, resultados.get(0).getId());
+        verify(investimentoRepository, times(1)).findAllById(anyCollection());
+        verify(carteiraBulkRepository).inserirRentabilidades(argThat(dias -> dias.size() == 1));
+        verify(rentabilidadePeriodoService).recalcularDatas(eq(10L), eq(Set.of(LocalDate.of(2025, 1, 3))));
+        // a entidade carregada no contexto é removida pelo EntityManager, não por DELETE em JDBC
+        verify(investimentoRepository).deleteAll(List.of(removido));
+        verify(travaCarteira).travar("11144477735");
+        verify(outboxRepository).registrar(TipoEventoCarteira.INVESTIMENTO_CRIADO, "11144477735", List.of(99L));
+        verify(outboxRepository).registrar(TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, "11144477735", Set.of(10L));
+        verify(outboxRepository).registrar(TipoEventoCarteira.INVESTIMENTO_REMOVIDO, "11144477735", List.of(11L));
+    }
+
+    @Test
+    void executarLote_operacaoInvalidaRejeitaOLoteInteiro() {
+        UsuarioInvestimento usuario = usuario(1L);
+        when(usuarioRepository.findByCpf_Cpf("11144477735")).thenReturn(usuario);
+        when(investimentoRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(investimento(10L, usuario(2L))));
+
+        ResponseEntity<?> response = service.executarLote("11144477735", List.of(
+                new OperacaoLoteDTO(TipoOperacaoLote.CRIAR, null, dto("31-13-2025")),
+                new OperacaoLoteDTO(TipoOperacaoLote.REMOVER, 10L, null),
+                new OperacaoLoteDTO(TipoOperacaoLote.REMOVER, 12L, null),
+                new OperacaoLoteDTO(TipoOperacaoLote.REMOVER, 12L, null),
+                new OperacaoLoteDTO(TipoOperacaoLote.CRIAR, null, dto("02-01-2025"))));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals(List.of(400, 403, 404, 409, 424),
+                resultados(response).stream().map(ResultadoOperacaoLoteDTO::getStatus).toList());
+        verifyNoInteractions(carteiraBulkRepository, rentabilidadePeriodoService, outboxRepository);
+    }
+
+    @Test
+    void executarLote_serieEmInvestimentoComInstrumentoRejeitadaAntesDeGravar() {
+        UsuarioInvestimento usuario = usuario(1L);
+        when(usuarioRepository.findByCpf_Cpf("11144477735")).thenReturn(usuario);
+        Investimento vinculado = investimento(10L, usuario);
+        vinculado.setInstrumento(new Instrumento("PETR4", "Petrobras PN", TipoInvestimentoEnum.RENDA_VARIAVEL, null));
+        when(investimentoRepository.findAllById(anyCollection())).thenReturn(List.of(vinculado));
+
+        ResponseEntity<?> response = service.executarLote("11144477735", List.of(
+                new OperacaoLoteDTO(TipoOperacaoLote.CRIAR, null, dto("02-01-2025")),
+                new OperacaoLoteDTO(TipoOperacaoLote.ATUALIZAR, 10L, dto("03-01-2025"))));
+
+        assertEquals(400, response.getStatusCode().value());
+        List<ResultadoOperacaoLoteDTO> resultados = resultados(response);
+        assertEquals(List.of(424, 400), resultados.stream().map(ResultadoOperacaoLoteDTO::getStatus).toList());
+        assertTrue(resultados.get(1).getMensagem().contains("PETR4"));
+        verifyNoInteractions(carteiraBulkRepository, rentabilidadePeriodoService, outboxRepository);
+    }
+
+    @Test
+    void executarLote_usuarioNaoEncontrado() {
+        when(usuarioRepository.findByCpf_Cpf("99999999999")).thenReturn(null);
+
+        ResponseEntity<?> response = service.executarLote("99999999999",
+                List.of(new OperacaoLoteDTO(TipoOperacaoLote.REMOVER, 1L, null)));
+
+        assertEquals(404, response.getStatusCode().value());
+        verifyNoInteractions(investimentoRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ResultadoOperacaoLoteDTO> resultados(ResponseEntity<?> response) {
+        return (List<ResultadoOperacaoLoteDTO>) response.getBody();
+    }
+
+    private static UsuarioInvestimento usuario(Long id) {
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setId(id);
+        return usuario;
+    }
+
+    private static Investimento investimento(Long id, UsuarioInvestimento usuario) {
+        Investimento investimento = new Investimento();
+        investimento.setId(id);
+        investimento.setUsuarioInvestimento(usuario);
+        investimento.setTipoInvestimento(TipoInvestimentoEnum.RENDA_FIXA);
+        investimento.setRentabilidadeDiaria(new ArrayList<>());
+        return investimento;
+    }
+
+    private static InvestimentoDTO dto(String data) {
+        RentabilidadeDiariaDTO rd = new RentabilidadeDiariaDTO();
+        rd.setDataRentabilidadeDiaria(data);
+        rd.setValorDiarioAcao(BigDecimal.TEN);
+        rd.setTaxaDiarioRentabilidade(BigDecimal.ONE);
+        rd.setMontanteAcumuladoDiario(BigDecimal.valueOf(1000));
+        InvestimentoDTO dto = new InvestimentoDTO();
+        dto.setNomeInvestimento("CDB");
+        dto.setTipoInvestimento("RENDA_FIXA");
+        dto.setMontanteInicial(BigDecimal.valueOf(1000));
+        dto.setValorInicialAcao(BigDecimal.ZERO);
+        dto.setTaxaRentabilidade(BigDecimal.ONE);
+        dto.setNumeroAcoesInicial(0);
+        dto.setRentabilidadeDiaria(List.of(rd));
+        return dto;
+    }
+}
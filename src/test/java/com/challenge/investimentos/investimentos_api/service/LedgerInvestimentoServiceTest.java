@@ -0,0 +1,159 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.MovimentacaoDTO;
+import com.challenge.investimentos.investimentos_api.dto.PosicaoInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.MovimentacaoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.util.PosicaoInvestimento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para LedgerInvestimentoService, com o livro-razão simulado em memória.
+ */
+class LedgerInvestimentoServiceTest {
+
+    private static final String CPF = "11144477735";
+
+    private InvestimentoRepository investimentoRepository;
+    private MovimentacaoRepository movimentacaoRepository;
+    private TravaCarteira travaCarteira;
+    private OutboxRepository outboxRepository;
+    private SimpleMeterRegistry registry;
+    private LedgerInvestimentoService service;
+
+    /** Livro-razão em memória: {tipo, quantidade, valor, epochDay} por sequência (índice + 1). */
+    private final List<Object[]> movimentacoes = new ArrayList<>();
+    private PosicaoInvestimento snapshot;
+    private int snapshotsGravados;
+
+    @BeforeEach
+    void setUp() {
+        investimentoRepository = mock(InvestimentoRepository.class);
+        movimentacaoRepository = mock(MovimentacaoRepository.class);
+        travaCarteira = mock(TravaCarteira.class);
+        outboxRepository = mock(OutboxRepository.class);
+        registry = new SimpleMeterRegistry();
+        service = new LedgerInvestimentoService(investimentoRepository, movimentacaoRepository, travaCarteira,
+                outboxRepository, registry, 3);
+
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setCpfIdentificacao(CPF);
+        Investimento investimento = new Investimento();
+        investimento.setId(1L);
+        investimento.setMontanteInicial(new BigDecimal("1000.00"));
+        investimento.setNumeroAcoesInicial(100);
+        investimento.setUsuarioInvestimento(usuario);
+        when(investimentoRepository.findById(1L)).thenReturn(Optional.of(investimento));
+        when(investimentoRepository.existsById(1L)).thenReturn(true);
+
+        doAnswer(inv -> {
+            long sequencia = inv.getArgument(1);
+            assertEquals(movimentacoes.size() + 1, sequencia, "sequência sem lacunas");
+            movimentacoes.add(new Object[] {inv.getArgument(2), inv.getArgument(3), inv.getArgument(4),
+                    (int) inv.<LocalDate>getArgument(5).toEpochDay()});
+            return null;
+        }).when(movimentacaoRepository).anexar(anyLong(), anyLong(), any(), anyLong(), anyLong(), any());
+        when(movimentacaoRepository.ultimoSnapshot(1L)).thenAnswer(inv -> Optional.ofNullable(snapshot).map(this::copia));
+        doAnswer(inv -> {
+            snapshot = copia(inv.getArgument(1));
+            snapshotsGravados++;
+            return null;
+        }).when(movimentacaoRepository).salvarSnapshot(eq(1L), any());
+        doAnswer(inv -> {
+            PosicaoInvestimento posicao = inv.getArgument(1);
+            for (int i = (int) posicao.getSequencia(); i < movimentacoes.size(); i++) {
+                Object[] m = movimentacoes.get(i);
+                posicao.aplicar((TipoMovimentacao) m[0], (long) m[1], (long) m[2], (int) m[3]);
+            }
+            return null;
+        }).when(movimentacaoRepository).aplicarCauda(eq(1L), any());
+    }
+
+    @Test
+    void registrar_anexaTravaPublicaEGravaSnapshotACadaN() {
+        for (int i = 0; i < 7; i++) {
+            ResponseEntity<?> resposta = service.registrar(1L, movimentacao(TipoMovimentacao.APORTE, "1", "10.00", 10 + i));
+            assertEquals(HttpStatus.CREATED, resposta.getStatusCode());
+        }
+        ResponseEntity<?> venda = service.registrar(1L, movimentacao(TipoMovimentacao.VENDA, "53.5", "800.00", 20));
+
+        PosicaoInvestimentoDTO posicao = (PosicaoInvestimentoDTO) venda.getBody();
+        assertEquals(8, posicao.getSequencia());
+        assertEquals(new BigDecimal("53.5"), posicao.getQuantidade());
+        assertEquals(new BigDecimal("535.00"), posicao.getCusto());
+        assertEquals(new BigDecimal("10.00"), posicao.getPrecoMedio());
+        assertEquals(new BigDecimal("265.00"), posicao.getResultadoRealizado());
+        assertEquals("20-01-2025", posicao.getUltimaMovimentacao());
+
+        assertEquals(2, snapshotsGravados); // sequências 3 e 6
+        assertEquals(6, snapshot.getSequencia());
+        verify(travaCarteira, times(8)).travar(CPF);
+        verify(outboxRepository, times(8)).registrar(TipoEventoCarteira.MOVIMENTACAO_REGISTRADA, CPF, 1L);
+        // com snapshot a cada 3, nenhuma reconstrução aplica mais de 2 movimentações
+        assertTrue(registry.get("investimentos.ledger.cauda").summary().max() <= 2);
+    }
+
+    @Test
+    void registrar_vendaMaiorQueOSaldoRespondeBadRequestSemAnexar() {
+        ResponseEntity<?> resposta = service.registrar(1L, movimentacao(TipoMovimentacao.VENDA, "101", "5000.00", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        verify(movimentacaoRepository, never()).anexar(anyLong(), anyLong(), any(), anyLong(), anyLong(), any());
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void registrar_validaInvestimentoDataECasasDecimais() {
+        when(investimentoRepository.findById(2L)).thenReturn(Optional.empty());
+        assertEquals(HttpStatus.NOT_FOUND, service.registrar(2L, movimentacao(TipoMovimentacao.APORTE, "1", "10.00", 10)).getStatusCode());
+
+        MovimentacaoDTO dataInvalida = movimentacao(TipoMovimentacao.APORTE, "1", "10.00", 10);
+        dataInvalida.setData("31-02-2025");
+        assertEquals(HttpStatus.BAD_REQUEST, service.registrar(1L, dataInvalida).getStatusCode());
+
+        ResponseEntity<?> centavoFracionado = service.registrar(1L, movimentacao(TipoMovimentacao.APORTE, "1", "10.001", 10));
+        assertEquals(HttpStatus.BAD_REQUEST, centavoFracionado.getStatusCode());
+        assertTrue(centavoFracionado.getBody().toString().contains("valor"));
+        assertTrue(movimentacoes.isEmpty());
+    }
+
+    @Test
+    void posicao_semMovimentacoesPartedoCadastro() {
+        ResponseEntity<?> resposta = service.posicao(1L);
+
+        PosicaoInvestimentoDTO posicao = (PosicaoInvestimentoDTO) resposta.getBody();
+        assertEquals(0, posicao.getSequencia());
+        assertEquals(new BigDecimal("100"), posicao.getQuantidade());
+        assertEquals(new BigDecimal("1000.00"), posicao.getAportado());
+        assertNull(posicao.getUltimaMovimentacao());
+        verifyNoInteractions(travaCarteira);
+    }
+
+    private static MovimentacaoDTO movimentacao(TipoMovimentacao tipo, String quantidade, String valor, int dia) {
+        return new MovimentacaoDTO(null, tipo, String.format("%02d-01-2025", dia), new BigDecimal(quantidade), new BigDecimal(valor));
+    }
+
+    private PosicaoInvestimento copia(PosicaoInvestimento p) {
+        return PosicaoInvestimento.restaurar(p.getSequencia(), p.getQuantidade(), p.getCusto(), p.getAportado(),
+                p.getResgatado(), p.getResultadoRealizado(), p.getUltimaData());
+    }
+}
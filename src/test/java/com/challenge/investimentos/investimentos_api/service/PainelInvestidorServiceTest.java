@@ -0,0 +1,205 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.dto.SelecaoCampos;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository.PainelGravado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para PainelInvestidorService, com o modelo de leitura e a carteira simulados.
+ */
+class PainelInvestidorServiceTest {
+
+    private static final String CPF = "52998224725";
+    private static final long CPF_NUMERO = 52998224725L;
+
+    private PainelInvestidorRepository repository;
+    private InvestimentoService investimentoService;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry registry;
+    private PainelInvestidorService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PainelInvestidorRepository.class);
+        investimentoService = mock(InvestimentoService.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        registry = new SimpleMeterRegistry();
+        service = service(Duration.ofSeconds(30), true);
+    }
+
+    @Test
+    void montar_calculaTotaisEAlocacaoPeloMontanteAtual() {
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of(CPF_NUMERO, List.of(
+                posicao(1L, "RENDA_FIXA", "Itaú", "1000.00", "1200.00"),
+                posicao(2L, "RENDA_VARIAVEL", "Itaú", "500.00", null),
+                posicao(3L, "RENDA_FIXA", "Nubank", "300.00", "300.00"))));
+
+        PainelInvestidorDTO painel = service.montar(List.of(CPF_NUMERO)).get(CPF_NUMERO);
+
+        assertEquals(CPF, painel.getCpf());
+        assertEquals(new BigDecimal("1800.00"), painel.getMontanteInicialTotal());
+        // sem série, o investimento 2 entra pelo montante inicial
+        assertEquals(new BigDecimal("2000.00"), painel.getMontanteAtualTotal());
+        PainelInvestidorDTO.Alocacao rendaFixa = painel.getAlocacaoPorTipo().get(0);
+        assertEquals("RENDA_FIXA", rendaFixa.getChave());
+        assertEquals(2, rendaFixa.getQuantidadeInvestimentos());
+        assertEquals(new BigDecimal("75.00"), rendaFixa.getPercentual());
+        assertEquals(List.of("Itaú", "Nubank"), painel.getAlocacaoPorBanco().stream().map(PainelInvestidorDTO.Alocacao::getChave).toList());
+    }
+
+    @Test
+    void painel_documentoEmDiaServidoSemLerACarteira() {
+        byte[] documento = "{\"cpf\":\"52998224725\"}".getBytes();
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.of(
+                new PainelGravado(documento, Instant.now().minusSeconds(5), Instant.now().minusSeconds(60))));
+
+        ResponseEntity<?> resposta = service.painel("529.982.247-25");
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertSame(documento, resposta.getBody());
+        verify(repository, never()).carregarPosicoes(anyCollection(), anyInt());
+        assertEquals(1.0, registry.get("investimentos.painel.leituras").tag("origem", "modelo").counter().count());
+    }
+
+    @Test
+    void painel_pendenteAlemDoAtrasoMaximoMontaNaHora() {
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.of(
+                new PainelGravado(new byte[] {'{', '}'}, Instant.now().minusSeconds(31), Instant.now().minusSeconds(60))));
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of(CPF_NUMERO, List.of()));
+
+        ResponseEntity<?> resposta = service.painel(CPF);
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertInstanceOf(PainelInvestidorDTO.class, resposta.getBody());
+        assertEquals(1.0, registry.get("investimentos.painel.leituras").tag("origem", "carteira").counter().count());
+        verify(repository, never()).salvar(anyLong(), any());
+    }
+
+    @Test
+    void painel_pendenteComAtrasoZeroMontaNaHora() {
+        service = service(Duration.ZERO, true);
+        // marcado na transação da alteração, ainda sem projeção: a leitura seguinte já vê a alteração
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.of(
+                new PainelGravado(new byte[] {'{', '}'}, Instant.now().plusSeconds(1), Instant.now().minusSeconds(60))));
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of(CPF_NUMERO, List.of()));
+
+        assertInstanceOf(PainelInvestidorDTO.class, service.painel(CPF).getBody());
+        assertEquals(1.0, registry.get("investimentos.painel.leituras").tag("origem", "carteira").counter().count());
+    }
+
+    @Test
+    void listarPosicoes_semRelayOuPublicadorIgnoraODocumentoGravado() {
+        service = service(Duration.ofSeconds(30), false);
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of(CPF_NUMERO, List.of(
+                posicao(1L, "RENDA_FIXA", "Itaú", "1000.00", "1300.00"))));
+
+        ResponseEntity<List<PainelInvestidorDTO.Posicao>> resposta = service.listarPosicoes(CPF);
+
+        assertEquals(new BigDecimal("1300.00"), resposta.getBody().get(0).getMontanteAtual());
+        verify(repository, never()).buscar(anyLong());
+        assertEquals(0.0, registry.get("investimentos.painel.leituras").tag("origem", "modelo").counter().count());
+    }
+
+    @Test
+    void painel_cpfSemUsuarioInvestidor() {
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.empty());
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of());
+
+        assertEquals(404, service.painel(CPF).getStatusCode().value());
+    }
+
+    @Test
+    void listarPosicoes_lidasDoDocumentoSemLerACarteira() throws Exception {
+        PainelInvestidorDTO painel = PainelInvestidorDTO.montar(CPF, List.of(posicao(1L, "RENDA_FIXA", "Itaú", "1000.00", "1200.00")));
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.of(
+                new PainelGravado(objectMapper.writeValueAsBytes(painel), null, Instant.now())));
+
+        ResponseEntity<List<PainelInvestidorDTO.Posicao>> resposta = service.listarPosicoes("529.982.247-25");
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertEquals(1, resposta.getBody().size());
+        assertEquals(new BigDecimal("1200.00"), resposta.getBody().get(0).getMontanteAtual());
+        verify(repository, never()).carregarPosicoes(anyCollection(), anyInt());
+        verifyNoInteractions(investimentoService);
+    }
+
+    @Test
+    void listarPosicoes_semDocumentoMontaNaHoraOu404() {
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.empty());
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of(CPF_NUMERO, List.of(
+                posicao(1L, "RENDA_FIXA", "Itaú", "1000.00", null))));
+
+        assertEquals(1, service.listarPosicoes(CPF).getBody().size());
+        assertEquals(1.0, registry.get("investimentos.painel.leituras").tag("origem", "carteira").counter().count());
+
+        when(repository.carregarPosicoes(List.of(CPF_NUMERO), 30)).thenReturn(Map.of());
+        assertEquals(404, service.listarPosicoes(CPF).getStatusCode().value());
+        assertEquals(404, service.listarPosicoes("123").getStatusCode().value());
+        verifyNoInteractions(investimentoService);
+    }
+
+    @Test
+    void listarProjecao_camposLidosDoDocumentoNaOrdemDaSelecao() throws Exception {
+        PainelInvestidorDTO painel = PainelInvestidorDTO.montar(CPF, List.of(posicao(1L, "RENDA_FIXA", "Itaú", "1000.00", "1200.00")));
+        when(repository.buscar(CPF_NUMERO)).thenReturn(Optional.of(
+                new PainelGravado(objectMapper.writeValueAsBytes(painel), null, Instant.now())));
+
+        ResponseEntity<List<Map<String, Object>>> resposta =
+                service.listarProjecao(SelecaoCampos.de("montanteAtual,nomeInvestimento,id", null), CPF);
+
+        assertEquals(List.of(Map.of("id", 1L, "nomeInvestimento", "Investimento 1", "montanteAtual", new BigDecimal("1200.00"))),
+                resposta.getBody());
+        assertEquals(List.of("id", "nomeInvestimento", "montanteAtual"), List.copyOf(resposta.getBody().get(0).keySet()));
+        verifyNoInteractions(investimentoService);
+    }
+
+    @Test
+    void listarProjecao_serieCompletaContinuaNaCarteira() {
+        SelecaoCampos selecao = SelecaoCampos.de("id", "rentabilidadeDiaria");
+        when(investimentoService.listarProjecao(selecao, CPF)).thenReturn(ResponseEntity.ok(List.of()));
+
+        service.listarProjecao(selecao, CPF);
+
+        verify(investimentoService).listarProjecao(selecao, CPF);
+        verifyNoInteractions(repository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PainelInvestidorService service(Duration atrasoMaximo, boolean modeloMantido) {
+        ObjectProvider<RelayOutbox> relay = mock(ObjectProvider.class);
+        ObjectProvider<PublicadorEventosPainel> publicador = mock(ObjectProvider.class);
+        when(relay.getIfAvailable()).thenReturn(modeloMantido ? mock(RelayOutbox.class) : null);
+        when(publicador.getIfAvailable()).thenReturn(mock(PublicadorEventosPainel.class));
+        return new PainelInvestidorService(repository, investimentoService, objectMapper, registry, 30, atrasoMaximo,
+                relay, publicador);
+    }
+
+    private static PainelInvestidorDTO.Posicao posicao(long id, String tipo, String banco, String inicial, String atual) {
+        PainelInvestidorDTO.Posicao posicao = new PainelInvestidorDTO.Posicao();
+        posicao.setId(id);
+        posicao.setTipoInvestimento(tipo);
+        posicao.setNomeBanco(banco);
+        posicao.setNomeInvestimento("Investimento " + id);
+        posicao.setMontanteInicial(new BigDecimal(inicial));
+        posicao.setMontanteAtual(atual != null ? new BigDecimal(atual) : null);
+        return posicao;
+    }
+}
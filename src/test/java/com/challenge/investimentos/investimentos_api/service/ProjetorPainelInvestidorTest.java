@@ -0,0 +1,84 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.PainelInvestidorDTO;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository;
+import com.challenge.investimentos.investimentos_api.repository.PainelInvestidorRepository.PainelPendente;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para ProjetorPainelInvestidor, com o modelo de leitura simulado.
+ */
+class ProjetorPainelInvestidorTest {
+
+    private PainelInvestidorRepository repository;
+    private PainelInvestidorService painelInvestidorService;
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry registry;
+    private ProjetorPainelInvestidor projetor;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PainelInvestidorRepository.class);
+        painelInvestidorService = mock(PainelInvestidorService.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        registry = new SimpleMeterRegistry();
+        projetor = new ProjetorPainelInvestidor(repository, painelInvestidorService, objectMapper,
+                mock(PlatformTransactionManager.class), registry, 10, 10, 10);
+    }
+
+    @Test
+    void reconstruirPendentes_gravaOsPaineisERemoveOsSemUsuario() throws Exception {
+        Instant marcado = Instant.now().minusSeconds(2);
+        when(repository.travarPendentes(10)).thenReturn(List.of(
+                new PainelPendente(52998224725L, 41L, marcado), new PainelPendente(11144477735L, 42L, marcado)));
+        when(painelInvestidorService.montar(List.of(52998224725L, 11144477735L))).thenReturn(Map.of(
+                52998224725L, PainelInvestidorDTO.montar("52998224725", List.of())));
+
+        assertEquals(2, projetor.reconstruirPendentes());
+
+        ArgumentCaptor<byte[]> documento = ArgumentCaptor.forClass(byte[].class);
+        verify(repository).salvar(eq(52998224725L), documento.capture());
+        PainelInvestidorDTO gravado = objectMapper.readValue(documento.getValue(), PainelInvestidorDTO.class);
+        assertEquals(41L, gravado.getEventoAplicado());
+        assertNotNull(gravado.getAtualizadoEm());
+        verify(repository).remover(11144477735L);
+        assertEquals(2.0, registry.get("investimentos.painel.reconstruidos").counter().count());
+        assertEquals(2, registry.get("investimentos.painel.defasagem").timer().count());
+        assertTrue(registry.get("investimentos.painel.atraso").gauge().value() >= 2.0);
+    }
+
+    @Test
+    void reconstruirPendentes_semPendentesZeraOAtraso() {
+        when(repository.travarPendentes(10)).thenReturn(List.of());
+
+        assertEquals(0, projetor.reconstruirPendentes());
+
+        verifyNoInteractions(painelInvestidorService);
+        assertEquals(0.0, registry.get("investimentos.painel.atraso").gauge().value());
+    }
+
+    @Test
+    void reconstruirPendentes_falhaNaCarteiraNaoGravaEMantemOAtraso() {
+        Instant marcado = Instant.now().minusSeconds(5);
+        when(repository.travarPendentes(10)).thenReturn(List.of(new PainelPendente(52998224725L, 7L, marcado)));
+        when(painelInvestidorService.montar(anyCollection())).thenThrow(new IllegalStateException("ORA-03113"));
+
+        assertThrows(IllegalStateException.class, projetor::reconstruirPendentes);
+
+        verify(repository, never()).salvar(anyLong(), any());
+        assertTrue(registry.get("investimentos.painel.atraso").gauge().value() >= 5.0);
+    }
+}
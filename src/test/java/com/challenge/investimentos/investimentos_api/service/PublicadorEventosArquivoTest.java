@@ -0,0 +1,48 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para PublicadorEventosArquivo.
+ */
+class PublicadorEventosArquivoTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void publicar_acrescentaUmaLinhaJsonPorEvento() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Path arquivo = pasta.resolve("outbox/eventos.ndjson");
+        PublicadorEventosArquivo publicador = new PublicadorEventosArquivo(objectMapper, arquivo);
+        Instant ocorrido = Instant.parse("2025-01-02T10:15:30Z");
+
+        publicador.publicar(List.of(
+                new EventoCarteiraDTO(1L, TipoEventoCarteira.INVESTIMENTO_CRIADO, "52998224725", 10L, ocorrido),
+                new EventoCarteiraDTO(2L, TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, "52998224725", null, ocorrido)));
+        publicador.publicar(List.of(
+                new EventoCarteiraDTO(3L, TipoEventoCarteira.USUARIO_REMOVIDO, "11144477735", null, ocorrido)));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(3, linhas.size());
+        EventoCarteiraDTO primeiro = objectMapper.readValue(linhas.get(0), EventoCarteiraDTO.class);
+        assertEquals(TipoEventoCarteira.INVESTIMENTO_CRIADO, primeiro.getTipo());
+        assertEquals(10L, primeiro.getInvestimentoId());
+        assertEquals(ocorrido, primeiro.getOcorridoEm());
+        assertEquals(3L, objectMapper.readValue(linhas.get(2), EventoCarteiraDTO.class).getId());
+    }
+}
@@ -0,0 +1,134 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.EventoCarteiraDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para RelayOutbox, com o outbox simulado em memória.
+ */
+class RelayOutboxTest {
+
+    private OutboxRepository outbox;
+    private SimpleMeterRegistry registry;
+    /** Outbox em memória: buscarPendentes lê os primeiros, remover apaga pelos IDs. */
+    private final List<EventoCarteiraDTO> pendentes = new CopyOnWriteArrayList<>();
+    /** Destino em memória. */
+    private final List<EventoCarteiraDTO> publicados = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outbox = mock(OutboxRepository.class);
+        registry = new SimpleMeterRegistry();
+        when(outbox.buscarPendentes(anyInt())).thenAnswer(inv ->
+                new ArrayList<>(pendentes.subList(0, Math.min(inv.<Integer>getArgument(0), pendentes.size()))));
+        when(outbox.remover(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            pendentes.removeIf(evento -> ids.contains(evento.getId()));
+            return ids.size();
+        });
+    }
+
+    @Test
+    void publicarPendentes_publicaEmOrdemEApagaOLote() {
+        adicionar(5);
+        RelayOutbox relay = relay(publicados::addAll, 3);
+
+        assertEquals(3, relay.publicarPendentes());
+        assertEquals(2, relay.publicarPendentes());
+        assertEquals(0, relay.publicarPendentes());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), publicados.stream().map(EventoCarteiraDTO::getId).toList());
+        assertTrue(pendentes.isEmpty());
+        assertEquals(5.0, registry.get("investimentos.outbox.publicados").counter().count());
+        assertEquals(2, registry.get("investimentos.outbox.lote").timer().count());
+        assertEquals(5, registry.get("investimentos.outbox.atraso").timer().count());
+    }
+
+    @Test
+    void publicarPendentes_falhaNoDestinoMantemOLoteParaReenvio() {
+        adicionar(2);
+        int[] tentativas = {0};
+        RelayOutbox relay = relay(eventos -> {
+            if (tentativas[0]++ == 0) throw new IOException("disco cheio");
+            publicados.addAll(eventos);
+        }, 10);
+
+        assertThrows(IllegalStateException.class, relay::publicarPendentes);
+        verify(outbox, never()).remover(anyCollection());
+        assertEquals(2, pendentes.size());
+
+        // ao menos uma vez: o mesmo lote, na mesma ordem, no ciclo seguinte
+        assertEquals(2, relay.publicarPendentes());
+        assertEquals(List.of(1L, 2L), publicados.stream().map(EventoCarteiraDTO::getId).toList());
+    }
+
+    @Test
+    void publicarPendentes_publicaEmCadaDestinoNaOrdemEDesfazSeUmFalhar() {
+        adicionar(2);
+        List<String> chamadas = new ArrayList<>();
+        int[] tentativas = {0};
+        RelayOutbox relay = new RelayOutbox(outbox, List.of(
+                eventos -> chamadas.add("painel"),
+                eventos -> {
+                    chamadas.add("arquivo");
+                    if (tentativas[0]++ == 0) throw new IOException("disco cheio");
+                    publicados.addAll(eventos);
+                }), mock(PlatformTransactionManager.class), registry, 10, 10, 10);
+
+        assertThrows(IllegalStateException.class, relay::publicarPendentes);
+        verify(outbox, never()).remover(anyCollection());
+
+        assertEquals(2, relay.publicarPendentes());
+        assertEquals(List.of("painel", "arquivo", "painel", "arquivo"), chamadas);
+        assertEquals(2, publicados.size());
+        assertTrue(pendentes.isEmpty());
+    }
+
+    @Test
+    void start_loteCheioSegueSemEsperarOIntervalo() throws Exception {
+        adicionar(7);
+        // intervalo longo: só os lotes cheios seguem imediatamente; o último (parcial) entra na espera
+        RelayOutbox relay = new RelayOutbox(outbox, List.of(publicados::addAll), mock(PlatformTransactionManager.class),
+                registry, 2, 60_000, 60_000);
+        relay.start();
+        try {
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (publicados.size() < 7 && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+        } finally {
+            relay.stop();
+        }
+        assertEquals(7, publicados.size());
+        assertFalse(relay.isRunning());
+    }
+
+    private RelayOutbox relay(PublicadorEventosCarteira publicador, int tamanhoLote) {
+        return new RelayOutbox(outbox, List.of(publicador), mock(PlatformTransactionManager.class), registry, tamanhoLote, 10, 10);
+    }
+
+    private void adicionar(int quantidade) {
+        for (long id = 1; id <= quantidade; id++) {
+            pendentes.add(new EventoCarteiraDTO(id, TipoEventoCarteira.INVESTIMENTO_ATUALIZADO, "52998224725", id,
+                    Instant.now().minusMillis(50)));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.GranularidadePeriodo;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadePeriodo;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.RentabilidadeDiariaRepository;
+import com.challenge.investimentos.investimentos_api.repository.RentabilidadePeriodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para RentabilidadePeriodoService.
+ */
+class RentabilidadePeriodoServiceTest {
+
+    @Mock
+    private RentabilidadeDiariaRepository diariaRepository;
+
+    @Mock
+    private RentabilidadePeriodoRepository periodoRepository;
+
+    @Mock
+    private InvestimentoRepository investimentoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RentabilidadePeriodoService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new RentabilidadePeriodoService(diariaRepository, periodoRepository, investimentoRepository, transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recalcularInvestimento_consolidaMesesEAno() {
+        Investimento investimento = new Investimento();
+        investimento.setId(1L);
+        when(investimentoRepository.getReferenceById(1L)).thenReturn(investimento);
+        when(diariaRepository.streamSerie(1L)).thenReturn(Stream.of(
+                linha(LocalDate.of(2025, 1, 30), "100.00", "1.0", "1000.00"),
+                linha(LocalDate.of(2025, 1, 31), "90.00", "1.0", "1010.00"),
+                linha(LocalDate.of(2025, 2, 3), "110.00", "0.0", "1020.00")));
+
+        service.recalcularInvestimento(1L);
+
+        verify(periodoRepository).deletarPorInvestimento(1L);
+        ArgumentCaptor<List<RentabilidadePeriodo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(periodoRepository).saveAll(captor.capture());
+        List<RentabilidadePeriodo> periodos = captor.getValue();
+
+        // 2 semanas + 2 meses + 1 ano
+        assertEquals(5, periodos.size());
+        RentabilidadePeriodo janeiro = periodos.stream()
+                .filter(p -> p.getGranularidade() == GranularidadePeriodo.MENSAL && p.getInicioPeriodo().getMonthValue() == 1)
+                .findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(janeiro.getValorAbertura()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(janeiro.getValorFechamento()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(janeiro.getValorMinimo()));
+        assertEquals(0, new BigDecimal("2.01").compareTo(janeiro.getTaxaComposta()));
+        assertEquals(0, new BigDecimal("1010.00").compareTo(janeiro.getMontanteFechamento()));
+        assertEquals(2, janeiro.getQuantidadeDias());
+
+        RentabilidadePeriodo ano = periodos.stream()
+                .filter(p -> p.getGranularidade() == GranularidadePeriodo.ANUAL)
+                .findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("110.00").compareTo(ano.getValorMaximo()));
+        assertEquals(0, new BigDecimal("1020.00").compareTo(ano.getMontanteFechamento()));
+        assertEquals(3, ano.getQuantidadeDias());
+    }
+
+    private static Object[] linha(LocalDate data, String valor, String taxa, String montante) {
+        return new Object[]{data, new BigDecimal(valor), new BigDecimal(taxa), new BigDecimal(montante)};
+    }
+}
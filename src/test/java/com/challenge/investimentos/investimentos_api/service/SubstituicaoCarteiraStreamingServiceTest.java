@@ -0,0 +1,195 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.RentabilidadeDiaria;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para SubstituicaoCarteiraStreamingService, com a gravação JDBC simulada.
+ */
+class SubstituicaoCarteiraStreamingServiceTest {
+
+    private static final String CPF = "52998224725";
+
+    private CarteiraBulkRepository repository;
+    private OutboxRepository outbox;
+    private RentabilidadePeriodoService periodos;
+    private SubstituicaoCarteiraStreamingService service;
+    /** Tamanho de cada chamada a inserirRentabilidades (a lista é reaproveitada pelo serviço). */
+    private final List<Integer> lotesGravados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(CarteiraBulkRepository.class);
+        outbox = mock(OutboxRepository.class);
+        periodos = mock(RentabilidadePeriodoService.class);
+        UsuarioInvestimentoRepository usuarios = mock(UsuarioInvestimentoRepository.class);
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setId(7L);
+        when(usuarios.findByCpf_Cpf(CPF)).thenReturn(usuario);
+
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(inv -> {
+            List<Investimento> novos = inv.getArgument(0);
+            novos.forEach(i -> i.setId(ids.getAndIncrement()));
+            return null;
+        }).when(repository).inserirInvestimentos(anyList());
+        doAnswer(inv -> {
+            List<RentabilidadeDiaria> lote = inv.getArgument(0);
+            lotesGravados.add(lote.size());
+            return null;
+        }).when(repository).inserirRentabilidades(anyList());
+
+        service = new SubstituicaoCarteiraStreamingService(usuarios, repository, periodos,
+                mock(PlatformTransactionManager.class), new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(TravaCarteira.class), outbox, 3);
+    }
+
+    @Test
+    void substituir_gravaEmLotesERecalculaPeriodos() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento(dias(7)) + "," + investimento(null) + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().contains("2 investimentos, 7 rentabilidades"));
+        verify(repository).removerInvestimentos(List.of(7L));
+        verify(repository, times(2)).inserirInvestimentos(anyList());
+        assertEquals(List.of(3, 3, 1), lotesGravados);
+        verify(periodos).recalcularInvestimento(100L);
+        verify(periodos, never()).recalcularInvestimento(101L);
+        verify(outbox).registrar(TipoEventoCarteira.CARTEIRA_SUBSTITUIDA, CPF, (Long) null);
+    }
+
+    @Test
+    void substituir_cpfDepoisDaListaRetorna400() throws Exception {
+        String json = "{\"dataUsuarioInvestimentos\":[" + investimento(dias(1)) + "],\"cpfIdentificacao\":\"" + CPF + "\"}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().contains("cpfIdentificacao deve vir antes"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void substituir_diaInvalidoIndicaOCaminho() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento("[" + dia("01-01-2025") + "," + dia("32-01-2025") + "]") + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().startsWith("investimentos[0].rentabilidadeDiaria[1]: data inválida"));
+    }
+
+    @Test
+    void substituir_campoDepoisDaSerieRetorna400() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento(dias(1)).replaceFirst("}$", ",\"nomeBanco\":\"XP\"}") + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().contains("deve ser o último campo"));
+    }
+
+    @Test
+    void substituir_serieAntesDosCamposSimplesRetorna400() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":[{\"rentabilidadeDiaria\":"
+                + dias(1) + ",\"nomeInvestimento\":\"CDB\"}]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        // o investimento ainda não tinha os campos obrigatórios quando a série chegou
+        assertTrue(resposta.getBody().startsWith("investimentos[0]: "));
+        verify(repository, never()).inserirInvestimentos(anyList());
+    }
+
+    @Test
+    void substituir_diaForaDeOrdemRetorna400() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento("[" + dia("01-01-2025") + "," + dia("03-01-2025") + "," + dia("02-01-2025") + "]") + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().startsWith("investimentos[0].rentabilidadeDiaria[2]: data 02-01-2025 fora de ordem"));
+    }
+
+    @Test
+    void substituir_diaRepetidoRetorna400() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento("[" + dia("01-01-2025") + "," + dia("01-01-2025") + "]") + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().startsWith("investimentos[0].rentabilidadeDiaria[1]: data 01-01-2025 repetida"));
+    }
+
+    @Test
+    void substituir_investimentoInvalidoRetorna400() throws Exception {
+        String json = "{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":["
+                + investimento(null).replace("\"montanteInicial\":1000", "\"montanteInicial\":0") + "]}";
+
+        ResponseEntity<String> resposta = substituir(json);
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().contains("montanteInicial"));
+    }
+
+    @Test
+    void substituir_jsonMalFormadoRetorna400() throws Exception {
+        ResponseEntity<String> resposta = substituir("{\"cpfIdentificacao\":\"" + CPF + "\",\"dataUsuarioInvestimentos\":[{");
+
+        assertEquals(400, resposta.getStatusCode().value());
+        assertTrue(resposta.getBody().startsWith("JSON inválido"));
+    }
+
+    private ResponseEntity<String> substituir(String json) throws Exception {
+        return service.substituir(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String investimento(String dias) {
+        return "{\"nomeBanco\":\"C6\",\"tipoInvestimento\":\"RENDA_FIXA\",\"nomeInvestimento\":\"CDB\","
+                + "\"montanteInicial\":1000,\"valorInicialAcao\":0,\"taxaRentabilidade\":0.1,\"numeroAcoesInicial\":0"
+                + (dias != null ? ",\"rentabilidadeDiaria\":" + dias : "") + "}";
+    }
+
+    private static String dias(int quantidade) {
+        StringJoiner dias = new StringJoiner(",", "[", "]");
+        for (int i = 1; i <= quantidade; i++) {
+            dias.add(dia(String.format("%02d-01-2025", i)));
+        }
+        return dias.toString();
+    }
+
+    private static String dia(String data) {
+        return "{\"dataRentabilidadeDiaria\":\"" + data + "\",\"valorDiarioAcao\":1,"
+                + "\"taxaDiarioRentabilidade\":0.1,\"montanteAcumuladoDiario\":1001}";
+    }
+}
@@ -0,0 +1,468 @@
+package com.challenge.investimentos.investimentos_api.service;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RelatorioIngestaoCotacoesDTO;
+import com.challenge.investimentos.investimentos_api.dto.UsuarioInvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
+import com.challenge.investimentos.investimentos_api.exception.CarteiraOcupadaException;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.CarteiraBulkRepository;
+import com.challenge.investimentos.investimentos_api.repository.InvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
+import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
+import com.challenge.investimentos.investimentos_api.util.CpfValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TravaCarteira.
+ */
+class TravaCarteiraTest {
+
+    private static final String[] CPFS = {"52998224725", "11144477735", "39053344705", "12345678909"};
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void travar_centenasDeEscritoresConcorrentesNaoPerdemAtualizacoes() throws Exception {
+        TravaCarteira trava = memoria(Duration.ofSeconds(30));
+        int escritores = 400;
+        int escritasPorEscritor = 50;
+        // contadores sem sincronização: só a trava protege o ler-alterar-gravar
+        long[] saldos = new long[CPFS.length];
+
+        ExecutorService executor = Executors.newFixedThreadPool(escritores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int e = 0; e < escritores; e++) {
+            int escritor = e;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < escritasPorEscritor; i++) {
+                    int a = (escritor + i) % CPFS.length;
+                    int b = (a + 1) % CPFS.length;
+                    // metade das gravações trava dois CPFs, em ordens opostas: não pode haver deadlock
+                    List<String> cpfs = escritor % 2 == 0 ? List.of(CPFS[a]) : List.of(CPFS[b], CPFS[a]);
+                    emTransacao(() -> {
+                        trava.travar(cpfs);
+                        for (String cpf : cpfs) {
+                            int indice = List.of(CPFS).indexOf(cpf);
+                            long saldo = saldos[indice];
+                            Thread.yield();
+                            saldos[indice] = saldo + 1;
+                        }
+                    });
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long esperado = (long) escritores / 2 * escritasPorEscritor * 3; // pares gravam 1 CPF, ímpares 2
+        long total = 0;
+        for (long saldo : saldos) total += saldo;
+        assertEquals(esperado, total);
+        assertEquals(escritores * escritasPorEscritor,
+                registry.get("investimentos.carteira.trava.espera").timer().count());
+        assertEquals(0.0, registry.get("investimentos.carteira.trava.esgotada").counter().count());
+    }
+
+    @Test
+    void travar_cpfsDiferentesNaoSeBloqueiam() throws Exception {
+        TravaCarteira trava = memoria(Duration.ofMillis(200));
+        assertNotEquals(trava.faixa(CpfValidator.compactar(CPFS[0])), trava.faixa(CpfValidator.compactar(CPFS[1])));
+
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread dono = segurar(trava, CPFS[0], travado, liberar);
+        travado.await();
+        try {
+            emTransacao(() -> trava.travar(CPFS[1]));
+            // mesmo CPF com outra máscara cai na mesma trava
+            assertThrows(CarteiraOcupadaException.class, () -> emTransacao(() -> trava.travar("529.982.247-25")));
+        } finally {
+            liberar.countDown();
+            dono.join();
+        }
+        assertEquals(1.0, registry.get("investimentos.carteira.trava.esgotada").counter().count());
+    }
+
+    @Test
+    void travar_liberaAoFimDaTransacao() throws Exception {
+        TravaCarteira trava = memoria(Duration.ofSeconds(5));
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread dono = segurar(trava, CPFS[0], travado, liberar);
+        travado.await();
+
+        long inicio = System.nanoTime();
+        Thread liberador = new Thread(() -> {
+            sleep(100);
+            liberar.countDown();
+        });
+        liberador.start();
+        emTransacao(() -> trava.travar(CPFS[0]));
+        assertTrue(System.nanoTime() - inicio >= TimeUnit.MILLISECONDS.toNanos(100), "esperou o commit do dono");
+        dono.join();
+        liberador.join();
+    }
+
+    @Test
+    void travar_exigeTransacaoEIgnoraCpfInvalido() {
+        TravaCarteira trava = memoria(Duration.ofSeconds(1));
+        assertThrows(IllegalStateException.class, () -> trava.travar(CPFS[0]));
+        emTransacao(() -> trava.travar(List.of("123", "")));
+        assertEquals(0, registry.get("investimentos.carteira.trava.espera").timer().count());
+        assertEquals(1024, trava.quantidadeFaixas());
+        assertEquals(64, new TravaCarteira(jdbcTemplate, registry, TravaCarteira.Modo.MEMORIA, 50, Duration.ZERO)
+                .quantidadeFaixas());
+    }
+
+    @Test
+    void travar_modoBancoRepeteSkipLockedAteTravarTodasAsLinhas() {
+        TravaCarteira trava = new TravaCarteira(jdbcTemplate, registry, TravaCarteira.Modo.BANCO, 1024, Duration.ofSeconds(5));
+        long a = CpfValidator.compactar(CPFS[0]);
+        long b = CpfValidator.compactar(CPFS[1]);
+        when(jdbcTemplate.queryForList(argThat(sql -> sql != null && !sql.contains("skip locked")), anyMap(), eq(Long.class)))
+                .thenReturn(List.of(a, b));
+        // a linha de b está com outra transação na primeira tentativa
+        when(jdbcTemplate.queryForList(argThat(sql -> sql != null && sql.contains("skip locked")), anyMap(), eq(Long.class)))
+                .thenReturn(List.of(a))
+                .thenReturn(List.of(b));
+
+        emTransacao(() -> trava.travar(List.of(CPFS[0], CPFS[1])));
+
+        verify(jdbcTemplate, times(2)).queryForList(argThat(sql -> sql != null && sql.contains("skip locked")), anyMap(), eq(Long.class));
+    }
+
+    @Test
+    void travar_modoBancoDesisteAposEsperaMaxima() {
+        TravaCarteira trava = new TravaCarteira(jdbcTemplate, registry, TravaCarteira.Modo.BANCO, 1024, Duration.ofMillis(100));
+        when(jdbcTemplate.queryForList(argThat(sql -> sql != null && !sql.contains("skip locked")), anyMap(), eq(Long.class)))
+                .thenReturn(List.of(CpfValidator.compactar(CPFS[0])));
+        when(jdbcTemplate.queryForList(argThat(sql -> sql != null && sql.contains("skip locked")), anyMap(), eq(Long.class)))
+                .thenReturn(List.of());
+
+        long inicio = System.nanoTime();
+        CarteiraOcupadaException e = assertThrows(CarteiraOcupadaException.class,
+                () -> emTransacao(() -> trava.travar(CPFS[0])));
+        assertTrue(System.nanoTime() - inicio >= TimeUnit.MILLISECONDS.toNanos(100), "esperou a espera máxima");
+        assertTrue(e.getMessage().contains(CPFS[0]));
+        // repetiu o skip locked durante a espera em vez de desistir na primeira tentativa
+        verify(jdbcTemplate, atLeast(2)).queryForList(argThat(sql -> sql != null && sql.contains("skip locked")), anyMap(), eq(Long.class));
+        assertEquals(1.0, registry.get("investimentos.carteira.trava.esgotada").tag("modo", "BANCO").counter().count());
+    }
+
+    @Test
+    void servico_gravacoesConcorrentesNoMesmoCpfSaoSerializadas() throws Exception {
+        TravaCarteira trava = memoria(Duration.ofSeconds(30));
+        UsuarioInvestimentoRepository usuarioInvestimentoRepository = mock(UsuarioInvestimentoRepository.class);
+        InvestimentoRepository investimentoRepository = mock(InvestimentoRepository.class);
+        OutboxRepository outboxRepository = mock(OutboxRepository.class);
+        InvestimentoService service = new InvestimentoService(usuarioInvestimentoRepository, investimentoRepository,
+                mock(RentabilidadePeriodoService.class), mock(CarteiraBulkRepository.class), mock(Validator.class),
+                trava, outboxRepository);
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setCpfIdentificacao(CPFS[0]);
+
+        SecaoCritica secao = new SecaoCritica();
+        // a seção crítica vai da primeira leitura depois da trava até o evento da outbox, antes do commit
+        when(usuarioInvestimentoRepository.findByCpf_Cpf(anyString())).thenAnswer(inv -> {
+            secao.entrar();
+            return usuario;
+        });
+        when(investimentoRepository.findById(anyLong())).thenAnswer(inv -> {
+            Investimento investimento = new Investimento();
+            investimento.setId(inv.getArgument(0));
+            investimento.setUsuarioInvestimento(usuario);
+            return Optional.of(investimento);
+        });
+        when(investimentoRepository.saveAll(anyIterable())).thenAnswer(inv -> {
+            List<?> novos = inv.getArgument(0);
+            secao.gravar(novos.size());
+            return novos;
+        });
+        doAnswer(inv -> {
+            secao.entrar();
+            secao.gravar(-1);
+            return null;
+        }).when(investimentoRepository).delete(any(Investimento.class));
+        doAnswer(inv -> secao.sair()).when(outboxRepository)
+                .registrar(any(TipoEventoCarteira.class), anyString(), anyCollection());
+        doAnswer(inv -> secao.sair()).when(outboxRepository)
+                .registrar(any(TipoEventoCarteira.class), anyString(), anyLong());
+
+        int escritores = 16;
+        int escritasPorEscritor = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(escritores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int e = 0; e < escritores; e++) {
+            int escritor = e;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < escritasPorEscritor; i++) {
+                    int operacao = i;
+                    long id = (long) escritor * escritasPorEscritor + i;
+                    // o CPF chega com e sem máscara e cai na mesma trava
+                    String cpf = i % 4 == 0 ? "529.982.247-25" : CPFS[0];
+                    emTransacao(() -> {
+                        ResponseEntity<String> resposta = operacao % 2 == 0
+                                ? service.salvarInvestimentos(usuarioComInvestimentos(cpf, 2))
+                                : service.deletarPorId(id);
+                        assertEquals(200, resposta.getStatusCode().value(), resposta.getBody());
+                    });
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        secao.verificarSerializada();
+        // metade das operações grava 2 investimentos, a outra metade remove 1
+        assertEquals((long) escritores * escritasPorEscritor / 2, secao.valor());
+        assertEquals(escritores * escritasPorEscritor,
+                registry.get("investimentos.carteira.trava.espera").timer().count());
+    }
+
+    @Test
+    void servico_ingestaoDeCotacoesEAtualizacaoNoMesmoCpfSaoSerializadas() throws Exception {
+        TravaCarteira trava = memoria(Duration.ofSeconds(30));
+        CarteiraBulkRepository carteiraBulkRepository = mock(CarteiraBulkRepository.class);
+        InvestimentoRepository investimentoRepository = mock(InvestimentoRepository.class);
+        OutboxRepository outboxRepository = mock(OutboxRepository.class);
+        RentabilidadePeriodoService rentabilidadePeriodoService = mock(RentabilidadePeriodoService.class);
+        // lotes de 2 linhas: cada arquivo de 5 linhas grava em 3 transações
+        IngestaoCotacaoService ingestao = new IngestaoCotacaoService(carteiraBulkRepository, rentabilidadePeriodoService,
+                outboxRepository, trava, new TransacaoSimulada(), 2);
+        InvestimentoService investimentoService = new InvestimentoService(mock(UsuarioInvestimentoRepository.class),
+                investimentoRepository, rentabilidadePeriodoService, carteiraBulkRepository, mock(Validator.class),
+                trava, outboxRepository);
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        usuario.setCpfIdentificacao(CPFS[0]);
+
+        SecaoCritica secao = new SecaoCritica();
+        when(carteiraBulkRepository.buscarInvestimentosExistentes(anyCollection())).thenReturn(Set.of(1L));
+        when(carteiraBulkRepository.buscarInvestimentosVinculados(anyCollection())).thenReturn(Set.of());
+        when(carteiraBulkRepository.buscarCpfsDosInvestimentos(anyCollection())).thenReturn(Set.of(CPFS[0]));
+        doAnswer(inv -> {
+            secao.entrar();
+            secao.gravar(1);
+            return null;
+        }).when(carteiraBulkRepository).mesclarRentabilidades(anyList());
+        when(investimentoRepository.findById(1L)).thenAnswer(inv -> {
+            Investimento investimento = new Investimento();
+            investimento.setId(1L);
+            investimento.setUsuarioInvestimento(usuario);
+            investimento.setRentabilidadeDiaria(new ArrayList<>());
+            return Optional.of(investimento);
+        });
+        when(investimentoRepository.save(any(Investimento.class))).thenAnswer(inv -> {
+            secao.entrar();
+            secao.gravar(1);
+            return inv.getArgument(0);
+        });
+        doAnswer(inv -> secao.sair()).when(outboxRepository)
+                .registrarPorInvestimentos(any(TipoEventoCarteira.class), anyCollection());
+        doAnswer(inv -> secao.sair()).when(outboxRepository)
+                .registrar(any(TipoEventoCarteira.class), anyString(), anyLong());
+
+        String csv = "1,02-01-2025,10,0.1,100\n1,03-01-2025,10,0.1,101\n1,06-01-2025,10,0.1,102\n"
+                + "1,07-01-2025,10,0.1,103\n1,08-01-2025,10,0.1,104\n";
+        InvestimentoDTO atualizacao = new InvestimentoDTO();
+        atualizacao.setNomeInvestimento("CDB");
+        atualizacao.setTipoInvestimento("RENDA_FIXA");
+        atualizacao.setMontanteInicial(BigDecimal.valueOf(1000));
+
+        int escritores = 16;
+        int gravacoesPorEscritor = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(escritores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int e = 0; e < escritores; e++) {
+            boolean carga = e % 2 == 0;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < gravacoesPorEscritor; i++) {
+                    if (carga) {
+                        RelatorioIngestaoCotacoesDTO relatorio = ingestao.ingerir(
+                                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).getBody();
+                        assertEquals(0, relatorio.getTotalErros());
+                    } else {
+                        emTransacao(() -> assertEquals(200,
+                                investimentoService.atualizarInvestimento(1L, atualizacao).getStatusCode().value()));
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        secao.verificarSerializada();
+        // cargas: 3 transações por arquivo; atualizações: 1 cada
+        assertEquals((long) escritores / 2 * gravacoesPorEscritor * 4, secao.valor());
+    }
+
+    private TravaCarteira memoria(Duration esperaMaxima) {
+        return new TravaCarteira(jdbcTemplate, registry, TravaCarteira.Modo.MEMORIA, 1024, esperaMaxima);
+    }
+
+    private static UsuarioInvestimentoDTO usuarioComInvestimentos(String cpf, int quantidade) {
+        List<InvestimentoDTO> investimentos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            InvestimentoDTO dto = new InvestimentoDTO();
+            dto.setNomeInvestimento("CDB " + i);
+            dto.setTipoInvestimento("RENDA_FIXA");
+            dto.setMontanteInicial(BigDecimal.valueOf(1000));
+            investimentos.add(dto);
+        }
+        UsuarioInvestimentoDTO usuario = new UsuarioInvestimentoDTO();
+        usuario.setCpfIdentificacao(cpf);
+        usuario.setDataUsuarioInvestimentos(investimentos);
+        return usuario;
+    }
+
+    /**
+     * Seção crítica simulada entre a primeira escrita depois da trava e o evento da outbox (antes do
+     * commit). O contador não é sincronizado: só a trava protege o ler-alterar-gravar.
+     */
+    private static final class SecaoCritica {
+        private final AtomicInteger dentro = new AtomicInteger();
+        private final AtomicInteger maximoDentro = new AtomicInteger();
+        private long valor;
+
+        void entrar() {
+            maximoDentro.accumulateAndGet(dentro.incrementAndGet(), Math::max);
+        }
+
+        int sair() {
+            return dentro.decrementAndGet();
+        }
+
+        void gravar(long delta) {
+            long atual = valor;
+            Thread.yield();
+            valor = atual + delta;
+        }
+
+        long valor() {
+            return valor;
+        }
+
+        void verificarSerializada() {
+            assertEquals(1, maximoDentro.get(), "duas gravações do mesmo CPF entraram juntas");
+            assertEquals(0, dentro.get());
+        }
+    }
+
+    /** Gerenciador de transação sem banco: só abre e fecha as sincronizações, como o do Spring. */
+    private static final class TransacaoSimulada extends AbstractPlatformTransactionManager {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    /** Segura a trava do CPF em uma transação aberta até {@code liberar}. */
+    private static Thread segurar(TravaCarteira trava, String cpf, CountDownLatch travado, CountDownLatch liberar) {
+        Thread dono = new Thread(() -> emTransacao(() -> {
+            trava.travar(cpf);
+            travado.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        dono.start();
+        return dono;
+    }
+
+    /** Simula a transação do Spring: sincronizações ativas e afterCompletion no fim. */
+    private static void emTransacao(Runnable corpo) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_COMMITTED;
+        try {
+            corpo.run();
+        } catch (RuntimeException e) {
+            status = TransactionSynchronization.STATUS_ROLLED_BACK;
+            throw e;
+        } finally {
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization sincronizacao : sincronizacoes) {
+                sincronizacao.afterCompletion(status);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.challenge.investimentos.investimentos_api.service;
 
+import com.challenge.investimentos.investimentos_api.enums.TipoEventoCarteira;
 import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import com.challenge.investimentos.investimentos_api.repository.OutboxRepository;
 import com.challenge.investimentos.investimentos_api.repository.UsuarioInvestimentoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class UsuarioInvestimentoServiceTest {
@@ -17,6 +20,12 @@ class UsuarioInvestimentoServiceTest {
     @Mock
     private UsuarioInvestimentoRepository repo;
 
+    @Mock
+    private TravaCarteira travaCarteira;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
     @InjectMocks
     private UsuarioInvestimentoService service;
 
@@ -34,5 +43,19 @@ class UsuarioInvestimentoServiceTest {
 
         assertTrue(resp.getStatusCode().is2xxSuccessful());
         verify(repo, times(1)).save(any(UsuarioInvestimento.class));
+        verify(outboxRepository).registrar(TipoEventoCarteira.USUARIO_CRIADO, cpf, (Long) null);
+    }
+
+    @Test
+    void buscarPorCpf_adminLegadoComMascara() {
+        // CPF do admin semeado não passa nos dígitos verificadores; a busca é só pelo número
+        UsuarioInvestimento admin = new UsuarioInvestimento();
+        when(repo.findByCpf_Cpf(anyString())).thenCallRealMethod();
+        when(repo.findByCpf_Numero(11111111111L)).thenReturn(admin);
+
+        ResponseEntity<?> resp = service.buscarPorCpf("111.111.111-11");
+
+        assertEquals(200, resp.getStatusCode().value());
+        assertSame(admin, resp.getBody());
     }
 }
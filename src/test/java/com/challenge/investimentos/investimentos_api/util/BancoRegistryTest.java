@@ -0,0 +1,86 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.enums.BancoEnum;
+import com.challenge.investimentos.investimentos_api.model.Banco;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para BancoRegistry.
+ */
+class BancoRegistryTest {
+
+    @AfterEach
+    void restaurar() {
+        BancoRegistry.publicar(BancoRegistry.deEnum().listar());
+    }
+
+    @Test
+    @DisplayName("Nome deve ser resolvido sem diferenciar maiúsculas e minúsculas")
+    void codigoPorNome() {
+        BancoRegistry registro = BancoRegistry.deEnum();
+
+        assertEquals(341, registro.codigo("Itaú"));
+        assertEquals(341, registro.codigo("  ITAÚ "));
+        assertEquals(336, registro.codigo("c6 bank"));
+        assertNull(registro.codigo("Banco Inexistente"));
+        assertNull(registro.codigo(null));
+        assertEquals("C6 Bank", registro.nome(336));
+        assertNull(registro.nome(999));
+        assertEquals(BancoEnum.values().length, registro.listar().size());
+        assertEquals(1, registro.listar().get(0).getCodigoBancario());
+    }
+
+    @Test
+    @DisplayName("Registro publicado deve ser independente das entidades de origem")
+    void publicarImutavel() {
+        Banco banco = new Banco("Banco Novo", 999);
+        BancoRegistry registro = BancoRegistry.publicar(List.of(banco));
+        banco.setNomeBanco("Alterado");
+        registro.listar().get(0).setNomeBanco("Alterado também");
+
+        assertSame(registro, BancoRegistry.atual());
+        assertEquals(999, registro.codigo("banco novo"));
+        assertEquals("Banco Novo", registro.nome(999));
+        assertNull(registro.codigo("Itaú"));
+    }
+
+    @Test
+    @DisplayName("Mapper deve resolver o código do banco pelo registro vigente")
+    void mapperResolveCodigo() {
+        Investimento investimento = new Investimento();
+
+        InvestimentoMapper.definirBanco(investimento, "nubank");
+        assertEquals("nubank", investimento.getNomeBanco());
+        assertEquals(260, investimento.getCodigoBancario());
+
+        InvestimentoMapper.definirBanco(investimento, "Banco Regional");
+        assertNull(investimento.getCodigoBancario());
+    }
+
+    @Test
+    @DisplayName("Setter da entidade não deve consultar o registro (usado pelo Hibernate na hidratação)")
+    void setterDaEntidadeNaoResolveCodigo() {
+        Investimento investimento = new Investimento();
+        investimento.setCodigoBancario(341);
+
+        investimento.setNomeBanco("Nubank");
+
+        assertEquals("Nubank", investimento.getNomeBanco());
+        assertEquals(341, investimento.getCodigoBancario());
+    }
+
+    @Test
+    @DisplayName("BancoEnum deve buscar o código pelo nome via índice")
+    void bancoEnumPorNome() {
+        assertEquals(BancoEnum.BTG_PACTUAL, BancoEnum.porNome("btg pactual"));
+        assertEquals(77, BancoEnum.getCodigoPorNome("INTER"));
+        assertThrows(IllegalArgumentException.class, () -> BancoEnum.getCodigoPorNome("Outro"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.model.CpfVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CpfValidator.
+ */
+class CpfValidatorTest {
+
+    @Test
+    @DisplayName("CPF deve ser aceito com ou sem máscara")
+    void validoComESemMascara() {
+        assertTrue(CpfValidator.valido("52998224725"));
+        assertTrue(CpfValidator.valido("529.982.247-25"));
+        assertTrue(CpfValidator.valido(new StringBuilder("529.982.247-25")));
+        assertEquals("52998224725", CpfValidator.normalizar("529.982.247-25"));
+    }
+
+    @Test
+    @DisplayName("CPF inválido deve ser rejeitado")
+    void invalidos() {
+        assertFalse(CpfValidator.valido(null));
+        assertFalse(CpfValidator.valido(""));
+        assertFalse(CpfValidator.valido("52998224724"));
+        assertFalse(CpfValidator.valido("5299822472"));
+        assertFalse(CpfValidator.valido("529982247250"));
+        assertFalse(CpfValidator.valido("11111111111"));
+        assertFalse(CpfValidator.valido("000.000.000-00"));
+        assertNull(CpfValidator.normalizar("52998224724"));
+    }
+
+    @Test
+    @DisplayName("String já normalizada deve ser devolvida sem cópia")
+    void normalizarSemCopia() {
+        String cpf = "52998224725";
+        assertSame(cpf, CpfValidator.normalizar(cpf));
+    }
+
+    @Test
+    @DisplayName("Validação deve coincidir com o algoritmo módulo 11 para CPFs aleatórios")
+    void coincideComAlgoritmoReferencia() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            String cpf = String.format("%011d", (long) (random.nextDouble() * 100_000_000_000L));
+            if (i % 2 == 0) cpf = comVerificadores(cpf.substring(0, 9));
+            assertEquals(referencia(cpf), CpfValidator.valido(cpf), cpf);
+        }
+    }
+
+    @Test
+    @DisplayName("Lote deve marcar no bitset apenas as posições válidas")
+    void validarLote() {
+        String[] cpfs = {"52998224725", "52998224724", null, "529.982.247-25", "11111111111"};
+
+        BitSet porArray = CpfValidator.validar(cpfs);
+        BitSet porLista = CpfValidator.validar(Arrays.asList(cpfs));
+        BitSet porStream = CpfValidator.validar(List.of("00000000000", "52998224725").stream());
+
+        assertEquals(BitSet.valueOf(new long[] {0b01001}), porArray);
+        assertEquals(porArray, porLista);
+        assertEquals(BitSet.valueOf(new long[] {0b10}), porStream);
+    }
+
+    @Test
+    @DisplayName("CPF compactado deve preservar zeros à esquerda e ignorar a máscara")
+    void compactarEExpandir() {
+        assertEquals(52998224725L, CpfValidator.compactar("529.982.247-25"));
+        assertEquals(1234567890L, CpfValidator.compactar("01234567890"));
+        assertEquals("01234567890", CpfValidator.expandir(1234567890L));
+        assertEquals(11111111111L, CpfValidator.compactar("11111111111"));
+        assertEquals(-1, CpfValidator.compactar("5299822472"));
+        assertEquals(-1, CpfValidator.compactar("529982247250"));
+        assertEquals(-1, CpfValidator.compactar(null));
+    }
+
+    @Test
+    @DisplayName("CpfVO deve normalizar e rejeitar CPF inválido")
+    void cpfVO() {
+        assertEquals("52998224725", new CpfVO("529.982.247-25").getCpf());
+        assertEquals(52998224725L, new CpfVO("529.982.247-25").getNumero());
+        assertThrows(IllegalArgumentException.class, () -> new CpfVO("52998224724"));
+        assertThrows(IllegalArgumentException.class, () -> new CpfVO(null));
+    }
+
+    private static String comVerificadores(String base) {
+        int soma = 0;
+        for (int i = 0; i < 9; i++) soma += (base.charAt(i) - '0') * (10 - i);
+        int dv1 = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        soma = 0;
+        String parcial = base + dv1;
+        for (int i = 0; i < 10; i++) soma += (parcial.charAt(i) - '0') * (11 - i);
+        int dv2 = 11 - soma % 11 >= 10 ? 0 : 11 - soma % 11;
+        return parcial + dv2;
+    }
+
+    private static boolean referencia(String cpf) {
+        if (!cpf.matches("\\d{11}") || cpf.matches("(\\d)\\1{10}")) return false;
+        return comVerificadores(cpf.substring(0, 9)).equals(cpf);
+    }
+}
@@ -0,0 +1,59 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para DownsamplingSerie.
+ */
+class DownsamplingSerieTest {
+
+    @Test
+    @DisplayName("LTTB deve manter extremidades e o pico da série")
+    void lttbMantemExtremidadesEPico() {
+        int n = 3000;
+        long[] x = new long[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            y[i] = 1000 + i * 0.1;
+        }
+        y[1234] = 5000;
+
+        int[] indices = DownsamplingSerie.lttb(x, y, n, 600);
+
+        assertEquals(600, indices.length);
+        assertEquals(0, indices[0]);
+        assertEquals(n - 1, indices[indices.length - 1]);
+        boolean contemPico = false;
+        for (int i = 0; i < indices.length; i++) {
+            if (i > 0) assertTrue(indices[i] > indices[i - 1]);
+            if (indices[i] == 1234) contemPico = true;
+        }
+        assertTrue(contemPico);
+    }
+
+    @Test
+    @DisplayName("LTTB deve retornar todos os pontos quando a série já é menor que o limite")
+    void lttbSerieCurta() {
+        int[] indices = DownsamplingSerie.lttb(new long[]{1, 2, 3}, new double[]{1, 2, 3}, 3, 600);
+        assertArrayEquals(new int[]{0, 1, 2}, indices);
+    }
+
+    @Test
+    @DisplayName("Fechamento por bucket deve repetir o último valor e marcar NaN antes do início")
+    void fechamentoPorBucket() {
+        long[] x = {10, 11, 15};
+        double[] y = {1, 2, 3};
+        double[] destino = new double[4];
+
+        DownsamplingSerie.fechamentoPorBucket(x, y, 3, 6, 3, 4, destino);
+
+        assertTrue(Double.isNaN(destino[0]));
+        assertEquals(2, destino[1]);
+        assertEquals(2, destino[2]);
+        assertEquals(3, destino[3]);
+    }
+}
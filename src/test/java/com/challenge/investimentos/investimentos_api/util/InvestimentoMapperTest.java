@@ -0,0 +1,128 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.dto.InvestimentoDTO;
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.challenge.investimentos.investimentos_api.enums.TipoInvestimentoEnum;
+import com.challenge.investimentos.investimentos_api.model.Investimento;
+import com.challenge.investimentos.investimentos_api.model.UsuarioInvestimento;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para InvestimentoMapper.
+ */
+class InvestimentoMapperTest {
+
+    @Test
+    @DisplayName("Tipo deve ser lido sem diferenciar maiúsculas e minúsculas")
+    void tipoIgnoraCaixa() {
+        assertEquals(TipoInvestimentoEnum.RENDA_FIXA, InvestimentoMapper.tipo("RENDA_FIXA"));
+        assertEquals(TipoInvestimentoEnum.RENDA_FIXA, InvestimentoMapper.tipo("renda_fixa"));
+        assertEquals(TipoInvestimentoEnum.RENDA_VARIAVEL, InvestimentoMapper.tipo("Renda_Variavel"));
+        assertNull(InvestimentoMapper.tipo("POUPANCA"));
+        assertNull(InvestimentoMapper.tipo(null));
+    }
+
+    @Test
+    @DisplayName("Data deve aceitar apenas dd-MM-yyyy com dia existente")
+    void dataFormatoFixo() {
+        assertEquals(LocalDate.of(2025, 1, 31), InvestimentoMapper.data("31-01-2025"));
+        assertEquals(LocalDate.of(2024, 2, 29), InvestimentoMapper.data("29-02-2024"));
+        assertNull(InvestimentoMapper.data("31-02-2025"));
+        assertNull(InvestimentoMapper.data("29-02-2025"));
+        assertNull(InvestimentoMapper.data("2025-01-31"));
+        assertNull(InvestimentoMapper.data("31/01/2025"));
+        assertNull(InvestimentoMapper.data("3a-01-2025"));
+        assertNull(InvestimentoMapper.data("1-01-2025"));
+        assertNull(InvestimentoMapper.data(null));
+    }
+
+    @Test
+    @DisplayName("Texto e data devem ser inversos")
+    void textoIdaEVolta() {
+        LocalDate data = LocalDate.of(1999, 12, 1);
+        for (int i = 0; i < 10_000; i++, data = data.plusDays(1)) {
+            String texto = InvestimentoMapper.texto(data);
+            assertEquals(data.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")), texto);
+            assertEquals(data, InvestimentoMapper.data(texto));
+        }
+        assertNull(InvestimentoMapper.texto(null));
+    }
+
+    @Test
+    @DisplayName("Novo investimento deve converter campos e série diária")
+    void novoInvestimento() {
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+        InvestimentoDTO dto = dto("renda_fixa", "01-01-2025", "02-01-2025");
+
+        Investimento investimento = InvestimentoMapper.novoInvestimento(dto, usuario);
+
+        assertSame(usuario, investimento.getUsuarioInvestimento());
+        assertEquals(TipoInvestimentoEnum.RENDA_FIXA, investimento.getTipoInvestimento());
+        assertEquals("CDB", investimento.getNomeInvestimento());
+        assertEquals(2, investimento.getRentabilidadeDiaria().size());
+        assertSame(investimento, investimento.getRentabilidadeDiaria().get(1).getInvestimento());
+        assertEquals(LocalDate.of(2025, 1, 2), investimento.getRentabilidadeDiaria().get(1).getDataRentabilidadeDiaria());
+    }
+
+    @Test
+    @DisplayName("Tipo ou data inválidos devem lançar IllegalArgumentException")
+    void novoInvestimentoInvalido() {
+        UsuarioInvestimento usuario = new UsuarioInvestimento();
+
+        IllegalArgumentException tipo = assertThrows(IllegalArgumentException.class,
+                () -> InvestimentoMapper.novoInvestimento(dto("POUPANCA", "01-01-2025"), usuario));
+        IllegalArgumentException data = assertThrows(IllegalArgumentException.class,
+                () -> InvestimentoMapper.novoInvestimento(dto("RENDA_FIXA", "31-02-2025"), usuario));
+
+        assertEquals("Tipo de investimento inválido: POUPANCA", tipo.getMessage());
+        assertEquals("Data inválida: 31-02-2025 (use dd-MM-yyyy)", data.getMessage());
+    }
+
+    @Test
+    @DisplayName("Conversão para DTO deve preservar a série diária")
+    void paraDTOIdaEVolta() {
+        Investimento investimento = InvestimentoMapper.novoInvestimento(dto("RENDA_VARIAVEL", "01-01-2025", "02-01-2025"),
+                new UsuarioInvestimento());
+        investimento.setId(5L);
+
+        List<InvestimentoDTO> dtos = InvestimentoMapper.paraDTOs(List.of(investimento));
+
+        InvestimentoDTO dto = dtos.get(0);
+        assertEquals(5L, dto.getId());
+        assertEquals("RENDA_VARIAVEL", dto.getTipoInvestimento());
+        assertEquals("02-01-2025", dto.getRentabilidadeDiaria().get(1).getDataRentabilidadeDiaria());
+        assertEquals(new BigDecimal("1001"), dto.getRentabilidadeDiaria().get(1).getMontanteAcumuladoDiario());
+        assertTrue(InvestimentoMapper.paraDTOs(null).isEmpty());
+    }
+
+    private static InvestimentoDTO dto(String tipo, String... datas) {
+        InvestimentoDTO dto = new InvestimentoDTO();
+        dto.setNomeBanco("C6");
+        dto.setTipoInvestimento(tipo);
+        dto.setNomeInvestimento("CDB");
+        dto.setMontanteInicial(new BigDecimal("1000"));
+        dto.setValorInicialAcao(BigDecimal.ZERO);
+        dto.setTaxaRentabilidade(new BigDecimal("0.1"));
+        dto.setNumeroAcoesInicial(0);
+        List<RentabilidadeDiariaDTO> dias = new ArrayList<>();
+        for (String data : datas) {
+            RentabilidadeDiariaDTO dia = new RentabilidadeDiariaDTO();
+            dia.setDataRentabilidadeDiaria(data);
+            dia.setValorDiarioAcao(BigDecimal.ONE);
+            dia.setTaxaDiarioRentabilidade(new BigDecimal("0.1"));
+            dia.setMontanteAcumuladoDiario(new BigDecimal("1001"));
+            dias.add(dia);
+        }
+        dto.setRentabilidadeDiaria(dias);
+        return dto;
+    }
+}
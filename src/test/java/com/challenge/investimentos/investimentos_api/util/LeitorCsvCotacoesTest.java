@@ -0,0 +1,83 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para LeitorCsvCotacoes.
+ */
+class LeitorCsvCotacoesTest {
+
+    private final List<String> cotacoes = new ArrayList<>();
+    private final List<String> erros = new ArrayList<>();
+
+    private final LeitorCsvCotacoes.Consumidor consumidor = new LeitorCsvCotacoes.Consumidor() {
+        @Override
+        public void cotacao(long linha, long investimentoId, LocalDate data, BigDecimal valor, BigDecimal taxa, BigDecimal montante) {
+            cotacoes.add(linha + ":" + investimentoId + ":" + data + ":" + valor + ":" + taxa + ":" + montante);
+        }
+
+        @Override
+        public void erro(long linha, String mensagem) {
+            erros.add(linha + ":" + mensagem);
+        }
+    };
+
+    @Test
+    void ler_aceitaCabecalhoCrlfSeparadoresEFormatosDeData() throws Exception {
+        String csv = "investimentoId,data,valorDiarioAcao,taxaDiarioRentabilidade,montanteAcumuladoDiario\r\n"
+                + "1,02-01-2025,10.50,0.1200,1001.00\r\n"
+                + "\r\n"
+                + " 2 ; 2025-01-03 ; 11 ; -0.5 ; 999.99";
+
+        long linhas = new LeitorCsvCotacoes(new StringReader(csv)).ler(consumidor);
+
+        assertEquals(4, linhas);
+        assertEquals(List.of("2:1:2025-01-02:10.50:0.1200:1001.00", "4:2:2025-01-03:11:-0.5:999.99"), cotacoes);
+        assertTrue(erros.isEmpty());
+    }
+
+    @Test
+    void ler_reportaLinhasInvalidasSemInterromper() throws Exception {
+        String csv = "1,02-01-2025,10,0.1\n"
+                + "x,02-01-2025,10,0.1,1\n"
+                + "1,30-02-2025,10,0.1,1\n"
+                + "1,02-01-2025,abc,0.1,1\n"
+                + "1,02-01-2025,10,0.1,1,9\n"
+                + "3,02-01-2025,10,0.1,1\n";
+
+        new LeitorCsvCotacoes(new StringReader(csv)).ler(consumidor);
+
+        assertEquals(List.of("6:3:2025-01-02:10:0.1:1"), cotacoes);
+        assertEquals(5, erros.size());
+        assertTrue(erros.get(0).startsWith("1:Esperadas 5 colunas"));
+        assertEquals("2:investimentoId inválido: x", erros.get(1));
+        assertEquals("3:data inválida: 30-02-2025", erros.get(2));
+        assertEquals("4:valor inválido na coluna 3: abc", erros.get(3));
+    }
+
+    @Test
+    void ler_linhasQueCruzamOLimiteDoBuffer() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        int total = 20_000; // ~600 KB, várias recargas do buffer de 64K
+        for (int i = 1; i <= total; i++) {
+            csv.append(i).append(",01-01-2025,").append(i).append(".25,0.0100,").append(i * 10).append(".50\n");
+        }
+        csv.append("7,").append(" ".repeat(100_000)).append("01-01-2025,1,1,1"); // linha maior que o buffer
+
+        long linhas = new LeitorCsvCotacoes(new StringReader(csv.toString())).ler(consumidor);
+
+        assertEquals(total + 1, linhas);
+        assertEquals(total + 1, cotacoes.size());
+        assertEquals("12345:12345:2025-01-01:12345.25:0.0100:123450.50", cotacoes.get(12344));
+        assertEquals("20001:7:2025-01-01:1:1:1", cotacoes.get(total));
+        assertTrue(erros.isEmpty());
+    }
+}
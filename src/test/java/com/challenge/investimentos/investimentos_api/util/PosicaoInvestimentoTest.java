@@ -0,0 +1,102 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.enums.TipoMovimentacao;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para PosicaoInvestimento.
+ */
+class PosicaoInvestimentoTest {
+
+    private static final int DIA = 20_000;
+
+    @Test
+    void vendaParcial_baixaCustoMedioEVendaTotalZeraOCusto() {
+        // 100 ações por R$ 1.000,00 + aporte de 50 ações por R$ 800,00: custo médio R$ 12,00
+        PosicaoInvestimento posicao = PosicaoInvestimento.inicial(100_000, 100);
+        posicao.aplicar(TipoMovimentacao.APORTE, 50 * PosicaoInvestimento.UMA_ACAO, 80_000, DIA);
+
+        posicao.aplicar(TipoMovimentacao.VENDA, 30 * PosicaoInvestimento.UMA_ACAO, 45_000, DIA + 1);
+        assertEquals(120 * PosicaoInvestimento.UMA_ACAO, posicao.getQuantidade());
+        assertEquals(144_000, posicao.getCusto());
+        assertEquals(9_000, posicao.getResultadoRealizado()); // 450,00 - 30 × 12,00
+
+        // 1/3 de ação: a baixa é truncada, a venda do restante leva o resíduo
+        posicao.aplicar(TipoMovimentacao.VENDA, 333_333, 400, DIA + 1);
+        assertEquals(143_601, posicao.getCusto()); // 144.000 × 333.333 / 120.000.000 = 399,9995 -> 399
+        posicao.aplicar(TipoMovimentacao.VENDA, posicao.getQuantidade(), 150_000, DIA + 2);
+        assertEquals(0, posicao.getQuantidade());
+        assertEquals(0, posicao.getCusto());
+        assertEquals(posicao.getResgatado() - posicao.getAportado(), posicao.getResultadoRealizado());
+        assertEquals(4, posicao.getSequencia());
+        assertEquals(DIA + 2, posicao.getUltimaData());
+    }
+
+    @Test
+    void resgate_ganhoAcimaDoCustoViraResultado() {
+        PosicaoInvestimento posicao = PosicaoInvestimento.inicial(100_000, 0);
+        posicao.aplicar(TipoMovimentacao.RESGATE, 0, 40_000, DIA);
+        assertEquals(60_000, posicao.getCusto());
+        assertEquals(0, posicao.getResultadoRealizado());
+
+        posicao.aplicar(TipoMovimentacao.RESGATE, 0, 70_000, DIA);
+        assertEquals(0, posicao.getCusto());
+        assertEquals(10_000, posicao.getResultadoRealizado());
+        assertThrows(IllegalArgumentException.class, () -> posicao.aplicar(TipoMovimentacao.RESGATE, 0, 1, DIA));
+    }
+
+    @Test
+    void aplicar_movimentacaoInvalidaNaoAlteraAPosicao() {
+        PosicaoInvestimento posicao = PosicaoInvestimento.inicial(100_000, 10);
+        posicao.aplicar(TipoMovimentacao.APORTE, PosicaoInvestimento.UMA_ACAO, 10_000, DIA);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> posicao.aplicar(TipoMovimentacao.VENDA, 12 * PosicaoInvestimento.UMA_ACAO, 1_000, DIA));
+        assertThrows(IllegalArgumentException.class, () -> posicao.aplicar(TipoMovimentacao.VENDA, 0, 1_000, DIA));
+        assertThrows(IllegalArgumentException.class, () -> posicao.aplicar(TipoMovimentacao.RESGATE, 0, 1_000, DIA));
+        assertThrows(IllegalArgumentException.class, () -> posicao.aplicar(TipoMovimentacao.APORTE, 0, 0, DIA));
+        assertThrows(IllegalArgumentException.class, () -> posicao.aplicar(TipoMovimentacao.APORTE, 0, 1_000, DIA - 1));
+
+        assertEquals(1, posicao.getSequencia());
+        assertEquals(11 * PosicaoInvestimento.UMA_ACAO, posicao.getQuantidade());
+        assertEquals(110_000, posicao.getCusto());
+    }
+
+    @Test
+    void snapshotMaisCauda_igualAoReplayCompleto() {
+        Random random = new Random(42);
+        int eventos = 10_000;
+        TipoMovimentacao[] tipos = new TipoMovimentacao[eventos];
+        long[] quantidades = new long[eventos];
+        long[] valores = new long[eventos];
+
+        PosicaoInvestimento completo = PosicaoInvestimento.inicial(1_000_000, 1_000);
+        PosicaoInvestimento snapshot = null;
+        for (int i = 0; i < eventos; i++) {
+            boolean venda = random.nextInt(3) == 0 && completo.getQuantidade() > 0;
+            tipos[i] = venda ? TipoMovimentacao.VENDA : TipoMovimentacao.APORTE;
+            quantidades[i] = venda ? 1 + (long) (random.nextDouble() * completo.getQuantidade())
+                    : random.nextInt(100 * (int) PosicaoInvestimento.UMA_ACAO);
+            valores[i] = 1 + random.nextInt(1_000_000);
+            completo.aplicar(tipos[i], quantidades[i], valores[i], DIA + i);
+            if (i == 7_299) {
+                snapshot = PosicaoInvestimento.restaurar(completo.getSequencia(), completo.getQuantidade(), completo.getCusto(),
+                        completo.getAportado(), completo.getResgatado(), completo.getResultadoRealizado(), completo.getUltimaData());
+            }
+        }
+        for (int i = 7_300; i < eventos; i++) {
+            snapshot.aplicar(tipos[i], quantidades[i], valores[i], DIA + i);
+        }
+
+        assertEquals(completo.getSequencia(), snapshot.getSequencia());
+        assertEquals(completo.getQuantidade(), snapshot.getQuantidade());
+        assertEquals(completo.getCusto(), snapshot.getCusto());
+        assertEquals(completo.getResultadoRealizado(), snapshot.getResultadoRealizado());
+        // custo + resultado realizado = aportado - resgatado + resgatado: nenhum centavo some nas baixas
+        assertEquals(completo.getAportado(), completo.getCusto() + completo.getResgatado() - completo.getResultadoRealizado());
+    }
+}
@@ -0,0 +1,79 @@
+package com.challenge.investimentos.investimentos_api.util;
+
+import com.challenge.investimentos.investimentos_api.dto.RentabilidadeDiariaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para SerieColunar.
+ */
+class SerieColunarTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve escrever arrays paralelos em ponto fixo, com null para valores ausentes")
+    void escreveArraysParalelos() throws Exception {
+        SerieColunar serie = new SerieColunar(7L, 1);
+        serie.adicionar(LocalDate.of(2025, 1, 1), new BigDecimal("100.5"), new BigDecimal("0.12"), new BigDecimal("1050.75"));
+        serie.adicionar(LocalDate.of(2025, 1, 2), null, new BigDecimal("0.1234"), new BigDecimal("1051.99"));
+
+        JsonNode json = mapper.readTree(escrever(serie));
+
+        assertEquals(7, json.get("investimentoId").asLong());
+        assertEquals(2, json.get("tamanho").asInt());
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), json.get("dataEpochDay").get(0).asLong());
+        assertEquals(10050, json.get("valorDiarioAcao").get(0).asLong());
+        assertTrue(json.get("valorDiarioAcao").get(1).isNull());
+        assertEquals(1200, json.get("taxaDiarioRentabilidade").get(0).asLong());
+        assertEquals(105199, json.get("montanteAcumuladoDiario").get(1).asLong());
+        assertEquals(4, json.get("escalas").get("taxaDiarioRentabilidade").asInt());
+    }
+
+    @Test
+    @DisplayName("Formato colunar deve ser bem menor que a lista de objetos por dia")
+    void payloadMenorQueFormatoTradicional() throws Exception {
+        int dias = 3000;
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        SerieColunar serie = new SerieColunar(1L, 16);
+        List<RentabilidadeDiariaDTO> linhas = new ArrayList<>(dias);
+        LocalDate data = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < dias; i++, data = data.plusDays(1)) {
+            BigDecimal valor = BigDecimal.valueOf(10000 + i * 7L, 2);
+            BigDecimal taxa = BigDecimal.valueOf(i % 50, 4);
+            BigDecimal montante = BigDecimal.valueOf(100000 + i * 13L, 2);
+            serie.adicionar(data, valor, taxa, montante);
+            RentabilidadeDiariaDTO dto = new RentabilidadeDiariaDTO();
+            dto.setDataRentabilidadeDiaria(data.format(formatter));
+            dto.setValorDiarioAcao(valor);
+            dto.setTaxaDiarioRentabilidade(taxa);
+            dto.setMontanteAcumuladoDiario(montante);
+            linhas.add(dto);
+        }
+
+        int colunar = escrever(serie).length;
+        int tradicional = mapper.writeValueAsBytes(linhas).length;
+
+        assertTrue(colunar * 2 < tradicional, "colunar=" + colunar + " tradicional=" + tradicional);
+    }
+
+    private byte[] escrever(SerieColunar serie) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (JsonGenerator gerador = mapper.getFactory().createGenerator(saida)) {
+            serie.escrever(gerador);
+        }
+        return saida.toByteArray();
+    }
+}